@@ -3,7 +3,6 @@ package dev3.nms.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -11,14 +10,11 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig {
 
+    /**
+     * 감사/활동 로그 저장 (ExecutorRegistry audit-log 풀, 포화 시 호출 스레드에서 저장)
+     */
     @Bean("auditLogExecutor")
-    public Executor auditLogExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("audit-log-");
-        executor.initialize();
-        return executor;
+    public Executor auditLogExecutor(ExecutorRegistry executorRegistry) {
+        return executorRegistry.executor(ExecutorRegistry.AUDIT_LOG);
     }
 }
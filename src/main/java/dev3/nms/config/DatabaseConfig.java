@@ -28,6 +28,10 @@ public class DatabaseConfig {
     @Value("${spring.datasource.password}")
     private String password;
 
+    // mvc-stream 이력 스트림이 커넥션을 오래 점유하므로 executor.pools.mvc-stream.threads 보다 충분히 크게
+    @Value("${spring.datasource.hikari.maximum-pool-size:20}")
+    private int maximumPoolSize;
+
     @Bean
     public DataSource dataSource() {
         HikariConfig config = new HikariConfig();
@@ -35,8 +39,8 @@ public class DatabaseConfig {
         config.setJdbcUrl(jdbcUrl);
         config.setUsername(username);
         config.setPassword(password);
-        config.setMaximumPoolSize(20);
-        config.setMinimumIdle(10);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(Math.min(10, maximumPoolSize));
         config.setConnectionTimeout(5000);
         config.setIdleTimeout(300000);
         config.setMaxLifetime(600000);
@@ -0,0 +1,65 @@
+package dev3.nms.config;
+
+import dev3.nms.mapper.DeviceRegisterJobMapper;
+import dev3.nms.service.PermissionService;
+import dev3.nms.vo.mgmt.DeviceRegisterJobVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /topic/device-register/{jobId} 구독 제한
+ * - 작업 등록자 또는 관리자만 구독 가능 (진행 메시지에 장비 IP / 오류 내용 포함)
+ * - USER_ID 는 핸드셰이크 시 HttpSession 에서 복사된 WebSocket 세션 속성 사용
+ * - jobId 가 숫자가 아닌 경로 (와일드카드 등) 는 관리자만 허용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeviceRegisterSubscriptionInterceptor implements ChannelInterceptor {
+
+    static final String TOPIC = "/topic/device-register";
+
+    private final DeviceRegisterJobMapper jobMapper;
+    private final PermissionService permissionService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.SUBSCRIBE.equals(accessor.getCommand())) return message;
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(TOPIC)) return message;
+
+        Long userId = userId(accessor.getSessionAttributes());
+        if (!canSubscribe(destination, userId)) {
+            log.warn("[DeviceRegister] 구독 거부: userId={}, destination={}", userId, destination);
+            throw new MessageDeliveryException("등록 작업 구독 권한이 없습니다: " + destination);
+        }
+        return message;
+    }
+
+    private boolean canSubscribe(String destination, Long userId) {
+        if (userId == null) return false;
+        if (permissionService.isAdmin(userId)) return true;
+        String rest = destination.substring(TOPIC.length());
+        if (!rest.matches("/\\d{1,18}")) return false;
+        DeviceRegisterJobVO job = jobMapper.findJob(Long.valueOf(rest.substring(1)));
+        return job != null && job.getCREATE_USER_ID() != null
+                && job.getCREATE_USER_ID().longValue() == userId;
+    }
+
+    private static Long userId(Map<String, Object> attributes) {
+        if (attributes == null) return null;
+        Object userId = attributes.get("USER_ID");
+        return userId instanceof Number ? ((Number) userId).longValue() : null;
+    }
+}
@@ -0,0 +1,272 @@
+package dev3.nms.config;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 이름별 bounded executor 레지스트리
+ * - 풀마다 최대 동시 실행 수(threads), 대기 큐(queue), 포화 정책(rejection) 지정
+ *   CALLER_RUNS: 호출 스레드에서 실행 / ABORT: RejectedExecutionException / DISCARD: 버림
+ * - 설정: executor.pools.{name}.threads / queue / rejection 으로 기본값 변경
+ * - executor.virtual-threads=true 이고 JDK 21+ 이면 I/O 풀은 작업마다 가상 스레드 사용
+ *   (동시 실행 수는 threads 로 제한, 미지원 JDK 면 일반 스레드 풀로 대체)
+ * - 블로킹 HTTP 등 I/O 작업은 공통 ForkJoinPool 대신 반드시 이름 있는 풀 사용
+ */
+@Slf4j
+@Component
+public class ExecutorRegistry {
+
+    public static final String DASHBOARD_WIDGET = "dashboard-widget";
+    public static final String WIDGET_REFRESH = "widget-refresh";
+    public static final String MIDDLEWARE_PROBE = "middleware-probe";
+    public static final String MVC_STREAM = "mvc-stream";
+    public static final String AUDIT_LOG = "audit-log";
+    public static final String DEVICE_REGISTER = "device-register";
+    public static final String PORT_INVENTORY = "port-inventory";
+    public static final String SSE_SEND = "sse-send";
+
+    public enum Rejection { CALLER_RUNS, ABORT, DISCARD }
+
+    record Spec(int threads, int queue, Rejection rejection, boolean io) {
+    }
+
+    private static final Map<String, Spec> DEFAULTS = Map.of(
+            DASHBOARD_WIDGET, new Spec(10, 1000, Rejection.CALLER_RUNS, true),
+            WIDGET_REFRESH, new Spec(2, 1000, Rejection.ABORT, true),
+            MIDDLEWARE_PROBE, new Spec(16, 500, Rejection.CALLER_RUNS, true),
+            MVC_STREAM, new Spec(6, 200, Rejection.CALLER_RUNS, true),
+            AUDIT_LOG, new Spec(5, 500, Rejection.CALLER_RUNS, false),
+            DEVICE_REGISTER, new Spec(8, 10000, Rejection.CALLER_RUNS, true),
+            PORT_INVENTORY, new Spec(4, 1000, Rejection.CALLER_RUNS, true),
+            SSE_SEND, new Spec(32, 1000, Rejection.ABORT, true));
+
+    private final boolean virtualThreads;
+    private final Function<String, String> property;
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExecutorRegistry(@Value("${executor.virtual-threads:false}") boolean virtualThreads,
+                            Environment environment) {
+        this(virtualThreads, environment::getProperty);
+    }
+
+    ExecutorRegistry(boolean virtualThreads, Function<String, String> property) {
+        this.virtualThreads = virtualThreads;
+        this.property = property;
+    }
+
+    /**
+     * 이름 있는 풀 조회 (최초 조회 시 생성)
+     */
+    public Executor executor(String name) {
+        return pools.computeIfAbsent(name, this::create);
+    }
+
+    /**
+     * 풀별 사용량 (포화도 = (실행 + 대기) / (threads + queue))
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreadsRequested", virtualThreads);
+        Map<String, Object> byPool = new TreeMap<>();
+        pools.forEach((name, pool) -> byPool.put(name, pool.stats()));
+        stats.put("pools", byPool);
+        return stats;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        pools.values().forEach(Pool::shutdown);
+    }
+
+    private Pool create(String name) {
+        Spec defaults = DEFAULTS.get(name);
+        if (defaults == null) {
+            throw new IllegalArgumentException("등록되지 않은 executor: " + name);
+        }
+        String prefix = "executor.pools." + name + ".";
+        Spec spec = new Spec(
+                Math.max(1, intProperty(prefix + "threads", defaults.threads())),
+                Math.max(0, intProperty(prefix + "queue", defaults.queue())),
+                rejectionProperty(prefix + "rejection", defaults.rejection()),
+                defaults.io());
+
+        ExecutorService virtual = virtualThreads && spec.io() ? newVirtualExecutor(name) : null;
+        if (virtualThreads && spec.io() && virtual == null) {
+            log.warn("[Executor] 가상 스레드 미지원 JDK - {} 풀은 일반 스레드 풀 사용", name);
+        }
+        log.info("[Executor] {} 생성 - type: {}, threads: {}, queue: {}, rejection: {}",
+                name, virtual != null ? "virtual" : "platform", spec.threads(), spec.queue(), spec.rejection());
+        return new Pool(name, spec, virtual);
+    }
+
+    private int intProperty(String key, int defaultValue) {
+        String value = property.apply(key);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("[Executor] 잘못된 설정값 - {}: {}", key, value);
+            return defaultValue;
+        }
+    }
+
+    private Rejection rejectionProperty(String key, Rejection defaultValue) {
+        String value = property.apply(key);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Rejection.valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            log.warn("[Executor] 잘못된 설정값 - {}: {}", key, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 1).factory())
+     * - Java 17 빌드에서도 동작하도록 리플렉션으로 호출, 미지원이면 null
+     */
+    private static ExecutorService newVirtualExecutor(String name) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-v", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * bounded executor
+     * - platform: 고정 크기 ThreadPoolExecutor + ArrayBlockingQueue(queue)
+     * - virtual: 작업마다 가상 스레드, Semaphore(threads) 로 동시 실행 제한, 실행 + 대기가 threads + queue 초과 시 거부
+     */
+    static final class Pool implements Executor {
+        private final String name;
+        private final Spec spec;
+        private final ThreadPoolExecutor platform;
+        private final ExecutorService virtual;
+        private final Semaphore running;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger largest = new AtomicInteger();
+        private final AtomicLong submitted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        Pool(String name, Spec spec, ExecutorService virtual) {
+            this.name = name;
+            this.spec = spec;
+            this.virtual = virtual;
+            this.running = new Semaphore(spec.threads());
+            if (virtual != null) {
+                this.platform = null;
+                return;
+            }
+            AtomicInteger seq = new AtomicInteger();
+            BlockingQueue<Runnable> queue = spec.queue() > 0
+                    ? new ArrayBlockingQueue<>(spec.queue()) : new SynchronousQueue<>();
+            this.platform = new ThreadPoolExecutor(spec.threads(), spec.threads(), 60, TimeUnit.SECONDS, queue, r -> {
+                Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }, (r, executor) -> reject(r, executor.isShutdown()));
+            this.platform.allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            submitted.incrementAndGet();
+            if (platform != null) {
+                platform.execute(task);
+                return;
+            }
+            if (pending.incrementAndGet() > spec.threads() + spec.queue()) {
+                pending.decrementAndGet();
+                reject(task, virtual.isShutdown());
+                return;
+            }
+            try {
+                virtual.execute(() -> {
+                    try {
+                        running.acquireUninterruptibly();
+                        try {
+                            largest.accumulateAndGet(spec.threads() - running.availablePermits(), Math::max);
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } finally {
+                        pending.decrementAndGet();
+                        completed.incrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pending.decrementAndGet();
+                reject(task, true);
+            }
+        }
+
+        private void reject(Runnable task, boolean shutdown) {
+            rejected.incrementAndGet();
+            if (shutdown) {
+                throw new RejectedExecutionException(name + " executor 종료됨");
+            }
+            switch (spec.rejection()) {
+                case CALLER_RUNS -> task.run();
+                case ABORT -> throw new RejectedExecutionException(name + " executor 포화 (threads="
+                        + spec.threads() + ", queue=" + spec.queue() + ")");
+                case DISCARD -> log.debug("[Executor] {} 포화 - 작업 버림", name);
+            }
+        }
+
+        Map<String, Object> stats() {
+            int active;
+            int queued;
+            long done;
+            int peak;
+            if (platform != null) {
+                active = platform.getActiveCount();
+                queued = platform.getQueue().size();
+                done = platform.getCompletedTaskCount();
+                peak = platform.getLargestPoolSize();
+            } else {
+                active = spec.threads() - running.availablePermits();
+                queued = Math.max(0, pending.get() - active);
+                done = completed.get();
+                peak = largest.get();
+            }
+            int capacity = spec.threads() + spec.queue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("type", platform != null ? "platform" : "virtual");
+            stats.put("threads", spec.threads());
+            stats.put("queueCapacity", spec.queue());
+            stats.put("rejection", spec.rejection().name());
+            stats.put("active", active);
+            stats.put("largest", peak);
+            stats.put("queued", queued);
+            stats.put("submitted", submitted.get());
+            stats.put("completed", done);
+            stats.put("rejected", rejected.get());
+            stats.put("saturation", (double) (active + queued) / capacity);
+            return stats;
+        }
+
+        void shutdown() {
+            if (platform != null) platform.shutdownNow();
+            else virtual.shutdownNow();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package dev3.nms.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
@@ -8,6 +12,25 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * 인증은 Spring Security (SecurityConfig)에서 처리
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
     // LoginCheckInterceptor 제거됨 - Spring Security로 대체
+
+    @Value("${web.async.timeout-ms:600000}")
+    private long asyncTimeoutMs;
+
+    private final ExecutorRegistry executorRegistry;
+
+    /**
+     * StreamingResponseBody 비동기 처리 설정
+     * - 대용량 이력 스트리밍이 컨테이너 기본 타임아웃(30초)에 끊기지 않도록 연장
+     * - 동시 스트리밍 수 제한: ExecutorRegistry mvc-stream 풀 (executor.pools.mvc-stream.threads, 기본 6)
+     *   이력 스트림은 응답을 다 쓸 때까지 DB 커넥션을 점유 (느린 클라이언트면 async 타임아웃까지)
+     *   → 커넥션 풀(spring.datasource.hikari.maximum-pool-size, 기본 20)보다 충분히 작게 유지
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(executorRegistry.executor(ExecutorRegistry.MVC_STREAM)));
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
 }
@@ -1,30 +1,45 @@
 package dev3.nms.config;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final DeviceRegisterSubscriptionInterceptor deviceRegisterSubscriptionInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker(
             "/topic/alerts",
+            "/topic/alerts/batch",
             "/topic/alerts/connection",
             "/topic/alerts/performance",
             "/topic/alerts/port",
             "/topic/alerts/system",
             "/topic/notice/urgent",
+            "/topic/device-register",
             "/user/queue/alerts"
         );
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(deviceRegisterSubscriptionInterceptor);
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // WebSocket CORS도 명시적으로 제한 (기존 * → 허용 Origin만)
@@ -39,6 +54,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     "https://192.168.3.114",
                     "https://nms.stninfo.local"
                 )
+                // 구독 권한 확인용 USER_ID 를 WebSocket 세션 속성으로 복사
+                .addInterceptors(new HttpSessionHandshakeInterceptor(List.of("USER_ID")))
                 .withSockJS();
     }
 }
@@ -1,12 +1,16 @@
 package dev3.nms.controller;
 
 import dev3.nms.config.AuditLog;
+import dev3.nms.config.ExecutorRegistry;
 import dev3.nms.config.ViewLog;
 import dev3.nms.service.AdminService;
+import dev3.nms.service.MetricRollupService;
 import dev3.nms.service.PermissionService;
+import dev3.nms.service.RetentionService;
 import dev3.nms.service.ThresholdService;
 import dev3.nms.vo.auth.*;
 import dev3.nms.vo.common.ResVO;
+import dev3.nms.vo.mgmt.RetentionPolicyVO;
 import dev3.nms.vo.mgmt.ThresholdVO;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +31,9 @@ public class AdminController {
     private final AdminService adminService;
     private final PermissionService permissionService;
     private final ThresholdService thresholdService;
+    private final MetricRollupService metricRollupService;
+    private final RetentionService retentionService;
+    private final ExecutorRegistry executorRegistry;
 
     /**
      * 사용자 목록 조회
@@ -255,6 +262,89 @@ public class AdminController {
         return ResponseEntity.ok(new ResVO<>(200, "장비별 임계치가 삭제되었습니다.", null));
     }
 
+    // ==================== 성능 집계(rollup) ====================
+
+    @GetMapping("/rollup")
+    public ResponseEntity<ResVO<Map<String, Object>>> getRollupStatus(HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", metricRollupService.getStatus()));
+    }
+
+    /**
+     * 기존 성능 이력 집계 (최근 days 일, 비동기)
+     */
+    @AuditLog(actionType = "CONTROL", targetType = "METRIC_ROLLUP", pageCode = "system_admin")
+    @PostMapping("/rollup/backfill")
+    public ResponseEntity<ResVO<Void>> backfillRollup(@RequestParam(defaultValue = "30") int days, HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        if (days < 1 || days > 3650) {
+            return ResponseEntity.badRequest().body(new ResVO<>(400, "days 는 1 ~ 3650 범위여야 합니다", null));
+        }
+        if (!metricRollupService.startBackfill(days)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ResVO<>(409, "이미 집계 작업이 진행 중입니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "집계 작업을 시작했습니다.", null));
+    }
+
+    // ==================== 성능 이력 보관 ====================
+
+    @GetMapping("/retention")
+    public ResponseEntity<ResVO<Map<String, Object>>> getRetention(HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", retentionService.getStatus()));
+    }
+
+    @AuditLog(actionType = "UPDATE", targetType = "RETENTION_POLICY", pageCode = "system_admin")
+    @PutMapping("/retention")
+    public ResponseEntity<ResVO<Void>> updateRetention(@RequestBody List<RetentionPolicyVO> policies, HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        try {
+            retentionService.updatePolicies(policies);
+            return ResponseEntity.ok(new ResVO<>(200, "보관 정책이 저장되었습니다.", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResVO<>(400, e.getMessage(), null));
+        }
+    }
+
+    /**
+     * 파티션 생성 + 만료 데이터 정리 즉시 실행
+     */
+    @AuditLog(actionType = "CONTROL", targetType = "RETENTION_POLICY", pageCode = "system_admin")
+    @PostMapping("/retention/run")
+    public ResponseEntity<ResVO<Map<String, Object>>> runRetention(HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "정리 완료", retentionService.runMaintenance()));
+    }
+
+    // ==================== 스레드 풀 ====================
+
+    /**
+     * 이름별 executor 사용량 (실행/대기/거부 건수, 포화도)
+     */
+    @GetMapping("/executors")
+    public ResponseEntity<ResVO<Map<String, Object>>> getExecutorStats(HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", executorRegistry.getStats()));
+    }
+
     private Long getCurrentUserId(HttpSession session) {
         Object userId = session.getAttribute("USER_ID");
         if (userId instanceof Long) return (Long) userId;
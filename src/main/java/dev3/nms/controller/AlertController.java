@@ -1,18 +1,24 @@
 package dev3.nms.controller;
 
-import dev3.nms.service.EmailAlertService;
+import dev3.nms.service.AlertIngestPipeline;
+import dev3.nms.service.PermissionService;
+import dev3.nms.util.SessionUtil;
 import dev3.nms.vo.common.ResVO;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Alert API - Kafka Consumer → WebSocket 브로드캐스트
  * 인증 제외 경로 (/api/alerts/**)
+ * - 수신 즉시 AlertIngestPipeline 큐에 넣고 응답, WebSocket/이메일 처리는 파이프라인에서 비동기 수행
  */
 @Slf4j
 @RestController
@@ -20,34 +26,55 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AlertController {
 
-    private final SimpMessagingTemplate messagingTemplate;
-    private final EmailAlertService emailAlertService;
+    private final AlertIngestPipeline alertIngestPipeline;
+    private final PermissionService permissionService;
 
     /**
-     * 단건 알림 수신 및 WebSocket 브로드캐스트
+     * 단건 알림 수신
      */
     @PostMapping
-    public ResVO<Void> receiveAlert(@RequestBody Map<String, Object> alert) {
-        messagingTemplate.convertAndSend("/topic/alerts", (Object) alert);
-        emailAlertService.processAlert(alert);
+    public ResponseEntity<ResVO<Void>> receiveAlert(@RequestBody Map<String, Object> alert) {
+        if (!alertIngestPipeline.submit(alert)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ResVO<>(503, "알림 큐 포화", null));
+        }
 
         String category = (String) alert.getOrDefault("category", "");
         String alertType = (String) alert.getOrDefault("alertType", "");
-        log.debug("Alert broadcast: {} / {}", category, alertType);
+        log.debug("Alert 접수: {} / {}", category, alertType);
 
-        return ResVO.<Void>builder().code(200).message("Alert broadcast 완료").build();
+        return ResponseEntity.ok(ResVO.<Void>builder().code(200).message("Alert 접수 완료").build());
     }
 
     /**
-     * 배치 알림 수신 및 WebSocket 브로드캐스트
+     * 배치 알림 수신
+     * - 일부 거부돼도 나머지는 이미 접수됐으므로 200 응답, 송신측은 rejectedIndices 순번만 재전송
      */
     @PostMapping("/batch")
-    public ResVO<Void> receiveAlerts(@RequestBody List<Map<String, Object>> alerts) {
-        for (Map<String, Object> alert : alerts) {
-            messagingTemplate.convertAndSend("/topic/alerts", (Object) alert);
-            emailAlertService.processAlert(alert);
+    public ResponseEntity<ResVO<Map<String, Object>>> receiveAlerts(@RequestBody List<Map<String, Object>> alerts) {
+        List<Integer> rejectedIndices = alertIngestPipeline.submitAll(alerts);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("accepted", alerts.size() - rejectedIndices.size());
+        result.put("rejected", rejectedIndices.size());
+        result.put("rejectedIndices", rejectedIndices);
+
+        if (!rejectedIndices.isEmpty()) {
+            log.warn("Alert batch 일부 거부 (큐 포화): {}/{}건", rejectedIndices.size(), alerts.size());
+            return ResponseEntity.ok(new ResVO<>(200, "알림 큐 포화 - " + rejectedIndices.size() + "건 거부", result));
+        }
+        log.debug("Alert batch 접수: {}건", alerts.size());
+        return ResponseEntity.ok(new ResVO<>(200, "Alert batch 접수 완료", result));
+    }
+
+    /**
+     * 수신 파이프라인 통계 (관리자 전용) - 큐 깊이, 지연, 드롭 수
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ResVO<Map<String, Object>>> stats(HttpSession session) {
+        if (!permissionService.isAdmin(SessionUtil.getUserId(session))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
         }
-        log.debug("Alert batch broadcast: {}건", alerts.size());
-        return ResVO.<Void>builder().code(200).message("Alert batch broadcast 완료").build();
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", alertIngestPipeline.getStats()));
     }
 }
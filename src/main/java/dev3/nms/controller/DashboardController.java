@@ -5,8 +5,10 @@ import dev3.nms.mapper.ActivityLogMapper;
 import dev3.nms.mapper.CpuMemMapper;
 import dev3.nms.mapper.ErrorMapper;
 import dev3.nms.service.DashboardService;
+import dev3.nms.service.DashboardWidgetCache;
 import dev3.nms.service.PermissionService;
 import dev3.nms.service.TopoService;
+import dev3.nms.util.ColumnarSeriesBuilder;
 import dev3.nms.util.SessionUtil;
 import dev3.nms.vo.common.ResVO;
 import dev3.nms.vo.dashboard.DashboardDto;
@@ -28,6 +30,7 @@ import java.util.Map;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final DashboardWidgetCache dashboardWidgetCache;
     private final PermissionService permissionService;
     private final ActivityLogMapper activityLogMapper;
     private final CpuMemMapper cpuMemMapper;
@@ -48,10 +51,15 @@ public class DashboardController {
      */
     @GetMapping("/default-widget")
     public ResponseEntity<ResVO<List<DashboardDto.DefaultWidgetRes>>> getDefaultWidgetView(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String timeEncoding,
             HttpSession session
     ) {
         List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
         List<DashboardDto.DefaultWidgetRes> defaultWidgetRes = dashboardService.getDefaultWidget(accessibleDeviceIds);
+        if (defaultWidgetRes != null) {
+            defaultWidgetRes.forEach(w -> w.setChartData(formatChartData(w.getChartData(), format, timeEncoding)));
+        }
         ResVO<List<DashboardDto.DefaultWidgetRes>> response = new ResVO<>(200, "조회 성공", defaultWidgetRes);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -62,6 +70,8 @@ public class DashboardController {
     @GetMapping("/default-widget/{widgetId}")
     public ResponseEntity<ResVO<DashboardDto.DefaultWidgetRes>> getDefaultWidgetById(
             @PathVariable Long widgetId,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String timeEncoding,
             HttpSession session
     ) {
         List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
@@ -70,6 +80,7 @@ public class DashboardController {
             ResVO<DashboardDto.DefaultWidgetRes> response = new ResVO<>(404, "위젯을 찾을 수 없습니다", null);
             return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
         }
+        defaultWidgetRes.setChartData(formatChartData(defaultWidgetRes.getChartData(), format, timeEncoding));
         ResVO<DashboardDto.DefaultWidgetRes> response = new ResVO<>(200, "조회 성공", defaultWidgetRes);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -80,6 +91,8 @@ public class DashboardController {
     @GetMapping("/user-widget/{userId}")
     public ResponseEntity<ResVO<List<DashboardDto.UserWidgetRes>>> getUserWidgetView(
             @PathVariable Long userId,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String timeEncoding,
             HttpSession session
     ) {
         Long currentUserId = SessionUtil.getUserId(session);
@@ -88,6 +101,9 @@ public class DashboardController {
         }
         List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
         List<DashboardDto.UserWidgetRes> userWidgets = dashboardService.getUserWidget(userId, accessibleDeviceIds);
+        if (userWidgets != null) {
+            userWidgets.forEach(w -> w.setChartData(formatChartData(w.getChartData(), format, timeEncoding)));
+        }
         ResVO<List<DashboardDto.UserWidgetRes>> response = new ResVO<>(200, "조회 성공", userWidgets);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -98,6 +114,8 @@ public class DashboardController {
     @GetMapping("/user-widget/refresh/{userDashboardWidgetId}")
     public ResponseEntity<ResVO<DashboardDto.UserWidgetRes>> getUserWidgetById(
             @PathVariable Long userDashboardWidgetId,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) String timeEncoding,
             HttpSession session
     ) {
         List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
@@ -106,6 +124,7 @@ public class DashboardController {
             ResVO<DashboardDto.UserWidgetRes> response = new ResVO<>(404, "위젯을 찾을 수 없습니다", null);
             return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
         }
+        userWidgetRes.setChartData(formatChartData(userWidgetRes.getChartData(), format, timeEncoding));
         ResVO<DashboardDto.UserWidgetRes> response = new ResVO<>(200, "조회 성공", userWidgetRes);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -148,6 +167,26 @@ public class DashboardController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    /**
+     * 위젯 데이터 캐시 통계 (관리자 전용) - 항목 수, 적중/로드/공유/선갱신 건수
+     */
+    @GetMapping("/widget-cache/stats")
+    public ResponseEntity<ResVO<Map<String, Object>>> getWidgetCacheStats(HttpSession session) {
+        if (!permissionService.isAdmin(SessionUtil.getUserId(session))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", dashboardWidgetCache.getStats()));
+    }
+
+    /**
+     * format=columnar 요청 시 라인 차트 데이터를 컬럼 형식으로 변환 (timeEncoding=delta 시 시간축 delta 인코딩)
+     */
+    private static Object formatChartData(Object chartData, String format, String timeEncoding) {
+        if (!ColumnarSeriesBuilder.isColumnar(format)) return chartData;
+        return DashboardService.toColumnarChartData(chartData, "delta".equalsIgnoreCase(timeEncoding));
+    }
+
     private List<Long> getAccessibleDeviceIds(HttpSession session) {
         Long userId = SessionUtil.getUserId(session);
         if (userId == null) return List.of();
@@ -3,12 +3,14 @@ package dev3.nms.controller;
 import dev3.nms.config.AuditLog;
 import dev3.nms.mapper.EmailPrefMapper;
 import dev3.nms.mapper.ErrorMapper;
+import dev3.nms.service.EmailPrefChangedEvent;
 import dev3.nms.util.SessionUtil;
 import dev3.nms.vo.common.ResVO;
 import dev3.nms.vo.notification.*;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +27,7 @@ public class EmailController {
 
     private final EmailPrefMapper emailPrefMapper;
     private final ErrorMapper errorMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // === User Email Preferences ===
 
@@ -74,6 +77,7 @@ public class EmailController {
         if (!typePrefs.isEmpty()) {
             emailPrefMapper.insertTypePrefs(userId, typePrefs);
         }
+        eventPublisher.publishEvent(new EmailPrefChangedEvent(userId));
 
         return ResponseEntity.ok(new ResVO<>(200, "저장 성공", null));
     }
@@ -96,6 +100,7 @@ public class EmailController {
             });
             emailPrefMapper.insertDevicePrefs(prefs);
         }
+        eventPublisher.publishEvent(new EmailPrefChangedEvent(userId));
 
         return ResponseEntity.ok(new ResVO<>(200, "저장 성공", null));
     }
@@ -107,6 +112,7 @@ public class EmailController {
         if (userId == null) return unauthorized();
 
         emailPrefMapper.deleteDevicePrefs(userId, deviceId);
+        eventPublisher.publishEvent(new EmailPrefChangedEvent(userId));
         return ResponseEntity.ok(new ResVO<>(200, "삭제 성공", null));
     }
 
@@ -8,20 +8,30 @@ import dev3.nms.mapper.GroupMapper;
 import dev3.nms.mapper.ModelMapper;
 import dev3.nms.mapper.VendorMapper;
 import dev3.nms.service.DevCodeService;
+import dev3.nms.service.DeviceBulkRegistrationService;
+import dev3.nms.service.DeviceRegisterJobService;
+import dev3.nms.service.DevicePurgeService;
 import dev3.nms.service.DeviceService;
 import dev3.nms.service.IcmpService;
 import dev3.nms.vo.mgmt.IcmpVO;
 import dev3.nms.service.GroupService;
 import dev3.nms.service.MiddlewareClient;
 import dev3.nms.service.PermissionService;
+import dev3.nms.service.PortInventoryService;
 import dev3.nms.service.PortService;
 import dev3.nms.service.TempDeviceService;
 import dev3.nms.service.TrafficService;
 import dev3.nms.vo.mgmt.TrafficVO;
 import dev3.nms.vo.mgmt.CpuMemVO;
+import dev3.nms.util.ColumnarSeriesBuilder;
+import dev3.nms.util.SeriesDownsampler;
+import dev3.nms.util.GroupedJsonStreamWriter;
 import dev3.nms.util.SessionUtil;
+import dev3.nms.vo.common.ColumnarChartVO;
 import dev3.nms.vo.common.PageVO;
 import dev3.nms.vo.common.ResVO;
+import dev3.nms.vo.mgmt.DevicePurgeJobVO;
+import dev3.nms.vo.mgmt.DeviceRegisterJobVO;
 import dev3.nms.vo.mgmt.DeviceRegistrationResultVO;
 import dev3.nms.vo.mgmt.DeviceScopeVO;
 import dev3.nms.vo.mgmt.DeviceSshVO;
@@ -33,17 +43,22 @@ import dev3.nms.vo.mgmt.TempDeviceVO;
 import dev3.nms.vo.mgmt.ConnectivityCheckVO;
 import dev3.nms.vo.mgmt.DevCodeVO;
 import dev3.nms.vo.mgmt.VendorVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -55,7 +70,11 @@ public class MgmtController {
     private final GroupService groupService;
     private final TempDeviceService tempDeviceService;
     private final DeviceService deviceService;
+    private final DevicePurgeService devicePurgeService;
+    private final DeviceBulkRegistrationService bulkRegistrationService;
+    private final DeviceRegisterJobService deviceRegisterJobService;
     private final PortService portService;
+    private final PortInventoryService portInventoryService;
     private final TrafficService trafficService;
     private final IcmpService icmpService;
     private final DevCodeService devCodeService;
@@ -67,6 +86,7 @@ public class MgmtController {
     private final dev3.nms.mapper.EnvironmentMapper environmentMapper;
     private final PermissionService permissionService;
     private final dev3.nms.mapper.DeviceSshMapper deviceSshMapper;
+    private final ObjectMapper objectMapper;
 
     /**
      * 그룹 계층 구조 조회 API (접근 가능 그룹만)
@@ -533,7 +553,7 @@ public class MgmtController {
                 return new ResponseEntity<>(new ResVO<>(401, "인증되지 않은 사용자입니다", null), HttpStatus.UNAUTHORIZED);
             }
 
-            DeviceRegistrationResultVO result = deviceService.createDevicesBulkDirectly(devices, userId);
+            DeviceRegistrationResultVO result = bulkRegistrationService.registerDirect(devices, userId, null);
 
             String message = String.format("장비 일괄 등록 처리 완료 - 성공: %d개, 실패: %d개",
                     result.getSuccessList().size(),
@@ -582,7 +602,7 @@ public class MgmtController {
                 return new ResponseEntity<>(new ResVO<>(400, "tempDeviceIds는 필수입니다", null), HttpStatus.BAD_REQUEST);
             }
 
-            DeviceRegistrationResultVO result = deviceService.registerDevicesFromTemp(tempDeviceIds, userId);
+            DeviceRegistrationResultVO result = bulkRegistrationService.registerFromTemp(tempDeviceIds, userId, null);
 
             String message = String.format("장비 등록 완료 - 성공: %d개, 실패: %d개",
                     result.getSuccessList().size(),
@@ -595,6 +615,169 @@ public class MgmtController {
         }
     }
 
+    /**
+     * 장비 일괄 등록 API (스트리밍)
+     * - 요청은 /devices/direct/bulk 와 동일, 장비별 처리 결과를 완료 순서대로 NDJSON 한 줄씩 기록
+     * - 마지막 줄은 성공/실패 건수 요약
+     */
+    @AuditLog(actionType = "CREATE", targetType = "DEVICE", pageCode = "asset_mgmt")
+    @RequireEditPermission("asset_mgmt")
+    @PostMapping(path = "/devices/direct/bulk/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamDevicesBulkDirectly(@RequestBody List<TempDeviceVO> devices, HttpSession session) {
+        Integer userId = getUserIdFromSession(session);
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return streamRegistration(listener -> bulkRegistrationService.registerDirect(devices, userId, listener));
+    }
+
+    /**
+     * 임시 장비 일괄 등록 API (스트리밍)
+     * - 요청은 /devices/register/bulk 와 동일, 응답 형식은 /devices/direct/bulk/stream 과 동일
+     */
+    @AuditLog(actionType = "CREATE", targetType = "DEVICE", pageCode = "asset_mgmt")
+    @RequireEditPermission("asset_mgmt")
+    @PostMapping(path = "/devices/register/bulk/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamDevicesFromTemp(@RequestBody Map<String, Object> requestBody) {
+        @SuppressWarnings("unchecked")
+        List<Integer> tempDeviceIds = (List<Integer>) requestBody.get("tempDeviceIds");
+        Integer userId = (Integer) requestBody.get("userId");
+        if (tempDeviceIds == null || tempDeviceIds.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return streamRegistration(listener -> bulkRegistrationService.registerFromTemp(tempDeviceIds, userId, listener));
+    }
+
+    /**
+     * 일괄 등록 진행 NDJSON 스트리밍 - 등록 스레드들이 완료 즉시 기록 (클라이언트 연결이 끊겨도 등록은 계속)
+     */
+    private ResponseEntity<StreamingResponseBody> streamRegistration(
+            Function<DeviceBulkRegistrationService.Listener, DeviceRegistrationResultVO> run) {
+        StreamingResponseBody body = out -> {
+            DeviceBulkRegistrationService.Listener listener = progress -> {
+                synchronized (out) {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(progress));
+                        out.write('\n');
+                        out.flush();
+                    } catch (java.io.IOException e) {
+                        throw new java.io.UncheckedIOException(e);
+                    }
+                }
+            };
+            DeviceRegistrationResultVO result = run.apply(listener);
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("successCount", result.getSuccessList().size());
+            summary.put("failureCount", result.getFailureList().size());
+            synchronized (out) {
+                out.write(objectMapper.writeValueAsBytes(summary));
+                out.write('\n');
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    /**
+     * 장비 일괄 등록 작업 등록 API (비동기)
+     * - 요청은 /devices/direct/bulk 와 동일, 작업 ID 를 바로 반환
+     * - 진행 상황: STOMP /topic/device-register/{jobId} 또는 GET /devices/register-jobs/{jobId}
+     */
+    @AuditLog(actionType = "CREATE", targetType = "DEVICE", pageCode = "asset_mgmt")
+    @RequireEditPermission("asset_mgmt")
+    @PostMapping("/devices/register-jobs/direct")
+    public ResponseEntity<ResVO<Map<String, Object>>> submitDirectRegisterJob(@RequestBody List<TempDeviceVO> devices, HttpSession session) {
+        try {
+            Integer userId = getUserIdFromSession(session);
+            if (userId == null) {
+                return new ResponseEntity<>(new ResVO<>(401, "인증되지 않은 사용자입니다", null), HttpStatus.UNAUTHORIZED);
+            }
+            if (devices == null || devices.isEmpty()) {
+                return new ResponseEntity<>(new ResVO<>(400, "등록할 장비가 없습니다", null), HttpStatus.BAD_REQUEST);
+            }
+            Long jobId = deviceRegisterJobService.submitDirect(devices, userId);
+            return new ResponseEntity<>(new ResVO<>(202, "장비 등록 작업 등록 완료", Map.of("jobId", jobId)), HttpStatus.ACCEPTED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResVO<>(500, "장비 등록 작업 등록 실패", null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 임시 장비 일괄 등록 작업 등록 API (비동기)
+     * - body: { tempDeviceIds: [...] }
+     */
+    @AuditLog(actionType = "CREATE", targetType = "DEVICE", pageCode = "asset_mgmt")
+    @RequireEditPermission("asset_mgmt")
+    @PostMapping("/devices/register-jobs/temp")
+    public ResponseEntity<ResVO<Map<String, Object>>> submitTempRegisterJob(@RequestBody Map<String, Object> requestBody, HttpSession session) {
+        try {
+            @SuppressWarnings("unchecked")
+            List<Integer> tempDeviceIds = (List<Integer>) requestBody.get("tempDeviceIds");
+            if (tempDeviceIds == null || tempDeviceIds.isEmpty()) {
+                return new ResponseEntity<>(new ResVO<>(400, "tempDeviceIds는 필수입니다", null), HttpStatus.BAD_REQUEST);
+            }
+            Long jobId = deviceRegisterJobService.submitTemp(tempDeviceIds, getUserIdFromSession(session));
+            return new ResponseEntity<>(new ResVO<>(202, "장비 등록 작업 등록 완료", Map.of("jobId", jobId)), HttpStatus.ACCEPTED);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResVO<>(500, "장비 등록 작업 등록 실패", null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 최근 장비 일괄 등록 작업 목록
+     * - 관리자는 전체, 그 외는 본인이 등록한 작업만
+     */
+    @GetMapping("/devices/register-jobs")
+    public ResponseEntity<ResVO<List<DeviceRegisterJobVO>>> getRegisterJobs(HttpSession session) {
+        if (permissionService.isAdmin(SessionUtil.getUserId(session))) {
+            return ResponseEntity.ok(new ResVO<>(200, "조회 성공", deviceRegisterJobService.getRecentJobs(null)));
+        }
+        Integer userId = getUserIdFromSession(session);
+        List<DeviceRegisterJobVO> jobs = userId == null ? List.of() : deviceRegisterJobService.getRecentJobs(userId);
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", jobs));
+    }
+
+    /**
+     * 장비 일괄 등록 작업 조회 (작업 + 장비별 상태)
+     */
+    @GetMapping("/devices/register-jobs/{jobId}")
+    public ResponseEntity<ResVO<Map<String, Object>>> getRegisterJob(@PathVariable Long jobId, HttpSession session) {
+        DeviceRegisterJobVO job = deviceRegisterJobService.getJob(jobId);
+        if (job == null) {
+            return new ResponseEntity<>(new ResVO<>(404, "등록 작업을 찾을 수 없습니다: " + jobId, null), HttpStatus.NOT_FOUND);
+        }
+        if (!canAccessRegisterJob(job, session)) {
+            return new ResponseEntity<>(new ResVO<>(403, "등록 작업 조회 권한이 없습니다", null), HttpStatus.FORBIDDEN);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("job", job);
+        data.put("items", deviceRegisterJobService.getItems(jobId));
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", data));
+    }
+
+    /**
+     * 장비 일괄 등록 작업의 실패 장비만 재시도
+     */
+    @AuditLog(actionType = "CREATE", targetType = "DEVICE", pageCode = "asset_mgmt")
+    @RequireEditPermission("asset_mgmt")
+    @PostMapping("/devices/register-jobs/{jobId}/retry")
+    public ResponseEntity<ResVO<Map<String, Object>>> retryRegisterJob(@PathVariable Long jobId, HttpSession session) {
+        try {
+            DeviceRegisterJobVO job = deviceRegisterJobService.getJob(jobId);
+            if (job != null && !canAccessRegisterJob(job, session)) {
+                return new ResponseEntity<>(new ResVO<>(403, "등록 작업 재시도 권한이 없습니다", null), HttpStatus.FORBIDDEN);
+            }
+            int count = deviceRegisterJobService.retryFailed(jobId);
+            return new ResponseEntity<>(new ResVO<>(202, "실패 장비 재시도 " + count + "건", Map.of("jobId", jobId, "retryCount", count)), HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(new ResVO<>(404, e.getMessage(), null), HttpStatus.NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(new ResVO<>(409, e.getMessage(), null), HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(new ResVO<>(500, "장비 등록 재시도 실패", null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * 장비 정보 수정 API
      */
@@ -623,14 +806,14 @@ public class MgmtController {
     @AuditLog(actionType = "DELETE", targetType = "DEVICE", pageCode = "asset_mgmt")
     @RequireEditPermission("asset_mgmt")
     @DeleteMapping("/devices/{deviceId}")
-    public ResponseEntity<ResVO<Void>> deleteDevice(@PathVariable int deviceId, HttpSession session) {
+    public ResponseEntity<ResVO<Map<String, Object>>> deleteDevice(@PathVariable int deviceId, HttpSession session) {
         try {
             List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
             if (accessibleDeviceIds != null && !accessibleDeviceIds.contains((long) deviceId)) {
                 return new ResponseEntity<>(new ResVO<>(403, "해당 장비에 접근할 수 없습니다", null), HttpStatus.FORBIDDEN);
             }
-            deviceService.deleteDevice(deviceId);
-            ResVO<Void> response = new ResVO<>(200, "장비 삭제 성공", null);
+            Long purgeJobId = deviceService.deleteDevice(deviceId);
+            ResVO<Map<String, Object>> response = new ResVO<>(200, "장비 삭제 성공", Map.of("purgeJobId", purgeJobId));
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(new ResVO<>(404, e.getMessage(), null), HttpStatus.NOT_FOUND);
@@ -641,11 +824,12 @@ public class MgmtController {
 
     /**
      * 장비 일괄 삭제 API
+     * - 논리 삭제 후 즉시 응답, 성능/장애 이력은 purgeJobId 작업으로 백그라운드 정리
      */
     @AuditLog(actionType = "DELETE", targetType = "DEVICE", pageCode = "asset_mgmt")
     @RequireEditPermission("asset_mgmt")
     @DeleteMapping("/devices")
-    public ResponseEntity<ResVO<Void>> deleteDevices(@RequestBody Map<String, List<Integer>> requestBody, HttpSession session) {
+    public ResponseEntity<ResVO<Map<String, Object>>> deleteDevices(@RequestBody Map<String, List<Integer>> requestBody, HttpSession session) {
         try {
             List<Integer> deviceIds = requestBody.get("deviceIds");
             if (deviceIds == null || deviceIds.isEmpty()) {
@@ -659,8 +843,9 @@ public class MgmtController {
                     }
                 }
             }
-            deviceService.deleteDevices(deviceIds);
-            ResVO<Void> response = new ResVO<>(200, "장비 일괄 삭제 성공 (" + deviceIds.size() + "개)", null);
+            Long purgeJobId = deviceService.deleteDevices(deviceIds);
+            ResVO<Map<String, Object>> response = new ResVO<>(200, "장비 일괄 삭제 성공 (" + deviceIds.size() + "개)",
+                    Map.of("purgeJobId", purgeJobId));
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(new ResVO<>(400, e.getMessage(), null), HttpStatus.BAD_REQUEST);
@@ -669,6 +854,34 @@ public class MgmtController {
         }
     }
 
+    /**
+     * 삭제 장비 이력 정리 현황 (관리자 전용) - 진행 상태 + 최근 작업
+     */
+    @GetMapping("/devices/purge-jobs")
+    public ResponseEntity<ResVO<Map<String, Object>>> getDevicePurgeStatus(HttpSession session) {
+        if (!permissionService.isAdmin(SessionUtil.getUserId(session))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", devicePurgeService.getStatus()));
+    }
+
+    /**
+     * 삭제 장비 이력 정리 작업 조회 (관리자 전용)
+     */
+    @GetMapping("/devices/purge-jobs/{jobId}")
+    public ResponseEntity<ResVO<DevicePurgeJobVO>> getDevicePurgeJob(@PathVariable Long jobId, HttpSession session) {
+        if (!permissionService.isAdmin(SessionUtil.getUserId(session))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        DevicePurgeJobVO job = devicePurgeService.getJob(jobId);
+        if (job == null) {
+            return new ResponseEntity<>(new ResVO<>(404, "정리 작업을 찾을 수 없습니다: " + jobId, null), HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", job));
+    }
+
     // ==================== Port 관련 API ====================
 
     /**
@@ -811,6 +1024,15 @@ public class MgmtController {
     /**
      * 세션에서 로그인한 사용자 ID를 가져오는 헬퍼 메소드
      */
+    /**
+     * 등록 작업 접근 가능 여부 (등록자 또는 관리자)
+     */
+    private boolean canAccessRegisterJob(DeviceRegisterJobVO job, HttpSession session) {
+        Integer userId = getUserIdFromSession(session);
+        if (userId != null && userId.equals(job.getCREATE_USER_ID())) return true;
+        return permissionService.isAdmin(SessionUtil.getUserId(session));
+    }
+
     private Integer getUserIdFromSession(HttpSession session) {
         Object userId = session.getAttribute("USER_ID");
         if (userId instanceof Long) return ((Long) userId).intValue();
@@ -1100,6 +1322,8 @@ public class MgmtController {
      * @param startDate 시작 일시 ISO (yyyy-MM-ddTHH:mm)
      * @param endDate 종료 일시 ISO
      * @param granularity raw|5min|30min|1hour|auto (기본 auto)
+     * @param maxPoints raw 조회 시 최대 포인트 수 (미지정 시 전체)
+     * @param downsample minmax(기본)|lttb
      */
     @GetMapping("/devices/{deviceId}/icmp/history")
     public ResponseEntity<ResVO<List<IcmpVO>>> getDeviceIcmpHistory(
@@ -1108,13 +1332,16 @@ public class MgmtController {
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate,
             @RequestParam(required = false, defaultValue = "auto") String granularity,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) String downsample,
             HttpSession session) {
         try {
             List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
             if (accessibleDeviceIds != null && !accessibleDeviceIds.contains((long) deviceId)) {
                 return new ResponseEntity<>(new ResVO<>(403, "해당 장비에 접근할 수 없습니다", null), HttpStatus.FORBIDDEN);
             }
-            List<IcmpVO> icmpData = icmpService.getHistory(deviceId, minutes, startDate, endDate, granularity);
+            List<IcmpVO> icmpData = icmpService.getHistory(deviceId, minutes, startDate, endDate, granularity,
+                    SeriesDownsampler.Spec.of(maxPoints, downsample));
             ResVO<List<IcmpVO>> response = new ResVO<>(200, "ICMP 시계열 데이터 조회 성공", icmpData);
             return new ResponseEntity<>(response, HttpStatus.OK);
         } catch (Exception e) {
@@ -1196,17 +1423,27 @@ public class MgmtController {
 
     /**
      * 포트 상태 실시간 체크 (SNMP GET - AdminStatus / OperStatus)
+     * collector=EMBEDDED 이면 미들웨어를 거치지 않고 내장 SNMP로 조회
+     * 포트 인벤토리 워크 캐시가 유효하면 캐시로 응답 (fresh=true 이거나 collector 지정 시 항상 실시간 조회)
      */
     @GetMapping("/devices/{deviceId}/ports/{ifIndex}/check")
     public ResponseEntity<ResVO<MiddlewareClient.PortStatusResponse>> checkPortStatus(
             @PathVariable Integer deviceId,
             @PathVariable Integer ifIndex,
+            @RequestParam(required = false) String collector,
+            @RequestParam(defaultValue = "false") boolean fresh,
             HttpSession session) {
         try {
             List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
             if (accessibleDeviceIds != null && !accessibleDeviceIds.contains((long) deviceId)) {
                 return new ResponseEntity<>(new ResVO<>(403, "해당 장비에 접근할 수 없습니다", null), HttpStatus.FORBIDDEN);
             }
+            if (!fresh && (collector == null || collector.isBlank())) {
+                MiddlewareClient.PortStatusResponse cached = portInventoryService.cachedPortStatus(deviceId, ifIndex);
+                if (cached != null) {
+                    return new ResponseEntity<>(new ResVO<>(200, "포트 상태 조회 완료", cached), HttpStatus.OK);
+                }
+            }
             DeviceVO device = deviceService.getDeviceById(deviceId);
             if (device == null) {
                 return new ResponseEntity<>(new ResVO<>(404, "장비를 찾을 수 없습니다", null), HttpStatus.NOT_FOUND);
@@ -1222,8 +1459,10 @@ public class MgmtController {
             snmpReq.setAuthPassword(device.getSNMP_AUTH_PASSWORD());
             snmpReq.setPrivProtocol(device.getSNMP_PRIV_PROTOCOL());
             snmpReq.setPrivPassword(device.getSNMP_PRIV_PASSWORD());
+            snmpReq.setCollector(collector);
 
             MiddlewareClient.PortStatusResponse result = middlewareClient.getPortStatus(snmpReq, ifIndex, deviceId);
+            portInventoryService.cacheStatus(deviceId, result);
             return new ResponseEntity<>(new ResVO<>(200, "포트 상태 조회 완료", result), HttpStatus.OK);
         } catch (Exception e) {
             log.error("포트 상태 체크 실패 - deviceId: {}, ifIndex: {}", deviceId, ifIndex, e);
@@ -1231,6 +1470,60 @@ public class MgmtController {
         }
     }
 
+    /**
+     * 포트 인벤토리 일괄 동기화 작업 등록 API (비동기, 여러 장비 동시 워크, 변경된 포트만 저장)
+     * - 본문: 장비 ID 목록 (생략 시 접근 가능한 전체 장비)
+     * - 작업 ID 를 바로 반환, 진행 상황/결과: GET /devices/port-inventory/sync/{jobId}
+     */
+    @AuditLog(actionType = "UPDATE", targetType = "PORT", pageCode = "asset_mgmt")
+    @RequireEditPermission("asset_mgmt")
+    @PostMapping("/devices/port-inventory/sync")
+    public ResponseEntity<ResVO<Map<String, Object>>> syncPortInventory(
+            @RequestBody(required = false) List<Integer> deviceIds,
+            HttpSession session) {
+        try {
+            List<Long> accessibleDeviceIds = getAccessibleDeviceIds(session);
+            List<Integer> targets = deviceIds;
+            if (accessibleDeviceIds != null) {
+                targets = (deviceIds != null ? deviceIds.stream() : accessibleDeviceIds.stream().map(Long::intValue))
+                        .filter(id -> accessibleDeviceIds.contains((long) id))
+                        .toList();
+            }
+            Long jobId = portInventoryService.startSync(targets);
+            if (jobId == null) {
+                return new ResponseEntity<>(new ResVO<>(409, "이미 포트 인벤토리 동기화가 진행 중입니다", null), HttpStatus.CONFLICT);
+            }
+            return new ResponseEntity<>(new ResVO<>(202, "포트 인벤토리 동기화 작업 등록 완료", Map.of("jobId", jobId)), HttpStatus.ACCEPTED);
+        } catch (Exception e) {
+            log.error("포트 인벤토리 동기화 작업 등록 실패", e);
+            return new ResponseEntity<>(new ResVO<>(500, "포트 인벤토리 동기화 작업 등록 실패", null), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 포트 인벤토리 동기화 작업 조회 (상태 + 장비별 결과)
+     */
+    @GetMapping("/devices/port-inventory/sync/{jobId}")
+    public ResponseEntity<ResVO<PortInventoryService.SyncJob>> getPortInventorySyncJob(@PathVariable Long jobId) {
+        PortInventoryService.SyncJob job = portInventoryService.getJob(jobId);
+        if (job == null) {
+            return new ResponseEntity<>(new ResVO<>(404, "동기화 작업을 찾을 수 없습니다: " + jobId, null), HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", job));
+    }
+
+    /**
+     * 포트 인벤토리 통계 (관리자 전용) - 캐시 장비 수, 캐시 적중/미적중, UPSERT/생략 행 수
+     */
+    @GetMapping("/devices/port-inventory/stats")
+    public ResponseEntity<ResVO<Map<String, Object>>> getPortInventoryStats(HttpSession session) {
+        if (!permissionService.isAdmin(SessionUtil.getUserId(session))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", portInventoryService.getStats()));
+    }
+
     /**
      * 연결성 체크 API (PING → SNMP → SSH 순차 체크)
      */
@@ -1765,18 +2058,42 @@ public class MgmtController {
         try { return Integer.parseInt(String.valueOf(o)); } catch (Exception e) { return null; }
     }
 
+    /**
+     * ["a","b"] 또는 "a,b" → 문자열 목록
+     */
+    private static List<String> asStrList(Object o) {
+        if (o == null) return null;
+        List<String> result = new ArrayList<>();
+        if (o instanceof List) {
+            for (Object item : (List<?>) o) {
+                if (item != null) result.add(String.valueOf(item));
+            }
+        } else {
+            for (String item : String.valueOf(o).split(",")) {
+                if (!item.isBlank()) result.add(item.trim());
+            }
+        }
+        return result;
+    }
+
     private static String asStr(Object o) {
         if (o == null) return null;
         String s = String.valueOf(o);
         return s.isEmpty() ? null : s;
     }
 
+    private static SeriesDownsampler.Spec downsampleSpec(Map<String, Object> req) {
+        return SeriesDownsampler.Spec.of(asInt(req.get("maxPoints")), asStr(req.get("downsample")));
+    }
+
     /**
      * 다중 장비 CPU/MEM 시계열 batch 조회
-     * body: { deviceIds: [..], minutes?, startDate?, endDate?, granularity? }
+     * body: { deviceIds: [..], minutes?, startDate?, endDate?, granularity?, format?, fields?, timeEncoding?, maxPoints?, downsample? }
+     * - format=columnar: 공통 시간축 + 시리즈별 필드 배열 (ColumnarChartVO), timeEncoding=delta 시 시간축 delta 인코딩
+     * - maxPoints: raw 조회 시 시리즈당 최대 포인트 수로 다운샘플 (downsample=minmax(기본)|lttb)
      */
     @PostMapping("/devices/batch/cpu-mem/history")
-    public ResponseEntity<ResVO<Map<String, List<CpuMemVO>>>> batchCpuMemHistory(
+    public ResponseEntity<ResVO<?>> batchCpuMemHistory(
             @RequestBody Map<String, Object> req, HttpSession session) {
         try {
             List<Integer> deviceIds = extractAndFilterDeviceIds(req, session);
@@ -1784,8 +2101,14 @@ public class MgmtController {
             String startDate = asStr(req.get("startDate"));
             String endDate = asStr(req.get("endDate"));
             String granularity = asStr(req.get("granularity"));
+            SeriesDownsampler.Spec downsample = downsampleSpec(req);
 
-            Map<String, List<CpuMemVO>> data = deviceService.getRecentCpuMemBatch(deviceIds, minutes, startDate, endDate, granularity);
+            if (ColumnarSeriesBuilder.isColumnar(asStr(req.get("format")))) {
+                ColumnarChartVO columnar = deviceService.getRecentCpuMemBatchColumnar(deviceIds, minutes, startDate, endDate, granularity, downsample,
+                        asStrList(req.get("fields")), "delta".equalsIgnoreCase(asStr(req.get("timeEncoding"))));
+                return new ResponseEntity<>(new ResVO<>(200, "CPU/MEM batch 조회 성공", columnar), HttpStatus.OK);
+            }
+            Map<String, List<CpuMemVO>> data = deviceService.getRecentCpuMemBatch(deviceIds, minutes, startDate, endDate, granularity, downsample);
             return new ResponseEntity<>(new ResVO<>(200, "CPU/MEM batch 조회 성공", data), HttpStatus.OK);
         } catch (Exception e) {
             log.error("CPU/MEM batch 조회 실패", e);
@@ -1795,10 +2118,12 @@ public class MgmtController {
 
     /**
      * 다중 장비 트래픽 raw 시계열 batch 조회
-     * body: { deviceIds: [..], minutes?, startDate?, endDate?, granularity? }
+     * body: { deviceIds: [..], minutes?, startDate?, endDate?, granularity?, format?, fields?, timeEncoding?, maxPoints?, downsample? }
+     * - format=columnar: 공통 시간축 + 시리즈별 필드 배열 (ColumnarChartVO), timeEncoding=delta 시 시간축 delta 인코딩
+     * - maxPoints: raw 조회 시 시리즈당 최대 포인트 수로 다운샘플 (downsample=minmax(기본)|lttb)
      */
     @PostMapping("/devices/batch/traffic/raw")
-    public ResponseEntity<ResVO<Map<String, List<TrafficVO>>>> batchTrafficRaw(
+    public ResponseEntity<ResVO<?>> batchTrafficRaw(
             @RequestBody Map<String, Object> req, HttpSession session) {
         try {
             List<Integer> deviceIds = extractAndFilterDeviceIds(req, session);
@@ -1806,8 +2131,14 @@ public class MgmtController {
             String startDate = asStr(req.get("startDate"));
             String endDate = asStr(req.get("endDate"));
             String granularity = asStr(req.get("granularity"));
+            SeriesDownsampler.Spec downsample = downsampleSpec(req);
 
-            Map<String, List<TrafficVO>> data = trafficService.getRecentTrafficBatch(deviceIds, minutes, startDate, endDate, granularity);
+            if (ColumnarSeriesBuilder.isColumnar(asStr(req.get("format")))) {
+                ColumnarChartVO columnar = trafficService.getRecentTrafficBatchColumnar(deviceIds, minutes, startDate, endDate, granularity, downsample,
+                        asStrList(req.get("fields")), "delta".equalsIgnoreCase(asStr(req.get("timeEncoding"))));
+                return new ResponseEntity<>(new ResVO<>(200, "트래픽 batch 조회 성공", columnar), HttpStatus.OK);
+            }
+            Map<String, List<TrafficVO>> data = trafficService.getRecentTrafficBatch(deviceIds, minutes, startDate, endDate, granularity, downsample);
             return new ResponseEntity<>(new ResVO<>(200, "트래픽 batch 조회 성공", data), HttpStatus.OK);
         } catch (Exception e) {
             log.error("트래픽 batch 조회 실패", e);
@@ -1817,10 +2148,12 @@ public class MgmtController {
 
     /**
      * 다중 장비 ICMP 시계열 batch 조회
-     * body: { deviceIds: [..], minutes?, startDate?, endDate?, granularity? }
+     * body: { deviceIds: [..], minutes?, startDate?, endDate?, granularity?, format?, fields?, timeEncoding?, maxPoints?, downsample? }
+     * - format=columnar: 공통 시간축 + 시리즈별 필드 배열 (ColumnarChartVO), timeEncoding=delta 시 시간축 delta 인코딩
+     * - maxPoints: raw 조회 시 시리즈당 최대 포인트 수로 다운샘플 (downsample=minmax(기본)|lttb)
      */
     @PostMapping("/devices/batch/icmp/history")
-    public ResponseEntity<ResVO<Map<String, List<IcmpVO>>>> batchIcmpHistory(
+    public ResponseEntity<ResVO<?>> batchIcmpHistory(
             @RequestBody Map<String, Object> req, HttpSession session) {
         try {
             List<Integer> deviceIds = extractAndFilterDeviceIds(req, session);
@@ -1828,8 +2161,14 @@ public class MgmtController {
             String startDate = asStr(req.get("startDate"));
             String endDate = asStr(req.get("endDate"));
             String granularity = asStr(req.get("granularity"));
+            SeriesDownsampler.Spec downsample = downsampleSpec(req);
 
-            Map<String, List<IcmpVO>> data = icmpService.getHistoryBatch(deviceIds, minutes, startDate, endDate, granularity);
+            if (ColumnarSeriesBuilder.isColumnar(asStr(req.get("format")))) {
+                ColumnarChartVO columnar = icmpService.getHistoryBatchColumnar(deviceIds, minutes, startDate, endDate, granularity, downsample,
+                        asStrList(req.get("fields")), "delta".equalsIgnoreCase(asStr(req.get("timeEncoding"))));
+                return new ResponseEntity<>(new ResVO<>(200, "ICMP batch 조회 성공", columnar), HttpStatus.OK);
+            }
+            Map<String, List<IcmpVO>> data = icmpService.getHistoryBatch(deviceIds, minutes, startDate, endDate, granularity, downsample);
             return new ResponseEntity<>(new ResVO<>(200, "ICMP batch 조회 성공", data), HttpStatus.OK);
         } catch (Exception e) {
             log.error("ICMP batch 조회 실패", e);
@@ -1837,6 +2176,79 @@ public class MgmtController {
         }
     }
 
+    /**
+     * 다중 장비 CPU/MEM 시계열 batch 조회 (스트리밍)
+     * - 응답 구조는 /devices/batch/cpu-mem/history 와 동일, 장비 단위로 바로 기록 (결과 크기와 무관한 메모리 사용)
+     */
+    @PostMapping(path = "/devices/batch/cpu-mem/history/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCpuMemHistory(@RequestBody Map<String, Object> req, HttpSession session) {
+        List<Integer> deviceIds = extractAndFilterDeviceIds(req, session);
+        Integer minutes = asInt(req.get("minutes"));
+        String startDate = asStr(req.get("startDate"));
+        String endDate = asStr(req.get("endDate"));
+        String granularity = asStr(req.get("granularity"));
+        SeriesDownsampler.Spec downsample = downsampleSpec(req);
+
+        return streamGrouped("CPU/MEM batch 조회 성공", deviceIds, (CpuMemVO vo) -> String.valueOf(vo.getDEVICE_ID()),
+                sink -> deviceService.streamRecentCpuMemBatch(deviceIds, minutes, startDate, endDate, granularity, downsample, sink));
+    }
+
+    /**
+     * 다중 장비 트래픽 raw 시계열 batch 조회 (스트리밍)
+     * - 응답 구조는 /devices/batch/traffic/raw 와 동일, 장비 단위로 바로 기록 (결과 크기와 무관한 메모리 사용)
+     */
+    @PostMapping(path = "/devices/batch/traffic/raw/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTrafficRaw(@RequestBody Map<String, Object> req, HttpSession session) {
+        List<Integer> deviceIds = extractAndFilterDeviceIds(req, session);
+        Integer minutes = asInt(req.get("minutes"));
+        String startDate = asStr(req.get("startDate"));
+        String endDate = asStr(req.get("endDate"));
+        String granularity = asStr(req.get("granularity"));
+        SeriesDownsampler.Spec downsample = downsampleSpec(req);
+
+        return streamGrouped("트래픽 batch 조회 성공", deviceIds, (TrafficVO vo) -> String.valueOf(vo.getDEVICE_ID()),
+                sink -> trafficService.streamRecentTrafficBatch(deviceIds, minutes, startDate, endDate, granularity, downsample, sink));
+    }
+
+    /**
+     * 다중 장비 ICMP 시계열 batch 조회 (스트리밍)
+     * - 응답 구조는 /devices/batch/icmp/history 와 동일, 장비 단위로 바로 기록 (결과 크기와 무관한 메모리 사용)
+     */
+    @PostMapping(path = "/devices/batch/icmp/history/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamIcmpHistory(@RequestBody Map<String, Object> req, HttpSession session) {
+        List<Integer> deviceIds = extractAndFilterDeviceIds(req, session);
+        Integer minutes = asInt(req.get("minutes"));
+        String startDate = asStr(req.get("startDate"));
+        String endDate = asStr(req.get("endDate"));
+        String granularity = asStr(req.get("granularity"));
+        SeriesDownsampler.Spec downsample = downsampleSpec(req);
+
+        return streamGrouped("ICMP batch 조회 성공", deviceIds, (IcmpVO vo) -> String.valueOf(vo.getDEVICE_ID()),
+                sink -> icmpService.streamHistoryBatch(deviceIds, minutes, startDate, endDate, granularity, downsample, sink));
+    }
+
+    /**
+     * 장비별 그룹 JSON 스트리밍 응답
+     * - 권한 필터링은 요청 스레드에서 끝내고, 조회/기록은 비동기 스레드에서 수행
+     * - 기록 도중 실패하면 닫는 괄호 없이 종료 → 클라이언트는 불완전 응답(JSON 파싱 오류)으로 인식
+     */
+    private <T> ResponseEntity<StreamingResponseBody> streamGrouped(String message, List<Integer> deviceIds,
+                                                                    Function<T, String> keyFn,
+                                                                    Consumer<Consumer<T>> query) {
+        List<String> keys = deviceIds.stream().map(String::valueOf).toList();
+        StreamingResponseBody body = out -> {
+            try (GroupedJsonStreamWriter<T> writer = new GroupedJsonStreamWriter<>(objectMapper, out, keyFn)) {
+                writer.begin(200, message);
+                query.accept(writer);
+                writer.finish(keys);
+            } catch (Exception e) {
+                log.error("batch 스트리밍 조회 실패: {}", message, e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * 다중 (장비,포트) 쌍의 트래픽 시계열 batch 조회
      * body: { ports: [{deviceId, ifIndex}, ...], minutes? }
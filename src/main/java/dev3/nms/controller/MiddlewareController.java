@@ -1,10 +1,13 @@
 package dev3.nms.controller;
 
 import dev3.nms.config.AuditLog;
+import dev3.nms.service.DeviceRebalanceService;
 import dev3.nms.service.MiddlewareService;
 import dev3.nms.service.PermissionService;
+import dev3.nms.service.RebalanceScheduler;
 import dev3.nms.vo.common.ResVO;
 import dev3.nms.vo.mgmt.MiddlewareVO;
+import dev3.nms.vo.mgmt.RebalancePlanVO;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -22,6 +26,8 @@ public class MiddlewareController {
 
     private final MiddlewareService middlewareService;
     private final PermissionService permissionService;
+    private final DeviceRebalanceService deviceRebalanceService;
+    private final RebalanceScheduler rebalanceScheduler;
 
     /**
      * 미들웨어 목록 조회
@@ -32,6 +38,36 @@ public class MiddlewareController {
         return ResponseEntity.ok(new ResVO<>(200, "조회 성공", list));
     }
 
+    /**
+     * 장비 재분배 계획 조회 (dry-run, 관리자 전용)
+     * - 실제 UPDATE 없이 이동 예정 장비와 비용(probe 요청 수, UPDATE 행/문 수) 반환
+     * @param probe false 면 probe 없이 캐시된 도달성만으로 계획
+     */
+    @GetMapping("/rebalance/plan")
+    public ResponseEntity<ResVO<RebalancePlanVO>> rebalancePlan(@RequestParam(defaultValue = "true") boolean probe,
+                                                                HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", deviceRebalanceService.plan(probe)));
+    }
+
+    /**
+     * 장비 재분배 실행 상태/이력 조회 (관리자 전용)
+     * - running, pendingTriggers, runs(최신순: 소요시간, probe 장비 수, 이동 수 등)
+     */
+    @GetMapping("/rebalance/history")
+    public ResponseEntity<ResVO<Map<String, Object>>> rebalanceHistory(HttpSession session) {
+        Long currentUserId = getCurrentUserId(session);
+        if (!permissionService.isAdmin(currentUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ResVO<>(403, "관리자 권한이 필요합니다", null));
+        }
+        return ResponseEntity.ok(new ResVO<>(200, "조회 성공", rebalanceScheduler.getStatus()));
+    }
+
     /**
      * 미들웨어 상세 조회
      */
@@ -3,6 +3,7 @@ package dev3.nms.mapper;
 import dev3.nms.vo.mgmt.CpuMemVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -47,18 +48,18 @@ public interface CpuMemMapper {
                                                @Param("startTime") LocalDateTime startTime,
                                                @Param("endTime") LocalDateTime endTime);
 
-    int deleteByDeviceId(@Param("deviceId") Integer deviceId);
-
     List<Map<String, Object>> getDailyCpuMemTop(@Param("date") String date, @Param("limit") int limit);
 
     List<Map<String, Object>> getDailyPerfHourly(@Param("date") String date);
 
     /**
-     * 다중 장비의 CPU/MEM raw 데이터 조회 (batch)
+     * 다중 장비의 CPU/MEM raw 데이터 조회 (batch, 스트리밍)
+     * - 결과를 List 로 모으지 않고 DEVICE_ID, COLLECTED_AT 순서로 handler 에 한 건씩 전달
      */
-    List<CpuMemVO> findRecentBatchRaw(@Param("deviceIds") List<Integer> deviceIds,
-                                       @Param("startDate") String startDate,
-                                       @Param("endDate") String endDate);
+    void streamRecentBatchRaw(@Param("deviceIds") List<Integer> deviceIds,
+                              @Param("startDate") String startDate,
+                              @Param("endDate") String endDate,
+                              ResultHandler<CpuMemVO> handler);
 
     /**
      * 다중 장비의 CPU/MEM 집계 데이터 조회 (batch, intervalSec 단위로 그룹화)
@@ -67,4 +68,13 @@ public interface CpuMemMapper {
                                               @Param("startDate") String startDate,
                                               @Param("endDate") String endDate,
                                               @Param("intervalSec") Integer intervalSec);
+
+    /**
+     * 다중 장비의 CPU/MEM 집계 데이터 조회 (batch, rollup 테이블)
+     * - BUCKET_AT 이 [startDate, endDate] 인 bucketSec 단위 집계
+     */
+    List<CpuMemVO> findRecentBatchRollup(@Param("deviceIds") List<Integer> deviceIds,
+                                         @Param("startDate") String startDate,
+                                         @Param("endDate") String endDate,
+                                         @Param("bucketSec") Integer bucketSec);
 }
@@ -1,5 +1,6 @@
 package dev3.nms.mapper;
 
+import dev3.nms.vo.auth.AccessScopeFilterVO;
 import dev3.nms.vo.dashboard.DashboardDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -57,11 +58,10 @@ public interface DashboardMapper {
 
     List<DashboardDto.WidgetLineChartData> getWidgetTrafficLineChartData(Map<String, Object> param);
 
-    DashboardDto.WidgetAlertCntData getWidgetAlertSummary(@Param("accessibleDeviceIds") List<Long> accessibleDeviceIds);
+    DashboardDto.WidgetAlertCntData getWidgetAlertSummary(@Param("deviceScope") AccessScopeFilterVO deviceScope);
 
-    List<DashboardDto.DevCodeData> getDevCode();
-
-    List<Long> getDevCodeAllId(@Param("devCodeId") Long devCodeId);
-
-    Integer getDeviceCountBydevCodeId(@Param("list") List<Long> devCodeIdList, @Param("accessibleDeviceIds") List<Long> accessibleDeviceIds);
+    /**
+     * 장비군 코드별 장비 수 (최상위 코드 합산은 DevCodeTreeIndex.sumByRoot)
+     */
+    List<DashboardDto.DevCodeCountData> countDevicesByDevCode(@Param("deviceScope") AccessScopeFilterVO deviceScope);
 }
@@ -25,14 +25,14 @@ public interface DeviceMapper {
                                                          @Param("deviceName") String deviceName,
                                                          @Param("deviceIp") String deviceIp,
                                                          @Param("groupName") String groupName,
-                                                         @Param("devCodeId") Integer devCodeId);
+                                                         @Param("devCodeIds") List<Long> devCodeIds);
 
     // 검색 조건 포함 총 개수 조회
     int countDevicesByGroupIdsWithSearch(@Param("groupIds") List<Integer> groupIds,
                                           @Param("deviceName") String deviceName,
                                           @Param("deviceIp") String deviceIp,
                                           @Param("groupName") String groupName,
-                                          @Param("devCodeId") Integer devCodeId);
+                                          @Param("devCodeIds") List<Long> devCodeIds);
 
     int insertDevice(DeviceVO device);
 
@@ -0,0 +1,49 @@
+package dev3.nms.mapper;
+
+import dev3.nms.vo.mgmt.DevicePurgeItemVO;
+import dev3.nms.vo.mgmt.DevicePurgeJobVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 삭제 장비 이력 정리 작업
+ * - tableName 은 ${} 치환 → DevicePurgeService 의 정리 대상 목록에서만 전달
+ */
+@Mapper
+public interface DevicePurgeMapper {
+
+    void insertJob(DevicePurgeJobVO job);
+
+    void insertItems(@Param("jobId") Long jobId, @Param("deviceIds") List<Integer> deviceIds);
+
+    /**
+     * 미완료 작업 (PENDING / RUNNING, 등록 순)
+     */
+    List<DevicePurgeJobVO> findUnfinishedJobs();
+
+    DevicePurgeJobVO findJob(@Param("jobId") Long jobId);
+
+    List<DevicePurgeJobVO> findRecentJobs(@Param("limit") int limit);
+
+    List<DevicePurgeItemVO> findPendingItems(@Param("jobId") Long jobId);
+
+    void markJobRunning(@Param("jobId") Long jobId);
+
+    void markJobFinished(@Param("jobId") Long jobId, @Param("status") String status, @Param("error") String error);
+
+    void recordJobError(@Param("jobId") Long jobId, @Param("error") String error);
+
+    void updateItemProgress(@Param("jobId") Long jobId, @Param("deviceId") Integer deviceId,
+                            @Param("step") int step, @Param("deletedRows") long deletedRows,
+                            @Param("done") boolean done);
+
+    /**
+     * 장비 이력 청크 삭제 (bucketSec != null 이면 rollup 테이블의 해당 집계 단위만)
+     */
+    int deleteDeviceRows(@Param("tableName") String tableName,
+                         @Param("bucketSec") Integer bucketSec,
+                         @Param("deviceId") int deviceId,
+                         @Param("limit") int limit);
+}
@@ -0,0 +1,69 @@
+package dev3.nms.mapper;
+
+import dev3.nms.vo.mgmt.DeviceRegisterItemVO;
+import dev3.nms.vo.mgmt.DeviceRegisterJobVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 장비 일괄 등록 작업
+ */
+@Mapper
+public interface DeviceRegisterJobMapper {
+
+    void insertJob(DeviceRegisterJobVO job);
+
+    void insertItems(@Param("jobId") Long jobId, @Param("items") List<DeviceRegisterItemVO> items);
+
+    /**
+     * 미완료 작업 (PENDING / RUNNING, 등록 순)
+     */
+    List<DeviceRegisterJobVO> findUnfinishedJobs();
+
+    DeviceRegisterJobVO findJob(@Param("jobId") Long jobId);
+
+    /**
+     * 최근 작업 (userId 가 null 이면 전체)
+     */
+    List<DeviceRegisterJobVO> findRecentJobs(@Param("limit") int limit, @Param("userId") Integer userId);
+
+    /**
+     * 작업 항목 (입력 순)
+     */
+    List<DeviceRegisterItemVO> findItems(@Param("jobId") Long jobId);
+
+    List<DeviceRegisterItemVO> findItemsByState(@Param("jobId") Long jobId, @Param("state") String state);
+
+    void markJobRunning(@Param("jobId") Long jobId);
+
+    /**
+     * 완료 처리 (PENDING / PROBING 항목이 남아 있으면 변경 없음)
+     * @return 변경 행 수
+     */
+    int markJobDone(@Param("jobId") Long jobId);
+
+    /**
+     * 재시도 대기 (END_AT 초기화)
+     */
+    void markJobPending(@Param("jobId") Long jobId);
+
+    void markItemProbing(@Param("jobId") Long jobId, @Param("itemNo") Integer itemNo);
+
+    /**
+     * 항목 처리 결과 기록 (REGISTERED 면 INPUT_JSON 삭제)
+     */
+    void updateItemResult(DeviceRegisterItemVO item);
+
+    /**
+     * FAILED 항목을 PENDING 으로 되돌림
+     * @return 재시도 대상 항목 수
+     */
+    int resetFailedItems(@Param("jobId") Long jobId);
+
+    /**
+     * 같은 IP 의 활성 장비 ID (가장 최근 등록), 없으면 null
+     */
+    Integer findActiveDeviceIdByIp(@Param("deviceIp") String deviceIp);
+}
@@ -0,0 +1,26 @@
+package dev3.nms.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface DeviceScopeMapper {
+    // SCOPE_ID, DEVICE_CNT, CHECKSUM
+    Map<String, Object> findScope(@Param("scopeId") Long scopeId);
+
+    void insertScopeItems(@Param("scopeId") Long scopeId, @Param("deviceIds") List<Long> deviceIds);
+
+    void insertScope(@Param("scopeId") Long scopeId, @Param("deviceCnt") int deviceCnt, @Param("checksum") long checksum);
+
+    void touchScope(@Param("scopeId") Long scopeId);
+
+    List<Long> findStaleScopeIds(@Param("days") int days);
+
+    /**
+     * 조회 후 다시 사용된 범위는 남기도록 삭제 시점에 미사용 조건 재확인
+     */
+    void deleteScopes(@Param("scopeIds") List<Long> scopeIds, @Param("days") int days);
+}
@@ -0,0 +1,27 @@
+package dev3.nms.mapper;
+
+import dev3.nms.vo.notification.EmailDigestEntryVO;
+import dev3.nms.vo.notification.EmailDigestTargetVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface EmailDigestMapper {
+    // 집계 upsert (같은 사용자/장비/유형은 ALERT_COUNT 누적)
+    void upsertEntries(@Param("list") List<EmailDigestEntryVO> list);
+
+    List<Long> findPendingUserIds();
+
+    // 발송 대상 설정/이메일 일괄 조회
+    List<EmailDigestTargetVO> findTargets(@Param("userIds") List<Long> userIds);
+
+    List<EmailDigestEntryVO> findEntries(@Param("userId") Long userId, @Param("limit") int limit);
+
+    // ENTRY_COUNT, ALERT_COUNT, CRITICAL_COUNT, MAJOR_COUNT, MINOR_COUNT
+    Map<String, Object> countEntries(@Param("userId") Long userId);
+
+    void deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,5 +1,6 @@
 package dev3.nms.mapper;
 
+import dev3.nms.vo.auth.AccessScopeFilterVO;
 import dev3.nms.vo.fault.ErrorHistoryVO;
 import dev3.nms.vo.fault.ErrorVO;
 import org.apache.ibatis.annotations.Mapper;
@@ -16,24 +17,24 @@ public interface ErrorMapper {
      */
     List<ErrorVO> selectErrors(@Param("errorLevel") String errorLevel,
                                 @Param("deviceId") Long deviceId,
-                                @Param("devCodeId") Long devCodeId,
+                                @Param("devCodeIds") List<Long> devCodeIds,
                                 @Param("deviceName") String deviceName,
                                 @Param("deviceIp") String deviceIp,
                                 @Param("errorMessage") String errorMessage,
                                 @Param("groupName") String groupName,
-                                @Param("accessibleDeviceIds") List<Long> accessibleDeviceIds);
+                                @Param("deviceScope") AccessScopeFilterVO deviceScope);
 
     /**
      * 실시간 장애 수 조회
      */
     int countErrors(@Param("errorLevel") String errorLevel,
                     @Param("deviceId") Long deviceId,
-                    @Param("devCodeId") Long devCodeId,
+                    @Param("devCodeIds") List<Long> devCodeIds,
                     @Param("deviceName") String deviceName,
                     @Param("deviceIp") String deviceIp,
                     @Param("errorMessage") String errorMessage,
                     @Param("groupName") String groupName,
-                    @Param("accessibleDeviceIds") List<Long> accessibleDeviceIds);
+                    @Param("deviceScope") AccessScopeFilterVO deviceScope);
 
     /**
      * 장애 상세 조회
@@ -64,7 +65,7 @@ public interface ErrorMapper {
      */
     List<ErrorHistoryVO> selectErrorHistory(@Param("errorLevel") String errorLevel,
                                              @Param("deviceId") Long deviceId,
-                                             @Param("devCodeId") Long devCodeId,
+                                             @Param("devCodeIds") List<Long> devCodeIds,
                                              @Param("startDate") String startDate,
                                              @Param("endDate") String endDate,
                                              @Param("deviceName") String deviceName,
@@ -75,7 +76,7 @@ public interface ErrorMapper {
                                              @Param("sortDirection") String sortDirection,
                                              @Param("offset") int offset,
                                              @Param("size") int size,
-                                             @Param("accessibleDeviceIds") List<Long> accessibleDeviceIds,
+                                             @Param("deviceScope") AccessScopeFilterVO deviceScope,
                                              @Param("errorLevels") List<String> errorLevels);
 
     /**
@@ -83,14 +84,14 @@ public interface ErrorMapper {
      */
     int countErrorHistory(@Param("errorLevel") String errorLevel,
                           @Param("deviceId") Long deviceId,
-                          @Param("devCodeId") Long devCodeId,
+                          @Param("devCodeIds") List<Long> devCodeIds,
                           @Param("startDate") String startDate,
                           @Param("endDate") String endDate,
                           @Param("deviceName") String deviceName,
                           @Param("deviceIp") String deviceIp,
                           @Param("errorMessage") String errorMessage,
                           @Param("groupName") String groupName,
-                          @Param("accessibleDeviceIds") List<Long> accessibleDeviceIds,
+                          @Param("deviceScope") AccessScopeFilterVO deviceScope,
                           @Param("errorLevels") List<String> errorLevels);
 
     /**
@@ -130,13 +131,6 @@ public interface ErrorMapper {
      */
     int deleteDeletedPortErrors(@Param("deviceId") Integer deviceId);
 
-    int deleteIcmpByDeviceId(@Param("deviceId") Integer deviceId);
-
-    /**
-     * 장비의 모든 장애 이력 삭제
-     */
-    int deleteErrorHistoryByDeviceId(@Param("deviceId") Integer deviceId);
-
     /**
      * 장애 유형별 고정 등급 조회 (b_error_code_t)
      * 유형당 1개 등급만 있으면 고정, 여러 등급이면 임계치 기반
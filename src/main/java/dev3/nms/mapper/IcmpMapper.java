@@ -3,6 +3,7 @@ package dev3.nms.mapper;
 import dev3.nms.vo.mgmt.IcmpVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -25,11 +26,13 @@ public interface IcmpMapper {
                                         @Param("intervalSec") Integer intervalSec);
 
     /**
-     * 다중 장비의 ICMP raw 데이터 조회 (batch)
+     * 다중 장비의 ICMP raw 데이터 조회 (batch, 스트리밍)
+     * - 결과를 List 로 모으지 않고 DEVICE_ID, COLLECT_TIME 순서로 handler 에 한 건씩 전달
      */
-    List<IcmpVO> findHistoryRawBatch(@Param("deviceIds") List<Integer> deviceIds,
-                                      @Param("startDate") String startDate,
-                                      @Param("endDate") String endDate);
+    void streamHistoryRawBatch(@Param("deviceIds") List<Integer> deviceIds,
+                               @Param("startDate") String startDate,
+                               @Param("endDate") String endDate,
+                               ResultHandler<IcmpVO> handler);
 
     /**
      * 다중 장비의 ICMP 집계 데이터 조회 (batch, intervalSec 단위로 그룹화)
@@ -38,4 +41,13 @@ public interface IcmpMapper {
                                              @Param("startDate") String startDate,
                                              @Param("endDate") String endDate,
                                              @Param("intervalSec") Integer intervalSec);
+
+    /**
+     * 다중 장비의 ICMP 집계 데이터 조회 (batch, rollup 테이블)
+     * - BUCKET_AT 이 [startDate, endDate] 인 bucketSec 단위 집계
+     */
+    List<IcmpVO> findHistoryRollupBatch(@Param("deviceIds") List<Integer> deviceIds,
+                                        @Param("startDate") String startDate,
+                                        @Param("endDate") String endDate,
+                                        @Param("bucketSec") Integer bucketSec);
 }
@@ -0,0 +1,52 @@
+package dev3.nms.mapper;
+
+import dev3.nms.vo.mgmt.RollupWatermarkVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface MetricRollupMapper {
+
+    List<RollupWatermarkVO> findWatermarks();
+
+    void upsertWatermark(@Param("sourceName") String sourceName,
+                         @Param("bucketSec") int bucketSec,
+                         @Param("coveredFrom") LocalDateTime coveredFrom,
+                         @Param("watermark") LocalDateTime watermark);
+
+    /**
+     * raw → 기준 단위 집계, [fromDate, toDate)
+     */
+    int rollupTrafficFromRaw(@Param("bucketSec") int bucketSec,
+                             @Param("fromDate") LocalDateTime fromDate,
+                             @Param("toDate") LocalDateTime toDate);
+
+    int rollupCpuMemFromRaw(@Param("bucketSec") int bucketSec,
+                            @Param("fromDate") LocalDateTime fromDate,
+                            @Param("toDate") LocalDateTime toDate);
+
+    int rollupIcmpFromRaw(@Param("bucketSec") int bucketSec,
+                          @Param("fromDate") LocalDateTime fromDate,
+                          @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * 하위 단위(sourceSec) → 상위 단위(bucketSec) 집계, [fromDate, toDate)
+     */
+    int rollupTrafficFromTier(@Param("bucketSec") int bucketSec,
+                              @Param("sourceSec") int sourceSec,
+                              @Param("fromDate") LocalDateTime fromDate,
+                              @Param("toDate") LocalDateTime toDate);
+
+    int rollupCpuMemFromTier(@Param("bucketSec") int bucketSec,
+                             @Param("sourceSec") int sourceSec,
+                             @Param("fromDate") LocalDateTime fromDate,
+                             @Param("toDate") LocalDateTime toDate);
+
+    int rollupIcmpFromTier(@Param("bucketSec") int bucketSec,
+                           @Param("sourceSec") int sourceSec,
+                           @Param("fromDate") LocalDateTime fromDate,
+                           @Param("toDate") LocalDateTime toDate);
+}
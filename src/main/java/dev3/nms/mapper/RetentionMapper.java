@@ -0,0 +1,57 @@
+package dev3.nms.mapper;
+
+import dev3.nms.vo.mgmt.RetentionPolicyVO;
+import dev3.nms.vo.mgmt.TablePartitionVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 보관 정책 + 파티션 관리
+ * - tableName/timeColumn/파티션명은 ${} 치환 → RetentionService 의 관리 대상 목록에서만 전달
+ */
+@Mapper
+public interface RetentionMapper {
+
+    List<RetentionPolicyVO> findPolicies();
+
+    int updatePolicy(@Param("tableName") String tableName,
+                     @Param("bucketSec") int bucketSec,
+                     @Param("retentionDays") int retentionDays);
+
+    /**
+     * 파티션 목록 (상한 순), 파티션 미적용 테이블은 PARTITION_NAME null 1건
+     */
+    List<TablePartitionVO> findPartitions(@Param("tableName") String tableName);
+
+    /**
+     * MAXVALUE 파티션을 분할해 일 파티션 추가
+     */
+    void reorganizeMaxPartition(@Param("tableName") String tableName,
+                                @Param("maxPartition") String maxPartition,
+                                @Param("partitions") List<TablePartitionVO> partitions);
+
+    /**
+     * MAXVALUE 파티션이 없는 테이블에 일 파티션 추가
+     */
+    void addPartitions(@Param("tableName") String tableName,
+                       @Param("partitions") List<TablePartitionVO> partitions);
+
+    void dropPartitions(@Param("tableName") String tableName,
+                        @Param("partitionNames") List<String> partitionNames);
+
+    /**
+     * 파티션 미적용 raw 테이블 배치 삭제
+     */
+    int deleteRawBefore(@Param("tableName") String tableName,
+                        @Param("timeColumn") String timeColumn,
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("limit") int limit);
+
+    int deleteRollupBefore(@Param("tableName") String tableName,
+                           @Param("bucketSec") int bucketSec,
+                           @Param("cutoff") LocalDateTime cutoff,
+                           @Param("limit") int limit);
+}
@@ -3,6 +3,7 @@ package dev3.nms.mapper;
 import dev3.nms.vo.mgmt.TrafficVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -51,14 +52,14 @@ public interface TrafficMapper {
      */
     List<TrafficVO> findLatestByDeviceId(@Param("deviceId") Integer deviceId);
 
-    int deleteByDeviceId(@Param("deviceId") Integer deviceId);
-
     /**
-     * 다중 장비의 트래픽 raw 데이터 조회 (batch)
+     * 다중 장비의 트래픽 raw 데이터 조회 (batch, 스트리밍)
+     * - 결과를 List 로 모으지 않고 DEVICE_ID, IF_INDEX, COLLECTED_AT 순서로 handler 에 한 건씩 전달
      */
-    List<TrafficVO> findRecentBatchRaw(@Param("deviceIds") List<Integer> deviceIds,
-                                        @Param("startDate") String startDate,
-                                        @Param("endDate") String endDate);
+    void streamRecentBatchRaw(@Param("deviceIds") List<Integer> deviceIds,
+                              @Param("startDate") String startDate,
+                              @Param("endDate") String endDate,
+                              ResultHandler<TrafficVO> handler);
 
     /**
      * 다중 장비의 트래픽 집계 데이터 조회 (batch, intervalSec 단위로 그룹화)
@@ -69,6 +70,15 @@ public interface TrafficMapper {
                                                @Param("endDate") String endDate,
                                                @Param("intervalSec") Integer intervalSec);
 
+    /**
+     * 다중 장비의 트래픽 집계 데이터 조회 (batch, rollup 테이블)
+     * - BUCKET_AT 이 [startDate, endDate] 인 bucketSec 단위 집계
+     */
+    List<TrafficVO> findRecentBatchRollup(@Param("deviceIds") List<Integer> deviceIds,
+                                          @Param("startDate") String startDate,
+                                          @Param("endDate") String endDate,
+                                          @Param("bucketSec") Integer bucketSec);
+
     /**
      * 다중 (장비, 포트) 쌍의 트래픽 raw 데이터 조회 (batch)
      * @param ports List of {deviceId, ifIndex}
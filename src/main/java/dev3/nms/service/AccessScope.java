@@ -0,0 +1,141 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.auth.PageAccessVO;
+
+import java.util.*;
+
+/**
+ * 사용자 접근 범위 스냅샷 (PermissionService 캐시 단위)
+ * - 생성 시점의 전역 권한 버전을 보관, 버전이 바뀌면 PermissionService 가 재계산
+ * - 모든 조회는 DB 없이 메모리에서 O(1)
+ */
+public final class AccessScope {
+
+    private final long version;
+    private final boolean admin;
+    private final boolean allGroupView;
+    private final Map<String, PageAccessVO> pages;
+    private final Map<String, IdList> viewGroups;  // 그룹유형 → 조회 가능 그룹
+    private final Map<String, IdList> editGroups;  // 그룹유형 → 편집 가능 그룹
+    private final IdList devices;                  // null = 전체 허용
+
+    AccessScope(long version, boolean admin, boolean allGroupView, Map<String, PageAccessVO> pages,
+                Map<String, ? extends Collection<Long>> viewGroups, Map<String, ? extends Collection<Long>> editGroups,
+                Collection<Long> deviceIds) {
+        this.version = version;
+        this.admin = admin;
+        this.allGroupView = allGroupView;
+        this.pages = Map.copyOf(pages);
+        this.viewGroups = toIdLists(viewGroups);
+        this.editGroups = toIdLists(editGroups);
+        this.devices = deviceIds != null ? new IdList(deviceIds) : null;
+    }
+
+    private static Map<String, IdList> toIdLists(Map<String, ? extends Collection<Long>> source) {
+        Map<String, IdList> result = new HashMap<>();
+        source.forEach((type, ids) -> result.put(type, new IdList(ids)));
+        return result;
+    }
+
+    long version() {
+        return version;
+    }
+
+    public boolean isAdmin() {
+        return admin;
+    }
+
+    /**
+     * 전체 장비/그룹 조회 가능 (admin 또는 ALL_GROUP_VIEW)
+     */
+    public boolean isUnrestricted() {
+        return admin || allGroupView;
+    }
+
+    public boolean canViewPage(String pageCode) {
+        PageAccessVO access = pages.get(pageCode);
+        return access != null && Boolean.TRUE.equals(access.getCAN_VIEW());
+    }
+
+    public boolean canEditPage(String pageCode) {
+        PageAccessVO access = pages.get(pageCode);
+        return access != null && Boolean.TRUE.equals(access.getCAN_EDIT());
+    }
+
+    public boolean canAccessDevice(long deviceId) {
+        return devices == null || devices.containsId(deviceId);
+    }
+
+    /**
+     * @return null = 전체 허용, List = 접근 가능 장비 ID (contains O(1), 읽기 전용)
+     */
+    public List<Long> deviceIds() {
+        return devices;
+    }
+
+    /**
+     * @return null = 전체 허용, List = 조회 가능 그룹 ID (contains O(1), 읽기 전용)
+     */
+    public List<Long> viewGroupIds(String groupType) {
+        if (isUnrestricted()) return null;
+        IdList ids = viewGroups.get(groupType);
+        return ids != null ? ids : List.of();
+    }
+
+    public boolean canViewGroup(String groupType, Long groupId) {
+        if (isUnrestricted()) return true;
+        IdList ids = viewGroups.get(groupType);
+        return ids != null && groupId != null && ids.containsId(groupId);
+    }
+
+    public boolean canEditGroup(String groupType, Long groupId) {
+        IdList ids = editGroups.get(groupType);
+        return admin || (ids != null && groupId != null && ids.containsId(groupId));
+    }
+
+    /**
+     * 읽기 전용 ID 목록 - 정렬 배열 + BitSet (contains O(1))
+     * - 기존 List&lt;Long&gt; 반환 API 호환용 (equals 의미 동일: Long 만 일치)
+     */
+    static final class IdList extends AbstractList<Long> implements RandomAccess {
+        private final long[] ids;
+        private final BitSet bits = new BitSet();
+
+        IdList(Collection<Long> source) {
+            this.ids = source.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().sorted().toArray();
+            for (long id : ids) {
+                if (id >= 0 && id <= Integer.MAX_VALUE) bits.set((int) id);
+            }
+        }
+
+        boolean containsId(long id) {
+            if (id >= 0 && id <= Integer.MAX_VALUE) return bits.get((int) id);
+            return Arrays.binarySearch(ids, id) >= 0;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Long id && containsId(id);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof Long id ? Math.max(-1, Arrays.binarySearch(ids, id)) : -1;
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public Long get(int index) {
+            return ids[index];
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev3.nms.service;
+
+/**
+ * 장비 접근 범위 변경 이벤트 (그룹 권한, 관리자/전체 그룹 조회 플래그, 장비 그룹/관제 그룹 소속 변경)
+ * - 발행한 트랜잭션 커밋 후 수신 (@TransactionalEventListener)
+ * @param userId 대상 사용자 (null = 장비 소속 변경 등 전체 사용자 영향)
+ */
+public record AccessScopeChangedEvent(Long userId) {
+
+    public static AccessScopeChangedEvent user(Long userId) {
+        return new AccessScopeChangedEvent(userId);
+    }
+
+    public static AccessScopeChangedEvent all() {
+        return new AccessScopeChangedEvent(null);
+    }
+}
@@ -7,6 +7,7 @@ import dev3.nms.vo.auth.LoginHistoryVO;
 import dev3.nms.vo.auth.UserVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +25,7 @@ public class AccountService {
     private final UserMapper userMapper;
     private final LoginHistoryMapper loginHistoryMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 계정 정보 조회 (프로필 + 최근 로그인 이력)
@@ -74,6 +76,7 @@ public class AccountService {
         }
 
         userMapper.updateProfile(userId, name.trim(), email, phone);
+        eventPublisher.publishEvent(new EmailPrefChangedEvent(userId)); // 알림 수신 이메일 주소 갱신
         log.info("[Account] 프로필 수정 완료 - USER_ID: {}", userId);
     }
 
@@ -7,6 +7,7 @@ import dev3.nms.mapper.UserMapper;
 import dev3.nms.vo.auth.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +25,7 @@ public class AdminService {
     private final GroupAccessMapper groupAccessMapper;
     private final PermissionService permissionService;
     private final SessionAuthFilter sessionAuthFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 전체 사용자 목록 조회
@@ -68,6 +70,7 @@ public class AdminService {
         if (!accessList.isEmpty()) {
             pageAccessMapper.insertPageAccessBatch(accessList);
         }
+        eventPublisher.publishEvent(AccessScopeChangedEvent.user(userId)); // 관리자 여부 변경 가능
     }
 
     /**
@@ -87,6 +90,7 @@ public class AdminService {
         if (!accessList.isEmpty()) {
             groupAccessMapper.insertGroupAccessBatch(accessList);
         }
+        eventPublisher.publishEvent(AccessScopeChangedEvent.user(userId));
     }
 
     /**
@@ -104,6 +108,7 @@ public class AdminService {
     public void updateAllGroupView(Long userId, Boolean allGroupView) {
         log.info("[AdminService] 전체 그룹 조회 변경 - USER_ID: {}, ALL_GROUP_VIEW: {}", userId, allGroupView);
         userMapper.updateAllGroupView(userId, allGroupView);
+        eventPublisher.publishEvent(AccessScopeChangedEvent.user(userId));
     }
 
     /**
@@ -152,6 +157,7 @@ public class AdminService {
         if (sourceUser != null) {
             userMapper.updateAllGroupView(targetUserId, sourceUser.getALL_GROUP_VIEW());
         }
+        eventPublisher.publishEvent(AccessScopeChangedEvent.user(targetUserId));
     }
 
     /**
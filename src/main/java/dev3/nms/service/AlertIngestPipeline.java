@@ -0,0 +1,239 @@
+package dev3.nms.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 알림 수신 파이프라인 (AlertController → WebSocket / 이메일)
+ * - 요청 스레드는 bounded 큐에 넣고 즉시 응답 (SMTP/DB 대기 없음)
+ * - dispatcher 스레드가 batchSize 건 또는 tickMs 단위로 묶어 WebSocket 전송
+ *   (/topic/alerts/batch 에 배열 1프레임, 미전환 클라이언트용으로 alert.ingest.legacy-topic=true 면 /topic/alerts 에 기존 단건 형식도 전송)
+ * - 이메일 판정(EmailAlertService.processAlert)은 별도 bounded 워커 풀에서 수행
+ *
+ * 큐 포화 정책 (alert.ingest.overflow)
+ * - DROP_OLDEST: 가장 오래된 알림 버림 (기본)
+ * - DROP_NEWEST: 새 알림 버림
+ * - REJECT: 버리고 호출자에 실패 반환 (단건 503 / 배치는 거부 순번 반환 → 송신측은 거부 건만 재시도)
+ */
+@Slf4j
+@Component
+public class AlertIngestPipeline {
+
+    public enum Overflow { DROP_OLDEST, DROP_NEWEST, REJECT }
+
+    static final String TOPIC_ALERTS = "/topic/alerts";
+    static final String TOPIC_ALERTS_BATCH = "/topic/alerts/batch";
+
+    private record Entry(Map<String, Object> alert, long enqueuedAt) {
+    }
+
+    private final Consumer<List<Map<String, Object>>> broadcaster;
+    private final Consumer<Map<String, Object>> emailHandler;
+    private final Overflow overflow;
+    private final int batchSize;
+    private final long tickMs;
+
+    private final BlockingQueue<Entry> queue;
+    private final ThreadPoolExecutor emailExecutor;
+    private final Thread dispatcher;
+    private volatile boolean stopped;
+
+    // metrics
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong broadcastAlerts = new AtomicLong();
+    private final AtomicLong broadcastErrors = new AtomicLong();
+    private final AtomicLong emailDropped = new AtomicLong();
+    private volatile long lastBatchLagMs;
+    private volatile long maxLagMs;
+
+    @Autowired
+    public AlertIngestPipeline(SimpMessagingTemplate messagingTemplate,
+                               EmailAlertService emailAlertService,
+                               @Value("${alert.ingest.capacity:10000}") int capacity,
+                               @Value("${alert.ingest.overflow:DROP_OLDEST}") Overflow overflow,
+                               @Value("${alert.ingest.batch-size:100}") int batchSize,
+                               @Value("${alert.ingest.tick-ms:200}") long tickMs,
+                               @Value("${alert.ingest.legacy-topic:false}") boolean legacyTopic,
+                               @Value("${alert.ingest.email-threads:4}") int emailThreads,
+                               @Value("${alert.ingest.email-queue:5000}") int emailQueue) {
+        this(batch -> {
+                    messagingTemplate.convertAndSend(TOPIC_ALERTS_BATCH, (Object) batch);
+                    if (legacyTopic) {
+                        for (Map<String, Object> alert : batch) {
+                            messagingTemplate.convertAndSend(TOPIC_ALERTS, (Object) alert);
+                        }
+                    }
+                },
+                emailAlertService::processAlert,
+                capacity, overflow, batchSize, tickMs, emailThreads, emailQueue);
+    }
+
+    AlertIngestPipeline(Consumer<List<Map<String, Object>>> broadcaster,
+                        Consumer<Map<String, Object>> emailHandler,
+                        int capacity, Overflow overflow, int batchSize, long tickMs,
+                        int emailThreads, int emailQueue) {
+        this.broadcaster = broadcaster;
+        this.emailHandler = emailHandler;
+        this.overflow = overflow;
+        this.batchSize = Math.max(1, batchSize);
+        this.tickMs = Math.max(1, tickMs);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+
+        int threads = Math.max(1, emailThreads);
+        AtomicLong seq = new AtomicLong();
+        this.emailExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, emailQueue)),
+                r -> {
+                    Thread t = new Thread(r, "alert-email-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                (r, executor) -> emailDropped.incrementAndGet());
+
+        this.dispatcher = new Thread(this::dispatchLoop, "alert-dispatch");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        stopped = true;
+        dispatcher.interrupt();
+        emailExecutor.shutdown();
+    }
+
+    /**
+     * 알림 1건 접수
+     * @return false = REJECT 정책으로 거부됨
+     */
+    public boolean submit(Map<String, Object> alert) {
+        Entry entry = new Entry(alert, System.currentTimeMillis());
+        while (!queue.offer(entry)) {
+            switch (overflow) {
+                case DROP_NEWEST -> {
+                    dropped.incrementAndGet();
+                    return true;
+                }
+                case REJECT -> {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+                default -> {
+                    if (queue.poll() != null) dropped.incrementAndGet();
+                }
+            }
+        }
+        accepted.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 알림 여러 건 접수 - 거부되지 않은 건은 이미 큐에 들어가 있음
+     * @return 거부된 알림의 목록 내 순번 (REJECT 정책일 때만 비어 있지 않음)
+     */
+    public List<Integer> submitAll(List<Map<String, Object>> alerts) {
+        List<Integer> rejectedIndices = new ArrayList<>();
+        for (int i = 0; i < alerts.size(); i++) {
+            if (!submit(alerts.get(i))) rejectedIndices.add(i);
+        }
+        return rejectedIndices;
+    }
+
+    private void dispatchLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (!stopped) {
+            try {
+                Entry first = queue.poll(tickMs, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // 첫 알림 기준 tickMs 안에 batchSize 까지 모아서 1프레임
+                long deadline = System.currentTimeMillis() + tickMs;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remain = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || remain <= 0) break;
+                    Entry next = queue.poll(remain, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[AlertIngest] dispatch 실패: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void dispatch(List<Entry> batch) {
+        long now = System.currentTimeMillis();
+        long lag = now - batch.get(0).enqueuedAt();
+        lastBatchLagMs = lag;
+        if (lag > maxLagMs) maxLagMs = lag;
+
+        List<Map<String, Object>> alerts = new ArrayList<>(batch.size());
+        for (Entry e : batch) {
+            alerts.add(e.alert());
+        }
+
+        try {
+            broadcaster.accept(alerts);
+            frames.incrementAndGet();
+            broadcastAlerts.addAndGet(alerts.size());
+        } catch (Exception e) {
+            broadcastErrors.incrementAndGet();
+            log.warn("[AlertIngest] WebSocket 전송 실패 ({}건): {}", alerts.size(), e.getMessage());
+        }
+
+        for (Map<String, Object> alert : alerts) {
+            emailExecutor.execute(() -> {
+                try {
+                    emailHandler.accept(alert);
+                } catch (Exception e) {
+                    log.warn("[AlertIngest] 이메일 알림 처리 실패: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * 큐 깊이/지연/드롭 통계
+     */
+    public Map<String, Object> getStats() {
+        Entry oldest = queue.peek();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        stats.put("overflowPolicy", overflow.name());
+        stats.put("lagMs", oldest != null ? System.currentTimeMillis() - oldest.enqueuedAt() : 0);
+        stats.put("lastBatchLagMs", lastBatchLagMs);
+        stats.put("maxLagMs", maxLagMs);
+        stats.put("accepted", accepted.get());
+        stats.put("dropped", dropped.get());
+        stats.put("rejected", rejected.get());
+        stats.put("frames", frames.get());
+        stats.put("broadcastAlerts", broadcastAlerts.get());
+        stats.put("broadcastErrors", broadcastErrors.get());
+        stats.put("emailQueueDepth", emailExecutor.getQueue().size());
+        stats.put("emailActive", emailExecutor.getActiveCount());
+        stats.put("emailCompleted", emailExecutor.getCompletedTaskCount());
+        stats.put("emailDropped", emailDropped.get());
+        return stats;
+    }
+}
@@ -0,0 +1,28 @@
+package dev3.nms.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 미들웨어 벌크 probe 요청/응답 형식
+ * - 미들웨어 버전별로 벌크 엔드포인트 형식이 다르면 구현체를 교체 (@Primary 빈 등록)
+ * - devices 항목은 DeviceMapper.findAllActiveDeviceIdsWithIp 결과 (DEVICE_ID, DEVICE_IP, SNMP_*)
+ */
+public interface BatchProbeCodec {
+
+    /**
+     * 벌크 probe 엔드포인트 경로
+     */
+    String path();
+
+    /**
+     * 장비 청크 -> 요청 본문
+     */
+    String encode(List<Map<String, Object>> devices) throws Exception;
+
+    /**
+     * 응답 본문 -> 수집 가능(ping + SNMP 성공) 장비 ID 목록
+     */
+    Set<Integer> decode(String responseBody) throws Exception;
+}
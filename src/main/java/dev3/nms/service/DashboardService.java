@@ -1,18 +1,20 @@
 package dev3.nms.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.config.ExecutorRegistry;
 import dev3.nms.mapper.DashboardMapper;
+import dev3.nms.util.ColumnarSeriesBuilder;
+import dev3.nms.vo.auth.AccessScopeFilterVO;
 import dev3.nms.vo.dashboard.DashboardDto;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -20,13 +22,15 @@ import java.util.concurrent.Executors;
 public class DashboardService {
 
     private final DashboardMapper dashboardMapper;
+    private final DeviceScopeRegistry deviceScopeRegistry;
+    private final DashboardWidgetCache widgetCache;
+    private final DevCodeTreeIndex devCodeTreeIndex;
+    private final ExecutorRegistry executorRegistry;
     private final ObjectMapper om = new ObjectMapper();
-    private final ExecutorService widgetExecutor = Executors.newFixedThreadPool(10);
 
-    @PreDestroy
-    public void destroy() {
-        widgetExecutor.shutdown();
-    }
+    // 장비 범위 현황 위젯 (짧은 캐시 버킷)
+    private static final Set<String> SUMMARY_WIDGETS = Set.of("ALERT_SUMMARY", "DEVICE_SUMMARY");
+    private static final DashboardWidgetCache.WidgetData EMPTY_WIDGET_DATA = new DashboardWidgetCache.WidgetData(null, null);
 
 
     public List<DashboardDto.WidgetsRes> getWidgets() {
@@ -42,15 +46,16 @@ public class DashboardService {
         try {
             List<DashboardDto.DefaultWidgetRes> defaultWidgetList = dashboardMapper.getDefaultWidget();
             if (defaultWidgetList.isEmpty()) return defaultWidgetList;
+            AccessScopeFilterVO deviceScope = deviceScopeRegistry.resolve(accessibleDeviceIds);
 
             List<CompletableFuture<Void>> futures = defaultWidgetList.stream()
                     .map(defaultWidget -> CompletableFuture.runAsync(() -> {
                         try {
-                            loadDefaultWidgetData(defaultWidget, om, accessibleDeviceIds);
+                            loadDefaultWidgetData(defaultWidget, deviceScope);
                         } catch (Exception e) {
                             log.warn("기본 위젯 데이터 로드 실패 - widgetId: {}, error: {}", defaultWidget.getWidgetId(), e.getMessage());
                         }
-                    }, widgetExecutor))
+                    }, executorRegistry.executor(ExecutorRegistry.DASHBOARD_WIDGET)))
                     .toList();
 
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
@@ -65,15 +70,16 @@ public class DashboardService {
         try {
             List<DashboardDto.UserWidgetRes> userWidgets = dashboardMapper.getUserWidget(userId);
             if (userWidgets.isEmpty()) return userWidgets;
+            AccessScopeFilterVO deviceScope = deviceScopeRegistry.resolve(accessibleDeviceIds);
 
             List<CompletableFuture<Void>> futures = userWidgets.stream()
                     .map(userWidget -> CompletableFuture.runAsync(() -> {
                         try {
-                            loadWidgetData(userWidget, om, accessibleDeviceIds);
+                            loadWidgetData(userWidget, deviceScope);
                         } catch (Exception e) {
                             log.warn("위젯 데이터 로드 실패 - widgetId: {}, error: {}", userWidget.getWidgetId(), e.getMessage());
                         }
-                    }, widgetExecutor))
+                    }, executorRegistry.executor(ExecutorRegistry.DASHBOARD_WIDGET)))
                     .toList();
 
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
@@ -93,7 +99,7 @@ public class DashboardService {
             if (defaultWidget == null) {
                 return null;
             }
-            loadDefaultWidgetData(defaultWidget, om, accessibleDeviceIds);
+            loadDefaultWidgetData(defaultWidget, deviceScopeRegistry.resolve(accessibleDeviceIds));
             return defaultWidget;
         } catch (Exception e) {
             log.warn("기본 위젯 단건 조회 실패 - widgetId: {}, error: {}", widgetId, e.getMessage());
@@ -110,7 +116,7 @@ public class DashboardService {
             if (userWidget == null) {
                 return null;
             }
-            loadWidgetData(userWidget, om, accessibleDeviceIds);
+            loadWidgetData(userWidget, deviceScopeRegistry.resolve(accessibleDeviceIds));
             return userWidget;
         } catch (Exception e) {
             log.warn("사용자 위젯 단건 조회 실패 - userDashboardWidgetId: {}, error: {}", userDashboardWidgetId, e.getMessage());
@@ -118,168 +124,108 @@ public class DashboardService {
         }
     }
 
-    private void loadDefaultWidgetData(DashboardDto.DefaultWidgetRes defaultWidget, ObjectMapper om, List<Long> accessibleDeviceIds) throws Exception {
-        DashboardDto.UserWidgetConfig userWidgetConfig = om.readValue(defaultWidget.getConfig(), DashboardDto.UserWidgetConfig.class);
-
-        // 그룹구분
-        if ("CPU_MEM".equals(userWidgetConfig.getGroup())) {
-            List<Map<String, String>> metrics = toCpuMemMetricParams(userWidgetConfig.getElements());
-            if (metrics.isEmpty()) return;
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("metrics", metrics);
-            param.put("topN", 5);
-            param.put("intervalSec", 300);
-            param.put("accessibleDeviceIds", accessibleDeviceIds);
-
-            if ("pie".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetCpuMemPieChartData(param));
-            } else if ("line".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetCpuMemLineChartData(param));
-            } else if ("bar".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetCpuMemBarChartData(param));
-            }
-        } else if ("TRAFFIC".equals(userWidgetConfig.getGroup())) {
-            List<Map<String, String>> metrics = toTrafficMetricParams(userWidgetConfig.getElements());
-            if (metrics.isEmpty()) return;
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("metrics", metrics);
-            param.put("topN", 5);
-            param.put("intervalSec", 300);
-            param.put("accessibleDeviceIds", accessibleDeviceIds);
-
-            if ("pie".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetTrafficPieChartData(param));
-            } else if ("line".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetTrafficLineChartData(param));
-            } else if ("bar".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetTrafficBarChartData(param));
-            }
-        } else if ("ICMP".equals(userWidgetConfig.getGroup())) {
-            List<Map<String, String>> metrics = toMetricParams(userWidgetConfig.getElements());
-            if (metrics.isEmpty()) return;
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("metrics", metrics);
-            param.put("topN", 5);
-            param.put("intervalSec", 300);
-            param.put("accessibleDeviceIds", accessibleDeviceIds);
-
-            if ("pie".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetIcmpPieChartData(param));
-            } else if ("line".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetIcmpLineChartData(param));
-            } else if ("bar".equals(userWidgetConfig.getChartType())) {
-                defaultWidget.setChartData(dashboardMapper.getWidgetIcmpBarChartData(param));
-            }
-        }
-
-        // 장애 현황
-        if ("ALERT_SUMMARY".equals(defaultWidget.getWidgetCode())) {
-            defaultWidget.setCntData(dashboardMapper.getWidgetAlertSummary(accessibleDeviceIds));
-        } else if ("DEVICE_SUMMARY".equals(defaultWidget.getWidgetCode())) {
-            List<DashboardDto.DevCodeData> devCodeList = dashboardMapper.getDevCode();
-            DashboardDto.WidgetDeviceCntData deviceCnt = new DashboardDto.WidgetDeviceCntData();
+    private void loadDefaultWidgetData(DashboardDto.DefaultWidgetRes defaultWidget, AccessScopeFilterVO deviceScope) throws Exception {
+        DashboardWidgetCache.WidgetData data = getWidgetData(defaultWidget.getWidgetCode(), defaultWidget.getConfig(), deviceScope);
+        defaultWidget.setChartData(data.chartData());
+        defaultWidget.setCntData(data.cntData());
+    }
 
-            for (DashboardDto.DevCodeData devCode : devCodeList) {
-                List<Long> devCodeIdList = dashboardMapper.getDevCodeAllId(devCode.getDevCodeId());
-                Integer count = dashboardMapper.getDeviceCountBydevCodeId(devCodeIdList, accessibleDeviceIds);
+    private void loadWidgetData(DashboardDto.UserWidgetRes userWidget, AccessScopeFilterVO deviceScope) throws Exception {
+        DashboardWidgetCache.WidgetData data = getWidgetData(userWidget.getWidgetCode(), userWidget.getConfig(), deviceScope);
+        userWidget.setChartData(data.chartData());
+        userWidget.setCntData(data.cntData());
+    }
 
-                if ("네트워크".equals(devCode.getCodeNm())) {
-                    deviceCnt.setNetworkCnt(count);
-                } else if ("서버".equals(devCode.getCodeNm())) {
-                    deviceCnt.setServerCnt(count);
-                } else if ("전송".equals(devCode.getCodeNm())) {
-                    deviceCnt.setTranCnt(count);
-                } else if ("FMS".equals(devCode.getCodeNm())) {
-                    deviceCnt.setFmsCnt(count);
-                }
-            }
-            defaultWidget.setCntData(deviceCnt);
-        }
+    /**
+     * 위젯 데이터 조회 (기본/사용자 위젯 공통, 설정·범위·시간 버킷이 같으면 캐시 결과 공유)
+     */
+    private DashboardWidgetCache.WidgetData getWidgetData(String widgetCode, String config, AccessScopeFilterVO deviceScope) throws Exception {
+        boolean summary = SUMMARY_WIDGETS.contains(widgetCode);
+        return widgetCache.get(widgetCode, config, deviceScope, summary,
+                () -> computeWidgetData(widgetCode, config, deviceScope));
     }
 
-    private void loadWidgetData(DashboardDto.UserWidgetRes userWidget, ObjectMapper om, List<Long> accessibleDeviceIds) throws Exception {
-        DashboardDto.UserWidgetConfig userWidgetConfig = om.readValue(userWidget.getConfig(), DashboardDto.UserWidgetConfig.class);
+    private DashboardWidgetCache.WidgetData computeWidgetData(String widgetCode, String config, AccessScopeFilterVO deviceScope) throws Exception {
+        DashboardDto.UserWidgetConfig userWidgetConfig = om.readValue(config, DashboardDto.UserWidgetConfig.class);
+        Object chartData = null;
 
         // 그룹구분
         if ("CPU_MEM".equals(userWidgetConfig.getGroup())) {
             List<Map<String, String>> metrics = toCpuMemMetricParams(userWidgetConfig.getElements());
-            if (metrics.isEmpty()) return;
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("metrics", metrics);
-            param.put("topN", 5);
-            param.put("intervalSec", 300);
-            param.put("accessibleDeviceIds", accessibleDeviceIds);
+            if (metrics.isEmpty()) return EMPTY_WIDGET_DATA;
+            Map<String, Object> param = chartParam(metrics, deviceScope);
 
             if ("pie".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetCpuMemPieChartData(param));
+                chartData = dashboardMapper.getWidgetCpuMemPieChartData(param);
             } else if ("line".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetCpuMemLineChartData(param));
+                chartData = dashboardMapper.getWidgetCpuMemLineChartData(param);
             } else if ("bar".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetCpuMemBarChartData(param));
+                chartData = dashboardMapper.getWidgetCpuMemBarChartData(param);
             }
         } else if ("TRAFFIC".equals(userWidgetConfig.getGroup())) {
             List<Map<String, String>> metrics = toTrafficMetricParams(userWidgetConfig.getElements());
-            if (metrics.isEmpty()) return;
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("metrics", metrics);
-            param.put("topN", 5);
-            param.put("intervalSec", 300);
-            param.put("accessibleDeviceIds", accessibleDeviceIds);
+            if (metrics.isEmpty()) return EMPTY_WIDGET_DATA;
+            Map<String, Object> param = chartParam(metrics, deviceScope);
 
             if ("pie".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetTrafficPieChartData(param));
+                chartData = dashboardMapper.getWidgetTrafficPieChartData(param);
             } else if ("line".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetTrafficLineChartData(param));
+                chartData = dashboardMapper.getWidgetTrafficLineChartData(param);
             } else if ("bar".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetTrafficBarChartData(param));
+                chartData = dashboardMapper.getWidgetTrafficBarChartData(param);
             }
         } else if ("ICMP".equals(userWidgetConfig.getGroup())) {
             List<Map<String, String>> metrics = toMetricParams(userWidgetConfig.getElements());
-            if (metrics.isEmpty()) return;
-
-            Map<String, Object> param = new HashMap<>();
-            param.put("metrics", metrics);
-            param.put("topN", 5);
-            param.put("intervalSec", 300);
-            param.put("accessibleDeviceIds", accessibleDeviceIds);
+            if (metrics.isEmpty()) return EMPTY_WIDGET_DATA;
+            Map<String, Object> param = chartParam(metrics, deviceScope);
 
             if ("pie".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetIcmpPieChartData(param));
+                chartData = dashboardMapper.getWidgetIcmpPieChartData(param);
             } else if ("line".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetIcmpLineChartData(param));
+                chartData = dashboardMapper.getWidgetIcmpLineChartData(param);
             } else if ("bar".equals(userWidgetConfig.getChartType())) {
-                userWidget.setChartData(dashboardMapper.getWidgetIcmpBarChartData(param));
+                chartData = dashboardMapper.getWidgetIcmpBarChartData(param);
             }
         }
 
         // 장애 현황
-        if ("ALERT_SUMMARY".equals(userWidget.getWidgetCode())) {
-            userWidget.setCntData(dashboardMapper.getWidgetAlertSummary(accessibleDeviceIds));
-        } else if ("DEVICE_SUMMARY".equals(userWidget.getWidgetCode())) {
-            List<DashboardDto.DevCodeData> devCodeList = dashboardMapper.getDevCode();
+        Object cntData = null;
+        if ("ALERT_SUMMARY".equals(widgetCode)) {
+            cntData = dashboardMapper.getWidgetAlertSummary(deviceScope);
+        } else if ("DEVICE_SUMMARY".equals(widgetCode)) {
+            // 코드별 장비 수 1회 조회 → 최상위 장비군 단위 합산
+            Map<Long, Integer> countByCode = new HashMap<>();
+            for (DashboardDto.DevCodeCountData row : dashboardMapper.countDevicesByDevCode(deviceScope)) {
+                countByCode.put(row.getDevCodeId(), row.getCnt());
+            }
+            Map<Long, Integer> countByRoot = devCodeTreeIndex.sumByRoot(countByCode);
             DashboardDto.WidgetDeviceCntData deviceCnt = new DashboardDto.WidgetDeviceCntData();
 
-            for (DashboardDto.DevCodeData devCode : devCodeList) {
-                List<Long> devCodeIdList = dashboardMapper.getDevCodeAllId(devCode.getDevCodeId());
-                Integer count = dashboardMapper.getDeviceCountBydevCodeId(devCodeIdList, accessibleDeviceIds);
+            for (DevCodeTreeIndex.Node devCode : devCodeTreeIndex.roots()) {
+                Integer count = countByRoot.getOrDefault(devCode.devCodeId(), 0);
 
-                if ("네트워크".equals(devCode.getCodeNm())) {
+                if ("네트워크".equals(devCode.codeNm())) {
                     deviceCnt.setNetworkCnt(count);
-                } else if ("서버".equals(devCode.getCodeNm())) {
+                } else if ("서버".equals(devCode.codeNm())) {
                     deviceCnt.setServerCnt(count);
-                } else if ("전송".equals(devCode.getCodeNm())) {
+                } else if ("전송".equals(devCode.codeNm())) {
                     deviceCnt.setTranCnt(count);
-                } else if ("FMS".equals(devCode.getCodeNm())) {
+                } else if ("FMS".equals(devCode.codeNm())) {
                     deviceCnt.setFmsCnt(count);
                 }
             }
-            userWidget.setCntData(deviceCnt);
+            cntData = deviceCnt;
         }
+        return new DashboardWidgetCache.WidgetData(chartData, cntData);
+    }
+
+    private static Map<String, Object> chartParam(List<Map<String, String>> metrics, AccessScopeFilterVO deviceScope) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("metrics", metrics);
+        param.put("topN", 5);
+        param.put("intervalSec", 300);
+        param.put("deviceScope", deviceScope);
+        return param;
     }
 
     @Transactional
@@ -351,6 +297,42 @@ public class DashboardService {
         }
     }
 
+    /**
+     * 라인 차트 데이터 → 컬럼 형식 (format=columnar, metric + 장비별 시리즈, 공통 시간축)
+     * - 라인 차트가 아닌 위젯 데이터는 그대로 반환
+     */
+    public static Object toColumnarChartData(Object chartData, boolean delta) {
+        if (!(chartData instanceof List<?> rows) || rows.isEmpty()
+                || !(rows.get(0) instanceof DashboardDto.WidgetLineChartData)) {
+            return chartData;
+        }
+        ColumnarSeriesBuilder<DashboardDto.WidgetLineChartData> builder = new ColumnarSeriesBuilder<>(
+                r -> r.getMetric() + "|" + r.getDeviceId(),
+                r -> {
+                    Map<String, Object> tags = new LinkedHashMap<>();
+                    tags.put("metric", r.getMetric());
+                    tags.put("deviceId", r.getDeviceId());
+                    tags.put("deviceName", r.getDeviceName());
+                    return tags;
+                },
+                r -> parseTimestamp(r.getTimestamp()),
+                Map.<String, Function<DashboardDto.WidgetLineChartData, ? extends Number>>of(
+                        "value", DashboardDto.WidgetLineChartData::getLinePct));
+        for (Object row : rows) {
+            builder.accept((DashboardDto.WidgetLineChartData) row);
+        }
+        return builder.build(delta);
+    }
+
+    private static LocalDateTime parseTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.length() < 19) return null;
+        try {
+            return LocalDateTime.parse(timestamp.substring(0, 19).replace(' ', 'T'));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public static List<String> normalizeElements(List<String> elements) {
         if (elements == null) return List.of();
 
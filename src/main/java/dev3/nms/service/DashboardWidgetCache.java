@@ -0,0 +1,214 @@
+package dev3.nms.service;
+
+import dev3.nms.config.ExecutorRegistry;
+import dev3.nms.vo.auth.AccessScopeFilterVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 대시보드 위젯 데이터 캐시
+ * - 키: (위젯 코드 + config, 장비 접근 범위, 시간 버킷) → 설정과 범위가 같은 위젯은 사용자 간 결과 공유
+ * - 범위: 전체 허용 / SCOPE_ID / 정렬된 IN 목록 (범위 내용이 바뀌면 키도 바뀜)
+ * - 버킷: 차트 위젯은 집계 주기(bucket-sec, 기본 300초), 현황 위젯은 summary-bucket-sec (기본 30초)
+ *   수집 지연을 고려해 버킷 경계를 refresh-delay-sec 만큼 늦춤
+ * - 같은 키의 동시 요청은 진행 중인 로드 결과를 공유 (single-flight), 실패 결과는 캐시하지 않음
+ * - 직전 버킷에서 조회된 항목은 버킷 경계에서 새 버킷으로 미리 갱신 (경계 직후 첫 사용자 대기 제거)
+ *   갱신은 widget-refresh 풀에서 실행, 풀 포화 시 해당 항목은 다음 조회에서 로드
+ * - 캐시 값은 요청 간 공유되므로 호출측에서 변경 금지
+ */
+@Slf4j
+@Component
+public class DashboardWidgetCache {
+
+    public record WidgetData(Object chartData, Object cntData) {
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        WidgetData load() throws Exception;
+    }
+
+    private record Key(String widgetCode, String config, Object scope, long bucketMs, long bucket) {
+        Key withBucket(long next) {
+            return new Key(widgetCode, config, scope, bucketMs, next);
+        }
+    }
+
+    private static final class Entry {
+        final CompletableFuture<WidgetData> future = new CompletableFuture<>();
+        final Loader loader;
+        volatile long lastAccessMs;
+
+        Entry(Loader loader, long lastAccessMs) {
+            this.loader = loader;
+            this.lastAccessMs = lastAccessMs;
+        }
+    }
+
+    private static final String SCOPE_ALL = "ALL";
+
+    private final long bucketMs;
+    private final long summaryBucketMs;
+    private final long refreshDelayMs;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Executor refreshExecutor;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    // metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    @Autowired
+    public DashboardWidgetCache(@Value("${dashboard.widget-cache.bucket-sec:300}") int bucketSec,
+                                @Value("${dashboard.widget-cache.summary-bucket-sec:30}") int summaryBucketSec,
+                                @Value("${dashboard.widget-cache.refresh-delay-sec:15}") int refreshDelaySec,
+                                @Value("${dashboard.widget-cache.max-entries:2000}") int maxEntries,
+                                ExecutorRegistry executorRegistry) {
+        this(bucketSec, summaryBucketSec, refreshDelaySec, maxEntries,
+                executorRegistry.executor(ExecutorRegistry.WIDGET_REFRESH), System::currentTimeMillis);
+    }
+
+    DashboardWidgetCache(int bucketSec, int summaryBucketSec, int refreshDelaySec, int maxEntries,
+                         Executor refreshExecutor, LongSupplier clock) {
+        this.bucketMs = Math.max(1, bucketSec) * 1000L;
+        this.summaryBucketMs = Math.max(1, summaryBucketSec) * 1000L;
+        this.refreshDelayMs = Math.max(0, refreshDelaySec) * 1000L;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * 현재 버킷의 위젯 데이터 조회 (없으면 loader 로 로드, 진행 중이면 완료 대기)
+     * @param summary true 면 현황 위젯 (짧은 버킷)
+     */
+    public WidgetData get(String widgetCode, String config, AccessScopeFilterVO deviceScope,
+                          boolean summary, Loader loader) throws Exception {
+        long now = clock.getAsLong();
+        long width = summary ? summaryBucketMs : bucketMs;
+        Key key = new Key(widgetCode, config, scopeKey(deviceScope), width, bucketOf(now, width));
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                evictExpired(now);
+                if (entries.size() >= maxEntries) {
+                    bypassed.incrementAndGet();
+                    return loader.load();
+                }
+            }
+            Entry created = new Entry(loader, now);
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                misses.incrementAndGet();
+                load(key, created);
+                return await(created);
+            }
+        }
+        entry.lastAccessMs = now;
+        (entry.future.isDone() ? hits : coalesced).incrementAndGet();
+        return await(entry);
+    }
+
+    /**
+     * 버킷 경계 처리
+     * - 지난 버킷 항목 제거
+     * - 직전 버킷에서 조회된 항목은 새 버킷으로 미리 로드
+     */
+    @Scheduled(fixedDelayString = "${dashboard.widget-cache.refresh-check-ms:5000}")
+    public void refresh() {
+        long now = clock.getAsLong();
+        for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+            Key key = e.getKey();
+            Entry entry = e.getValue();
+            long current = bucketOf(now, key.bucketMs());
+            if (key.bucket() >= current) continue;
+            entries.remove(key, entry);
+
+            boolean recentlyUsed = now - entry.lastAccessMs <= key.bucketMs();
+            boolean loaded = entry.future.isDone() && !entry.future.isCompletedExceptionally();
+            if (key.bucket() != current - 1 || !recentlyUsed || !loaded) continue;
+
+            Key next = key.withBucket(current);
+            // 접근 시각은 유지 → 이후 조회가 없으면 한 번만 더 갱신하고 만료
+            Entry fresh = new Entry(entry.loader, entry.lastAccessMs);
+            if (entries.size() < maxEntries && entries.putIfAbsent(next, fresh) == null) {
+                refreshes.incrementAndGet();
+                try {
+                    refreshExecutor.execute(() -> load(next, fresh));
+                } catch (RejectedExecutionException ex) {
+                    entries.remove(next, fresh);
+                    fresh.future.cancel(false);
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long hit = hits.get();
+        long total = hit + misses.get() + coalesced.get() + bypassed.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("bucketSec", bucketMs / 1000);
+        stats.put("summaryBucketSec", summaryBucketMs / 1000);
+        stats.put("hits", hit);
+        stats.put("misses", misses.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("refreshes", refreshes.get());
+        stats.put("bypassed", bypassed.get());
+        stats.put("errors", errors.get());
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) (hit + coalesced.get()) / total);
+        return stats;
+    }
+
+    private void load(Key key, Entry entry) {
+        try {
+            entry.future.complete(entry.loader.load());
+        } catch (Exception e) {
+            errors.incrementAndGet();
+            entries.remove(key, entry);
+            entry.future.completeExceptionally(e);
+            log.debug("[WidgetCache] 위젯 데이터 로드 실패 - widgetCode: {}, error: {}", key.widgetCode(), e.getMessage());
+        }
+    }
+
+    private static WidgetData await(Entry entry) throws Exception {
+        try {
+            return entry.future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } catch (CancellationException e) {
+            return entry.loader.load();
+        }
+    }
+
+    private void evictExpired(long now) {
+        entries.entrySet().removeIf(e -> e.getKey().bucket() < bucketOf(now, e.getKey().bucketMs())
+                && e.getValue().future.isDone());
+    }
+
+    private long bucketOf(long now, long width) {
+        return Math.floorDiv(now - refreshDelayMs, width);
+    }
+
+    private static Object scopeKey(AccessScopeFilterVO deviceScope) {
+        if (deviceScope == null) return SCOPE_ALL;
+        if (deviceScope.getScopeId() != null) return deviceScope.getScopeId();
+        return Arrays.stream(DeviceScopeRegistry.normalize(deviceScope.getDeviceIds())).boxed().toList();
+    }
+}
@@ -0,0 +1,8 @@
+package dev3.nms.service;
+
+/**
+ * 장비군(DevCode) 코드 등록/수정/삭제 이벤트
+ * - 발행한 트랜잭션 커밋 후 수신 (@TransactionalEventListener)
+ */
+public record DevCodeChangedEvent(Long devCodeId) {
+}
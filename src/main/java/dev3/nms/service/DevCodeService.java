@@ -4,6 +4,7 @@ import dev3.nms.mapper.DevCodeMapper;
 import dev3.nms.vo.mgmt.DevCodeVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ import java.util.*;
 public class DevCodeService {
 
     private final DevCodeMapper devCodeMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 모든 장비군 코드 조회 (플랫 리스트)
@@ -78,6 +80,7 @@ public class DevCodeService {
     @Transactional
     public DevCodeVO createDevCode(DevCodeVO devCode) {
         devCodeMapper.insertDevCode(devCode);
+        eventPublisher.publishEvent(new DevCodeChangedEvent(devCode.getDEV_CODE_ID()));
         log.info("장비군 코드 등록 완료 - ID: {}, 이름: {}", devCode.getDEV_CODE_ID(), devCode.getCODE_NM());
         return devCode;
     }
@@ -88,6 +91,7 @@ public class DevCodeService {
     @Transactional
     public void updateDevCode(DevCodeVO devCode) {
         devCodeMapper.updateDevCode(devCode);
+        eventPublisher.publishEvent(new DevCodeChangedEvent(devCode.getDEV_CODE_ID()));
         log.info("장비군 코드 수정 완료 - ID: {}", devCode.getDEV_CODE_ID());
     }
 
@@ -104,6 +108,7 @@ public class DevCodeService {
         for (Long id : descendantIds) {
             devCodeMapper.deleteDevCode(id);
         }
+        eventPublisher.publishEvent(new DevCodeChangedEvent(devCodeId));
 
         log.info("장비군 코드 삭제 완료 - ID: {}, 삭제된 총 개수: {}", devCodeId, descendantIds.size());
     }
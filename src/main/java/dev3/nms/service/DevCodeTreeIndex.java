@@ -0,0 +1,147 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DevCodeMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 장비군(DevCode) 트리 인덱스
+ * - b_dev_code_t 전체를 메모리에 보관하고 하위 코드 집합 / 최상위 코드를 DB 재귀 조회 없이 계산
+ * - 장비군 코드 변경(DevCodeChangedEvent) 커밋 후 무효화 → 다음 조회 시 재구성, 10분마다 전체 재구성
+ * - 삭제처럼 DB 최신 상태가 필요한 쓰기 작업은 DevCodeMapper 재귀 조회를 그대로 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DevCodeTreeIndex {
+
+    private final DevCodeMapper devCodeMapper;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong version = new AtomicLong();
+
+    public record Node(Long devCodeId, Long parentDevCodeId, String codeNm) {
+    }
+
+    /**
+     * 최상위 코드 (PARENT_DEV_CODE_ID 가 null)
+     */
+    public List<Node> roots() {
+        return current().roots;
+    }
+
+    /**
+     * 코드 자신과 모든 하위 코드 ID (상위 → 하위 순), 없는 코드면 빈 목록
+     */
+    public List<Long> descendantIds(Long devCodeId) {
+        return current().descendants.getOrDefault(devCodeId, List.of());
+    }
+
+    /**
+     * 코드별 값을 최상위 코드 단위로 합산 (최상위에 연결되지 않은 코드는 제외)
+     */
+    public Map<Long, Integer> sumByRoot(Map<Long, Integer> valueByCode) {
+        Snapshot s = current();
+        Map<Long, Integer> result = new HashMap<>();
+        valueByCode.forEach((code, value) -> {
+            Long root = s.rootOf.get(code);
+            if (root != null && value != null) result.merge(root, value, Integer::sum);
+        });
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDevCodeChanged(DevCodeChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 누락된 변경(DB 직접 수정 등) 보정용 전체 재구성
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void periodicRebuild() {
+        invalidate();
+        try {
+            current();
+        } catch (Exception e) {
+            log.warn("[DevCodeIndex] 재구성 실패: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void invalidate() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        long v = version.get();
+        List<Node> nodes = devCodeMapper.findAllDevCodes().stream()
+                .map(c -> new Node(c.getDEV_CODE_ID(), c.getPARENT_DEV_CODE_ID(), c.getCODE_NM()))
+                .toList();
+        s = Snapshot.of(nodes);
+        // 재구성 중 무효화되었으면 보관하지 않음 (다음 조회에서 다시 로드)
+        synchronized (this) {
+            if (version.get() == v) snapshot = s;
+        }
+        log.debug("[DevCodeIndex] 장비군 코드 {}건 인덱스 구성", nodes.size());
+        return s;
+    }
+
+    static final class Snapshot {
+        final List<Node> roots;
+        final Map<Long, List<Long>> descendants;
+        final Map<Long, Long> rootOf;
+
+        private Snapshot(List<Node> roots, Map<Long, List<Long>> descendants, Map<Long, Long> rootOf) {
+            this.roots = roots;
+            this.descendants = descendants;
+            this.rootOf = rootOf;
+        }
+
+        static Snapshot of(List<Node> nodes) {
+            Map<Long, List<Long>> children = new HashMap<>();
+            Set<Long> ids = new HashSet<>();
+            List<Node> roots = new ArrayList<>();
+            for (Node node : nodes) {
+                ids.add(node.devCodeId());
+                if (node.parentDevCodeId() == null) {
+                    roots.add(node);
+                } else {
+                    children.computeIfAbsent(node.parentDevCodeId(), k -> new ArrayList<>()).add(node.devCodeId());
+                }
+            }
+            children.values().forEach(Collections::sort);
+
+            // 코드별 하위 집합 (BFS, 순환 데이터 방어)
+            Map<Long, List<Long>> descendants = new HashMap<>();
+            for (Long id : ids) {
+                List<Long> out = new ArrayList<>();
+                Set<Long> seen = new HashSet<>();
+                Deque<Long> queue = new ArrayDeque<>(List.of(id));
+                while (!queue.isEmpty()) {
+                    Long cur = queue.poll();
+                    if (!seen.add(cur)) continue;
+                    out.add(cur);
+                    queue.addAll(children.getOrDefault(cur, List.of()));
+                }
+                descendants.put(id, List.copyOf(out));
+            }
+
+            Map<Long, Long> rootOf = new HashMap<>();
+            for (Node root : roots) {
+                for (Long id : descendants.get(root.devCodeId())) {
+                    rootOf.put(id, root.devCodeId());
+                }
+            }
+            return new Snapshot(List.copyOf(roots), descendants, rootOf);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package dev3.nms.service;
+
+import dev3.nms.config.ExecutorRegistry;
+import dev3.nms.mapper.TempDeviceMapper;
+import dev3.nms.mapper.VendorMapper;
+import dev3.nms.vo.mgmt.DeviceRegistrationResultVO;
+import dev3.nms.vo.mgmt.DeviceVO;
+import dev3.nms.vo.mgmt.PortVO;
+import dev3.nms.vo.mgmt.TempDeviceVO;
+import dev3.nms.vo.mgmt.VendorVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 장비 일괄 등록 (엑셀 업로드 직접 등록 / 미등록 장비 일괄 등록)
+ * - 장비별 작업을 device-register 풀에서 병렬 실행, 동시 실행 수 = 풀 threads
+ *   장비 1대는 미들웨어마다 SNMP 요청을 1건씩만 보내므로 threads 가 미들웨어별 동시 요청 상한
+ * - 장비별 단계: SNMP probe → 벤더/모델 조회 → 장비 저장 [tx] → 포트 조회 → 포트 저장 [tx]
+ *   네트워크 단계는 트랜잭션 밖에서 수행, DB 단계는 장비별 짧은 트랜잭션 (1대 실패가 전체를 롤백하지 않음)
+ * - 벤더/모델은 실행 단위로 sysObjectId 별 1회만 조회/생성
+ * - 결과 목록은 입력 순서, 진행 콜백은 완료 순서
+ */
+@Slf4j
+@Service
+public class DeviceBulkRegistrationService {
+
+    /**
+     * 장비 1대 처리 결과 (진행 콜백 / 스트리밍 응답 1줄)
+     * @param index 입력 목록 내 위치
+     * @param done 지금까지 완료된 장비 수
+     */
+    public record Progress(int index, int done, int total,
+                           DeviceRegistrationResultVO.DeviceRegistrationSuccess success,
+                           DeviceRegistrationResultVO.DeviceRegistrationFailure failure) {
+    }
+
+    /**
+     * 장비별 진행 콜백 - 등록 스레드에서 호출되므로 구현은 스레드 안전해야 함
+     */
+    public interface Listener {
+        /**
+         * 장비 처리 시작 (probe 직전)
+         */
+        default void started(int index) {
+        }
+
+        void completed(Progress progress);
+    }
+
+    private final DeviceService deviceService;
+    private final TempDeviceMapper tempDeviceMapper;
+    private final VendorMapper vendorMapper;
+    private final RebalanceScheduler rebalanceScheduler;
+    private final TransactionOperations txTemplate;
+    private final Executor executor;
+
+    @Autowired
+    public DeviceBulkRegistrationService(DeviceService deviceService,
+                                         TempDeviceMapper tempDeviceMapper,
+                                         VendorMapper vendorMapper,
+                                         RebalanceScheduler rebalanceScheduler,
+                                         PlatformTransactionManager transactionManager,
+                                         ExecutorRegistry executorRegistry) {
+        this(deviceService, tempDeviceMapper, vendorMapper, rebalanceScheduler,
+                new TransactionTemplate(transactionManager),
+                executorRegistry.executor(ExecutorRegistry.DEVICE_REGISTER));
+    }
+
+    DeviceBulkRegistrationService(DeviceService deviceService,
+                                  TempDeviceMapper tempDeviceMapper,
+                                  VendorMapper vendorMapper,
+                                  RebalanceScheduler rebalanceScheduler,
+                                  TransactionOperations txTemplate,
+                                  Executor executor) {
+        this.deviceService = deviceService;
+        this.tempDeviceMapper = tempDeviceMapper;
+        this.vendorMapper = vendorMapper;
+        this.rebalanceScheduler = rebalanceScheduler;
+        this.txTemplate = txTemplate;
+        this.executor = executor;
+    }
+
+    /**
+     * 입력 장비 일괄 직접 등록 (COLLECT_SNMP=false 면 Ping 전용)
+     * 성공: r_device_t (+ r_temp_device_t 이력), 실패: r_temp_device_t
+     * @param listener 장비별 완료 콜백 (null 가능)
+     */
+    public DeviceRegistrationResultVO registerDirect(List<TempDeviceVO> devices, Integer userId,
+                                                     Listener listener) {
+        Lookups lookups = new Lookups(userId);
+        return finish(runAll(devices, input -> registerDirectOne(input, userId, lookups), listener));
+    }
+
+    /**
+     * 미등록 장비 일괄 등록, 성공한 임시 장비는 논리 삭제
+     * @param listener 장비별 완료 콜백 (null 가능)
+     */
+    public DeviceRegistrationResultVO registerFromTemp(List<Integer> tempDeviceIds, Integer userId,
+                                                       Listener listener) {
+        Lookups lookups = new Lookups(userId);
+        return finish(runAll(tempDeviceIds, id -> registerTempOne(id, userId, lookups), listener));
+    }
+
+    /**
+     * 등록 결과에 따라 재분배 트리거 (FIXED 장비 추가로 인한 AUTO 장비 재분배 기회)
+     */
+    private DeviceRegistrationResultVO finish(DeviceRegistrationResultVO result) {
+        if (!result.getSuccessList().isEmpty()) {
+            log.info("[등록 후] 재분배 트리거 - 성공 장비 {}대", result.getSuccessList().size());
+            rebalanceScheduler.request("DEVICE_REGISTER");
+        }
+        return result;
+    }
+
+    /**
+     * 입력별 작업을 병렬 실행 후 입력 순서대로 병합
+     * - 작업은 결과(성공 또는 실패 1건)를 반환하며 예외를 던지지 않아야 함
+     */
+    <T> DeviceRegistrationResultVO runAll(List<T> inputs, Function<T, DeviceRegistrationResultVO> task,
+                                          Listener listener) {
+        int total = inputs.size();
+        AtomicInteger done = new AtomicInteger();
+        List<CompletableFuture<DeviceRegistrationResultVO>> futures = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            T input = inputs.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                        if (listener != null) {
+                            try {
+                                listener.started(index);
+                            } catch (Exception e) {
+                                log.debug("[일괄 등록] 진행 콜백 실패: {}", e.getMessage());
+                            }
+                        }
+                        return task.apply(input);
+                    }, executor)
+                    .whenComplete((single, error) -> {
+                        if (listener == null || single == null) return;
+                        Progress progress = new Progress(index, done.incrementAndGet(), total,
+                                single.getSuccessList().isEmpty() ? null : single.getSuccessList().get(0),
+                                single.getFailureList().isEmpty() ? null : single.getFailureList().get(0));
+                        try {
+                            listener.completed(progress);
+                        } catch (Exception e) {
+                            log.debug("[일괄 등록] 진행 콜백 실패: {}", e.getMessage());
+                        }
+                    }));
+        }
+
+        DeviceRegistrationResultVO result = new DeviceRegistrationResultVO();
+        for (CompletableFuture<DeviceRegistrationResultVO> future : futures) {
+            DeviceRegistrationResultVO single = future.join();
+            result.getSuccessList().addAll(single.getSuccessList());
+            result.getFailureList().addAll(single.getFailureList());
+        }
+        return result;
+    }
+
+    private DeviceRegistrationResultVO registerDirectOne(TempDeviceVO input, Integer userId, Lookups lookups) {
+        // COLLECT_SNMP 여부 확인 (기본값: true)
+        boolean collectSnmp = input.getCOLLECT_SNMP() != null ? input.getCOLLECT_SNMP() : true;
+        String collectType = collectSnmp ? "SNMP" : "PING";
+        DeviceRegistrationResultVO result = new DeviceRegistrationResultVO();
+        try {
+            boolean pingSuccess = deviceService.pingTest(input.getDEVICE_IP(), 1000);
+            if (!collectSnmp) {
+                if (!pingSuccess) {
+                    throw new RuntimeException("Ping 테스트 실패 - 장비 응답 없음");
+                }
+                Integer middlewareId = deviceService.assignMiddleware();
+                DeviceVO device = txTemplate.execute(status -> {
+                    DeviceVO inserted = deviceService.insertPingDevice(input, middlewareId, userId);
+                    deviceService.archiveRegisteredInput(input, userId);
+                    return inserted;
+                });
+                result.getSuccessList().add(deviceService.pingSuccess(input.getTEMP_DEVICE_ID(), device));
+                return result;
+            }
+
+            DeviceService.SnmpProbeResult probe = deviceService.probeSnmp(input);
+            VendorVO vendor = lookups.vendor(probe.sysObjectId());
+            Integer modelId = lookups.model(probe.sysObjectId(), vendor);
+            DeviceVO device = txTemplate.execute(status -> {
+                DeviceVO inserted = deviceService.insertProbedDevice(input, probe, modelId, true, userId);
+                deviceService.archiveRegisteredInput(input, userId);
+                return inserted;
+            });
+            collectPorts(input, device);
+            result.getSuccessList().add(
+                    deviceService.snmpSuccess(input.getTEMP_DEVICE_ID(), device, probe, vendor, pingSuccess));
+        } catch (Exception e) {
+            result.getFailureList().add(saveFailure(input, userId, e.getMessage(), collectType));
+        }
+        return result;
+    }
+
+    private DeviceRegistrationResultVO registerTempOne(Integer tempDeviceId, Integer userId, Lookups lookups) {
+        DeviceRegistrationResultVO result = new DeviceRegistrationResultVO();
+        TempDeviceVO tempDevice = null;
+        try {
+            tempDevice = tempDeviceMapper.findById(tempDeviceId);
+            if (tempDevice == null) {
+                throw new IllegalArgumentException("임시 장비를 찾을 수 없습니다");
+            }
+            TempDeviceVO input = tempDevice;
+
+            DeviceService.SnmpProbeResult probe = deviceService.probeSnmp(input);
+            boolean pingSuccess = deviceService.pingTest(input.getDEVICE_IP(), 1000);
+            VendorVO vendor = lookups.vendor(probe.sysObjectId());
+            Integer modelId = lookups.model(probe.sysObjectId(), vendor);
+            DeviceVO device = txTemplate.execute(status -> {
+                DeviceVO inserted = deviceService.insertProbedDevice(input, probe, modelId, false, userId);
+                tempDeviceMapper.deleteTempDevice(tempDeviceId);
+                return inserted;
+            });
+            collectPorts(input, device);
+            result.getSuccessList().add(deviceService.snmpSuccess(tempDeviceId, device, probe, vendor, pingSuccess));
+            log.info("장비 등록 성공 - TempDeviceId: {}, DeviceId: {}, Name: {}",
+                    tempDeviceId, device.getDEVICE_ID(), device.getDEVICE_NAME());
+        } catch (Exception e) {
+            String deviceName = (tempDevice != null) ? tempDevice.getDEVICE_NAME() : "알 수 없음";
+            String deviceIp = (tempDevice != null) ? tempDevice.getDEVICE_IP() : "알 수 없음";
+            result.getFailureList().add(new DeviceRegistrationResultVO.DeviceRegistrationFailure(
+                    tempDeviceId, deviceName, deviceIp, e.getMessage(), "SNMP"));
+            log.error("장비 등록 실패 - TempDeviceId: {}, Name: {}, Error: {}",
+                    tempDeviceId, deviceName, e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * 포트 조회 (트랜잭션 밖) 후 저장, 실패해도 장비 등록은 유지
+     */
+    private void collectPorts(TempDeviceVO input, DeviceVO device) {
+        try {
+            List<PortVO> ports = deviceService.fetchPorts(input, device.getDEVICE_ID());
+            if (ports.isEmpty()) return;
+            txTemplate.executeWithoutResult(status -> deviceService.savePorts(device, ports));
+        } catch (Exception e) {
+            log.warn("포트 정보 수집 실패 (장비 등록은 성공) - DeviceId: {}, Error: {}",
+                    device.getDEVICE_ID(), e.getMessage());
+        }
+    }
+
+    private DeviceRegistrationResultVO.DeviceRegistrationFailure saveFailure(TempDeviceVO input, Integer userId,
+                                                                           String error, String collectType) {
+        try {
+            return txTemplate.execute(status -> deviceService.saveFailedInput(input, userId, error, collectType));
+        } catch (Exception e) {
+            log.error("미등록 장비 저장 실패 - IP: {}, Error: {}", input.getDEVICE_IP(), e.getMessage());
+            return new DeviceRegistrationResultVO.DeviceRegistrationFailure(
+                    null, input.getDEVICE_NAME(), input.getDEVICE_IP(), error, collectType);
+        }
+    }
+
+    /**
+     * 실행 단위 벤더/모델 캐시 - 같은 sysObjectId 장비가 많아도 조회/생성은 1회
+     * (computeIfAbsent 로 동시 요청 중 1건만 조회, 모델 생성은 별도 트랜잭션으로 즉시 커밋)
+     */
+    private class Lookups {
+        private final Integer userId;
+        private final Map<String, Optional<VendorVO>> vendors = new ConcurrentHashMap<>();
+        private final Map<String, Optional<Integer>> models = new ConcurrentHashMap<>();
+
+        Lookups(Integer userId) {
+            this.userId = userId;
+        }
+
+        VendorVO vendor(String sysObjectId) {
+            if (sysObjectId == null) return null;
+            return vendors.computeIfAbsent(sysObjectId,
+                    oid -> Optional.ofNullable(vendorMapper.findVendorByOid(oid))).orElse(null);
+        }
+
+        Integer model(String sysObjectId, VendorVO vendor) {
+            if (sysObjectId == null || vendor == null) return null;
+            return models.computeIfAbsent(vendor.getVENDOR_ID() + "|" + sysObjectId,
+                    key -> Optional.ofNullable(txTemplate.execute(
+                            status -> deviceService.getOrCreateModel(sysObjectId, vendor, userId)))).orElse(null);
+        }
+    }
+}
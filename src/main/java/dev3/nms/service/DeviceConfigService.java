@@ -1,9 +1,7 @@
 package dev3.nms.service;
 
-import dev3.nms.mapper.DashboardMapper;
 import dev3.nms.mapper.DeviceConfigMapper;
 import dev3.nms.vo.common.PageVO;
-import dev3.nms.vo.dashboard.DashboardDto;
 import dev3.nms.vo.deviceConfig.DeviceConfigDto;
 import dev3.nms.vo.mgmt.DeviceVO;
 import lombok.RequiredArgsConstructor;
@@ -19,7 +17,7 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class DeviceConfigService {
-    private final DashboardMapper dashboardMapper;
+    private final DevCodeTreeIndex devCodeTreeIndex;
     private final DeviceConfigMapper deviceConfigMapper;
 
     public DeviceConfigDto.DeviceConfigRes getDeviceConfig(
@@ -50,13 +48,11 @@ public class DeviceConfigService {
         int offset = (page - 1) * size;
 
         // 네트워크, 정송 장비만 조회
-        List<DashboardDto.DevCodeData> devCodeList = dashboardMapper.getDevCode();
         List<Long> devCodeIdList = new ArrayList<>();
-        for (DashboardDto.DevCodeData devCode : devCodeList) {
-            String name = devCode.getCodeNm();
+        for (DevCodeTreeIndex.Node devCode : devCodeTreeIndex.roots()) {
+            String name = devCode.codeNm();
             if ("네트워크".equals(name) || "전송".equals(name)) {
-                List<Long> ids = dashboardMapper.getDevCodeAllId(devCode.getDevCodeId());
-                devCodeIdList.addAll(ids);
+                devCodeIdList.addAll(devCodeTreeIndex.descendantIds(devCode.devCodeId()));
             }
         }
 
@@ -0,0 +1,8 @@
+package dev3.nms.service;
+
+/**
+ * 삭제 장비 이력 정리 작업 등록 이벤트
+ * - 장비 논리 삭제 트랜잭션 커밋 후 수신 → 정리 작업 시작 (@TransactionalEventListener)
+ */
+public record DevicePurgeRequestedEvent(Long jobId) {
+}
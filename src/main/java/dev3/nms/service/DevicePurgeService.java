@@ -0,0 +1,232 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DevicePurgeMapper;
+import dev3.nms.vo.mgmt.DevicePurgeItemVO;
+import dev3.nms.vo.mgmt.DevicePurgeJobVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 삭제 장비 성능/장애 이력 백그라운드 정리
+ * - 장비 삭제는 논리 삭제만 수행하고 작업 등록 (R_DEVICE_PURGE_JOB_T / ITEM_T)
+ * - 장비별로 STEPS 순서대로 batch-size 건씩 DELETE (청크마다 자동 커밋), 청크 사이 pause-ms 대기
+ * - 장비별 진행 단계를 기록 → 재시작/오류 후 해당 단계부터 재개 (poll-ms 마다 재시도, max-attempts 초과 시 FAILED)
+ * - 전용 스레드 1개에서 작업 순서대로 처리 (성능 테이블 동시 대량 삭제 방지)
+ */
+@Slf4j
+@Service
+public class DevicePurgeService {
+
+    static final String DONE = "DONE";
+    static final String FAILED = "FAILED";
+
+    private static final int INSERT_CHUNK = 1000;
+    private static final int RECENT_JOBS = 20;
+
+    /**
+     * 정리 단계 - 테이블명은 ${} 치환되므로 이 목록에서만 사용
+     * 단계 인덱스가 ITEM_T.STEP 에 저장되므로 순서 변경 시 진행 중 작업 재개 위치가 달라짐 (추가는 끝에만)
+     */
+    record Step(String tableName, Integer bucketSec) {
+    }
+
+    static final List<Step> STEPS = buildSteps();
+
+    private final DevicePurgeMapper devicePurgeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long pauseMs;
+    private final int maxAttempts;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "device-purge");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private volatile String progress;
+
+    // metrics
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong deletedRows = new AtomicLong();
+
+    public DevicePurgeService(DevicePurgeMapper devicePurgeMapper,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${device-purge.batch-size:5000}") int batchSize,
+                              @Value("${device-purge.pause-ms:200}") long pauseMs,
+                              @Value("${device-purge.max-attempts:5}") int maxAttempts) {
+        this.devicePurgeMapper = devicePurgeMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMs = Math.max(0, pauseMs);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    private static List<Step> buildSteps() {
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step("p_traffic_t", null));
+        steps.add(new Step("p_cpu_mem_t", null));
+        steps.add(new Step("p_icmp_t", null));
+        // rollup 은 PK (BUCKET_SEC, DEVICE_ID, ...) 선두 컬럼을 맞추기 위해 집계 단위별로 삭제
+        for (String rollup : List.of("p_traffic_rollup_t", "p_cpu_mem_rollup_t", "p_icmp_rollup_t")) {
+            for (int bucketSec : MetricRollupService.TIERS) {
+                steps.add(new Step(rollup, bucketSec));
+            }
+        }
+        steps.add(new Step("f_error_history_t", null));
+        return List.copyOf(steps);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * 기동 시 미완료 작업 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        wakeUp();
+    }
+
+    /**
+     * 오류로 중단된 작업 재시도
+     */
+    @Scheduled(fixedDelayString = "${device-purge.poll-ms:60000}", initialDelayString = "${device-purge.poll-ms:60000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurgeRequested(DevicePurgeRequestedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * 정리 작업 등록 (호출 트랜잭션에 참여, 커밋 후 실행)
+     * @return 작업 ID
+     */
+    public Long enqueue(List<Integer> deviceIds) {
+        List<Integer> ids = deviceIds.stream().filter(Objects::nonNull).distinct().toList();
+        DevicePurgeJobVO job = DevicePurgeJobVO.builder().DEVICE_CNT(ids.size()).build();
+        devicePurgeMapper.insertJob(job);
+        for (int i = 0; i < ids.size(); i += INSERT_CHUNK) {
+            devicePurgeMapper.insertItems(job.getJOB_ID(), ids.subList(i, Math.min(ids.size(), i + INSERT_CHUNK)));
+        }
+        eventPublisher.publishEvent(new DevicePurgeRequestedEvent(job.getJOB_ID()));
+        return job.getJOB_ID();
+    }
+
+    public DevicePurgeJobVO getJob(Long jobId) {
+        return devicePurgeMapper.findJob(jobId);
+    }
+
+    /**
+     * 정리 현황: 진행 상태 + 최근 작업
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", progress != null);
+        status.put("progress", progress);
+        status.put("chunks", chunks.get());
+        status.put("deletedRows", deletedRows.get());
+        status.put("recentJobs", devicePurgeMapper.findRecentJobs(RECENT_JOBS));
+        return status;
+    }
+
+    private void wakeUp() {
+        if (!wakeScheduled.compareAndSet(false, true)) return;
+        try {
+            worker.execute(() -> {
+                wakeScheduled.set(false);
+                runPending();
+            });
+        } catch (RejectedExecutionException e) {
+            wakeScheduled.set(false);
+        }
+    }
+
+    /**
+     * 미완료 작업을 등록 순으로 처리, 오류 발생 시 중단 (다음 poll 에서 재개)
+     */
+    void runPending() {
+        try {
+            for (DevicePurgeJobVO job : devicePurgeMapper.findUnfinishedJobs()) {
+                if (!runJob(job)) return;
+            }
+        } catch (Exception e) {
+            log.warn("[DevicePurge] 작업 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    private boolean runJob(DevicePurgeJobVO job) {
+        Long jobId = job.getJOB_ID();
+        int attempts = job.getATTEMPTS() != null ? job.getATTEMPTS() : 0;
+        if (attempts >= maxAttempts) {
+            devicePurgeMapper.markJobFinished(jobId, FAILED, job.getLAST_ERROR());
+            log.error("[DevicePurge] job {} 재시도 {}회 초과 - 중단: {}", jobId, attempts, job.getLAST_ERROR());
+            return true;
+        }
+        devicePurgeMapper.markJobRunning(jobId);
+        long start = System.currentTimeMillis();
+        try {
+            List<DevicePurgeItemVO> items = devicePurgeMapper.findPendingItems(jobId);
+            for (int i = 0; i < items.size(); i++) {
+                progress = "job " + jobId + " - 장비 " + items.get(i).getDEVICE_ID() + " (" + (i + 1) + "/" + items.size() + ")";
+                purgeDevice(items.get(i));
+            }
+            devicePurgeMapper.markJobFinished(jobId, DONE, null);
+            log.info("[DevicePurge] job {} 완료 - 장비 {}개 ({}ms)", jobId, job.getDEVICE_CNT(), System.currentTimeMillis() - start);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            devicePurgeMapper.recordJobError(jobId, e.getMessage());
+            log.warn("[DevicePurge] job {} 중단 (재시도 예정): {}", jobId, e.getMessage());
+            return false;
+        } finally {
+            progress = null;
+        }
+    }
+
+    private void purgeDevice(DevicePurgeItemVO item) throws InterruptedException {
+        Long jobId = item.getJOB_ID();
+        int deviceId = item.getDEVICE_ID();
+        long deleted = item.getDELETED_ROWS() != null ? item.getDELETED_ROWS() : 0;
+        int from = item.getSTEP() != null ? item.getSTEP() : 0;
+        for (int step = from; step < STEPS.size(); step++) {
+            Step s = STEPS.get(step);
+            int n;
+            do {
+                n = devicePurgeMapper.deleteDeviceRows(s.tableName(), s.bucketSec(), deviceId, batchSize);
+                deleted += n;
+                chunks.incrementAndGet();
+                deletedRows.addAndGet(n);
+                if (n >= batchSize) {
+                    devicePurgeMapper.updateItemProgress(jobId, deviceId, step, deleted, false);
+                    if (pauseMs > 0) Thread.sleep(pauseMs);
+                }
+            } while (n >= batchSize);
+            if (step + 1 < STEPS.size()) {
+                devicePurgeMapper.updateItemProgress(jobId, deviceId, step + 1, deleted, false);
+            }
+        }
+        devicePurgeMapper.updateItemProgress(jobId, deviceId, STEPS.size(), deleted, true);
+    }
+}
@@ -0,0 +1,197 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DeviceMapper;
+import dev3.nms.mapper.MiddlewareMapper;
+import dev3.nms.vo.mgmt.MiddlewareVO;
+import dev3.nms.vo.mgmt.RebalancePlanVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 증분 장비 재분배
+ * - 도달성 매트릭스(ReachabilityCache)에 유효한 결과가 없는 (장비, 미들웨어) 쌍만 probe
+ *   (신규 장비, IP/SNMP 변경 장비, TTL 만료, 어디서도 도달 불가로 남은 고아 장비)
+ * - RebalancePlanner 로 현재 할당 대비 최소 이동 계획 수립
+ * - MIDDLEWARE_ID 가 실제로 바뀌는 장비만 UPDATE
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceRebalanceService {
+
+    private final MiddlewareMapper middlewareMapper;
+    private final DeviceMapper deviceMapper;
+    private final MiddlewareBatchProber batchProber;
+    private final ReachabilityCache reachabilityCache;
+
+    // 재분배 probe 전체 대기 시간 (초과 시 완료된 결과로 분배)
+    @Value("${middleware.probe.timeout-sec:60}")
+    private int probeTimeoutSec;
+
+    // 목표 부하 대비 허용 초과 비율 (%) - 이내면 균형 이동 안 함
+    @Value("${middleware.rebalance.max-imbalance-pct:10}")
+    private int maxImbalancePct;
+
+    /**
+     * 재분배 실행
+     */
+    public RebalancePlanVO rebalance() {
+        return run(false, true);
+    }
+
+    /**
+     * 재분배 계획만 조회 (DB 변경 없음)
+     * @param probe false 면 probe 없이 캐시된 도달성만으로 계획
+     */
+    public RebalancePlanVO plan(boolean probe) {
+        return run(true, probe);
+    }
+
+    private RebalancePlanVO run(boolean dryRun, boolean probe) {
+        long started = System.currentTimeMillis();
+        List<MiddlewareVO> actives = middlewareMapper.findActiveMiddlewares();
+
+        // 활성 미들웨어 없음 → 전체 할당 해제
+        if (actives.isEmpty()) {
+            RebalancePlanVO plan = new RebalancePlanVO();
+            plan.setDryRun(dryRun);
+            if (!dryRun) {
+                int cleared = deviceMapper.clearAllMiddlewareAssignments();
+                log.info("[재분배] 활성 미들웨어 없음. {}개 장비 MIDDLEWARE_ID=null 처리", cleared);
+            }
+            plan.setElapsedMs(System.currentTimeMillis() - started);
+            return plan;
+        }
+
+        List<Map<String, Object>> devices = deviceMapper.findAllActiveDeviceIdsWithIp();
+        List<Integer> activeIds = actives.stream().map(MiddlewareVO::getMIDDLEWARE_ID).collect(Collectors.toList());
+        reachabilityCache.retain(
+                devices.stream().map(d -> ((Number) d.get("DEVICE_ID")).intValue()).collect(Collectors.toSet()),
+                new HashSet<>(activeIds));
+
+        // 미들웨어 1개면 도달성과 무관하게 전부 할당 → probe 불필요
+        int[] probeStats = {0, 0};
+        if (probe && actives.size() > 1) {
+            probeStats = probeMissing(actives, devices);
+        }
+
+        long now = System.currentTimeMillis();
+        List<RebalancePlanner.Candidate> candidates = new ArrayList<>(devices.size());
+        for (Map<String, Object> dev : devices) {
+            int deviceId = ((Number) dev.get("DEVICE_ID")).intValue();
+            Object mwObj = dev.get("MIDDLEWARE_ID");
+            Object fixedObj = dev.get("MIDDLEWARE_FIXED");
+            candidates.add(new RebalancePlanner.Candidate(
+                    deviceId,
+                    mwObj != null ? ((Number) mwObj).intValue() : null,
+                    fixedObj != null && ((Number) fixedObj).intValue() == 1,
+                    reachabilityCache.reachableMiddlewares(deviceId, ReachabilityCache.fingerprint(dev), activeIds, now)));
+        }
+
+        RebalancePlanVO plan = RebalancePlanner.plan(candidates, activeIds, maxImbalancePct);
+        plan.setDryRun(dryRun);
+        plan.setProbedDevices(probeStats[0]);
+        plan.setProbeRequests(probeStats[1]);
+
+        if (!dryRun) {
+            apply(plan);
+        }
+        plan.setElapsedMs(System.currentTimeMillis() - started);
+        log.info("[재분배] {} - 미들웨어 {}개, 장비 {}개, probe {}건, 이동 {}건 ({}ms)",
+                dryRun ? "계획" : "완료", plan.getMiddlewareCount(), plan.getDeviceCount(),
+                plan.getProbeRequests(), plan.getMoveCount(), plan.getElapsedMs());
+        return plan;
+    }
+
+    /**
+     * 캐시에 유효한 결과가 없는 (장비, 미들웨어) 쌍만 probe 후 결과 기록
+     * @return {probe 한 장비 수, probe 한 쌍 수}
+     */
+    private int[] probeMissing(List<MiddlewareVO> actives, List<Map<String, Object>> devices) {
+        long now = System.currentTimeMillis();
+        Set<Integer> activeIds = actives.stream().map(MiddlewareVO::getMIDDLEWARE_ID).collect(Collectors.toSet());
+
+        Map<Integer, List<Map<String, Object>>> targets = new HashMap<>();
+        Set<Integer> probedDevices = new HashSet<>();
+        int pairs = 0;
+        for (Map<String, Object> dev : devices) {
+            Object fixedObj = dev.get("MIDDLEWARE_FIXED");
+            if (fixedObj != null && ((Number) fixedObj).intValue() == 1) continue;
+
+            int deviceId = ((Number) dev.get("DEVICE_ID")).intValue();
+            int fp = ReachabilityCache.fingerprint(dev);
+            Object mwObj = dev.get("MIDDLEWARE_ID");
+            boolean orphan = mwObj == null || !activeIds.contains(((Number) mwObj).intValue());
+            Set<Integer> reachable = reachabilityCache.reachableMiddlewares(deviceId, fp, activeIds, now);
+            // 고아 장비는 어디서도 도달 불가로 기록돼 있으면 TTL 과 무관하게 재확인
+            boolean forced = orphan && reachable != null && reachable.isEmpty();
+
+            for (MiddlewareVO mw : actives) {
+                if (forced || reachabilityCache.needsProbe(deviceId, fp, mw.getMIDDLEWARE_ID(), now)) {
+                    targets.computeIfAbsent(mw.getMIDDLEWARE_ID(), k -> new ArrayList<>()).add(dev);
+                    probedDevices.add(deviceId);
+                    pairs++;
+                }
+            }
+        }
+        if (targets.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        log.info("[재분배] 도달성 probe - 장비 {}개, 요청 {}건", probedDevices.size(), pairs);
+        Map<Integer, Set<Integer>> reachableByMw = new ConcurrentHashMap<>();
+        Map<Integer, CompletableFuture<Void>> futures = new HashMap<>();
+        for (MiddlewareVO mw : actives) {
+            List<Map<String, Object>> list = targets.get(mw.getMIDDLEWARE_ID());
+            if (list == null) continue;
+            Set<Integer> reachable = ConcurrentHashMap.newKeySet();
+            reachableByMw.put(mw.getMIDDLEWARE_ID(), reachable);
+            futures.put(mw.getMIDDLEWARE_ID(), batchProber.probeAsync(mw, list, reachable::add));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(probeTimeoutSec, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.warn("[재분배] probe 타임아웃, 수집된 결과로 진행: {}", e.getMessage());
+        }
+
+        // 완료된 미들웨어는 미응답 장비를 도달 불가로, 미완료 미들웨어는 도달 확인된 장비만 기록
+        long probedAt = System.currentTimeMillis();
+        for (Map.Entry<Integer, List<Map<String, Object>>> e : targets.entrySet()) {
+            Integer mwId = e.getKey();
+            boolean complete = futures.get(mwId).isDone();
+            Set<Integer> reachable = reachableByMw.get(mwId);
+            for (Map<String, Object> dev : e.getValue()) {
+                int deviceId = ((Number) dev.get("DEVICE_ID")).intValue();
+                boolean ok = reachable.contains(deviceId);
+                if (ok || complete) {
+                    reachabilityCache.record(deviceId, ReachabilityCache.fingerprint(dev), mwId, ok, probedAt);
+                }
+            }
+        }
+        return new int[]{probedDevices.size(), pairs};
+    }
+
+    /**
+     * 이동 대상만 미들웨어별로 묶어 UPDATE
+     */
+    private void apply(RebalancePlanVO plan) {
+        Map<Integer, List<Integer>> byTarget = new LinkedHashMap<>();
+        for (RebalancePlanVO.Move move : plan.getMoves()) {
+            byTarget.computeIfAbsent(move.getToMiddlewareId(), k -> new ArrayList<>()).add(move.getDeviceId());
+        }
+        for (Map.Entry<Integer, List<Integer>> entry : byTarget.entrySet()) {
+            deviceMapper.bulkReassignDevices(entry.getKey(), entry.getValue());
+            log.info("[재분배] middlewareId={}: {}개 장비 이동", entry.getKey(), entry.getValue().size());
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.mapper.DeviceRegisterJobMapper;
+import dev3.nms.mapper.TempDeviceMapper;
+import dev3.nms.vo.mgmt.DeviceRegisterItemVO;
+import dev3.nms.vo.mgmt.DeviceRegisterJobVO;
+import dev3.nms.vo.mgmt.DeviceRegistrationResultVO;
+import dev3.nms.vo.mgmt.TempDeviceVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * 장비 일괄 등록 비동기 작업 (R_DEVICE_REGISTER_JOB_T / ITEM_T)
+ * - 등록 요청은 작업/항목만 저장하고 작업 ID 반환, 커밋 후 전용 스레드에서 작업 순서대로 처리
+ * - 항목은 DeviceBulkRegistrationService 로 병렬 등록, 상태 PENDING → PROBING → REGISTERED / FAILED 를 즉시 기록
+ * - 진행 상황은 STOMP /topic/device-register/{jobId} 로 전송 (항목 상태 변경 + 작업 완료 요약), 구독은 등록자 / 관리자만
+ * - 재시작 시 미완료 작업 재개 (PROBING 으로 남은 항목은 같은 IP 장비가 있으면 REGISTERED, 없으면 다시 등록)
+ * - 상태 기록 실패로 PENDING / PROBING 항목이 남으면 작업은 RUNNING 유지 (다음 poll 에서 재개)
+ * - 완료된 작업은 FAILED 항목만 재시도 가능
+ */
+@Slf4j
+@Service
+public class DeviceRegisterJobService {
+
+    static final String DIRECT = "DIRECT";
+    static final String TEMP = "TEMP";
+
+    static final String PENDING = "PENDING";
+    static final String PROBING = "PROBING";
+    static final String REGISTERED = "REGISTERED";
+    static final String FAILED = "FAILED";
+    static final String DONE = "DONE";
+
+    static final String TOPIC_PREFIX = "/topic/device-register/";
+
+    private static final int INSERT_CHUNK = 1000;
+    private static final int RECENT_JOBS = 20;
+
+    private final DeviceRegisterJobMapper jobMapper;
+    private final TempDeviceMapper tempDeviceMapper;
+    private final DeviceBulkRegistrationService bulkRegistrationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BiConsumer<String, Object> push;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "device-register-job");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+
+    @Autowired
+    public DeviceRegisterJobService(DeviceRegisterJobMapper jobMapper,
+                                    TempDeviceMapper tempDeviceMapper,
+                                    DeviceBulkRegistrationService bulkRegistrationService,
+                                    ApplicationEventPublisher eventPublisher,
+                                    SimpMessagingTemplate messagingTemplate,
+                                    ObjectMapper objectMapper) {
+        this(jobMapper, tempDeviceMapper, bulkRegistrationService, eventPublisher,
+                (destination, payload) -> messagingTemplate.convertAndSend(destination, payload), objectMapper);
+    }
+
+    DeviceRegisterJobService(DeviceRegisterJobMapper jobMapper,
+                             TempDeviceMapper tempDeviceMapper,
+                             DeviceBulkRegistrationService bulkRegistrationService,
+                             ApplicationEventPublisher eventPublisher,
+                             BiConsumer<String, Object> push,
+                             ObjectMapper objectMapper) {
+        this.jobMapper = jobMapper;
+        this.tempDeviceMapper = tempDeviceMapper;
+        this.bulkRegistrationService = bulkRegistrationService;
+        this.eventPublisher = eventPublisher;
+        this.push = push;
+        this.objectMapper = objectMapper;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * 기동 시 미완료 작업 재개
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        wakeUp();
+    }
+
+    /**
+     * 처리 중 오류로 남은 작업 재개
+     */
+    @Scheduled(fixedDelayString = "${device-register.poll-ms:60000}", initialDelayString = "${device-register.poll-ms:60000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegisterRequested(DeviceRegisterRequestedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * 입력 장비 직접 등록 작업 등록 (/devices/direct/bulk 와 같은 처리)
+     * @return 작업 ID
+     */
+    @Transactional
+    public Long submitDirect(List<TempDeviceVO> devices, Integer userId) {
+        List<DeviceRegisterItemVO> items = new ArrayList<>(devices.size());
+        for (int i = 0; i < devices.size(); i++) {
+            TempDeviceVO device = devices.get(i);
+            items.add(DeviceRegisterItemVO.builder()
+                    .ITEM_NO(i)
+                    .DEVICE_NAME(device.getDEVICE_NAME())
+                    .DEVICE_IP(device.getDEVICE_IP())
+                    .INPUT_JSON(writeInput(device))
+                    .build());
+        }
+        return insertJob(DIRECT, items, userId);
+    }
+
+    /**
+     * 미등록 장비 등록 작업 등록 (/devices/register/bulk 와 같은 처리)
+     * @return 작업 ID
+     */
+    @Transactional
+    public Long submitTemp(List<Integer> tempDeviceIds, Integer userId) {
+        List<Integer> ids = tempDeviceIds.stream().filter(Objects::nonNull).distinct().toList();
+        List<DeviceRegisterItemVO> items = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            items.add(DeviceRegisterItemVO.builder().ITEM_NO(i).TEMP_DEVICE_ID(ids.get(i)).build());
+        }
+        return insertJob(TEMP, items, userId);
+    }
+
+    private Long insertJob(String mode, List<DeviceRegisterItemVO> items, Integer userId) {
+        DeviceRegisterJobVO job = DeviceRegisterJobVO.builder()
+                .MODE(mode)
+                .TOTAL_CNT(items.size())
+                .CREATE_USER_ID(userId)
+                .build();
+        jobMapper.insertJob(job);
+        for (int i = 0; i < items.size(); i += INSERT_CHUNK) {
+            jobMapper.insertItems(job.getJOB_ID(), items.subList(i, Math.min(items.size(), i + INSERT_CHUNK)));
+        }
+        eventPublisher.publishEvent(new DeviceRegisterRequestedEvent(job.getJOB_ID()));
+        log.info("[등록 작업] job {} 등록 - {} {}건", job.getJOB_ID(), mode, items.size());
+        return job.getJOB_ID();
+    }
+
+    /**
+     * 완료된 작업의 FAILED 항목만 재시도
+     * @return 재시도 항목 수
+     * @throws IllegalArgumentException 작업 없음
+     * @throws IllegalStateException 작업 진행 중
+     */
+    @Transactional
+    public int retryFailed(Long jobId) {
+        DeviceRegisterJobVO job = jobMapper.findJob(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("등록 작업을 찾을 수 없습니다: " + jobId);
+        }
+        if (!DONE.equals(job.getSTATUS())) {
+            throw new IllegalStateException("진행 중인 등록 작업입니다: " + jobId);
+        }
+        int count = jobMapper.resetFailedItems(jobId);
+        if (count > 0) {
+            jobMapper.markJobPending(jobId);
+            eventPublisher.publishEvent(new DeviceRegisterRequestedEvent(jobId));
+        }
+        return count;
+    }
+
+    public DeviceRegisterJobVO getJob(Long jobId) {
+        return jobMapper.findJob(jobId);
+    }
+
+    public List<DeviceRegisterItemVO> getItems(Long jobId) {
+        return jobMapper.findItems(jobId);
+    }
+
+    /**
+     * 최근 작업 목록
+     * @param userId 등록자 ID (null 이면 전체 - 관리자)
+     */
+    public List<DeviceRegisterJobVO> getRecentJobs(Integer userId) {
+        return jobMapper.findRecentJobs(RECENT_JOBS, userId);
+    }
+
+    private void wakeUp() {
+        if (!wakeScheduled.compareAndSet(false, true)) return;
+        try {
+            worker.execute(() -> {
+                wakeScheduled.set(false);
+                runPending();
+            });
+        } catch (RejectedExecutionException e) {
+            wakeScheduled.set(false);
+        }
+    }
+
+    /**
+     * 미완료 작업을 등록 순으로 처리, 오류 발생 시 중단 (다음 poll 에서 재개)
+     */
+    void runPending() {
+        try {
+            for (DeviceRegisterJobVO job : jobMapper.findUnfinishedJobs()) {
+                runJob(job);
+            }
+        } catch (Exception e) {
+            log.warn("[등록 작업] 처리 중단 (재시도 예정): {}", e.getMessage());
+        }
+    }
+
+    private void runJob(DeviceRegisterJobVO job) {
+        Long jobId = job.getJOB_ID();
+        long start = System.currentTimeMillis();
+        jobMapper.markJobRunning(jobId);
+        recoverInterrupted(job);
+
+        boolean direct = DIRECT.equals(job.getMODE());
+        List<DeviceRegisterItemVO> items = new ArrayList<>();
+        List<TempDeviceVO> inputs = new ArrayList<>();
+        for (DeviceRegisterItemVO item : jobMapper.findItemsByState(jobId, PENDING)) {
+            if (direct) {
+                TempDeviceVO input = readInput(item);
+                if (input == null) {
+                    item.setSTATE(FAILED);
+                    item.setERROR_MESSAGE("등록 입력 정보가 없습니다");
+                    jobMapper.updateItemResult(item);
+                    continue;
+                }
+                inputs.add(input);
+            }
+            items.add(item);
+        }
+
+        if (!items.isEmpty()) {
+            JobListener listener = new JobListener(job, items);
+            if (direct) {
+                bulkRegistrationService.registerDirect(inputs, job.getCREATE_USER_ID(), listener);
+            } else {
+                bulkRegistrationService.registerFromTemp(items.stream().map(DeviceRegisterItemVO::getTEMP_DEVICE_ID).toList(),
+                        job.getCREATE_USER_ID(), listener);
+            }
+        }
+
+        if (jobMapper.markJobDone(jobId) == 0) {
+            log.warn("[등록 작업] job {} 상태 미기록 항목 남음 - 다음 poll 에서 재개", jobId);
+            return;
+        }
+        DeviceRegisterJobVO finished = jobMapper.findJob(jobId);
+        send(jobId, finished);
+        log.info("[등록 작업] job {} 완료 - 처리 {}건, 등록 {}건, 실패 {}건 ({}ms)", jobId, items.size(),
+                finished != null ? finished.getREGISTERED_CNT() : null,
+                finished != null ? finished.getFAILED_CNT() : null,
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 중단 시점에 PROBING 이던 항목 정리
+     * - 장비 저장 트랜잭션은 커밋됐지만 상태 기록 전에 중단된 경우 중복 등록 방지 (같은 IP 활성 장비 확인)
+     */
+    private void recoverInterrupted(DeviceRegisterJobVO job) {
+        for (DeviceRegisterItemVO item : jobMapper.findItemsByState(job.getJOB_ID(), PROBING)) {
+            String ip = item.getDEVICE_IP();
+            if (ip == null && item.getTEMP_DEVICE_ID() != null) {
+                TempDeviceVO temp = tempDeviceMapper.findById(item.getTEMP_DEVICE_ID());
+                ip = temp != null ? temp.getDEVICE_IP() : null;
+            }
+            Integer deviceId = ip != null ? jobMapper.findActiveDeviceIdByIp(ip) : null;
+            item.setSTATE(deviceId != null ? REGISTERED : PENDING);
+            item.setDEVICE_ID(deviceId);
+            item.setDEVICE_IP(ip);
+            jobMapper.updateItemResult(item);
+            log.info("[등록 작업] job {} 항목 {} 재개 - {}", job.getJOB_ID(), item.getITEM_NO(), item.getSTATE());
+        }
+    }
+
+    /**
+     * 항목 상태 기록 + 진행 전송 (등록 스레드에서 호출)
+     */
+    private class JobListener implements DeviceBulkRegistrationService.Listener {
+        private final DeviceRegisterJobVO job;
+        private final List<DeviceRegisterItemVO> items;
+
+        JobListener(DeviceRegisterJobVO job, List<DeviceRegisterItemVO> items) {
+            this.job = job;
+            this.items = items;
+        }
+
+        @Override
+        public void started(int index) {
+            DeviceRegisterItemVO item = items.get(index);
+            item.setSTATE(PROBING);
+            jobMapper.markItemProbing(job.getJOB_ID(), item.getITEM_NO());
+            send(job.getJOB_ID(), item);
+        }
+
+        @Override
+        public void completed(DeviceBulkRegistrationService.Progress progress) {
+            DeviceRegisterItemVO item = items.get(progress.index());
+            DeviceRegistrationResultVO.DeviceRegistrationSuccess success = progress.success();
+            DeviceRegistrationResultVO.DeviceRegistrationFailure failure = progress.failure();
+            if (success != null) {
+                // 직접 등록 재시도 성공 → 이전 실패 때 저장된 미등록 장비 정리
+                if (DIRECT.equals(job.getMODE()) && item.getTEMP_DEVICE_ID() != null) {
+                    tempDeviceMapper.deleteTempDevice(item.getTEMP_DEVICE_ID());
+                }
+                item.setSTATE(REGISTERED);
+                item.setDEVICE_ID(success.getDeviceId());
+                item.setDEVICE_NAME(success.getDeviceName());
+                item.setDEVICE_IP(success.getDeviceIp());
+                item.setTEMP_DEVICE_ID(success.getTempDeviceId());
+                item.setCOLLECT_TYPE(success.getCollectType());
+                item.setERROR_MESSAGE(null);
+            } else if (failure != null) {
+                item.setSTATE(FAILED);
+                item.setDEVICE_NAME(failure.getDeviceName());
+                item.setDEVICE_IP(failure.getDeviceIp());
+                if (failure.getTempDeviceId() != null) {
+                    item.setTEMP_DEVICE_ID(failure.getTempDeviceId());
+                }
+                item.setCOLLECT_TYPE(failure.getCollectType());
+                item.setERROR_MESSAGE(failure.getErrorMessage());
+            }
+            try {
+                jobMapper.updateItemResult(item);
+            } catch (Exception e) {
+                // 상태 기록 실패 시 PROBING 으로 남음 → 재개 시 IP 로 등록 여부 확인
+                log.warn("[등록 작업] job {} 항목 {} 상태 기록 실패: {}", job.getJOB_ID(), item.getITEM_NO(), e.getMessage());
+            }
+            send(job.getJOB_ID(), item);
+        }
+    }
+
+    private void send(Long jobId, Object payload) {
+        if (payload == null) return;
+        try {
+            push.accept(TOPIC_PREFIX + jobId, payload);
+        } catch (Exception e) {
+            log.debug("[등록 작업] 진행 전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private String writeInput(TempDeviceVO device) {
+        try {
+            return objectMapper.writeValueAsString(device);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("등록 입력 변환 실패: " + e.getMessage());
+        }
+    }
+
+    private TempDeviceVO readInput(DeviceRegisterItemVO item) {
+        if (item.getINPUT_JSON() == null) return null;
+        try {
+            return objectMapper.readValue(item.getINPUT_JSON(), TempDeviceVO.class);
+        } catch (Exception e) {
+            log.warn("[등록 작업] job {} 항목 {} 입력 해석 실패: {}", item.getJOB_ID(), item.getITEM_NO(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev3.nms.service;
+
+/**
+ * 장비 일괄 등록 작업 등록/재시도 이벤트
+ * - 작업 등록 트랜잭션 커밋 후 수신 → 등록 작업 시작 (@TransactionalEventListener)
+ */
+public record DeviceRegisterRequestedEvent(Long jobId) {
+}
@@ -0,0 +1,146 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DeviceScopeMapper;
+import dev3.nms.vo.auth.AccessScopeFilterVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 장비 접근 범위 → 쿼리용 AccessScopeFilterVO 변환
+ * - inline-max 이하 목록은 그대로 IN 목록 사용
+ * - 그보다 큰 목록은 R_ACCESS_SCOPE_ITEM_T 에 저장하고 SCOPE_ID 로 조인 (파라미터 수 고정 → 실행계획 재사용)
+ * - SCOPE_ID 는 정렬된 ID 목록의 64bit 해시, 같은 범위는 사용자 간 공유되며 저장 후 변경되지 않음
+ * - touch-minutes 마다 LAST_USED_AT 갱신, retention-days 동안 사용되지 않은 범위는 매일 정리
+ */
+@Slf4j
+@Component
+public class DeviceScopeRegistry {
+
+    private static final int INSERT_CHUNK = 1000;
+    private static final long TOUCH_INTERVAL_MS = 60 * 60 * 1000L;
+
+    private final DeviceScopeMapper deviceScopeMapper;
+    private final TransactionTemplate txTemplate;
+    private final int inlineMax;
+    private final int retentionDays;
+
+    // 저장 확인된 SCOPE_ID → 마지막 LAST_USED_AT 갱신 시각
+    private final Map<Long, Long> materialized = new ConcurrentHashMap<>();
+
+    public DeviceScopeRegistry(DeviceScopeMapper deviceScopeMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${device-scope.inline-max:100}") int inlineMax,
+                               @Value("${device-scope.retention-days:7}") int retentionDays) {
+        this.deviceScopeMapper = deviceScopeMapper;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.inlineMax = inlineMax;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * @param deviceIds null = 전체 허용
+     * @return null = 전체 허용
+     */
+    public AccessScopeFilterVO resolve(List<Long> deviceIds) {
+        if (deviceIds == null) return null;
+        if (deviceIds.size() <= inlineMax) {
+            return new AccessScopeFilterVO(null, deviceIds);
+        }
+
+        long[] ids = normalize(deviceIds);
+        long scopeId = hash(ids, 0x9E3779B97F4A7C15L);
+        long checksum = hash(ids, 0xC2B2AE3D27D4EB4FL);
+        try {
+            if (ensureMaterialized(scopeId, ids, checksum)) {
+                return new AccessScopeFilterVO(scopeId, deviceIds);
+            }
+        } catch (Exception e) {
+            log.warn("[DeviceScope] 범위 저장 실패, IN 목록 사용 ({}건): {}", ids.length, e.getMessage());
+        }
+        return new AccessScopeFilterVO(null, deviceIds);
+    }
+
+    private boolean ensureMaterialized(long scopeId, long[] ids, long checksum) {
+        long now = System.currentTimeMillis();
+        Long touchedAt = materialized.get(scopeId);
+        if (touchedAt != null) {
+            if (now - touchedAt > TOUCH_INTERVAL_MS) {
+                materialized.put(scopeId, now);
+                deviceScopeMapper.touchScope(scopeId);
+            }
+            return true;
+        }
+
+        Boolean ok = txTemplate.execute(status -> {
+            Map<String, Object> existing = deviceScopeMapper.findScope(scopeId);
+            if (existing != null) {
+                // 해시 충돌 방어: 건수 + 보조 해시 일치 확인
+                boolean same = ((Number) existing.get("DEVICE_CNT")).intValue() == ids.length
+                        && ((Number) existing.get("CHECKSUM")).longValue() == checksum;
+                if (same) deviceScopeMapper.touchScope(scopeId);
+                return same;
+            }
+            List<Long> boxed = Arrays.stream(ids).boxed().toList();
+            for (int i = 0; i < boxed.size(); i += INSERT_CHUNK) {
+                deviceScopeMapper.insertScopeItems(scopeId, boxed.subList(i, Math.min(i + INSERT_CHUNK, boxed.size())));
+            }
+            deviceScopeMapper.insertScope(scopeId, ids.length, checksum);
+            return true;
+        });
+
+        if (Boolean.TRUE.equals(ok)) {
+            materialized.put(scopeId, now);
+            log.debug("[DeviceScope] 범위 등록 scopeId={}, {}건", scopeId, ids.length);
+            return true;
+        }
+        log.warn("[DeviceScope] scopeId={} 해시 충돌, IN 목록 사용", scopeId);
+        return false;
+    }
+
+    /**
+     * 미사용 범위 정리 (매일 04:30)
+     */
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgeStale() {
+        try {
+            List<Long> stale = deviceScopeMapper.findStaleScopeIds(retentionDays);
+            if (stale.isEmpty()) return;
+            for (int i = 0; i < stale.size(); i += INSERT_CHUNK) {
+                List<Long> chunk = stale.subList(i, Math.min(i + INSERT_CHUNK, stale.size()));
+                deviceScopeMapper.deleteScopes(chunk, retentionDays);
+                // 삭제 후 제거 - 그 사이 다시 사용돼 남은 범위는 다음 resolve 에서 DB 확인 후 재등록
+                chunk.forEach(materialized::remove);
+            }
+            log.info("[DeviceScope] 미사용 범위 {}건 정리", stale.size());
+        } catch (Exception e) {
+            log.warn("[DeviceScope] 미사용 범위 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    static long[] normalize(List<Long> deviceIds) {
+        return deviceIds.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().sorted().toArray();
+    }
+
+    /**
+     * 정렬된 ID 배열 64bit 해시 (splitmix64 혼합)
+     */
+    static long hash(long[] ids, long seed) {
+        long h = seed ^ ids.length;
+        for (long id : ids) {
+            long z = (h += 0x9E3779B97F4A7C15L) ^ id;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            h = z ^ (z >>> 31);
+        }
+        return h;
+    }
+}
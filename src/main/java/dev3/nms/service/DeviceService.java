@@ -1,5 +1,6 @@
 package dev3.nms.service;
 
+import dev3.nms.config.ExecutorRegistry;
 import dev3.nms.mapper.CpuMemMapper;
 import dev3.nms.mapper.DeviceMapper;
 import dev3.nms.mapper.DeviceSshMapper;
@@ -12,27 +13,27 @@ import dev3.nms.mapper.TempDeviceMapper;
 import dev3.nms.mapper.VendorMapper;
 import dev3.nms.mapper.WatchMapper;
 import dev3.nms.mapper.ThresholdMapper;
+import dev3.nms.util.ColumnarSeriesBuilder;
+import dev3.nms.util.SeriesDownsampler;
+import dev3.nms.vo.common.ColumnarChartVO;
 import dev3.nms.vo.common.PageVO;
 import dev3.nms.vo.mgmt.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.net.InetAddress;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -40,9 +41,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DeviceService {
 
-    // 미들웨어 헬스 프로브 전용 스레드 풀 (공통 ForkJoinPool 블로킹 방지)
-    private static final ExecutorService PROBE_EXECUTOR = Executors.newFixedThreadPool(4);
-
     private final DeviceMapper deviceMapper;
     private final DeviceSshMapper deviceSshMapper;
     private final TempDeviceMapper tempDeviceMapper;
@@ -51,13 +49,19 @@ public class DeviceService {
     private final CpuMemMapper cpuMemMapper;
     private final TrafficMapper trafficMapper;
     private final MiddlewareClient middlewareClient;
+    private final MiddlewareGateway middlewareGateway;
     private final MiddlewareMapper middlewareMapper;
-    private final MiddlewareService middlewareService;
+    private final RebalanceScheduler rebalanceScheduler;
+    private final ApplicationEventPublisher eventPublisher;
     private final PortService portService;
+    private final ExecutorRegistry executorRegistry;
+    private final DevicePurgeService devicePurgeService;
     private final ErrorMapper errorMapper;
     private final PortMapper portMapper;
     private final WatchMapper watchMapper;
     private final ThresholdMapper thresholdMapper;
+    private final MetricRollupService metricRollupService;
+    private final DevCodeTreeIndex devCodeTreeIndex;
 
     /**
      * 모든 장비 조회
@@ -86,9 +90,10 @@ public class DeviceService {
     public PageVO<DeviceVO> getDevicesByGroupIdsPaged(List<Integer> groupIds, int page, int size, String sort, String order,
                                                        String deviceName, String deviceIp, String groupName, Integer devCodeId) {
         int offset = (page - 1) * size;
+        List<Long> devCodeIds = devCodeId != null ? devCodeTreeIndex.descendantIds(devCodeId.longValue()) : null;
         List<DeviceVO> devices = deviceMapper.findDevicesByGroupIdsPagedWithSearch(
-                groupIds, size, offset, sort, order, deviceName, deviceIp, groupName, devCodeId);
-        int totalCount = deviceMapper.countDevicesByGroupIdsWithSearch(groupIds, deviceName, deviceIp, groupName, devCodeId);
+                groupIds, size, offset, sort, order, deviceName, deviceIp, groupName, devCodeIds);
+        int totalCount = deviceMapper.countDevicesByGroupIdsWithSearch(groupIds, deviceName, deviceIp, groupName, devCodeIds);
         return PageVO.of(devices, page, size, totalCount);
     }
 
@@ -151,7 +156,7 @@ public class DeviceService {
      * 기존 MODEL_OID(전체 SYSOID)가 있으면 해당 MODEL_ID 반환, 없으면 새로 생성
      * MODEL_OID에는 전체 SYSOID를 저장 (벤더 OID + 모델 OID)
      */
-    private Integer getOrCreateModel(String sysObjectId, VendorVO vendor, Integer userId) {
+    Integer getOrCreateModel(String sysObjectId, VendorVO vendor, Integer userId) {
         if (vendor == null || sysObjectId == null) {
             return null;
         }
@@ -222,185 +227,26 @@ public class DeviceService {
 
         try {
             // 모든 ACTIVE 미들웨어에 병렬 probe → 성공한 미들웨어 목록 + 시스템 정보
-            MiddlewareClient.SnmpRequest snmpReq = new MiddlewareClient.SnmpRequest();
-            snmpReq.setIpAddress(deviceInput.getDEVICE_IP());
-            snmpReq.setSnmpVersion(deviceInput.getSNMP_VERSION());
-            snmpReq.setSnmpPort(deviceInput.getSNMP_PORT());
-            snmpReq.setCommunity(deviceInput.getSNMP_COMMUNITY());
-            snmpReq.setUser(deviceInput.getSNMP_USER());
-            snmpReq.setAuthProtocol(deviceInput.getSNMP_AUTH_PROTOCOL());
-            snmpReq.setAuthPassword(deviceInput.getSNMP_AUTH_PASSWORD());
-            snmpReq.setPrivProtocol(deviceInput.getSNMP_PRIV_PROTOCOL());
-            snmpReq.setPrivPassword(deviceInput.getSNMP_PRIV_PASSWORD());
-
-            MiddlewareClient.RegistrationProbe probe = middlewareClient.probeForRegistration(snmpReq);
-            if (!probe.systemInfo.isSuccess()) {
-                throw new RuntimeException(probe.systemInfo.getMessage() != null
-                        ? probe.systemInfo.getMessage() : "SNMP 실패");
-            }
+            SnmpProbeResult probe = probeSnmp(deviceInput);
 
-            String sysDescr = probe.systemInfo.getSysDescr();
-            String sysObjectId = dev3.nms.util.CommonUtil.normalizeOid(probe.systemInfo.getSysObjectId());
-            String sysName = probe.systemInfo.getSysName();
-
-            // 도달 가능 미들웨어 기반 할당 결정
-            Integer assignedMiddlewareId;
-            Integer middlewareFixed;
-            if (probe.reachableMiddlewares.size() == 1) {
-                assignedMiddlewareId = probe.reachableMiddlewares.get(0).getMIDDLEWARE_ID();
-                middlewareFixed = 1;
-                log.info("[등록 할당] {} → middlewareId={} (FIXED: 단일 도달)",
-                        deviceInput.getDEVICE_IP(), assignedMiddlewareId);
-            } else if (probe.reachableMiddlewares.size() >= 2) {
-                Integer pick = null;
-                long minLoad = Long.MAX_VALUE;
-                for (dev3.nms.vo.mgmt.MiddlewareVO mw : probe.reachableMiddlewares) {
-                    long load = middlewareMapper.countDevicesByMiddlewareId(mw.getMIDDLEWARE_ID());
-                    if (load < minLoad) { minLoad = load; pick = mw.getMIDDLEWARE_ID(); }
-                }
-                assignedMiddlewareId = pick;
-                middlewareFixed = 0;
-                log.info("[등록 할당] {} → middlewareId={} (AUTO: {}개 중 최소 부하)",
-                        deviceInput.getDEVICE_IP(), assignedMiddlewareId, probe.reachableMiddlewares.size());
-            } else {
-                assignedMiddlewareId = null;
-                middlewareFixed = 0;
-                log.warn("[등록 할당] {} 도달 가능 미들웨어 없음", deviceInput.getDEVICE_IP());
-            }
+            // 벤더 매칭 + 모델 조회 또는 생성
+            VendorVO vendor = vendorMapper.findVendorByOid(probe.sysObjectId());
+            Integer modelId = getOrCreateModel(probe.sysObjectId(), vendor, userId);
 
-            // 벤더 매칭
-            VendorVO vendor = vendorMapper.findVendorByOid(sysObjectId);
-
-            // 모델 조회 또는 생성
-            Integer modelId = getOrCreateModel(sysObjectId, vendor, userId);
-
-            // Device 객체 생성
-            DeviceVO device = DeviceVO.builder()
-                    .GROUP_ID(deviceInput.getGROUP_ID())
-                    .DEVICE_NAME(deviceInput.getDEVICE_NAME())
-                    .DEVICE_SYSTEM_NAME(sysName)
-                    .DEVICE_IP(deviceInput.getDEVICE_IP())
-                    .DEVICE_DESC(sysDescr)
-                    .MODEL_ID(modelId)
-                    .MIDDLEWARE_ID(assignedMiddlewareId)
-                    .MIDDLEWARE_FIXED(middlewareFixed)
-                    .CREATE_USER_ID(userId)
-                    .build();
-
-            // r_device_t에 저장
-            deviceMapper.insertDevice(device);
-
-            // r_device_snmp_t에 SNMP 정보 저장 (버전에 따라 불필요한 필드 null 처리)
-            DeviceSnmpVO.DeviceSnmpVOBuilder snmpBuilder = DeviceSnmpVO.builder()
-                    .DEVICE_ID(device.getDEVICE_ID())
-                    .SNMP_VERSION(deviceInput.getSNMP_VERSION())
-                    .SNMP_PORT(deviceInput.getSNMP_PORT());
-
-            int snmpVer = parseSnmpVersion(deviceInput.getSNMP_VERSION());
-            if (snmpVer == 3) {
-                // v3: Community는 null, v3 필드만 저장
-                snmpBuilder.SNMP_COMMUNITY(null)
-                        .SNMP_USER(deviceInput.getSNMP_USER())
-                        .SNMP_AUTH_PROTOCOL(deviceInput.getSNMP_AUTH_PROTOCOL())
-                        .SNMP_AUTH_PASSWORD(deviceInput.getSNMP_AUTH_PASSWORD())
-                        .SNMP_PRIV_PROTOCOL(deviceInput.getSNMP_PRIV_PROTOCOL())
-                        .SNMP_PRIV_PASSWORD(deviceInput.getSNMP_PRIV_PASSWORD());
-            } else {
-                // v1/v2c: v3 필드는 null, Community만 저장
-                snmpBuilder.SNMP_COMMUNITY(deviceInput.getSNMP_COMMUNITY())
-                        .SNMP_USER(null)
-                        .SNMP_AUTH_PROTOCOL(null)
-                        .SNMP_AUTH_PASSWORD(null)
-                        .SNMP_PRIV_PROTOCOL(null)
-                        .SNMP_PRIV_PASSWORD(null);
-            }
-            deviceMapper.insertDeviceSnmp(snmpBuilder.build());
-
-            // r_device_scope_t에 관제 설정 저장
-            DeviceScopeVO scope = DeviceScopeVO.builder()
-                    .DEVICE_ID(device.getDEVICE_ID())
-                    .COLLECT_PING(true)  // PING은 항상 true
-                    .COLLECT_SNMP(true)
-                    .COLLECT_AGENT(deviceInput.getCOLLECT_AGENT() != null ? deviceInput.getCOLLECT_AGENT() : false)
-                    .build();
-            deviceMapper.insertDeviceScope(scope);
+            // r_device_t / r_device_snmp_t / r_device_scope_t 저장 + r_temp_device_t 이력
+            DeviceVO device = insertProbedDevice(deviceInput, probe, modelId, true, userId);
+            archiveRegisteredInput(deviceInput, userId);
 
             // 포트 정보 수집 - 방금 할당된 미들웨어에서 조회 (deviceId 전달)
-            try {
-                List<PortVO> ports = middlewareClient.getDevicePortInfo(
-                        deviceInput.getDEVICE_IP(),
-                        deviceInput.getSNMP_VERSION(),
-                        deviceInput.getSNMP_PORT(),
-                        deviceInput.getSNMP_COMMUNITY(),
-                        deviceInput.getSNMP_USER(),
-                        deviceInput.getSNMP_AUTH_PROTOCOL(),
-                        deviceInput.getSNMP_AUTH_PASSWORD(),
-                        deviceInput.getSNMP_PRIV_PROTOCOL(),
-                        deviceInput.getSNMP_PRIV_PASSWORD(),
-                        device.getDEVICE_ID()
-                );
-
-                if (!ports.isEmpty()) {
-                    ports.forEach(port -> port.setDEVICE_ID(device.getDEVICE_ID()));
-                    portService.createPorts(ports);
-
-                    // PORT_COUNT 업데이트
-                    device.setPORT_COUNT(ports.size());
-                    deviceMapper.updateDevice(device);
-                    log.info("포트 정보 수집 완료 - DeviceId: {}, middlewareId: {}, 포트 수: {}",
-                            device.getDEVICE_ID(), assignedMiddlewareId, ports.size());
-                }
-            } catch (Exception e) {
-                log.warn("포트 정보 수집 실패 (장비 등록은 성공) - DeviceId: {}, Error: {}",
-                        device.getDEVICE_ID(), e.getMessage());
-            }
-
-            // r_temp_device_t에도 저장 (DELETE_AT 설정하여 soft delete)
-            deviceInput.setCREATE_USER_ID(userId);
-            deviceInput.setDELETE_USER_ID(userId);
-            deviceInput.setDELETE_AT(new java.sql.Timestamp(System.currentTimeMillis()));
-            tempDeviceMapper.insertTempDevice(deviceInput);
-
-            // 성공 목록에 추가
-            result.getSuccessList().add(new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
-                    deviceInput.getTEMP_DEVICE_ID(),
-                    device.getDEVICE_ID(),
-                    device.getDEVICE_NAME(),
-                    device.getDEVICE_IP(),
-                    sysName,
-                    vendor != null ? vendor.getVENDOR_NAME() : "알 수 없음",
-                    sysDescr,
-                    pingSuccess,
-                    "SNMP"
-            ));
+            collectPorts(deviceInput, device);
 
+            result.getSuccessList().add(snmpSuccess(deviceInput.getTEMP_DEVICE_ID(), device, probe, vendor, pingSuccess));
             log.info("장비 등록 성공 (SNMP) - DeviceId: {}, ModelId: {}, Name: {}, Ping: {}",
                     device.getDEVICE_ID(), modelId, device.getDEVICE_NAME(), pingSuccess);
 
         } catch (Exception e) {
             // SNMP 실패 시 temp_device에 저장
-            TempDeviceVO existingTempDevice = tempDeviceMapper.findByIp(deviceInput.getDEVICE_IP());
-
-            Integer tempDeviceId;
-            if (existingTempDevice != null) {
-                tempDeviceId = existingTempDevice.getTEMP_DEVICE_ID();
-                log.info("장비 등록 실패 (기존 미등록 장비 존재) - TempDeviceId: {}, Name: {}, IP: {}, Error: {}",
-                        tempDeviceId, deviceInput.getDEVICE_NAME(), deviceInput.getDEVICE_IP(), e.getMessage());
-            } else {
-                deviceInput.setCREATE_USER_ID(userId);
-                tempDeviceMapper.insertTempDevice(deviceInput);
-                tempDeviceId = deviceInput.getTEMP_DEVICE_ID();
-                log.info("장비 등록 실패 (미등록 장비로 저장) - TempDeviceId: {}, Name: {}, IP: {}, Error: {}",
-                        tempDeviceId, deviceInput.getDEVICE_NAME(), deviceInput.getDEVICE_IP(), e.getMessage());
-            }
-
-            result.getFailureList().add(new DeviceRegistrationResultVO.DeviceRegistrationFailure(
-                    tempDeviceId,
-                    deviceInput.getDEVICE_NAME(),
-                    deviceInput.getDEVICE_IP(),
-                    e.getMessage(),
-                    "SNMP"
-            ));
+            result.getFailureList().add(saveFailedInput(deviceInput, userId, e.getMessage(), "SNMP"));
         }
 
         return result;
@@ -413,105 +259,22 @@ public class DeviceService {
         DeviceRegistrationResultVO result = new DeviceRegistrationResultVO();
 
         try {
-            // Ping 테스트 (3초 타임아웃)
-            boolean pingSuccess = pingTest(deviceInput.getDEVICE_IP(), 1000);
-
-            if (!pingSuccess) {
+            // Ping 테스트 (1초 타임아웃)
+            if (!pingTest(deviceInput.getDEVICE_IP(), 1000)) {
                 throw new RuntimeException("Ping 테스트 실패 - 장비 응답 없음");
             }
 
-            // Device 객체 생성 (SNMP 정보 없이)
-            DeviceVO device = DeviceVO.builder()
-                    .GROUP_ID(deviceInput.getGROUP_ID())
-                    .DEVICE_NAME(deviceInput.getDEVICE_NAME())
-                    .DEVICE_IP(deviceInput.getDEVICE_IP())
-                    .CREATE_USER_ID(userId)
-                    .build();
-
-            // 자동 미들웨어 할당
-            Integer assignedMiddlewareId = assignMiddleware();
-            device.setMIDDLEWARE_ID(assignedMiddlewareId);
-
-            // r_device_t에 저장
-            deviceMapper.insertDevice(device);
-
-            // r_device_scope_t에 관제 설정 저장 (Ping만 true)
-            DeviceScopeVO scope = DeviceScopeVO.builder()
-                    .DEVICE_ID(device.getDEVICE_ID())
-                    .COLLECT_PING(true)
-                    .COLLECT_SNMP(false)
-                    .COLLECT_AGENT(deviceInput.getCOLLECT_AGENT() != null ? deviceInput.getCOLLECT_AGENT() : false)
-                    .build();
-            deviceMapper.insertDeviceScope(scope);
-
-            // r_temp_device_t에도 저장 (DELETE_AT 설정하여 soft delete)
-            deviceInput.setCREATE_USER_ID(userId);
-            deviceInput.setDELETE_USER_ID(userId);
-            deviceInput.setDELETE_AT(new java.sql.Timestamp(System.currentTimeMillis()));
-            tempDeviceMapper.insertTempDevice(deviceInput);
-
-            // 성공 목록에 추가
-            result.getSuccessList().add(new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
-                    deviceInput.getTEMP_DEVICE_ID(),
-                    device.getDEVICE_ID(),
-                    device.getDEVICE_NAME(),
-                    device.getDEVICE_IP(),
-                    null,  // sysName 없음
-                    "-",
-                    "-",
-                    true,  // Ping 성공했으므로 true
-                    "PING"
-            ));
+            // 자동 미들웨어 할당 후 저장
+            DeviceVO device = insertPingDevice(deviceInput, assignMiddleware(), userId);
+            archiveRegisteredInput(deviceInput, userId);
 
+            result.getSuccessList().add(pingSuccess(deviceInput.getTEMP_DEVICE_ID(), device));
             log.info("장비 등록 성공 (Ping 전용) - DeviceId: {}, Name: {}, IP: {}, Ping: true",
                     device.getDEVICE_ID(), device.getDEVICE_NAME(), device.getDEVICE_IP());
 
         } catch (Exception e) {
             // Ping 실패 시 temp_device에 저장
-            TempDeviceVO existingTempDevice = tempDeviceMapper.findByIp(deviceInput.getDEVICE_IP());
-
-            Integer tempDeviceId;
-            if (existingTempDevice != null) {
-                tempDeviceId = existingTempDevice.getTEMP_DEVICE_ID();
-                log.info("장비 등록 실패 (기존 미등록 장비 존재) - TempDeviceId: {}, Name: {}, IP: {}, Error: {}",
-                        tempDeviceId, deviceInput.getDEVICE_NAME(), deviceInput.getDEVICE_IP(), e.getMessage());
-            } else {
-                deviceInput.setCREATE_USER_ID(userId);
-                tempDeviceMapper.insertTempDevice(deviceInput);
-                tempDeviceId = deviceInput.getTEMP_DEVICE_ID();
-                log.info("장비 등록 실패 (미등록 장비로 저장) - TempDeviceId: {}, Name: {}, IP: {}, Error: {}",
-                        tempDeviceId, deviceInput.getDEVICE_NAME(), deviceInput.getDEVICE_IP(), e.getMessage());
-            }
-
-            result.getFailureList().add(new DeviceRegistrationResultVO.DeviceRegistrationFailure(
-                    tempDeviceId,
-                    deviceInput.getDEVICE_NAME(),
-                    deviceInput.getDEVICE_IP(),
-                    e.getMessage(),
-                    "PING"
-            ));
-        }
-
-        return result;
-    }
-
-    /**
-     * 여러 장비를 일괄로 SNMP 검증 후 등록
-     */
-    @Transactional
-    public DeviceRegistrationResultVO createDevicesBulkDirectly(List<TempDeviceVO> devices, Integer userId) {
-        DeviceRegistrationResultVO result = new DeviceRegistrationResultVO();
-
-        for (TempDeviceVO deviceInput : devices) {
-            DeviceRegistrationResultVO singleResult = createDeviceDirectly(deviceInput, userId);
-            result.getSuccessList().addAll(singleResult.getSuccessList());
-            result.getFailureList().addAll(singleResult.getFailureList());
-        }
-
-        // 등록 결과에 따라 재분배 트리거 (FIXED 장비 추가로 인한 AUTO 장비 재분배 기회)
-        if (!result.getSuccessList().isEmpty()) {
-            log.info("[등록 후] 재분배 트리거 - 성공 장비 {}대", result.getSuccessList().size());
-            middlewareService.rebalanceAllDevices();
+            result.getFailureList().add(saveFailedInput(deviceInput, userId, e.getMessage(), "PING"));
         }
 
         return result;
@@ -529,16 +292,44 @@ public class DeviceService {
         }
 
         // 2. SNMP probe - 모든 ACTIVE 미들웨어에 병렬 시도 → 성공한 미들웨어 목록 + sysInfo 반환
-        MiddlewareClient.SnmpRequest snmpReq = new MiddlewareClient.SnmpRequest();
-        snmpReq.setIpAddress(tempDevice.getDEVICE_IP());
-        snmpReq.setSnmpVersion(tempDevice.getSNMP_VERSION());
-        snmpReq.setSnmpPort(tempDevice.getSNMP_PORT());
-        snmpReq.setCommunity(tempDevice.getSNMP_COMMUNITY());
-        snmpReq.setUser(tempDevice.getSNMP_USER());
-        snmpReq.setAuthProtocol(tempDevice.getSNMP_AUTH_PROTOCOL());
-        snmpReq.setAuthPassword(tempDevice.getSNMP_AUTH_PASSWORD());
-        snmpReq.setPrivProtocol(tempDevice.getSNMP_PRIV_PROTOCOL());
-        snmpReq.setPrivPassword(tempDevice.getSNMP_PRIV_PASSWORD());
+        SnmpProbeResult probe = probeSnmp(tempDevice);
+
+        // 3. sysObjectId로 벤더 매칭 + 모델 조회 또는 생성
+        VendorVO vendor = vendorMapper.findVendorByOid(probe.sysObjectId());
+        Integer modelId = getOrCreateModel(probe.sysObjectId(), vendor, userId);
+
+        // 4. r_device_t / r_device_snmp_t / r_device_scope_t 저장 (관제 설정은 임시 장비 값)
+        DeviceVO device = insertProbedDevice(tempDevice, probe, modelId, false, userId);
+
+        // 5. 포트 정보 수집 - 방금 할당된 미들웨어에서 조회 (deviceId 전달)
+        collectPorts(tempDevice, device);
+
+        // 6. temp_device 삭제 (논리 삭제)
+        tempDeviceMapper.deleteTempDevice(tempDeviceId);
+
+        log.info("장비 등록 완료: {} (DeviceId: {}, ModelId: {})",
+                device.getDEVICE_NAME(), device.getDEVICE_ID(), modelId);
+
+        // 조회를 다시 해서 JOIN된 정보 포함하여 반환
+        return deviceMapper.findDeviceById(device.getDEVICE_ID());
+    }
+
+    // ==================== 등록 단계 (단건/일괄 등록 공용) ====================
+
+    /**
+     * 등록 대상 SNMP 확인 결과
+     * @param reachableMiddlewares SNMP 응답을 받은 미들웨어
+     */
+    record SnmpProbeResult(String sysDescr, String sysObjectId, String sysName,
+                           List<MiddlewareVO> reachableMiddlewares) {
+    }
+
+    /**
+     * 모든 ACTIVE 미들웨어에 병렬 SNMP probe (DB 쓰기 없음)
+     * @throws RuntimeException SNMP 실패
+     */
+    SnmpProbeResult probeSnmp(TempDeviceVO input) {
+        MiddlewareClient.SnmpRequest snmpReq = toSnmpRequest(input);
 
         MiddlewareClient.RegistrationProbe probe;
         try {
@@ -547,87 +338,87 @@ public class DeviceService {
             log.error("SNMP probe 실패: {}", e.getMessage());
             throw new RuntimeException(e.getMessage());
         }
-
         if (!probe.systemInfo.isSuccess()) {
             throw new RuntimeException(probe.systemInfo.getMessage() != null
                     ? probe.systemInfo.getMessage() : "SNMP 실패");
         }
+        SnmpProbeResult result = new SnmpProbeResult(
+                probe.systemInfo.getSysDescr(),
+                dev3.nms.util.CommonUtil.normalizeOid(probe.systemInfo.getSysObjectId()),
+                probe.systemInfo.getSysName(),
+                probe.reachableMiddlewares);
+        log.info("장비 시스템 정보 - sysDescr: {}, sysObjectId: {}, sysName: {}",
+                result.sysDescr(), result.sysObjectId(), result.sysName());
+        return result;
+    }
 
-        String sysDescr = probe.systemInfo.getSysDescr();
-        String sysObjectId = dev3.nms.util.CommonUtil.normalizeOid(probe.systemInfo.getSysObjectId());
-        String sysName = probe.systemInfo.getSysName();
-
-        log.info("장비 시스템 정보 - sysDescr: {}, sysObjectId: {}, sysName: {}", sysDescr, sysObjectId, sysName);
-
-        // 2-1. 도달 가능 미들웨어 기반 할당 결정
+    /**
+     * SNMP 확인된 장비 저장 (r_device_t + r_device_snmp_t + r_device_scope_t)
+     * - 도달 가능 미들웨어 1개: 고정 할당, 2개 이상: 최소 부하 자동 할당
+     * @param direct true 면 직접 등록 (PING/SNMP 수집), false 면 임시 장비의 관제 설정 사용
+     */
+    DeviceVO insertProbedDevice(TempDeviceVO input, SnmpProbeResult probe, Integer modelId,
+                                boolean direct, Integer userId) {
+        // 도달 가능 미들웨어 기반 할당 결정
         Integer assignedMiddlewareId;
         Integer middlewareFixed;
-        if (probe.reachableMiddlewares.size() == 1) {
-            // 한 미들웨어만 도달 가능 → 고정 할당
-            assignedMiddlewareId = probe.reachableMiddlewares.get(0).getMIDDLEWARE_ID();
+        List<MiddlewareVO> reachable = probe.reachableMiddlewares();
+        if (reachable.size() == 1) {
+            assignedMiddlewareId = reachable.get(0).getMIDDLEWARE_ID();
             middlewareFixed = 1;
-            log.info("[등록 할당] deviceIp={} → middlewareId={} (FIXED: 단일 도달)",
-                    tempDevice.getDEVICE_IP(), assignedMiddlewareId);
-        } else if (probe.reachableMiddlewares.size() >= 2) {
-            // 여러 미들웨어 도달 가능 → 최소 부하 선택 + 자동 분배
+            log.info("[등록 할당] {} → middlewareId={} (FIXED: 단일 도달)",
+                    input.getDEVICE_IP(), assignedMiddlewareId);
+        } else if (reachable.size() >= 2) {
             Integer pick = null;
             long minLoad = Long.MAX_VALUE;
-            for (dev3.nms.vo.mgmt.MiddlewareVO mw : probe.reachableMiddlewares) {
+            for (MiddlewareVO mw : reachable) {
                 long load = middlewareMapper.countDevicesByMiddlewareId(mw.getMIDDLEWARE_ID());
                 if (load < minLoad) { minLoad = load; pick = mw.getMIDDLEWARE_ID(); }
             }
             assignedMiddlewareId = pick;
             middlewareFixed = 0;
-            log.info("[등록 할당] deviceIp={} → middlewareId={} (AUTO: {}개 중 최소 부하)",
-                    tempDevice.getDEVICE_IP(), assignedMiddlewareId, probe.reachableMiddlewares.size());
+            log.info("[등록 할당] {} → middlewareId={} (AUTO: {}개 중 최소 부하)",
+                    input.getDEVICE_IP(), assignedMiddlewareId, reachable.size());
         } else {
             // 도달 가능 미들웨어 없음 (probe 성공해도 reachable이 비어있는 fallback 케이스)
             assignedMiddlewareId = null;
             middlewareFixed = 0;
-            log.warn("[등록 할당] deviceIp={} 도달 가능 미들웨어 없음 (fallback)", tempDevice.getDEVICE_IP());
+            log.warn("[등록 할당] {} 도달 가능 미들웨어 없음", input.getDEVICE_IP());
         }
 
-        // 3. sysObjectId로 벤더 매칭
-        log.info(sysObjectId);
-        VendorVO vendor = vendorMapper.findVendorByOid(sysObjectId);
-
-        // 4. 모델 조회 또는 생성
-        Integer modelId = getOrCreateModel(sysObjectId, vendor, userId);
-
-        // 5. Device 객체 생성 (SNMP 정보 제외)
+        // r_device_t에 저장
         DeviceVO device = DeviceVO.builder()
-                .GROUP_ID(tempDevice.getGROUP_ID())
-                .DEVICE_NAME(tempDevice.getDEVICE_NAME())
-                .DEVICE_SYSTEM_NAME(sysName)
-                .DEVICE_IP(tempDevice.getDEVICE_IP())
-                .DEVICE_DESC(sysDescr)
+                .GROUP_ID(input.getGROUP_ID())
+                .DEVICE_NAME(input.getDEVICE_NAME())
+                .DEVICE_SYSTEM_NAME(probe.sysName())
+                .DEVICE_IP(input.getDEVICE_IP())
+                .DEVICE_DESC(probe.sysDescr())
                 .MODEL_ID(modelId)
                 .MIDDLEWARE_ID(assignedMiddlewareId)
                 .MIDDLEWARE_FIXED(middlewareFixed)
                 .CREATE_USER_ID(userId)
                 .build();
-
-        // 6. r_device_t에 저장
         deviceMapper.insertDevice(device);
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all()); // 그룹 소속 변경
 
-        // 7. r_device_snmp_t에 SNMP 정보 저장 (버전에 따라 불필요한 필드 null 처리)
+        // r_device_snmp_t에 SNMP 정보 저장 (버전에 따라 불필요한 필드 null 처리)
         DeviceSnmpVO.DeviceSnmpVOBuilder snmpBuilder = DeviceSnmpVO.builder()
                 .DEVICE_ID(device.getDEVICE_ID())
-                .SNMP_VERSION(tempDevice.getSNMP_VERSION())
-                .SNMP_PORT(tempDevice.getSNMP_PORT());
+                .SNMP_VERSION(input.getSNMP_VERSION())
+                .SNMP_PORT(input.getSNMP_PORT());
 
-        int snmpVer = parseSnmpVersion(tempDevice.getSNMP_VERSION());
+        int snmpVer = parseSnmpVersion(input.getSNMP_VERSION());
         if (snmpVer == 3) {
             // v3: Community는 null, v3 필드만 저장
             snmpBuilder.SNMP_COMMUNITY(null)
-                    .SNMP_USER(tempDevice.getSNMP_USER())
-                    .SNMP_AUTH_PROTOCOL(tempDevice.getSNMP_AUTH_PROTOCOL())
-                    .SNMP_AUTH_PASSWORD(tempDevice.getSNMP_AUTH_PASSWORD())
-                    .SNMP_PRIV_PROTOCOL(tempDevice.getSNMP_PRIV_PROTOCOL())
-                    .SNMP_PRIV_PASSWORD(tempDevice.getSNMP_PRIV_PASSWORD());
+                    .SNMP_USER(input.getSNMP_USER())
+                    .SNMP_AUTH_PROTOCOL(input.getSNMP_AUTH_PROTOCOL())
+                    .SNMP_AUTH_PASSWORD(input.getSNMP_AUTH_PASSWORD())
+                    .SNMP_PRIV_PROTOCOL(input.getSNMP_PRIV_PROTOCOL())
+                    .SNMP_PRIV_PASSWORD(input.getSNMP_PRIV_PASSWORD());
         } else {
             // v1/v2c: v3 필드는 null, Community만 저장
-            snmpBuilder.SNMP_COMMUNITY(tempDevice.getSNMP_COMMUNITY())
+            snmpBuilder.SNMP_COMMUNITY(input.getSNMP_COMMUNITY())
                     .SNMP_USER(null)
                     .SNMP_AUTH_PROTOCOL(null)
                     .SNMP_AUTH_PASSWORD(null)
@@ -636,118 +427,155 @@ public class DeviceService {
         }
         deviceMapper.insertDeviceSnmp(snmpBuilder.build());
 
-        // 7-1. r_device_scope_t에 관제 설정 저장
+        // r_device_scope_t에 관제 설정 저장 (직접 등록은 PING/SNMP 항상 수집)
+        boolean collectAgent = input.getCOLLECT_AGENT() != null ? input.getCOLLECT_AGENT() : false;
         DeviceScopeVO scope = DeviceScopeVO.builder()
                 .DEVICE_ID(device.getDEVICE_ID())
-                .COLLECT_PING(tempDevice.getCOLLECT_PING() != null ? tempDevice.getCOLLECT_PING() : false)
-                .COLLECT_SNMP(tempDevice.getCOLLECT_SNMP() != null ? tempDevice.getCOLLECT_SNMP() : false)
-                .COLLECT_AGENT(tempDevice.getCOLLECT_AGENT() != null ? tempDevice.getCOLLECT_AGENT() : false)
+                .COLLECT_PING(direct || (input.getCOLLECT_PING() != null ? input.getCOLLECT_PING() : false))
+                .COLLECT_SNMP(direct || (input.getCOLLECT_SNMP() != null ? input.getCOLLECT_SNMP() : false))
+                .COLLECT_AGENT(collectAgent)
                 .build();
         deviceMapper.insertDeviceScope(scope);
+        return device;
+    }
 
-        // 8. 포트 정보 수집 - 방금 할당된 미들웨어에서 조회 (deviceId 전달)
-        try {
-            List<PortVO> ports = middlewareClient.getDevicePortInfo(
-                    tempDevice.getDEVICE_IP(),
-                    tempDevice.getSNMP_VERSION(),
-                    tempDevice.getSNMP_PORT(),
-                    tempDevice.getSNMP_COMMUNITY(),
-                    tempDevice.getSNMP_USER(),
-                    tempDevice.getSNMP_AUTH_PROTOCOL(),
-                    tempDevice.getSNMP_AUTH_PASSWORD(),
-                    tempDevice.getSNMP_PRIV_PROTOCOL(),
-                    tempDevice.getSNMP_PRIV_PASSWORD(),
-                    device.getDEVICE_ID()
-            );
+    /**
+     * Ping 전용 장비 저장 (r_device_t + r_device_scope_t)
+     */
+    DeviceVO insertPingDevice(TempDeviceVO input, Integer middlewareId, Integer userId) {
+        DeviceVO device = DeviceVO.builder()
+                .GROUP_ID(input.getGROUP_ID())
+                .DEVICE_NAME(input.getDEVICE_NAME())
+                .DEVICE_IP(input.getDEVICE_IP())
+                .MIDDLEWARE_ID(middlewareId)
+                .CREATE_USER_ID(userId)
+                .build();
+        deviceMapper.insertDevice(device);
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all()); // 그룹 소속 변경
 
-            if (!ports.isEmpty()) {
-                ports.forEach(port -> port.setDEVICE_ID(device.getDEVICE_ID()));
-                portService.createPorts(ports);
+        // r_device_scope_t에 관제 설정 저장 (Ping만 true)
+        DeviceScopeVO scope = DeviceScopeVO.builder()
+                .DEVICE_ID(device.getDEVICE_ID())
+                .COLLECT_PING(true)
+                .COLLECT_SNMP(false)
+                .COLLECT_AGENT(input.getCOLLECT_AGENT() != null ? input.getCOLLECT_AGENT() : false)
+                .build();
+        deviceMapper.insertDeviceScope(scope);
+        return device;
+    }
 
-                device.setPORT_COUNT(ports.size());
-                deviceMapper.updateDevice(device);
-                log.info("포트 정보 수집 완료 - DeviceId: {}, middlewareId: {}, 포트 수: {}",
-                        device.getDEVICE_ID(), assignedMiddlewareId, ports.size());
-            }
+    /**
+     * 직접 등록 성공 입력을 r_temp_device_t 에 이력으로 저장 (DELETE_AT 설정하여 soft delete)
+     */
+    void archiveRegisteredInput(TempDeviceVO input, Integer userId) {
+        input.setCREATE_USER_ID(userId);
+        input.setDELETE_USER_ID(userId);
+        input.setDELETE_AT(new java.sql.Timestamp(System.currentTimeMillis()));
+        tempDeviceMapper.insertTempDevice(input);
+    }
+
+    /**
+     * 직접 등록 실패 입력을 미등록 장비(r_temp_device_t)로 저장, 같은 IP 가 이미 있으면 기존 항목 사용
+     */
+    DeviceRegistrationResultVO.DeviceRegistrationFailure saveFailedInput(TempDeviceVO input, Integer userId,
+                                                                       String error, String collectType) {
+        TempDeviceVO existingTempDevice = tempDeviceMapper.findByIp(input.getDEVICE_IP());
+
+        Integer tempDeviceId;
+        if (existingTempDevice != null) {
+            tempDeviceId = existingTempDevice.getTEMP_DEVICE_ID();
+            log.info("장비 등록 실패 (기존 미등록 장비 존재) - TempDeviceId: {}, Name: {}, IP: {}, Error: {}",
+                    tempDeviceId, input.getDEVICE_NAME(), input.getDEVICE_IP(), error);
+        } else {
+            input.setCREATE_USER_ID(userId);
+            tempDeviceMapper.insertTempDevice(input);
+            tempDeviceId = input.getTEMP_DEVICE_ID();
+            log.info("장비 등록 실패 (미등록 장비로 저장) - TempDeviceId: {}, Name: {}, IP: {}, Error: {}",
+                    tempDeviceId, input.getDEVICE_NAME(), input.getDEVICE_IP(), error);
+        }
+        return new DeviceRegistrationResultVO.DeviceRegistrationFailure(
+                tempDeviceId, input.getDEVICE_NAME(), input.getDEVICE_IP(), error, collectType);
+    }
+
+    /**
+     * 포트 정보 수집 + 저장, 실패해도 장비 등록은 유지
+     */
+    private void collectPorts(TempDeviceVO input, DeviceVO device) {
+        try {
+            savePorts(device, fetchPorts(input, device.getDEVICE_ID()));
         } catch (Exception e) {
             log.warn("포트 정보 수집 실패 (장비 등록은 성공) - DeviceId: {}, Error: {}",
                     device.getDEVICE_ID(), e.getMessage());
         }
-
-        // 9. temp_device 삭제 (논리 삭제)
-        tempDeviceMapper.deleteTempDevice(tempDeviceId);
-
-        log.info("장비 등록 완료: {} (DeviceId: {}, ModelId: {})",
-                device.getDEVICE_NAME(), device.getDEVICE_ID(), modelId);
-
-        // 조회를 다시 해서 JOIN된 정보 포함하여 반환
-        return deviceMapper.findDeviceById(device.getDEVICE_ID());
     }
 
     /**
-     * 여러 TempDevice를 실제 Device로 일괄 등록
+     * 할당된 미들웨어에서 포트 정보 조회 (DB 쓰기 없음)
      */
-    @Transactional
-    public DeviceRegistrationResultVO registerDevicesFromTemp(List<Integer> tempDeviceIds, Integer userId) {
-        DeviceRegistrationResultVO result = new DeviceRegistrationResultVO();
-
-        for (Integer tempDeviceId : tempDeviceIds) {
-            try {
-                TempDeviceVO tempDevice = tempDeviceMapper.findById(tempDeviceId);
-                if (tempDevice == null) {
-                    throw new IllegalArgumentException("임시 장비를 찾을 수 없습니다");
-                }
-
-                DeviceVO device = registerDeviceFromTemp(tempDeviceId, userId);
-
-                // Ping 테스트 수행
-                boolean pingSuccess = pingTest(device.getDEVICE_IP(), 1000);
-
-                result.getSuccessList().add(new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
-                        tempDeviceId,
-                        device.getDEVICE_ID(),
-                        device.getDEVICE_NAME(),
-                        device.getDEVICE_IP(),
-                        device.getDEVICE_SYSTEM_NAME(),
-                        device.getVENDOR_NAME(),
-                        device.getDEVICE_DESC(),
-                        pingSuccess,
-                        "SNMP"
-                ));
+    List<PortVO> fetchPorts(TempDeviceVO input, Integer deviceId) {
+        return middlewareClient.getDevicePortInfo(toSnmpRequest(input), deviceId);
+    }
 
-                log.info("장비 등록 성공 - TempDeviceId: {}, DeviceId: {}, Name: {}",
-                        tempDeviceId, device.getDEVICE_ID(), device.getDEVICE_NAME());
+    /**
+     * 등록 입력 → SNMP 요청 (SNMP_COLLECTOR=EMBEDDED 이면 내장 SNMP 경유)
+     */
+    private MiddlewareClient.SnmpRequest toSnmpRequest(TempDeviceVO input) {
+        MiddlewareClient.SnmpRequest snmpReq = new MiddlewareClient.SnmpRequest();
+        snmpReq.setIpAddress(input.getDEVICE_IP());
+        snmpReq.setSnmpVersion(input.getSNMP_VERSION());
+        snmpReq.setSnmpPort(input.getSNMP_PORT());
+        snmpReq.setCommunity(input.getSNMP_COMMUNITY());
+        snmpReq.setUser(input.getSNMP_USER());
+        snmpReq.setAuthProtocol(input.getSNMP_AUTH_PROTOCOL());
+        snmpReq.setAuthPassword(input.getSNMP_AUTH_PASSWORD());
+        snmpReq.setPrivProtocol(input.getSNMP_PRIV_PROTOCOL());
+        snmpReq.setPrivPassword(input.getSNMP_PRIV_PASSWORD());
+        snmpReq.setCollector(input.getSNMP_COLLECTOR());
+        return snmpReq;
+    }
 
-            } catch (Exception e) {
-                TempDeviceVO tempDevice = null;
-                try {
-                    tempDevice = tempDeviceMapper.findById(tempDeviceId);
-                } catch (Exception ex) {
-                    log.error("TempDevice 조회 실패: {}", ex.getMessage());
-                }
-
-                String deviceName = (tempDevice != null) ? tempDevice.getDEVICE_NAME() : "알 수 없음";
-                String deviceIp = (tempDevice != null) ? tempDevice.getDEVICE_IP() : "알 수 없음";
-
-                result.getFailureList().add(new DeviceRegistrationResultVO.DeviceRegistrationFailure(
-                        tempDeviceId,
-                        deviceName,
-                        deviceIp,
-                        e.getMessage(),
-                        "SNMP"
-                ));
-
-                log.error("장비 등록 실패 - TempDeviceId: {}, Name: {}, Error: {}",
-                        tempDeviceId, deviceName, e.getMessage());
-            }
-        }
+    /**
+     * 포트 저장 + PORT_COUNT 갱신
+     */
+    void savePorts(DeviceVO device, List<PortVO> ports) {
+        if (ports.isEmpty()) return;
+        ports.forEach(port -> port.setDEVICE_ID(device.getDEVICE_ID()));
+        portService.createPorts(ports);
+
+        device.setPORT_COUNT(ports.size());
+        deviceMapper.updateDevice(device);
+        log.info("포트 정보 수집 완료 - DeviceId: {}, middlewareId: {}, 포트 수: {}",
+                device.getDEVICE_ID(), device.getMIDDLEWARE_ID(), ports.size());
+    }
 
-        if (!result.getSuccessList().isEmpty()) {
-            log.info("[등록 후] 재분배 트리거 - 성공 장비 {}대", result.getSuccessList().size());
-            middlewareService.rebalanceAllDevices();
-        }
+    DeviceRegistrationResultVO.DeviceRegistrationSuccess snmpSuccess(Integer tempDeviceId, DeviceVO device,
+                                                                     SnmpProbeResult probe, VendorVO vendor,
+                                                                     boolean pingSuccess) {
+        return new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
+                tempDeviceId,
+                device.getDEVICE_ID(),
+                device.getDEVICE_NAME(),
+                device.getDEVICE_IP(),
+                probe.sysName(),
+                vendor != null ? vendor.getVENDOR_NAME() : "알 수 없음",
+                probe.sysDescr(),
+                pingSuccess,
+                "SNMP"
+        );
+    }
 
-        return result;
+    DeviceRegistrationResultVO.DeviceRegistrationSuccess pingSuccess(Integer tempDeviceId, DeviceVO device) {
+        return new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
+                tempDeviceId,
+                device.getDEVICE_ID(),
+                device.getDEVICE_NAME(),
+                device.getDEVICE_IP(),
+                null,  // sysName 없음
+                "-",
+                "-",
+                true,  // Ping 성공했으므로 true
+                "PING"
+        );
     }
 
     /**
@@ -773,6 +601,7 @@ public class DeviceService {
         }
 
         deviceMapper.updateDevice(deviceUpdates);
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all()); // 그룹 소속 변경
 
         // IP 변경 시 활성 장애(f_error_t)만 현재 IP로 동기화
         // 이력(f_error_history_t)은 발생 당시 스냅샷 보존 (감사/포렌식 목적)
@@ -821,71 +650,74 @@ public class DeviceService {
             }
         }
 
-        // IP 변경 시 수집 미들웨어 reachability 재검증 (@Async이므로 응답 지연 없음)
+        // IP 변경 시 수집 미들웨어 reachability 재검증 (커밋 후 비동기 재분배, 응답 지연 없음)
         if (ipChanged) {
-            middlewareService.rebalanceAllDevices();
+            rebalanceScheduler.request("DEVICE_IP_CHANGE");
         }
 
         return deviceMapper.findDeviceById(deviceId);
     }
 
     /**
-     * 장비 삭제 (논리 삭제 + 연관 데이터 캐스케이드 정리)
+     * 장비 삭제 (논리 삭제 + 연관 데이터 정리, 이력은 백그라운드 정리)
+     *
+     * 즉시 처리:
+     * 1. 활성 장애 삭제
+     * 2. 임계치 오버라이드 삭제
+     * 3. 관제 그룹에서 장비/인터페이스 제거
+     * 4. 포트 소프트 삭제
+     * 5. SSH 크리덴셜 삭제 (보안)
+     * 6. SNMP 설정 삭제
+     * 7. 수집 설정(Scope) 삭제 → 수집 중단
+     * 8. 장비 본체 소프트 삭제
+     * 커밋 후: 성능 이력(트래픽, CPU/MEM, ICMP, rollup) + 장애 이력 청크 삭제 (DevicePurgeService)
      *
-     * 정리 순서:
-     * 1. 활성 장애 → 이력 이관 후 삭제
-     * 2. 관제 그룹에서 장비/인터페이스 제거
-     * 3. 포트 소프트 삭제
-     * 4. SSH 크리덴셜 삭제 (보안)
-     * 5. SNMP 설정 삭제
-     * 6. 수집 설정(Scope) 삭제
-     * 7. 장비 본체 소프트 삭제
+     * @return 이력 정리 작업 ID
      */
     @Transactional
-    public void deleteDevice(int deviceId) {
+    public Long deleteDevice(int deviceId) {
         DeviceVO existingDevice = deviceMapper.findDeviceById(deviceId);
         if (existingDevice == null) {
             throw new IllegalArgumentException("장비를 찾을 수 없습니다: " + deviceId);
         }
 
-        cascadeDeleteDevice(deviceId);
-        log.info("장비 삭제 완료 (cascade): deviceId={}", deviceId);
+        detachDevice(deviceId);
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all()); // 그룹 소속 변경
+        Long jobId = devicePurgeService.enqueue(List.of(deviceId));
+        log.info("장비 삭제 완료: deviceId={}, 이력 정리 job={}", deviceId, jobId);
+        return jobId;
     }
 
     /**
-     * 장비 일괄 삭제 (논리 삭제 + 연관 데이터 캐스케이드 정리)
+     * 장비 일괄 삭제 (논리 삭제 + 연관 데이터 정리, 이력은 백그라운드 정리)
+     * @return 이력 정리 작업 ID
      */
     @Transactional
-    public void deleteDevices(List<Integer> deviceIds) {
+    public Long deleteDevices(List<Integer> deviceIds) {
         if (deviceIds == null || deviceIds.isEmpty()) {
             throw new IllegalArgumentException("삭제할 장비 ID가 없습니다.");
         }
         for (int deviceId : deviceIds) {
-            cascadeDeleteDevice(deviceId);
+            detachDevice(deviceId);
         }
-        log.info("장비 일괄 삭제 완료 (cascade): {} 개", deviceIds.size());
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all()); // 그룹 소속 변경
+        Long jobId = devicePurgeService.enqueue(deviceIds);
+        log.info("장비 일괄 삭제 완료: {} 개, 이력 정리 job={}", deviceIds.size(), jobId);
+        return jobId;
     }
 
     /**
-     * 단일 장비에 대한 캐스케이드 삭제 처리 (내부용)
+     * 단일 장비 논리 삭제 (내부용) - 대량 이력 삭제는 포함하지 않음
      */
-    private void cascadeDeleteDevice(int deviceId) {
-        // 1. 활성 장애 + 장애 이력 삭제 (장비 삭제 시 이력 보존 불필요)
+    private void detachDevice(int deviceId) {
+        // 1. 활성 장애 삭제 (장애 이력은 백그라운드 정리)
         int deletedErrors = errorMapper.deleteDeviceErrors(deviceId);
-        int deletedHistory = errorMapper.deleteErrorHistoryByDeviceId(deviceId);
-        if (deletedErrors > 0 || deletedHistory > 0) {
-            log.info("  장비 {} 장애 정리: 활성={}건, 이력={}건 삭제", deviceId, deletedErrors, deletedHistory);
+        if (deletedErrors > 0) {
+            log.info("  장비 {} 활성 장애 {}건 삭제", deviceId, deletedErrors);
         }
 
-        // 2. 성능 데이터 삭제 (트래픽, CPU/MEM, ICMP) + 임계치 오버라이드 삭제
-        int delTraffic = trafficMapper.deleteByDeviceId(deviceId);
-        int delCpuMem = cpuMemMapper.deleteByDeviceId(deviceId);
-        int delIcmp = errorMapper.deleteIcmpByDeviceId(deviceId);
+        // 2. 임계치 오버라이드 삭제
         thresholdMapper.deleteByDeviceId(String.valueOf(deviceId));
-        if (delTraffic + delCpuMem + delIcmp > 0) {
-            log.info("  장비 {} 성능 데이터 삭제: 트래픽={}건, CPU/MEM={}건, ICMP={}건",
-                    deviceId, delTraffic, delCpuMem, delIcmp);
-        }
 
         // 3. 관제 그룹에서 제거 (인터페이스 먼저, 장비 후)
         watchMapper.deleteDeviceInterfacesFromAllGroups(deviceId);
@@ -1099,28 +931,81 @@ public class DeviceService {
      * 응답: {deviceId(String) → List<CpuMemVO>}
      */
     public java.util.Map<String, List<CpuMemVO>> getRecentCpuMemBatch(List<Integer> deviceIds, Integer minutes,
-                                                                       String startDate, String endDate, String granularity) {
+                                                                       String startDate, String endDate, String granularity,
+                                                                       SeriesDownsampler.Spec downsample) {
         java.util.Map<String, List<CpuMemVO>> result = new java.util.LinkedHashMap<>();
         if (deviceIds == null || deviceIds.isEmpty()) return result;
         for (Integer id : deviceIds) {
             result.put(String.valueOf(id), new ArrayList<>());
         }
 
+        streamRecentCpuMemBatch(deviceIds, minutes, startDate, endDate, granularity, downsample,
+                vo -> result.computeIfAbsent(String.valueOf(vo.getDEVICE_ID()), k -> new ArrayList<>()).add(vo));
+        return result;
+    }
+
+    /**
+     * 다중 장비의 CPU/MEM 시계열을 DEVICE_ID, 시각 순서로 sink 에 전달 (스트리밍 응답용)
+     * - raw: mapper ResultHandler 로 fetch 단위 전달 → 결과 크기와 무관한 메모리 사용
+     * - 집계: 행 수가 버킷 수로 제한되므로 조회 후 순서대로 전달
+     * @param downsample raw 조회 시 장비별 다운샘플 (null 이면 전체)
+     */
+    public void streamRecentCpuMemBatch(List<Integer> deviceIds, Integer minutes, String startDate, String endDate,
+                                        String granularity, SeriesDownsampler.Spec downsample, Consumer<CpuMemVO> sink) {
+        if (deviceIds == null || deviceIds.isEmpty()) return;
         IcmpService.TimeRange range = IcmpService.resolveTimeRange(minutes, startDate, endDate);
         Integer intervalSec = IcmpService.resolveIntervalSec(granularity, range.start, range.end);
 
-        List<CpuMemVO> rows;
         if (intervalSec == null || intervalSec <= 0) {
-            rows = cpuMemMapper.findRecentBatchRaw(deviceIds, range.startStr, range.endStr);
-        } else {
-            rows = cpuMemMapper.findRecentBatchAggregated(deviceIds, range.startStr, range.endStr, intervalSec);
+            SeriesDownsampler<CpuMemVO> downsampler = SeriesDownsampler.of(downsample, range.start, range.end,
+                    vo -> String.valueOf(vo.getDEVICE_ID()), CpuMemVO::getCOLLECTED_AT, CPU_MEM_DOWNSAMPLE_FIELDS, sink);
+            Consumer<CpuMemVO> target = downsampler != null ? downsampler : sink;
+            cpuMemMapper.streamRecentBatchRaw(deviceIds, range.startStr, range.endStr, ctx -> target.accept(ctx.getResultObject()));
+            if (downsampler != null) downsampler.finish();
+            return;
         }
+        metricRollupService.route(MetricRollupService.Source.CPU_MEM, intervalSec, range,
+                (from, to) -> cpuMemMapper.findRecentBatchRollup(deviceIds, from, to, intervalSec),
+                (from, to) -> cpuMemMapper.findRecentBatchAggregated(deviceIds, from, to, intervalSec),
+                Comparator.comparing(CpuMemVO::getDEVICE_ID).thenComparing(CpuMemVO::getCOLLECTED_AT)).forEach(sink);
+    }
 
-        for (CpuMemVO vo : rows) {
-            String key = String.valueOf(vo.getDEVICE_ID());
-            result.computeIfAbsent(key, k -> new ArrayList<>()).add(vo);
-        }
-        return result;
+    /**
+     * CPU/MEM 다운샘플 시 스파이크를 보존할 필드
+     */
+    private static final List<Function<CpuMemVO, ? extends Number>> CPU_MEM_DOWNSAMPLE_FIELDS =
+            List.of(CpuMemVO::getCPU_USAGE, CpuMemVO::getMEM_USAGE);
+
+    /**
+     * CPU/MEM 컬럼 형식 응답 필드 (format=columnar)
+     */
+    static final Map<String, Function<CpuMemVO, ? extends Number>> CPU_MEM_COLUMNAR_FIELDS = new java.util.LinkedHashMap<>();
+    static {
+        CPU_MEM_COLUMNAR_FIELDS.put("CPU_USAGE", CpuMemVO::getCPU_USAGE);
+        CPU_MEM_COLUMNAR_FIELDS.put("MEM_USAGE", CpuMemVO::getMEM_USAGE);
+        CPU_MEM_COLUMNAR_FIELDS.put("CPU_USER", CpuMemVO::getCPU_USER);
+        CPU_MEM_COLUMNAR_FIELDS.put("CPU_SYSTEM", CpuMemVO::getCPU_SYSTEM);
+        CPU_MEM_COLUMNAR_FIELDS.put("CPU_IDLE", CpuMemVO::getCPU_IDLE);
+        CPU_MEM_COLUMNAR_FIELDS.put("MEM_TOTAL", CpuMemVO::getMEM_TOTAL);
+        CPU_MEM_COLUMNAR_FIELDS.put("MEM_USED", CpuMemVO::getMEM_USED);
+        CPU_MEM_COLUMNAR_FIELDS.put("MEM_AVAIL", CpuMemVO::getMEM_AVAIL);
+    }
+
+    /**
+     * 다중 장비의 CPU/MEM 시계열 조회 - 컬럼 형식 (장비별 시리즈)
+     * @param fields 응답 필드 (미지정 시 CPU_MEM_COLUMNAR_FIELDS 전체)
+     * @param delta 시간축 delta 인코딩 여부
+     */
+    public ColumnarChartVO getRecentCpuMemBatchColumnar(List<Integer> deviceIds, Integer minutes, String startDate,
+                                                        String endDate, String granularity, SeriesDownsampler.Spec downsample,
+                                                        List<String> fields, boolean delta) {
+        ColumnarSeriesBuilder<CpuMemVO> builder = new ColumnarSeriesBuilder<>(
+                vo -> String.valueOf(vo.getDEVICE_ID()),
+                vo -> Map.of("deviceId", vo.getDEVICE_ID()),
+                CpuMemVO::getCOLLECTED_AT,
+                ColumnarSeriesBuilder.selectFields(CPU_MEM_COLUMNAR_FIELDS, fields));
+        streamRecentCpuMemBatch(deviceIds, minutes, startDate, endDate, granularity, downsample, builder);
+        return builder.build(delta);
     }
 
     /**
@@ -1238,7 +1123,7 @@ public class DeviceService {
      *   5. 장비 수 동일 시 MIDDLEWARE_ID 낮은 것
      * @return 선택된 MIDDLEWARE_ID, 없으면 null
      */
-    private Integer assignMiddleware() {
+    Integer assignMiddleware() {
         List<MiddlewareVO> actives;
         try {
             actives = middlewareMapper.findAll().stream()
@@ -1257,24 +1142,16 @@ public class DeviceService {
             return actives.get(0).getMIDDLEWARE_ID();
         }
 
-        // N개: 병렬 헬스 프로브 후 최적 선택
-        HttpClient httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(5))
-                .build();
-
+        // N개: 병렬 헬스 프로브 후 최적 선택 (MiddlewareGateway 공유 커넥션 사용)
         record ProbeResult(MiddlewareVO mw, long responseMs) {}
 
         List<CompletableFuture<Optional<ProbeResult>>> futures = actives.stream()
                 .map(mw -> CompletableFuture.supplyAsync(() -> {
                     String url = mw.getMIDDLEWARE_URL().replaceAll("/+$", "") + "/health";
                     try {
-                        HttpRequest req = HttpRequest.newBuilder()
-                                .uri(URI.create(url))
-                                .timeout(Duration.ofSeconds(5))
-                                .GET()
-                                .build();
                         long start = System.currentTimeMillis();
-                        HttpResponse<Void> resp = httpClient.send(req, HttpResponse.BodyHandlers.discarding());
+                        HttpResponse<Void> resp = middlewareGateway.get(mw.getMIDDLEWARE_URL(), null, "/health",
+                                HttpResponse.BodyHandlers.discarding());
                         long elapsed = System.currentTimeMillis() - start;
                         if (resp.statusCode() >= 200 && resp.statusCode() < 300) {
                             return Optional.of(new ProbeResult(mw, elapsed));
@@ -1285,7 +1162,7 @@ public class DeviceService {
                         log.warn("미들웨어 헬스체크 실패 - id:{}, url:{}, error:{}", mw.getMIDDLEWARE_ID(), url, e.getMessage());
                         return Optional.<ProbeResult>empty();
                     }
-                }, PROBE_EXECUTOR))
+                }, executorRegistry.executor(ExecutorRegistry.MIDDLEWARE_PROBE)))
                 .collect(Collectors.toList());
 
         List<ProbeResult> successful = futures.stream()
@@ -1,12 +1,8 @@
 package dev3.nms.service;
 
-import dev3.nms.mapper.EmailPrefMapper;
 import dev3.nms.mapper.ErrorMapper;
-import dev3.nms.mapper.UserMapper;
-import dev3.nms.vo.auth.UserVO;
-import dev3.nms.vo.notification.EmailDevicePrefVO;
-import dev3.nms.vo.notification.EmailPrefVO;
-import dev3.nms.vo.notification.EmailTypePrefVO;
+import dev3.nms.vo.notification.EmailDigestEntryVO;
+import dev3.nms.vo.notification.EmailDigestTargetVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -15,17 +11,15 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailAlertService {
 
-    private final EmailPrefMapper emailPrefMapper;
     private final EmailService emailService;
-    private final PermissionService permissionService;
-    private final UserMapper userMapper;
+    private final EmailRoutingIndex emailRoutingIndex;
+    private final EmailDigestQueue emailDigestQueue;
     private final ErrorMapper errorMapper;
 
     // DB에서 로드한 고정 등급 매핑 (유형당 등급 1개인 경우)
@@ -81,9 +75,7 @@ public class EmailAlertService {
         "THRESHOLD_CLEAR", "CLEAR"
     );
 
-    // Digest queue: userId -> list of pending alerts
-    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<Map<String, Object>>> digestQueue = new ConcurrentHashMap<>();
-    // 유저별 마지막 다이제스트 발송 시각 (ms)
+    // 유저별 마지막 다이제스트 발송 경계 (중복 발송 방지)
     private final ConcurrentHashMap<Long, Long> lastDigestFlush = new ConcurrentHashMap<>();
 
     /**
@@ -106,50 +98,21 @@ public class EmailAlertService {
         Integer deviceId = alert.get("deviceId") != null ? ((Number) alert.get("deviceId")).intValue() : null;
         if (deviceId == null) return;
 
-        List<EmailPrefVO> enabledUsers = emailPrefMapper.findAllEnabled();
-        if (enabledUsers == null || enabledUsers.isEmpty()) return;
-
-        for (EmailPrefVO user : enabledUsers) {
+        // 수신자 판정은 라우팅 인덱스 조회만 수행 (DB 조회 없음)
+        for (EmailRoutingIndex.Route route : emailRoutingIndex.resolve(deviceId, normalizedType, severity)) {
             try {
-                processAlertForUser(user, alert, deviceId, normalizedType, severity);
+                if ("IMMEDIATE".equals(route.mode())) {
+                    sendImmediateEmail(route.email(), alert, normalizedType, severity);
+                } else if ("DIGEST".equals(route.mode())) {
+                    emailDigestQueue.add(route.userId(), deviceId, normalizedType, severity, alert);
+                }
             } catch (Exception e) {
-                log.warn("Email alert processing failed for userId={}: {}", user.getUSER_ID(), e.getMessage());
+                log.warn("Email alert processing failed for userId={}: {}", route.userId(), e.getMessage());
             }
         }
     }
 
-    private void processAlertForUser(EmailPrefVO user, Map<String, Object> alert,
-                                      int deviceId, String alertType, String severity) {
-        Long userId = user.getUSER_ID();
-
-        // Check device access permission
-        List<Long> accessibleDevices = permissionService.getAccessibleDeviceIds(userId);
-        if (accessibleDevices != null && !accessibleDevices.contains((long) deviceId)) {
-            return;
-        }
-
-        // 1st priority: Device override
-        EmailDevicePrefVO devicePref = emailPrefMapper.findDeviceMode(userId, deviceId, alertType, severity);
-        String mode;
-        if (devicePref != null) {
-            mode = devicePref.getDELIVERY_MODE();
-        } else {
-            // 2nd priority: Global type x severity
-            EmailTypePrefVO typePref = emailPrefMapper.findTypeMode(userId, alertType, severity);
-            mode = typePref != null ? typePref.getDELIVERY_MODE() : "OFF";
-        }
-
-        if ("OFF".equals(mode) || mode == null) return;
-
-        if ("IMMEDIATE".equals(mode)) {
-            sendImmediateEmail(userId, alert, alertType, severity);
-        } else if ("DIGEST".equals(mode)) {
-            addToDigestQueue(userId, alert);
-        }
-    }
-
-    private void sendImmediateEmail(Long userId, Map<String, Object> alert, String alertType, String severity) {
-        String email = getUserEmail(userId);
+    private void sendImmediateEmail(String email, Map<String, Object> alert, String alertType, String severity) {
         if (email == null || email.isBlank()) return;
 
         String deviceName = String.valueOf(alert.getOrDefault("deviceName", "-"));
@@ -162,33 +125,31 @@ public class EmailAlertService {
         emailService.sendHtml(email, subject, body);
     }
 
-    public void addToDigestQueue(Long userId, Map<String, Object> alert) {
-        digestQueue.computeIfAbsent(userId, k -> new ConcurrentLinkedQueue<>()).add(alert);
-    }
-
     /**
      * Called by scheduler (1분 주기) - 유저별 DIGEST_MINUTES에 따라 발송
+     * - 대기 사용자 수신 설정/이메일은 1회 일괄 조회
      */
     public void flushDigest() {
-        if (digestQueue.isEmpty()) return;
-
-        long now = System.currentTimeMillis();
-
-        for (Map.Entry<Long, ConcurrentLinkedQueue<Map<String, Object>>> entry : digestQueue.entrySet()) {
-            Long userId = entry.getKey();
-            ConcurrentLinkedQueue<Map<String, Object>> queue = entry.getValue();
-
-            if (queue.isEmpty()) continue;
-
-            // 유저별 DIGEST_MINUTES 확인
-            EmailPrefVO pref = emailPrefMapper.findByUserId(userId);
-            int digestMinutes = (pref != null && pref.getDIGEST_MINUTES() != null && pref.getDIGEST_MINUTES() > 0)
-                    ? pref.getDIGEST_MINUTES() : 5;
+        List<Long> userIds = emailDigestQueue.findPendingUserIds();
+        if (userIds.isEmpty()) return;
+
+        Map<Long, EmailDigestTargetVO> targets = emailDigestQueue.findTargets(userIds);
+
+        // 정시 기준 정렬: 현재 시각이 주기 경계에 해당하는지 체크
+        // 60분 → 매시 :00, 5분 → :00/:05/:10..., 1분 → 매분
+        LocalDateTime nowTime = LocalDateTime.now();
+        int totalMinutes = nowTime.getHour() * 60 + nowTime.getMinute();
+
+        for (Long userId : userIds) {
+            EmailDigestTargetVO target = targets.get(userId);
+            if (target == null || !Boolean.TRUE.equals(target.getEMAIL_ENABLED())
+                    || target.getEMAIL() == null || target.getEMAIL().isBlank()) {
+                emailDigestQueue.discard(userId);
+                continue;
+            }
 
-            // 정시 기준 정렬: 현재 시각이 주기 경계에 해당하는지 체크
-            // 60분 → 매시 :00, 5분 → :00/:05/:10..., 1분 → 매분
-            java.time.LocalDateTime nowTime = java.time.LocalDateTime.now();
-            int totalMinutes = nowTime.getHour() * 60 + nowTime.getMinute();
+            int digestMinutes = (target.getDIGEST_MINUTES() != null && target.getDIGEST_MINUTES() > 0)
+                    ? target.getDIGEST_MINUTES() : 5;
             if (totalMinutes % digestMinutes != 0) {
                 continue; // 주기 경계 아님
             }
@@ -200,31 +161,26 @@ public class EmailAlertService {
                 continue; // 이미 이 경계에서 발송함
             }
 
-            List<Map<String, Object>> alerts = new ArrayList<>();
-            Map<String, Object> alert;
-            while ((alert = queue.poll()) != null) {
-                alerts.add(alert);
+            try {
+                EmailDigestQueue.Batch batch = emailDigestQueue.take(userId);
+                boolean sent = false;
+                try {
+                    if (!batch.entries().isEmpty()) {
+                        String subject = String.format("[NMS] 장애 알림 요약 - %d건", batch.alertCount());
+                        emailService.sendHtmlNow(target.getEMAIL(), subject, buildDigestHtml(batch));
+                        lastDigestFlush.put(userId, boundary);
+                    }
+                    sent = true;
+                } finally {
+                    // 발송 확인된 경우에만 대기 항목 삭제, 실패 시 다음 주기 재발송
+                    emailDigestQueue.complete(userId, sent);
+                }
+            } catch (Exception e) {
+                log.warn("Digest flush failed for userId={}: {}", userId, e.getMessage());
             }
-
-            if (alerts.isEmpty()) continue;
-
-            String email = getUserEmail(userId);
-            if (email == null || email.isBlank()) continue;
-
-            String subject = String.format("[NMS] 장애 알림 요약 - %d건", alerts.size());
-            String body = buildDigestHtml(alerts);
-            emailService.sendHtml(email, subject, body);
-            lastDigestFlush.put(userId, boundary);
         }
     }
 
-    private String getUserEmail(Long userId) {
-        return userMapper.findById(userId)
-                .map(UserVO::getEMAIL)
-                .filter(email -> email != null && !email.isBlank())
-                .orElse(null);
-    }
-
     private String mapSeverity(String severity) {
         if (severity == null) return "WARNING";
         return switch (severity.toUpperCase()) {
@@ -268,37 +224,49 @@ public class EmailAlertService {
                 time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
     }
 
-    private String buildDigestHtml(List<Map<String, Object>> alerts) {
+    private String buildDigestHtml(EmailDigestQueue.Batch batch) {
         StringBuilder rows = new StringBuilder();
-        int critical = 0, major = 0, minor = 0, warning = 0;
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("MM-dd HH:mm");
 
-        for (Map<String, Object> a : alerts) {
-            String deviceName = String.valueOf(a.getOrDefault("deviceName", "-"));
-            String deviceIp = String.valueOf(a.getOrDefault("deviceIp", "-"));
-            String alertType = String.valueOf(a.getOrDefault("alertType", "-"));
-            String severity = mapSeverity(String.valueOf(a.getOrDefault("severity", a.getOrDefault("errorLevel", ""))));
-            String message = String.valueOf(a.getOrDefault("message", "-"));
+        for (EmailDigestEntryVO e : batch.entries()) {
+            String severity = mapSeverity(e.getSEVERITY());
+            int count = e.getALERT_COUNT() != null ? e.getALERT_COUNT() : 1;
 
             String severityColor = switch (severity) {
-                case "CRITICAL" -> { critical++; yield "#ef4444"; }
-                case "MAJOR" -> { major++; yield "#f59e0b"; }
-                case "MINOR" -> { minor++; yield "#3b82f6"; }
-                default -> { warning++; yield "#64748b"; }
+                case "CRITICAL" -> "#ef4444";
+                case "MAJOR" -> "#f59e0b";
+                case "MINOR" -> "#3b82f6";
+                default -> "#64748b";
             };
 
+            // 반복 알림: 건수 + 최초~최종 발생 시각
+            String seen = count > 1
+                ? e.getFIRST_SEEN().format(timeFormat) + " ~ " + e.getLAST_SEEN().format(timeFormat)
+                : e.getLAST_SEEN().format(timeFormat);
+
             rows.append(String.format("""
                 <tr>
                     <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; color:#f8fafc; font-size:12px;">%s</td>
                     <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; color:#818cf8; font-family:monospace; font-size:12px;">%s</td>
                     <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; font-size:12px;"><span style="color:%s; font-weight:600;">%s</span></td>
                     <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; color:#e2e8f0; font-size:12px;">%s</td>
+                    <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; color:#f8fafc; font-size:12px; text-align:right;">%d</td>
+                    <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; color:#94a3b8; font-size:12px;">%s</td>
                     <td style="padding:8px 6px; border-bottom:1px solid #2d2d44; color:#94a3b8; font-size:12px;">%s</td>
                 </tr>
-                """, deviceName, deviceIp, severityColor, severity, alertType, message));
+                """, e.getDEVICE_NAME(), e.getDEVICE_IP(), severityColor, severity, e.getALERT_TYPE(),
+                count, seen, e.getMESSAGE()));
         }
 
+        // 등급별 건수는 표시 행이 아닌 전체 대기 항목 기준
+        Map<String, Long> severityCounts = batch.severityCounts();
         String summary = String.format("Total %d (Critical %d / Major %d / Minor %d / Warning %d)",
-            alerts.size(), critical, major, minor, warning);
+            batch.alertCount(), severityCounts.get("CRITICAL"), severityCounts.get("MAJOR"),
+            severityCounts.get("MINOR"), severityCounts.get("WARNING"));
+        int omitted = batch.entryCount() - batch.entries().size();
+        if (omitted > 0) {
+            summary += String.format(" - 외 %d개 항목 생략", omitted);
+        }
 
         return """
             <div style="font-family: 'Pretendard', 'Inter', -apple-system, sans-serif; max-width: 700px; margin: 0 auto; background: #1a1a2e; border-radius: 12px; overflow: hidden; border: 1px solid #2d2d44;">
@@ -313,6 +281,8 @@ public class EmailAlertService {
                                 <th style="padding:10px 6px; text-align:left; color:#94a3b8; font-size:11px; font-weight:500;">IP</th>
                                 <th style="padding:10px 6px; text-align:left; color:#94a3b8; font-size:11px; font-weight:500;">Severity</th>
                                 <th style="padding:10px 6px; text-align:left; color:#94a3b8; font-size:11px; font-weight:500;">Type</th>
+                                <th style="padding:10px 6px; text-align:right; color:#94a3b8; font-size:11px; font-weight:500;">Count</th>
+                                <th style="padding:10px 6px; text-align:left; color:#94a3b8; font-size:11px; font-weight:500;">Time</th>
                                 <th style="padding:10px 6px; text-align:left; color:#94a3b8; font-size:11px; font-weight:500;">Message</th>
                             </tr>
                         </thead>
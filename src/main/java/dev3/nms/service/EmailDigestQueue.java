@@ -0,0 +1,250 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.EmailDigestMapper;
+import dev3.nms.vo.notification.EmailDigestEntryVO;
+import dev3.nms.vo.notification.EmailDigestTargetVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 이메일 다이제스트 대기열 (R_USER_EMAIL_DIGEST_T)
+ * - 사용자 × 장비 × 알림유형 당 1건으로 집계 (반복 알림은 건수 + 최초/최종 발생 시각만 갱신)
+ * - 알림 처리 스레드는 메모리 버퍼에만 집계, persist-ms 주기로 DB 에 일괄 upsert (재시작 시 유실 방지)
+ * - 버퍼 항목이 buffer-max 를 넘으면 즉시 저장
+ * - 발송 메일에는 상위 max-rows 항목만 표시, 나머지는 건수로 요약
+ * - take → 발송 → complete 순서로 처리, 발송 확인 후에만 DB 항목 삭제 (실패 시 다음 주기 재발송)
+ * - 발송 중인 사용자의 신규 항목은 버퍼에 보류 (발송 완료 전 DB 항목 변경 방지)
+ */
+@Slf4j
+@Component
+public class EmailDigestQueue {
+
+    private static final int UPSERT_CHUNK = 500;
+
+    /**
+     * 사용자 1명의 발송 대상
+     * @param entries    상위 max-rows 항목 (등급, 최근 발생 순)
+     * @param entryCount 전체 항목 수
+     * @param alertCount 전체 알림 건수
+     * @param severityCounts 등급별 전체 알림 건수 (CRITICAL, MAJOR, MINOR, WARNING - 그 외 등급은 WARNING)
+     */
+    public record Batch(List<EmailDigestEntryVO> entries, int entryCount, long alertCount,
+                        Map<String, Long> severityCounts) {
+    }
+
+    private final EmailDigestMapper emailDigestMapper;
+    private final int bufferMax;
+    private final int maxRows;
+
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Object storeLock = new Object();
+    private volatile ConcurrentHashMap<String, EmailDigestEntryVO> buffer = new ConcurrentHashMap<>();
+    private final Set<Long> sending = ConcurrentHashMap.newKeySet();
+
+    public EmailDigestQueue(EmailDigestMapper emailDigestMapper,
+                            @Value("${email.digest.buffer-max:20000}") int bufferMax,
+                            @Value("${email.digest.max-rows:50}") int maxRows) {
+        this.emailDigestMapper = emailDigestMapper;
+        this.bufferMax = Math.max(1, bufferMax);
+        this.maxRows = Math.max(1, maxRows);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        sending.clear();
+        persist();
+    }
+
+    /**
+     * 다이제스트 항목 추가 (메모리 집계)
+     */
+    public void add(Long userId, int deviceId, String alertType, String severity, Map<String, Object> alert) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailDigestEntryVO entry = EmailDigestEntryVO.builder()
+                .USER_ID(userId)
+                .DEVICE_ID(deviceId)
+                .ALERT_TYPE(alertType)
+                .SEVERITY(severity)
+                .DEVICE_NAME(String.valueOf(alert.getOrDefault("deviceName", "-")))
+                .DEVICE_IP(String.valueOf(alert.getOrDefault("deviceIp", "-")))
+                .MESSAGE(String.valueOf(alert.getOrDefault("message", "-")))
+                .ALERT_COUNT(1)
+                .FIRST_SEEN(now)
+                .LAST_SEEN(now)
+                .build();
+
+        int size;
+        swapLock.readLock().lock();
+        try {
+            ConcurrentHashMap<String, EmailDigestEntryVO> current = buffer;
+            current.merge(key(entry), entry, EmailDigestQueue::merge);
+            size = current.size();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        if (size >= bufferMax) {
+            persist();
+        }
+    }
+
+    private static String key(EmailDigestEntryVO entry) {
+        return entry.getUSER_ID() + "|" + entry.getDEVICE_ID() + "|" + entry.getALERT_TYPE();
+    }
+
+    /**
+     * 같은 항목 집계 - 건수 누적, 최초 발생 유지, 나머지는 최신 값
+     */
+    static EmailDigestEntryVO merge(EmailDigestEntryVO older, EmailDigestEntryVO newer) {
+        return EmailDigestEntryVO.builder()
+                .USER_ID(older.getUSER_ID())
+                .DEVICE_ID(older.getDEVICE_ID())
+                .ALERT_TYPE(older.getALERT_TYPE())
+                .SEVERITY(newer.getSEVERITY())
+                .DEVICE_NAME(newer.getDEVICE_NAME())
+                .DEVICE_IP(newer.getDEVICE_IP())
+                .MESSAGE(newer.getMESSAGE())
+                .ALERT_COUNT(older.getALERT_COUNT() + newer.getALERT_COUNT())
+                .FIRST_SEEN(older.getFIRST_SEEN().isBefore(newer.getFIRST_SEEN()) ? older.getFIRST_SEEN() : newer.getFIRST_SEEN())
+                .LAST_SEEN(older.getLAST_SEEN().isAfter(newer.getLAST_SEEN()) ? older.getLAST_SEEN() : newer.getLAST_SEEN())
+                .build();
+    }
+
+    /**
+     * 메모리 버퍼 → DB 일괄 upsert (실패 시 버퍼로 되돌려 다음 주기 재시도)
+     * - 발송 중인 사용자 항목은 저장하지 않고 버퍼로 되돌림
+     */
+    @Scheduled(fixedDelayString = "${email.digest.persist-ms:2000}")
+    public void persist() {
+        synchronized (storeLock) {
+            ConcurrentHashMap<String, EmailDigestEntryVO> drained;
+            swapLock.writeLock().lock();
+            try {
+                if (buffer.isEmpty()) return;
+                drained = buffer;
+                buffer = new ConcurrentHashMap<>();
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+
+            List<EmailDigestEntryVO> entries = new ArrayList<>(drained.size());
+            List<EmailDigestEntryVO> held = new ArrayList<>();
+            for (EmailDigestEntryVO entry : drained.values()) {
+                (sending.contains(entry.getUSER_ID()) ? held : entries).add(entry);
+            }
+            requeue(held);
+
+            int saved = 0;
+            try {
+                for (; saved < entries.size(); saved += UPSERT_CHUNK) {
+                    emailDigestMapper.upsertEntries(entries.subList(saved, Math.min(saved + UPSERT_CHUNK, entries.size())));
+                }
+            } catch (Exception e) {
+                log.warn("[EmailDigest] 저장 실패, 다음 주기 재시도 ({}건): {}", entries.size() - saved, e.getMessage());
+                requeue(entries.subList(saved, entries.size()));
+            }
+        }
+    }
+
+    /**
+     * 꺼낸 항목을 버퍼로 되돌림 - 그 사이 들어온 항목이 최신 값
+     */
+    private void requeue(List<EmailDigestEntryVO> entries) {
+        if (entries.isEmpty()) return;
+        swapLock.readLock().lock();
+        try {
+            for (EmailDigestEntryVO entry : entries) {
+                buffer.merge(key(entry), entry, (current, stale) -> merge(stale, current));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 대기 항목이 있는 사용자 (버퍼 저장 후 조회)
+     */
+    public List<Long> findPendingUserIds() {
+        persist();
+        return emailDigestMapper.findPendingUserIds();
+    }
+
+    /**
+     * 발송 대상 수신 설정/이메일 일괄 조회
+     */
+    public Map<Long, EmailDigestTargetVO> findTargets(List<Long> userIds) {
+        Map<Long, EmailDigestTargetVO> targets = new HashMap<>();
+        if (userIds.isEmpty()) return targets;
+        for (EmailDigestTargetVO target : emailDigestMapper.findTargets(userIds)) {
+            targets.put(target.getUSER_ID(), target);
+        }
+        return targets;
+    }
+
+    /**
+     * 사용자 대기 항목 조회 (삭제는 complete 에서 발송 결과에 따라 처리)
+     * - complete 호출 전까지 해당 사용자 신규 항목은 DB 에 저장하지 않음
+     */
+    public Batch take(Long userId) {
+        synchronized (storeLock) {
+            sending.add(userId);
+            List<EmailDigestEntryVO> entries;
+            Map<String, Object> counts;
+            try {
+                entries = emailDigestMapper.findEntries(userId, maxRows);
+                counts = emailDigestMapper.countEntries(userId);
+            } catch (RuntimeException e) {
+                sending.remove(userId);
+                throw e;
+            }
+            int entryCount = count(counts, "ENTRY_COUNT", entries.size()).intValue();
+            long alertCount = count(counts, "ALERT_COUNT", entries.size()).longValue();
+
+            Map<String, Long> severityCounts = new LinkedHashMap<>();
+            long other = alertCount;
+            for (String severity : List.of("CRITICAL", "MAJOR", "MINOR")) {
+                long n = count(counts, severity + "_COUNT", 0).longValue();
+                severityCounts.put(severity, n);
+                other -= n;
+            }
+            severityCounts.put("WARNING", Math.max(0, other));
+            return new Batch(entries, entryCount, alertCount, severityCounts);
+        }
+    }
+
+    private static Number count(Map<String, Object> counts, String key, long fallback) {
+        return counts != null && counts.get(key) != null ? (Number) counts.get(key) : fallback;
+    }
+
+    /**
+     * take 이후 발송 결과 반영
+     * - sent = true: 발송 확인된 항목 삭제
+     * - sent = false: 항목 유지 (다음 주기 재발송)
+     */
+    public void complete(Long userId, boolean sent) {
+        synchronized (storeLock) {
+            try {
+                if (sent) emailDigestMapper.deleteByUserId(userId);
+            } finally {
+                sending.remove(userId);
+            }
+        }
+    }
+
+    /**
+     * 발송 불가 사용자(수신 해제/이메일 없음) 대기 항목 삭제
+     */
+    public void discard(Long userId) {
+        synchronized (storeLock) {
+            emailDigestMapper.deleteByUserId(userId);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev3.nms.service;
+
+/**
+ * 사용자 이메일 알림 설정(마스터/유형×등급/장비별) 또는 이메일 주소 변경 이벤트
+ * @param userId 대상 사용자
+ */
+public record EmailPrefChangedEvent(Long userId) {
+}
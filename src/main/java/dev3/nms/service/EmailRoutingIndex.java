@@ -0,0 +1,272 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.EmailPrefMapper;
+import dev3.nms.mapper.UserMapper;
+import dev3.nms.vo.auth.UserVO;
+import dev3.nms.vo.notification.EmailDevicePrefVO;
+import dev3.nms.vo.notification.EmailPrefVO;
+import dev3.nms.vo.notification.EmailTypePrefVO;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이메일 알림 라우팅 인덱스 - (장비, 유형, 등급) → 수신자(userId, 전달 방식)
+ * - 이메일 수신 사용자별 설정(유형×등급, 장비별 오버라이드), 접근 가능 장비, 이메일 주소를 메모리에 보관
+ * - 알림 판정(resolve)은 해시 조회만 수행 (DB 조회 없음)
+ * - 설정/권한/장비 소속 변경 이벤트 수신 시 해당 사용자만 백그라운드에서 재계산
+ *   (장비 소속 변경은 그룹 제한 사용자만 접근 범위 재계산), 10분마다 전체 재구성
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailRoutingIndex {
+
+    private static final long DEBOUNCE_MS = 500;
+
+    private final EmailPrefMapper emailPrefMapper;
+    private final PermissionService permissionService;
+    private final UserMapper userMapper;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "email-routing");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Snapshot snapshot;
+
+    // 재계산 대기 (this 로 동기화)
+    private final Set<Long> dirtyUsers = new HashSet<>();
+    private boolean dirtyScopedAccess;
+    private boolean refreshScheduled;
+
+    /**
+     * 알림 수신자
+     * @param mode IMMEDIATE, DIGEST
+     */
+    public record Route(Long userId, String email, String mode) {
+    }
+
+    /**
+     * 사용자별 라우팅 정보
+     * @param devices     접근 가능 장비 (null = 전체)
+     * @param typeModes   "유형|등급" → 전달 방식
+     * @param deviceModes 장비 → ("유형|등급" → 전달 방식) 오버라이드
+     */
+    record UserRoute(Long userId, String email, Set<Integer> devices,
+                     Map<String, String> typeModes, Map<Integer, Map<String, String>> deviceModes) {
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    static String key(String alertType, String severity) {
+        return alertType + "|" + severity;
+    }
+
+    /**
+     * 알림 수신자 조회 (OFF 제외)
+     */
+    public List<Route> resolve(int deviceId, String alertType, String severity) {
+        Snapshot s = snapshot;
+        if (s == null) {
+            s = rebuildAll();
+        }
+        return s.resolve(deviceId, key(alertType, severity));
+    }
+
+    // ==================== 무효화 ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        executor.execute(this::rebuildAll);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmailPrefChanged(EmailPrefChangedEvent event) {
+        markDirty(event.userId(), false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessScopeChanged(AccessScopeChangedEvent event) {
+        markDirty(event.userId(), event.userId() == null);
+    }
+
+    /**
+     * 누락된 변경 보정용 전체 재구성
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void periodicRebuild() {
+        executor.execute(this::rebuildAll);
+    }
+
+    private synchronized void markDirty(Long userId, boolean scopedAccess) {
+        if (userId != null) dirtyUsers.add(userId);
+        if (scopedAccess) dirtyScopedAccess = true;
+        if (!refreshScheduled) {
+            refreshScheduled = true;
+            executor.schedule(this::refreshDirty, DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshDirty() {
+        Set<Long> users;
+        boolean scopedAccess;
+        synchronized (this) {
+            users = new HashSet<>(dirtyUsers);
+            scopedAccess = dirtyScopedAccess;
+            dirtyUsers.clear();
+            dirtyScopedAccess = false;
+            refreshScheduled = false;
+        }
+
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuildAll();
+            return;
+        }
+
+        try {
+            Map<Long, UserRoute> routes = new HashMap<>(current.users);
+            if (scopedAccess) {
+                // 장비 소속 변경 → 그룹 제한 사용자만 접근 범위 재계산
+                for (UserRoute r : current.users.values()) {
+                    if (r.devices() != null && !users.contains(r.userId())) {
+                        routes.put(r.userId(), new UserRoute(r.userId(), r.email(), loadDevices(r.userId()),
+                                r.typeModes(), r.deviceModes()));
+                    }
+                }
+            }
+            for (Long userId : users) {
+                EmailPrefVO pref = emailPrefMapper.findByUserId(userId);
+                if (pref == null || !Boolean.TRUE.equals(pref.getEMAIL_ENABLED())) {
+                    routes.remove(userId);
+                } else {
+                    routes.put(userId, loadUser(userId));
+                }
+            }
+            snapshot = Snapshot.of(routes.values());
+            log.debug("[EmailRouting] 부분 재계산 - 사용자 {}명, scopedAccess={}", users.size(), scopedAccess);
+        } catch (Exception e) {
+            log.warn("[EmailRouting] 부분 재계산 실패, 전체 재구성: {}", e.getMessage());
+            rebuildAll();
+        }
+    }
+
+    /**
+     * 전체 재구성 (최초 로드 / 주기 보정)
+     */
+    private synchronized Snapshot rebuildAll() {
+        List<UserRoute> routes = new ArrayList<>();
+        List<EmailPrefVO> enabled = emailPrefMapper.findAllEnabled();
+        if (enabled != null) {
+            for (EmailPrefVO pref : enabled) {
+                try {
+                    routes.add(loadUser(pref.getUSER_ID()));
+                } catch (Exception e) {
+                    log.warn("[EmailRouting] 사용자 라우팅 로드 실패 userId={}: {}", pref.getUSER_ID(), e.getMessage());
+                }
+            }
+        }
+        Snapshot s = Snapshot.of(routes);
+        snapshot = s;
+        log.debug("[EmailRouting] 전체 재구성 - 사용자 {}명", routes.size());
+        return s;
+    }
+
+    private UserRoute loadUser(Long userId) {
+        Map<String, String> typeModes = new HashMap<>();
+        for (EmailTypePrefVO p : emailPrefMapper.findTypePrefs(userId)) {
+            typeModes.put(key(p.getALERT_TYPE(), p.getSEVERITY()), p.getDELIVERY_MODE());
+        }
+        Map<Integer, Map<String, String>> deviceModes = new HashMap<>();
+        for (EmailDevicePrefVO p : emailPrefMapper.findDevicePrefs(userId)) {
+            deviceModes.computeIfAbsent(p.getDEVICE_ID(), k -> new HashMap<>())
+                    .put(key(p.getALERT_TYPE(), p.getSEVERITY()), p.getDELIVERY_MODE());
+        }
+        String email = userMapper.findById(userId)
+                .map(UserVO::getEMAIL)
+                .filter(e -> !e.isBlank())
+                .orElse(null);
+        return new UserRoute(userId, email, loadDevices(userId), typeModes, deviceModes);
+    }
+
+    private Set<Integer> loadDevices(Long userId) {
+        List<Long> ids = permissionService.getAccessibleDeviceIds(userId);
+        if (ids == null) return null;
+        Set<Integer> devices = new HashSet<>(ids.size() * 2);
+        for (Long id : ids) devices.add(id.intValue());
+        return devices;
+    }
+
+    // ==================== 인덱스 ====================
+
+    /**
+     * 불변 인덱스 스냅샷
+     * - typeRoutes: "유형|등급" → (userId → 전달 방식)
+     * - deviceOverrides: 장비 → "유형|등급" → (userId → 전달 방식)
+     */
+    static final class Snapshot {
+        final Map<Long, UserRoute> users;
+        final Map<String, Map<Long, String>> typeRoutes = new HashMap<>();
+        final Map<Integer, Map<String, Map<Long, String>>> deviceOverrides = new HashMap<>();
+
+        private Snapshot(Map<Long, UserRoute> users) {
+            this.users = users;
+        }
+
+        static Snapshot of(Collection<UserRoute> routes) {
+            Map<Long, UserRoute> users = new HashMap<>();
+            for (UserRoute r : routes) users.put(r.userId(), r);
+            Snapshot s = new Snapshot(Collections.unmodifiableMap(users));
+
+            for (UserRoute r : routes) {
+                r.typeModes().forEach((key, mode) ->
+                        s.typeRoutes.computeIfAbsent(key, k -> new HashMap<>()).put(r.userId(), mode));
+                r.deviceModes().forEach((deviceId, modes) -> modes.forEach((key, mode) ->
+                        s.deviceOverrides.computeIfAbsent(deviceId, k -> new HashMap<>())
+                                .computeIfAbsent(key, k -> new HashMap<>())
+                                .put(r.userId(), mode)));
+            }
+            return s;
+        }
+
+        /**
+         * 장비 오버라이드 우선, 없으면 유형×등급 설정 (접근 불가 장비 / OFF 제외)
+         */
+        List<Route> resolve(int deviceId, String key) {
+            Map<Long, String> overrides = Optional.ofNullable(deviceOverrides.get(deviceId))
+                    .map(m -> m.get(key))
+                    .orElse(Map.of());
+            Map<Long, String> defaults = typeRoutes.getOrDefault(key, Map.of());
+
+            List<Route> routes = new ArrayList<>();
+            overrides.forEach((userId, mode) -> add(routes, userId, mode, deviceId));
+            defaults.forEach((userId, mode) -> {
+                if (!overrides.containsKey(userId)) add(routes, userId, mode, deviceId);
+            });
+            return routes;
+        }
+
+        private void add(List<Route> routes, Long userId, String mode, int deviceId) {
+            if (mode == null || "OFF".equals(mode)) return;
+            UserRoute user = users.get(userId);
+            if (user == null) return;
+            if (user.devices() != null && !user.devices().contains(deviceId)) return;
+            routes.add(new Route(userId, user.email(), mode));
+        }
+    }
+}
@@ -25,24 +25,31 @@ public class EmailService {
 
     @Async
     public void sendHtml(String to, String subject, String htmlBody) {
-        if (!emailEnabled) {
-            log.debug("Email disabled - skipping: to={}, subject={}", to, subject);
-            return;
-        }
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setFrom(fromAddress);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true);
-            mailSender.send(message);
-            log.info("Email sent: to={}, subject={}", to, subject);
+            sendHtmlNow(to, subject, htmlBody);
         } catch (MessagingException e) {
             log.error("Email send failed: to={}, subject={}, error={}", to, subject, e.getMessage());
         }
     }
 
+    /**
+     * 동기 HTML 발송 - 실패는 예외로 전달 (발송 확인 후 후속 처리가 필요한 다이제스트용)
+     */
+    public void sendHtmlNow(String to, String subject, String htmlBody) throws MessagingException {
+        if (!emailEnabled) {
+            log.debug("Email disabled - skipping: to={}, subject={}", to, subject);
+            return;
+        }
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromAddress);
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(htmlBody, true);
+        mailSender.send(message);
+        log.info("Email sent: to={}, subject={}", to, subject);
+    }
+
     @Async
     public void sendSimple(String to, String subject, String body) {
         if (!emailEnabled) return;
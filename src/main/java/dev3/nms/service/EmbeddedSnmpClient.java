@@ -0,0 +1,563 @@
+package dev3.nms.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.snmp4j.CommunityTarget;
+import org.snmp4j.MessageDispatcherImpl;
+import org.snmp4j.PDU;
+import org.snmp4j.ScopedPDU;
+import org.snmp4j.Snmp;
+import org.snmp4j.Target;
+import org.snmp4j.TransportMapping;
+import org.snmp4j.UserTarget;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.event.ResponseListener;
+import org.snmp4j.mp.MPv1;
+import org.snmp4j.mp.MPv2c;
+import org.snmp4j.mp.MPv3;
+import org.snmp4j.mp.SnmpConstants;
+import org.snmp4j.security.*;
+import org.snmp4j.smi.*;
+import org.snmp4j.transport.DefaultUdpTransportMapping;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 내장 SNMP 클라이언트 (snmp4j)
+ * - MiddlewareClient 의 getSystemInfo / getPorts / getPortStatus 와 같은 동작을 NMS 서버에서 직접 수행
+ * - UDP 트랜스포트 1개를 공유하고 응답은 ResponseListener 로 비동기 수신 (장비 수만큼 스레드를 잡지 않음)
+ * - 테이블은 컬럼 단위 GETBULK 워크 (v1 은 GETNEXT), 응답 tooBig 이면 반복 수를 절반으로 줄여 재시도
+ * - v1 / v2c (community), v3 (USM) 지원 - v3 는 장비별 engineID 를 발견해 사용자 키를 로컬라이즈
+ * - 트랜스포트는 처음 사용할 때 연다 (미들웨어만 쓰는 환경에서는 소켓을 열지 않음)
+ */
+@Slf4j
+@Component
+public class EmbeddedSnmpClient {
+
+    static final OID SYS_DESCR = new OID("1.3.6.1.2.1.1.1.0");
+    static final OID SYS_OBJECT_ID = new OID("1.3.6.1.2.1.1.2.0");
+    static final OID SYS_NAME = new OID("1.3.6.1.2.1.1.5.0");
+
+    static final OID IF_DESCR = new OID("1.3.6.1.2.1.2.2.1.2");
+    static final OID IF_TYPE = new OID("1.3.6.1.2.1.2.2.1.3");
+    static final OID IF_MTU = new OID("1.3.6.1.2.1.2.2.1.4");
+    static final OID IF_SPEED = new OID("1.3.6.1.2.1.2.2.1.5");
+    static final OID IF_PHYS_ADDRESS = new OID("1.3.6.1.2.1.2.2.1.6");
+    static final OID IF_ADMIN_STATUS = new OID("1.3.6.1.2.1.2.2.1.7");
+    static final OID IF_OPER_STATUS = new OID("1.3.6.1.2.1.2.2.1.8");
+    static final OID IF_HIGH_SPEED = new OID("1.3.6.1.2.1.31.1.1.1.15");
+    static final OID IF_ALIAS = new OID("1.3.6.1.2.1.31.1.1.1.18");
+    static final OID IP_AD_ENT_IF_INDEX = new OID("1.3.6.1.2.1.4.20.1.2");
+    static final OID IP_AD_ENT_NET_MASK = new OID("1.3.6.1.2.1.4.20.1.3");
+
+    /** 포트 조회 시 워크하는 컬럼 (ifTable → ifXTable → ipAddrTable) */
+    static final List<OID> PORT_COLUMNS = List.of(
+            IF_DESCR, IF_TYPE, IF_MTU, IF_SPEED, IF_PHYS_ADDRESS, IF_ADMIN_STATUS, IF_OPER_STATUS,
+            IF_HIGH_SPEED, IF_ALIAS, IP_AD_ENT_IF_INDEX, IP_AD_ENT_NET_MASK);
+
+    private static final String[] IF_STATUS_TEXT =
+            {"", "up", "down", "testing", "unknown", "dormant", "notPresent", "lowerLayerDown"};
+
+    private final long timeoutMs;
+    private final int retries;
+    private final int maxRepetitions;
+
+    /** 장비 주소 → engineID (REPORT / 타임아웃 시 제거해 다음 요청에서 재발견) */
+    final Map<String, byte[]> engineIds = new ConcurrentHashMap<>();
+    private volatile Snmp snmp;
+    private volatile USM usm;
+
+    public EmbeddedSnmpClient(@Value("${snmp.embedded.timeout-ms:3000}") long timeoutMs,
+                              @Value("${snmp.embedded.retries:1}") int retries,
+                              @Value("${snmp.embedded.max-repetitions:10}") int maxRepetitions) {
+        this.timeoutMs = Math.max(100, timeoutMs);
+        this.retries = Math.max(0, retries);
+        this.maxRepetitions = Math.max(1, maxRepetitions);
+    }
+
+    // ========== Operations ==========
+
+    /**
+     * 시스템 정보 조회 (sysDescr / sysObjectID / sysName)
+     */
+    public MiddlewareClient.SystemInfoResponse getSystemInfo(MiddlewareClient.SnmpRequest request) {
+        return await(getSystemInfoAsync(request), message -> {
+            MiddlewareClient.SystemInfoResponse fail = new MiddlewareClient.SystemInfoResponse();
+            fail.setMessage(message);
+            return fail;
+        });
+    }
+
+    public CompletableFuture<MiddlewareClient.SystemInfoResponse> getSystemInfoAsync(MiddlewareClient.SnmpRequest request) {
+        return get(request, SYS_DESCR, SYS_OBJECT_ID, SYS_NAME).thenApply(vbs -> {
+            MiddlewareClient.SystemInfoResponse r = new MiddlewareClient.SystemInfoResponse();
+            r.setSuccess(true);
+            r.setSysDescr(vbs.get(0).getVariable().toString());
+            r.setSysObjectId(vbs.get(1).getVariable().toString());
+            r.setSysName(vbs.get(2).getVariable().toString());
+            return r;
+        });
+    }
+
+    /**
+     * 포트 목록 조회 (ifTable + ifXTable + ipAddrTable 컬럼 워크)
+     */
+    public MiddlewareClient.PortsResponse getPorts(MiddlewareClient.SnmpRequest request) {
+        return await(getPortsAsync(request), message -> {
+            MiddlewareClient.PortsResponse fail = new MiddlewareClient.PortsResponse();
+            fail.setMessage(message);
+            return fail;
+        });
+    }
+
+    public CompletableFuture<MiddlewareClient.PortsResponse> getPortsAsync(MiddlewareClient.SnmpRequest request) {
+        return walk(request, PORT_COLUMNS).thenApply(columns -> {
+            MiddlewareClient.PortsResponse r = new MiddlewareClient.PortsResponse();
+            r.setSuccess(true);
+            r.setPorts(toPorts(columns));
+            return r;
+        });
+    }
+
+    /**
+     * 특정 포트 AdminStatus / OperStatus 조회
+     */
+    public MiddlewareClient.PortStatusResponse getPortStatus(MiddlewareClient.SnmpRequest request, int ifIndex) {
+        return await(getPortStatusAsync(request, ifIndex), message -> {
+            MiddlewareClient.PortStatusResponse fail = new MiddlewareClient.PortStatusResponse();
+            fail.setIfIndex(ifIndex);
+            fail.setMessage(message);
+            return fail;
+        });
+    }
+
+    public CompletableFuture<MiddlewareClient.PortStatusResponse> getPortStatusAsync(MiddlewareClient.SnmpRequest request, int ifIndex) {
+        return get(request, new OID(IF_ADMIN_STATUS).append(ifIndex), new OID(IF_OPER_STATUS).append(ifIndex)).thenApply(vbs -> {
+            MiddlewareClient.PortStatusResponse r = new MiddlewareClient.PortStatusResponse();
+            r.setSuccess(true);
+            r.setIfIndex(ifIndex);
+            r.setAdminStatus(vbs.get(0).getVariable().toInt());
+            r.setOperStatus(vbs.get(1).getVariable().toInt());
+            r.setAdminStatusText(statusText(r.getAdminStatus()));
+            r.setOperStatusText(statusText(r.getOperStatus()));
+            return r;
+        });
+    }
+
+    // ========== Mapping ==========
+
+    /**
+     * 컬럼별 워크 결과 → PortInfo (ifTable 에 있는 ifIndex 만, ifIndex 순)
+     */
+    static List<MiddlewareClient.PortInfo> toPorts(Map<OID, List<VariableBinding>> columns) {
+        Map<Integer, MiddlewareClient.PortInfo> rows = new TreeMap<>();
+        for (VariableBinding vb : columns.getOrDefault(IF_DESCR, List.of())) {
+            MiddlewareClient.PortInfo p = new MiddlewareClient.PortInfo();
+            p.setIfIndex(vb.getOid().last());
+            p.setIfDescr(vb.getVariable().toString());
+            rows.put(p.getIfIndex(), p);
+        }
+        for (OID column : List.of(IF_TYPE, IF_MTU, IF_SPEED, IF_PHYS_ADDRESS, IF_ADMIN_STATUS, IF_OPER_STATUS, IF_HIGH_SPEED, IF_ALIAS)) {
+            for (VariableBinding vb : columns.getOrDefault(column, List.of())) {
+                MiddlewareClient.PortInfo p = rows.get(vb.getOid().last());
+                if (p == null) continue;
+                Variable v = vb.getVariable();
+                if (column.equals(IF_TYPE)) p.setIfType(v.toInt());
+                else if (column.equals(IF_MTU)) p.setIfMtu(v.toInt());
+                else if (column.equals(IF_SPEED)) p.setIfSpeed(v.toLong());
+                else if (column.equals(IF_PHYS_ADDRESS)) p.setIfMacAddress(v instanceof OctetString os ? os.toHexString() : v.toString());
+                else if (column.equals(IF_ADMIN_STATUS)) p.setIfAdminStatus(v.toInt());
+                else if (column.equals(IF_OPER_STATUS)) p.setIfOperStatus(v.toInt());
+                else if (column.equals(IF_HIGH_SPEED)) p.setIfHighSpeed(v.toInt());
+                else p.setIfAlias(v.toString());
+            }
+        }
+        // ipAddrTable 인덱스 = IP 주소, 인터페이스에 IP 가 여러 개면 첫 번째만
+        Map<OID, String> maskValues = new HashMap<>();
+        for (VariableBinding vb : columns.getOrDefault(IP_AD_ENT_NET_MASK, List.of())) {
+            maskValues.put(vb.getOid().getSuffix(IP_AD_ENT_NET_MASK), vb.getVariable().toString());
+        }
+        for (VariableBinding vb : columns.getOrDefault(IP_AD_ENT_IF_INDEX, List.of())) {
+            MiddlewareClient.PortInfo p = rows.get(vb.getVariable().toInt());
+            if (p == null || p.getIfIpAddress() != null) continue;
+            OID ip = vb.getOid().getSuffix(IP_AD_ENT_IF_INDEX);
+            p.setIfIpAddress(ip.toDottedString());
+            p.setIfIpNetmask(maskValues.get(ip));
+        }
+        return new ArrayList<>(rows.values());
+    }
+
+    static String statusText(int status) {
+        return status > 0 && status < IF_STATUS_TEXT.length ? IF_STATUS_TEXT[status] : "unknown";
+    }
+
+    // ========== Requests ==========
+
+    /**
+     * 스칼라 GET - 예외값(noSuchObject 등)이 하나라도 있으면 실패
+     */
+    CompletableFuture<List<VariableBinding>> get(MiddlewareClient.SnmpRequest request, OID... oids) {
+        Target<UdpAddress> target;
+        try {
+            target = target(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        PDU pdu = newPdu(target);
+        pdu.setType(PDU.GET);
+        for (OID oid : oids) {
+            pdu.add(new VariableBinding(oid));
+        }
+        return send(target, pdu).thenApply(response -> {
+            if (response.getErrorStatus() != PDU.noError) {
+                throw new SnmpFailure(response.getErrorStatusText());
+            }
+            List<? extends VariableBinding> vbs = response.getVariableBindings();
+            if (vbs.size() < oids.length) {
+                throw new SnmpFailure("response too short");
+            }
+            for (VariableBinding vb : vbs) {
+                if (vb.isException()) {
+                    throw new SnmpFailure(exceptionText(vb) + ": " + vb.getOid());
+                }
+            }
+            return new ArrayList<>(vbs);
+        });
+    }
+
+    /**
+     * 여러 컬럼을 한 요청에 묶어 끝까지 워크 (컬럼마다 독립적으로 종료)
+     * @return 컬럼 OID → 해당 컬럼 VariableBinding (OID 순)
+     */
+    CompletableFuture<Map<OID, List<VariableBinding>>> walk(MiddlewareClient.SnmpRequest request, List<OID> columns) {
+        Target<UdpAddress> target;
+        try {
+            target = target(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        ColumnWalk w = new ColumnWalk(columns, maxRepetitions);
+        return walkStep(target, w).thenApply(v -> w.result());
+    }
+
+    private CompletableFuture<Void> walkStep(Target<UdpAddress> target, ColumnWalk w) {
+        List<Integer> active = w.active();
+        if (active.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        boolean bulk = target.getVersion() != SnmpConstants.version1;
+        PDU pdu = newPdu(target);
+        if (bulk) {
+            pdu.setType(PDU.GETBULK);
+            pdu.setNonRepeaters(0);
+            pdu.setMaxRepetitions(w.repetitions);
+        } else {
+            pdu.setType(PDU.GETNEXT);
+        }
+        for (int col : active) {
+            pdu.add(new VariableBinding(w.cursor[col]));
+        }
+        return send(target, pdu).thenCompose(response -> {
+            int status = response.getErrorStatus();
+            if (status == PDU.tooBig && w.repetitions > 1) {
+                w.repetitions = Math.max(1, w.repetitions / 2);
+            } else if (status == PDU.noSuchName && !bulk) {
+                // v1 GETNEXT 테이블 끝
+                int idx = response.getErrorIndex() - 1;
+                if (idx >= 0 && idx < active.size()) w.done[active.get(idx)] = true;
+                else active.forEach(col -> w.done[col] = true);
+            } else if (status != PDU.noError) {
+                throw new SnmpFailure(response.getErrorStatusText());
+            } else if (!w.accept(active, response.getVariableBindings())) {
+                // 어떤 컬럼도 전진하지 못함 → 무한 반복 방지
+                active.forEach(col -> w.done[col] = true);
+            }
+            return walkStep(target, w);
+        });
+    }
+
+    /**
+     * 컬럼 워크 상태 - GETBULK 응답은 행 우선 (반복1: 컬럼1..n, 반복2: 컬럼1..n ...)
+     */
+    static final class ColumnWalk {
+        final List<OID> columns;
+        final OID[] cursor;
+        final boolean[] done;
+        final List<List<VariableBinding>> rows;
+        int repetitions;
+
+        ColumnWalk(List<OID> columns, int repetitions) {
+            this.columns = columns;
+            this.cursor = columns.toArray(new OID[0]);
+            this.done = new boolean[columns.size()];
+            this.rows = new ArrayList<>();
+            for (int i = 0; i < columns.size(); i++) rows.add(new ArrayList<>());
+            this.repetitions = repetitions;
+        }
+
+        List<Integer> active() {
+            List<Integer> active = new ArrayList<>();
+            for (int i = 0; i < done.length; i++) {
+                if (!done[i]) active.add(i);
+            }
+            return active;
+        }
+
+        /**
+         * @return 한 컬럼이라도 전진/종료했는지
+         */
+        boolean accept(List<Integer> active, List<? extends VariableBinding> vbs) {
+            boolean progressed = false;
+            for (int k = 0; k < vbs.size(); k++) {
+                int col = active.get(k % active.size());
+                if (done[col]) continue;
+                VariableBinding vb = vbs.get(k);
+                OID oid = vb.getOid();
+                if (vb.isException() || !oid.startsWith(columns.get(col)) || oid.compareTo(cursor[col]) <= 0) {
+                    done[col] = true;
+                } else {
+                    rows.get(col).add(vb);
+                    cursor[col] = oid;
+                }
+                progressed = true;
+            }
+            return progressed;
+        }
+
+        Map<OID, List<VariableBinding>> result() {
+            Map<OID, List<VariableBinding>> result = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) result.put(columns.get(i), rows.get(i));
+            return result;
+        }
+    }
+
+    private CompletableFuture<PDU> send(Target<UdpAddress> target, PDU pdu) {
+        CompletableFuture<PDU> future = new CompletableFuture<>();
+        try {
+            snmp().send(pdu, target, null, new ResponseListener() {
+                @Override
+                public <A extends Address> void onResponse(ResponseEvent<A> event) {
+                    // 재전송 대기 해제 (snmp4j 권장)
+                    ((Snmp) event.getSource()).cancel(event.getRequest(), this);
+                    PDU response = event.getResponse();
+                    if (event.getError() != null) {
+                        future.completeExceptionally(new SnmpFailure(String.valueOf(event.getError().getMessage())));
+                    } else if (response == null) {
+                        forgetEngineId(target);
+                        future.completeExceptionally(new SnmpFailure("Request timeout"));
+                    } else if (response.getType() == PDU.REPORT) {
+                        forgetEngineId(target);
+                        future.completeExceptionally(new SnmpFailure(reportMessage(response)));
+                    } else {
+                        future.complete(response);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            future.completeExceptionally(new SnmpFailure(e.getMessage()));
+        }
+        return future;
+    }
+
+    /**
+     * 장비 재부팅 / 교체로 engineID 가 바뀌면 캐시된 값으로는 계속 실패하므로 v3 대상의 캐시 제거
+     */
+    private void forgetEngineId(Target<UdpAddress> target) {
+        if (target.getVersion() == SnmpConstants.version3) {
+            engineIds.remove(target.getAddress().toString());
+        }
+    }
+
+    private static String exceptionText(VariableBinding vb) {
+        return switch (vb.getSyntax()) {
+            case SMIConstants.EXCEPTION_NO_SUCH_OBJECT -> "no such object";
+            case SMIConstants.EXCEPTION_NO_SUCH_INSTANCE -> "no such instance";
+            case SMIConstants.EXCEPTION_END_OF_MIB_VIEW -> "end of mib view";
+            default -> String.valueOf(vb.getVariable());
+        };
+    }
+
+    private static String reportMessage(PDU report) {
+        if (report.size() == 0) return "report";
+        OID oid = report.get(0).getOid();
+        if (oid.startsWith(SnmpConstants.usmStatsUnknownUserNames)) return "usmStatsUnknownUserNames";
+        if (oid.startsWith(SnmpConstants.usmStatsWrongDigests)) return "usmStatsWrongDigests";
+        if (oid.startsWith(SnmpConstants.usmStatsDecryptionErrors)) return "usmStatsDecryptionErrors";
+        return "report " + oid;
+    }
+
+    // ========== Targets ==========
+
+    private static PDU newPdu(Target<UdpAddress> target) {
+        return target.getVersion() == SnmpConstants.version3 ? new ScopedPDU() : new PDU();
+    }
+
+    Target<UdpAddress> target(MiddlewareClient.SnmpRequest request) {
+        UdpAddress address;
+        try {
+            address = new UdpAddress(InetAddress.getByName(request.getIpAddress()),
+                    request.getSnmpPort() > 0 ? request.getSnmpPort() : 161);
+        } catch (UnknownHostException e) {
+            throw new SnmpFailure("no route to host: " + request.getIpAddress());
+        }
+        if (request.getSnmpVersion() == 3) {
+            return userTarget(request, address);
+        }
+        CommunityTarget<UdpAddress> target = new CommunityTarget<>(address,
+                new OctetString(request.getCommunity() != null ? request.getCommunity() : "public"));
+        target.setVersion(request.getSnmpVersion() == 1 ? SnmpConstants.version1 : SnmpConstants.version2c);
+        target.setTimeout(timeoutMs);
+        target.setRetries(retries);
+        return target;
+    }
+
+    /**
+     * v3 대상 - engineID 를 먼저 발견하고 (장비별 캐시) 해당 engineID 로 로컬라이즈한 사용자 등록
+     * 같은 사용자명이 장비마다 다른 비밀번호를 써도 섞이지 않음
+     */
+    private UserTarget<UdpAddress> userTarget(MiddlewareClient.SnmpRequest request, UdpAddress address) {
+        if (request.getUser() == null || request.getUser().isBlank()) {
+            throw new SnmpFailure("unknown user name");
+        }
+        OID authProtocol = authProtocol(request.getAuthProtocol());
+        OID privProtocol = privProtocol(request.getPrivProtocol());
+        boolean auth = authProtocol != null && request.getAuthPassword() != null && !request.getAuthPassword().isEmpty();
+        boolean priv = auth && privProtocol != null && request.getPrivPassword() != null && !request.getPrivPassword().isEmpty();
+
+        snmp();
+        byte[] engineId = engineIds.get(address.toString());
+        if (engineId == null) {
+            engineId = snmp.discoverAuthoritativeEngineID(address, timeoutMs);
+            if (engineId == null) {
+                throw new SnmpFailure("Request timeout (engineID discovery)");
+            }
+            engineIds.put(address.toString(), engineId);
+        }
+
+        OctetString securityName = new OctetString(request.getUser());
+        usm.addUser(securityName, new OctetString(engineId), new UsmUser(securityName,
+                auth ? authProtocol : null, auth ? new OctetString(request.getAuthPassword()) : null,
+                priv ? privProtocol : null, priv ? new OctetString(request.getPrivPassword()) : null));
+
+        UserTarget<UdpAddress> target = new UserTarget<>();
+        target.setAddress(address);
+        target.setVersion(SnmpConstants.version3);
+        target.setSecurityName(securityName);
+        target.setSecurityLevel(priv ? SecurityLevel.AUTH_PRIV : auth ? SecurityLevel.AUTH_NOPRIV : SecurityLevel.NOAUTH_NOPRIV);
+        target.setAuthoritativeEngineID(engineId);
+        target.setTimeout(timeoutMs);
+        target.setRetries(retries);
+        return target;
+    }
+
+    /**
+     * 인증 프로토콜명 → snmp4j OID (MD5, SHA, SHA224, SHA256, SHA384, SHA512 / 하이픈 허용)
+     */
+    static OID authProtocol(String name) {
+        if (name == null) return null;
+        return switch (name.replaceAll("[^A-Za-z0-9]", "").toUpperCase()) {
+            case "MD5" -> AuthMD5.ID;
+            case "SHA", "SHA1" -> AuthSHA.ID;
+            case "SHA224" -> AuthHMAC128SHA224.ID;
+            case "SHA256" -> AuthHMAC192SHA256.ID;
+            case "SHA384" -> AuthHMAC256SHA384.ID;
+            case "SHA512" -> AuthHMAC384SHA512.ID;
+            default -> null;
+        };
+    }
+
+    /**
+     * 암호화 프로토콜명 → snmp4j OID (DES, 3DES, AES/AES128, AES192, AES256)
+     */
+    static OID privProtocol(String name) {
+        if (name == null) return null;
+        return switch (name.replaceAll("[^A-Za-z0-9]", "").toUpperCase()) {
+            case "DES" -> PrivDES.ID;
+            case "3DES", "DES3" -> Priv3DES.ID;
+            case "AES", "AES128" -> PrivAES128.ID;
+            case "AES192" -> PrivAES192.ID;
+            case "AES256" -> PrivAES256.ID;
+            default -> null;
+        };
+    }
+
+    // ========== Lifecycle ==========
+
+    private Snmp snmp() {
+        Snmp s = snmp;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snmp == null) {
+                try {
+                    SecurityProtocols protocols = SecurityProtocols.getInstance();
+                    protocols.addDefaultProtocols();
+                    protocols.addAuthenticationProtocol(new AuthHMAC128SHA224());
+                    protocols.addAuthenticationProtocol(new AuthHMAC192SHA256());
+                    protocols.addAuthenticationProtocol(new AuthHMAC256SHA384());
+                    protocols.addAuthenticationProtocol(new AuthHMAC384SHA512());
+                    protocols.addPrivacyProtocol(new Priv3DES());
+
+                    USM localUsm = new USM(protocols, new OctetString(MPv3.createLocalEngineID()), 0);
+                    MessageDispatcherImpl dispatcher = new MessageDispatcherImpl();
+                    dispatcher.addMessageProcessingModel(new MPv1());
+                    dispatcher.addMessageProcessingModel(new MPv2c());
+                    dispatcher.addMessageProcessingModel(new MPv3(localUsm));
+
+                    TransportMapping<UdpAddress> transport = new DefaultUdpTransportMapping();
+                    Snmp created = new Snmp(dispatcher, transport);
+                    created.listen();
+                    usm = localUsm;
+                    snmp = created;
+                    log.info("내장 SNMP 클라이언트 시작 - timeout: {}ms, retries: {}, maxRepetitions: {}",
+                            timeoutMs, retries, maxRepetitions);
+                } catch (IOException e) {
+                    throw new SnmpFailure("SNMP 트랜스포트 열기 실패: " + e.getMessage());
+                }
+            }
+            return snmp;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        Snmp s = snmp;
+        if (s == null) return;
+        try {
+            s.close();
+        } catch (IOException e) {
+            log.warn("내장 SNMP 클라이언트 종료 실패: {}", e.getMessage());
+        }
+    }
+
+    // ========== Helpers ==========
+
+    /**
+     * 비동기 결과 대기 - 실패는 예외 대신 success=false 응답으로 (MiddlewareClient 응답 규약과 동일)
+     */
+    private static <T> T await(CompletableFuture<T> future, Function<String, T> failure) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return failure.apply(cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * SNMP 수준 실패 (타임아웃, 인증 오류, 오류 응답 등) - 메시지는 MiddlewareClient 의 사용자 메시지 변환 키워드를 따름
+     */
+    static class SnmpFailure extends RuntimeException {
+        SnmpFailure(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package dev3.nms.service;
 
 import dev3.nms.mapper.ErrorMapper;
+import dev3.nms.vo.auth.AccessScopeFilterVO;
 import dev3.nms.vo.common.PageVO;
 import dev3.nms.vo.fault.ErrorHistoryVO;
 import dev3.nms.vo.fault.ErrorVO;
@@ -19,6 +20,8 @@ import java.util.Map;
 public class ErrorService {
 
     private final ErrorMapper errorMapper;
+    private final DeviceScopeRegistry deviceScopeRegistry;
+    private final DevCodeTreeIndex devCodeTreeIndex;
 
     /**
      * 실시간 장애 목록 조회
@@ -27,7 +30,8 @@ public class ErrorService {
                                     String deviceName, String deviceIp,
                                     String errorMessage, String groupName,
                                     List<Long> accessibleDeviceIds) {
-        return errorMapper.selectErrors(errorLevel, deviceId, devCodeId, deviceName, deviceIp, errorMessage, groupName, accessibleDeviceIds);
+        return errorMapper.selectErrors(errorLevel, deviceId, devCodeIds(devCodeId), deviceName, deviceIp, errorMessage, groupName,
+                deviceScopeRegistry.resolve(accessibleDeviceIds));
     }
 
     /**
@@ -37,7 +41,15 @@ public class ErrorService {
                            String deviceName, String deviceIp,
                            String errorMessage, String groupName,
                            List<Long> accessibleDeviceIds) {
-        return errorMapper.countErrors(errorLevel, deviceId, devCodeId, deviceName, deviceIp, errorMessage, groupName, accessibleDeviceIds);
+        return errorMapper.countErrors(errorLevel, deviceId, devCodeIds(devCodeId), deviceName, deviceIp, errorMessage, groupName,
+                deviceScopeRegistry.resolve(accessibleDeviceIds));
+    }
+
+    /**
+     * 장비군 필터 → 하위 코드 포함 ID 목록 (DevCodeTreeIndex, null = 조건 없음)
+     */
+    private List<Long> devCodeIds(Long devCodeId) {
+        return devCodeId != null ? devCodeTreeIndex.descendantIds(devCodeId) : null;
     }
 
     /**
@@ -79,13 +91,15 @@ public class ErrorService {
                                                    List<Long> accessibleDeviceIds, List<String> errorLevels) {
         int offset = (page - 1) * size;
         String effectiveLevel = (errorLevels != null && !errorLevels.isEmpty()) ? null : errorLevel;
+        AccessScopeFilterVO deviceScope = deviceScopeRegistry.resolve(accessibleDeviceIds);
+        List<Long> devCodeIds = devCodeIds(devCodeId);
         List<ErrorHistoryVO> list = errorMapper.selectErrorHistory(
-                effectiveLevel, deviceId, devCodeId, startDate, endDate,
+                effectiveLevel, deviceId, devCodeIds, startDate, endDate,
                 deviceName, deviceIp, errorMessage, groupName,
-                sortKey, sortDirection, offset, size, accessibleDeviceIds, errorLevels);
+                sortKey, sortDirection, offset, size, deviceScope, errorLevels);
         int total = errorMapper.countErrorHistory(
-                effectiveLevel, deviceId, devCodeId, startDate, endDate,
-                deviceName, deviceIp, errorMessage, groupName, accessibleDeviceIds, errorLevels);
+                effectiveLevel, deviceId, devCodeIds, startDate, endDate,
+                deviceName, deviceIp, errorMessage, groupName, deviceScope, errorLevels);
 
         return PageVO.of(list, page, size, total);
     }
@@ -1,6 +1,9 @@
 package dev3.nms.service;
 
 import dev3.nms.mapper.IcmpMapper;
+import dev3.nms.util.ColumnarSeriesBuilder;
+import dev3.nms.util.SeriesDownsampler;
+import dev3.nms.vo.common.ColumnarChartVO;
 import dev3.nms.vo.mgmt.IcmpVO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -9,31 +12,50 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class IcmpService {
 
     private final IcmpMapper icmpMapper;
+    private final MetricRollupService metricRollupService;
+
+    private static final Comparator<IcmpVO> ORDER =
+            Comparator.comparing(IcmpVO::getDEVICE_ID).thenComparing(IcmpVO::getCOLLECT_TIME);
 
     private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     /**
      * ICMP 시계열 조회. granularity:
-     *   "raw" → raw 데이터, 그 외("5min","30min","1hour","auto") → 집계
+     *   "raw" → raw 데이터, 그 외("5min","30min","1hour","1day","auto") → 집계
      *   "auto" 또는 null이면 기간 길이로 자동 결정
+     *   집계는 rollup 테이블이 커버하는 구간이면 rollup 에서 조회
+     * @param downsample raw 조회 시 다운샘플 (null 이면 전체)
      */
-    public List<IcmpVO> getHistory(Integer deviceId, Integer minutes, String startDate, String endDate, String granularity) {
+    public List<IcmpVO> getHistory(Integer deviceId, Integer minutes, String startDate, String endDate, String granularity,
+                                   SeriesDownsampler.Spec downsample) {
         TimeRange range = resolveRange(minutes, startDate, endDate);
         Integer intervalSec = resolveIntervalSec(granularity, range.start, range.end);
         if (intervalSec == null || intervalSec <= 0) {
-            return icmpMapper.findHistoryRaw(deviceId, range.startStr, range.endStr);
+            List<IcmpVO> rows = icmpMapper.findHistoryRaw(deviceId, range.startStr, range.endStr);
+            if (downsample == null) return rows;
+            List<IcmpVO> sampled = new ArrayList<>();
+            SeriesDownsampler<IcmpVO> downsampler = downsampler(downsample, range, sampled::add);
+            rows.forEach(downsampler);
+            downsampler.finish();
+            return sampled;
         }
-        return icmpMapper.findHistoryAggregated(deviceId, range.startStr, range.endStr, intervalSec);
+        return metricRollupService.route(MetricRollupService.Source.ICMP, intervalSec, range,
+                (from, to) -> icmpMapper.findHistoryRollupBatch(List.of(deviceId), from, to, intervalSec),
+                (from, to) -> icmpMapper.findHistoryAggregated(deviceId, from, to, intervalSec),
+                ORDER);
     }
 
     /**
@@ -41,7 +63,8 @@ public class IcmpService {
      * 응답: {deviceId(String) → List<IcmpVO>}
      */
     public Map<String, List<IcmpVO>> getHistoryBatch(List<Integer> deviceIds, Integer minutes,
-                                                      String startDate, String endDate, String granularity) {
+                                                      String startDate, String endDate, String granularity,
+                                                      SeriesDownsampler.Spec downsample) {
         Map<String, List<IcmpVO>> result = new LinkedHashMap<>();
         if (deviceIds == null || deviceIds.isEmpty()) return result;
         // 빈 배열로 초기화 (장애 등으로 데이터 없는 장비도 응답에 포함)
@@ -49,21 +72,73 @@ public class IcmpService {
             result.put(String.valueOf(id), new ArrayList<>());
         }
 
+        streamHistoryBatch(deviceIds, minutes, startDate, endDate, granularity, downsample,
+                vo -> result.computeIfAbsent(String.valueOf(vo.getDEVICE_ID()), k -> new ArrayList<>()).add(vo));
+        return result;
+    }
+
+    /**
+     * 다중 장비의 ICMP 시계열을 DEVICE_ID, 시각 순서로 sink 에 전달 (스트리밍 응답용)
+     * - raw: mapper ResultHandler 로 fetch 단위 전달 → 결과 크기와 무관한 메모리 사용
+     * - 집계: 행 수가 버킷 수로 제한되므로 조회 후 순서대로 전달
+     * @param downsample raw 조회 시 장비별 다운샘플 (null 이면 전체)
+     */
+    public void streamHistoryBatch(List<Integer> deviceIds, Integer minutes, String startDate, String endDate,
+                                   String granularity, SeriesDownsampler.Spec downsample, Consumer<IcmpVO> sink) {
+        if (deviceIds == null || deviceIds.isEmpty()) return;
         TimeRange range = resolveRange(minutes, startDate, endDate);
         Integer intervalSec = resolveIntervalSec(granularity, range.start, range.end);
 
-        List<IcmpVO> rows;
         if (intervalSec == null || intervalSec <= 0) {
-            rows = icmpMapper.findHistoryRawBatch(deviceIds, range.startStr, range.endStr);
-        } else {
-            rows = icmpMapper.findHistoryAggregatedBatch(deviceIds, range.startStr, range.endStr, intervalSec);
+            SeriesDownsampler<IcmpVO> downsampler = downsampler(downsample, range, sink);
+            Consumer<IcmpVO> target = downsampler != null ? downsampler : sink;
+            icmpMapper.streamHistoryRawBatch(deviceIds, range.startStr, range.endStr, ctx -> target.accept(ctx.getResultObject()));
+            if (downsampler != null) downsampler.finish();
+            return;
         }
+        metricRollupService.route(MetricRollupService.Source.ICMP, intervalSec, range,
+                (from, to) -> icmpMapper.findHistoryRollupBatch(deviceIds, from, to, intervalSec),
+                (from, to) -> icmpMapper.findHistoryAggregatedBatch(deviceIds, from, to, intervalSec),
+                ORDER).forEach(sink);
+    }
 
-        for (IcmpVO vo : rows) {
-            String key = String.valueOf(vo.getDEVICE_ID());
-            result.computeIfAbsent(key, k -> new ArrayList<>()).add(vo);
-        }
-        return result;
+    /**
+     * 컬럼 형식 응답 필드 (format=columnar)
+     */
+    static final Map<String, Function<IcmpVO, ? extends Number>> COLUMNAR_FIELDS = new LinkedHashMap<>();
+    static {
+        COLUMNAR_FIELDS.put("RESPONSE_TIME", IcmpVO::getRESPONSE_TIME);
+        COLUMNAR_FIELDS.put("RESPONSE_MIN_TIME", IcmpVO::getRESPONSE_MIN_TIME);
+        COLUMNAR_FIELDS.put("RESPONSE_MAX_TIME", IcmpVO::getRESPONSE_MAX_TIME);
+        COLUMNAR_FIELDS.put("PACKET_LOSS", IcmpVO::getPACKET_LOSS);
+    }
+
+    /**
+     * 다중 장비의 ICMP 시계열 조회 - 컬럼 형식 (장비별 시리즈)
+     * @param fields 응답 필드 (미지정 시 COLUMNAR_FIELDS 전체)
+     * @param delta 시간축 delta 인코딩 여부
+     */
+    public ColumnarChartVO getHistoryBatchColumnar(List<Integer> deviceIds, Integer minutes, String startDate,
+                                                   String endDate, String granularity, SeriesDownsampler.Spec downsample,
+                                                   List<String> fields, boolean delta) {
+        ColumnarSeriesBuilder<IcmpVO> builder = new ColumnarSeriesBuilder<>(
+                vo -> String.valueOf(vo.getDEVICE_ID()),
+                vo -> Map.of("deviceId", vo.getDEVICE_ID()),
+                IcmpVO::getCOLLECT_TIME,
+                ColumnarSeriesBuilder.selectFields(COLUMNAR_FIELDS, fields));
+        streamHistoryBatch(deviceIds, minutes, startDate, endDate, granularity, downsample, builder);
+        return builder.build(delta);
+    }
+
+    /**
+     * 다운샘플 시 스파이크를 보존할 필드
+     */
+    private static final List<Function<IcmpVO, ? extends Number>> DOWNSAMPLE_FIELDS =
+            List.of(IcmpVO::getRESPONSE_TIME, IcmpVO::getPACKET_LOSS);
+
+    private static SeriesDownsampler<IcmpVO> downsampler(SeriesDownsampler.Spec spec, TimeRange range, Consumer<IcmpVO> sink) {
+        return SeriesDownsampler.of(spec, range.start, range.end,
+                vo -> String.valueOf(vo.getDEVICE_ID()), IcmpVO::getCOLLECT_TIME, DOWNSAMPLE_FIELDS, sink);
     }
 
     private static TimeRange resolveRange(Integer minutes, String startDate, String endDate) {
@@ -92,7 +167,7 @@ public class IcmpService {
 
     /**
      * granularity → intervalSec 변환
-     * raw:0(null로 raw 반환), 5min:300, 30min:1800, 1hour:3600
+     * raw:0(null로 raw 반환), 5min:300, 30min:1800, 1hour:3600, 1day:86400
      * auto: 기간으로 결정
      */
     public static Integer resolveIntervalSec(String granularity, LocalDateTime start, LocalDateTime end) {
@@ -102,6 +177,7 @@ public class IcmpService {
             case "5min":  return 300;
             case "30min": return 1800;
             case "1hour": return 3600;
+            case "1day":  return 86400;
             case "auto":
             default:
                 long hours = Math.max(1, Duration.between(start, end).toHours());
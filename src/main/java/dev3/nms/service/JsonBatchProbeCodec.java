@@ -0,0 +1,56 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 기본 벌크 probe 형식 (POST /api/probe/batch)
+ *
+ * 요청: {"checks":["ping","snmp"],"devices":[{"deviceId":1,"ipAddress":"..","snmpVersion":2,...}]}
+ * 응답: {"success":true,"results":[{"deviceId":1,"ping":true,"snmp":true}]}
+ *  - results 항목에 reachable 이 있으면 그 값을 우선 사용
+ */
+@Component
+public class JsonBatchProbeCodec implements BatchProbeCodec {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String path() {
+        return "/api/probe/batch";
+    }
+
+    @Override
+    public String encode(List<Map<String, Object>> devices) throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>(devices.size());
+        for (Map<String, Object> dev : devices) {
+            Map<String, Object> item = MiddlewareBatchProber.snmpRequestBody(dev);
+            item.put("deviceId", ((Number) dev.get("DEVICE_ID")).intValue());
+            items.add(item);
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("checks", List.of("ping", "snmp"));
+        body.put("devices", items);
+        return objectMapper.writeValueAsString(body);
+    }
+
+    @Override
+    public Set<Integer> decode(String responseBody) throws Exception {
+        JsonNode root = objectMapper.readTree(responseBody);
+        if (root.has("success") && !root.get("success").asBoolean()) {
+            throw new IllegalStateException("벌크 probe 실패: " + root.path("message").asText());
+        }
+
+        Set<Integer> reachable = new HashSet<>();
+        for (JsonNode r : root.path("results")) {
+            boolean ok = r.has("reachable")
+                    ? r.get("reachable").asBoolean()
+                    : r.path("ping").asBoolean() && r.path("snmp").asBoolean();
+            if (ok) reachable.add(r.path("deviceId").asInt());
+        }
+        return reachable;
+    }
+}
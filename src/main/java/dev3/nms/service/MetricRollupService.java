@@ -0,0 +1,330 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.MetricRollupMapper;
+import dev3.nms.vo.mgmt.RollupWatermarkVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * 성능 이력 시간 단위 집계(rollup) 관리 + 집계 조회 라우팅
+ * - 5분 단위는 raw 테이블, 30분/1시간/1일은 바로 아래 단위에서 증분 집계
+ * - 소스/단위별 [COVERED_FROM, WATERMARK) 구간만 집계 완료, 증분 집계는 WATERMARK 이후만 처리
+ * - raw 는 lag-sec 만큼 늦게 집계 (수집 지연분 반영)
+ * - 조회: 요청 구간이 집계 구간 안이면 rollup, WATERMARK 이후 꼬리 구간만 raw 집계로 보충
+ * - 버킷 경계는 기존 집계 쿼리와 동일 (UNIX_TIMESTAMP 기준, JVM/DB 타임존 동일 가정)
+ */
+@Slf4j
+@Service
+public class MetricRollupService {
+
+    public enum Source { TRAFFIC, CPU_MEM, ICMP }
+
+    /** 집계 단위 (앞 단위에서 다음 단위 집계) */
+    static final int[] TIERS = {300, 1800, 3600, 86400};
+
+    private static final int TIER_CHUNK_BUCKETS = 48;
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final MetricRollupMapper metricRollupMapper;
+    private final TransactionTemplate txTemplate;
+    private final int lagSec;
+    private final int rawChunkSec;
+
+    // "SOURCE|bucketSec" → 집계 완료 구간
+    private final Map<String, Coverage> coverage = new ConcurrentHashMap<>();
+    private volatile boolean coverageLoaded;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "metric-rollup-backfill");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile String backfillProgress;
+
+    record Coverage(LocalDateTime from, LocalDateTime to) {
+        Coverage merge(Coverage other) {
+            return new Coverage(from.isBefore(other.from) ? from : other.from, to.isAfter(other.to) ? to : other.to);
+        }
+    }
+
+    /**
+     * rollup 조회 구간 [from, to] (양끝 포함), tailFrom != null 이면 [tailFrom, end] 는 raw 집계
+     */
+    record Window(LocalDateTime from, LocalDateTime to, LocalDateTime tailFrom) {}
+
+    public MetricRollupService(MetricRollupMapper metricRollupMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${rollup.lag-sec:120}") int lagSec,
+                               @Value("${rollup.raw-chunk-minutes:60}") int rawChunkMinutes) {
+        this.metricRollupMapper = metricRollupMapper;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.lagSec = lagSec;
+        this.rawChunkSec = Math.max(TIERS[0], rawChunkMinutes * 60 / TIERS[0] * TIERS[0]);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        reloadCoverage();
+    }
+
+    // ==================== 조회 라우팅 ====================
+
+    /**
+     * 집계 조회 - rollup 으로 커버되면 rollup + raw 꼬리, 아니면 raw 집계
+     * @param rollupQuery (startDate, endDate) → rollup 테이블 조회 (BUCKET_AT 양끝 포함)
+     * @param rawQuery    (startDate, endDate) → 기존 raw 집계 조회
+     * @param order       rollup + 꼬리 병합 시 정렬 (기존 raw 집계 쿼리 ORDER BY 와 동일)
+     */
+    public <T> List<T> route(Source source, int intervalSec, IcmpService.TimeRange range,
+                             BiFunction<String, String, List<T>> rollupQuery,
+                             BiFunction<String, String, List<T>> rawQuery,
+                             Comparator<? super T> order) {
+        Window window = window(source, intervalSec, range.start, range.end);
+        if (window == null) {
+            return rawQuery.apply(range.startStr, range.endStr);
+        }
+        List<T> rows = new ArrayList<>(rollupQuery.apply(window.from().format(FMT), window.to().format(FMT)));
+        if (window.tailFrom() != null) {
+            rows.addAll(rawQuery.apply(window.tailFrom().format(FMT), range.endStr));
+            rows.sort(order);
+        }
+        return rows;
+    }
+
+    Window window(Source source, int intervalSec, LocalDateTime start, LocalDateTime end) {
+        Coverage cov = coverage.get(key(source, intervalSec));
+        if (cov == null) return null;
+        LocalDateTime from = floor(start, intervalSec);
+        // 집계 시작 이전 구간 포함 또는 전부 WATERMARK 이후 → raw
+        if (from.isBefore(cov.from()) || !from.isBefore(cov.to())) return null;
+        if (end.isBefore(cov.to())) return new Window(from, end, null);
+        return new Window(from, cov.to().minusSeconds(1), cov.to());
+    }
+
+    /**
+     * raw → 5분 집계 완료 시점 (이전 raw 는 삭제해도 집계 조회 가능), 집계 시작 전이면 null
+     */
+    public LocalDateTime rolledUpTo(Source source) {
+        Coverage cov = coverage.get(key(source, TIERS[0]));
+        return cov != null ? cov.to() : null;
+    }
+
+    // ==================== 증분 집계 ====================
+
+    @Scheduled(fixedDelayString = "${rollup.interval-ms:60000}")
+    public void runIncremental() {
+        runIncremental(LocalDateTime.now());
+    }
+
+    void runIncremental(LocalDateTime now) {
+        if (!runLock.tryLock()) return;
+        try {
+            // 저장된 구간을 읽기 전에 시작하면 WATERMARK 가 현재 시점으로 건너뜀
+            if (!coverageLoaded) reloadCoverage();
+            if (!coverageLoaded) return;
+            LocalDateTime target = floor(now.minusSeconds(lagSec), TIERS[0]);
+            for (Source source : Source.values()) {
+                try {
+                    advance(source, target);
+                } catch (Exception e) {
+                    log.warn("[Rollup] {} 증분 집계 실패: {}", source, e.getMessage());
+                }
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * WATERMARK → target 까지 단위별 순차 집계 (상위 단위는 하위 단위 WATERMARK 까지)
+     * - 최초 실행 시 현재 시점부터 시작, 과거 구간은 backfill
+     */
+    private void advance(Source source, LocalDateTime target) {
+        LocalDateTime limit = target;
+        Coverage lower = null;
+        for (int i = 0; i < TIERS.length; i++) {
+            int tier = i;
+            int sec = TIERS[i];
+            LocalDateTime end = floor(limit, sec);
+            Coverage cov = coverage.get(key(source, sec));
+            if (cov == null) {
+                LocalDateTime start = i == 0 ? end : ceil(lower.from(), sec);
+                // 상위 단위는 완성된 버킷이 생길 때 시작 (미완성 버킷을 집계 구간에 넣지 않음)
+                if (i > 0 && !start.isBefore(end)) return;
+                saveCoverage(source, sec, start, start);
+                cov = coverage.get(key(source, sec));
+            }
+            LocalDateTime coveredFrom = cov.from();
+            for (LocalDateTime from = cov.to(); from.isBefore(end); ) {
+                LocalDateTime chunkFrom = from;
+                LocalDateTime chunkTo = min(from.plusSeconds(chunkSec(tier)), end);
+                txTemplate.executeWithoutResult(status -> {
+                    rollup(source, tier, chunkFrom, chunkTo);
+                    metricRollupMapper.upsertWatermark(source.name(), sec, coveredFrom, chunkTo);
+                });
+                mergeCoverage(source, sec, new Coverage(coveredFrom, chunkTo));
+                from = chunkTo;
+            }
+            lower = coverage.get(key(source, sec));
+            limit = lower.to();
+        }
+    }
+
+    // ==================== backfill ====================
+
+    /**
+     * 기존 raw 이력 집계 (비동기). 이미 실행 중이면 false
+     * - 집계 구간 앞쪽을 최신 → 과거 순으로 채우며 청크마다 COVERED_FROM 갱신 (중단 후 재실행 시 이어서 진행)
+     */
+    public synchronized boolean startBackfill(int days) {
+        if (backfillProgress != null) return false;
+        LocalDateTime from = floor(LocalDateTime.now().minusDays(days), TIERS[TIERS.length - 1]);
+        backfillProgress = "대기";
+        backfillExecutor.submit(() -> {
+            try {
+                backfill(from);
+            } catch (Exception e) {
+                log.error("[Rollup] backfill 실패: {}", e.getMessage(), e);
+            } finally {
+                backfillProgress = null;
+            }
+        });
+        return true;
+    }
+
+    void backfill(LocalDateTime from) {
+        runIncremental();
+        for (Source source : Source.values()) {
+            for (int i = 0; i < TIERS.length; i++) {
+                int tier = i;
+                int sec = TIERS[i];
+                Coverage lower = i == 0 ? null : coverage.get(key(source, TIERS[i - 1]));
+                Coverage cov = coverage.get(key(source, sec));
+                if (i == 0 ? cov == null : lower == null) break;
+
+                LocalDateTime start = i == 0 ? from : max(from, ceil(lower.from(), sec));
+                // 아직 시작 전인 상위 단위는 하위 단위 WATERMARK 까지만
+                LocalDateTime upper = cov != null ? cov.from() : floor(lower.to(), sec);
+                LocalDateTime watermark = cov != null ? cov.to() : upper;
+                for (LocalDateTime to = upper; to.isAfter(start); ) {
+                    LocalDateTime chunkFrom = max(to.minusSeconds(chunkSec(tier)), start);
+                    LocalDateTime chunkTo = to;
+                    backfillProgress = source + " " + sec + "s " + chunkFrom.format(FMT);
+                    runLock.lock();
+                    try {
+                        txTemplate.executeWithoutResult(status -> {
+                            rollup(source, tier, chunkFrom, chunkTo);
+                            metricRollupMapper.upsertWatermark(source.name(), sec, chunkFrom, watermark);
+                        });
+                        mergeCoverage(source, sec, new Coverage(chunkFrom, watermark));
+                    } finally {
+                        runLock.unlock();
+                    }
+                    to = chunkFrom;
+                }
+                log.info("[Rollup] {} {}s backfill 완료 ({} ~)", source, sec, start.format(FMT));
+            }
+        }
+    }
+
+    /**
+     * 집계 현황: backfill 진행 상태 + 소스/단위별 집계 구간
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("backfillRunning", backfillProgress != null);
+        status.put("backfillProgress", backfillProgress);
+        status.put("watermarks", metricRollupMapper.findWatermarks());
+        return status;
+    }
+
+    // ==================== 내부 ====================
+
+    private void rollup(Source source, int tierIndex, LocalDateTime from, LocalDateTime to) {
+        int sec = TIERS[tierIndex];
+        if (tierIndex == 0) {
+            switch (source) {
+                case TRAFFIC -> metricRollupMapper.rollupTrafficFromRaw(sec, from, to);
+                case CPU_MEM -> metricRollupMapper.rollupCpuMemFromRaw(sec, from, to);
+                case ICMP -> metricRollupMapper.rollupIcmpFromRaw(sec, from, to);
+            }
+            return;
+        }
+        int sourceSec = TIERS[tierIndex - 1];
+        switch (source) {
+            case TRAFFIC -> metricRollupMapper.rollupTrafficFromTier(sec, sourceSec, from, to);
+            case CPU_MEM -> metricRollupMapper.rollupCpuMemFromTier(sec, sourceSec, from, to);
+            case ICMP -> metricRollupMapper.rollupIcmpFromTier(sec, sourceSec, from, to);
+        }
+    }
+
+    private long chunkSec(int tierIndex) {
+        return tierIndex == 0 ? rawChunkSec : (long) TIERS[tierIndex] * TIER_CHUNK_BUCKETS;
+    }
+
+    private void saveCoverage(Source source, int sec, LocalDateTime from, LocalDateTime to) {
+        metricRollupMapper.upsertWatermark(source.name(), sec, from, to);
+        mergeCoverage(source, sec, new Coverage(from, to));
+    }
+
+    private void mergeCoverage(Source source, int sec, Coverage value) {
+        coverage.merge(key(source, sec), value, Coverage::merge);
+    }
+
+    void reloadCoverage() {
+        try {
+            for (RollupWatermarkVO wm : metricRollupMapper.findWatermarks()) {
+                coverage.merge(wm.getSOURCE_NAME() + "|" + wm.getBUCKET_SEC(),
+                        new Coverage(wm.getCOVERED_FROM(), wm.getWATERMARK()), Coverage::merge);
+            }
+            coverageLoaded = true;
+        } catch (Exception e) {
+            log.warn("[Rollup] 집계 구간 로드 실패: {}", e.getMessage());
+        }
+    }
+
+    private static String key(Source source, int sec) {
+        return source.name() + "|" + sec;
+    }
+
+    static LocalDateTime floor(LocalDateTime time, int sec) {
+        ZoneId zone = ZoneId.systemDefault();
+        long epoch = time.atZone(zone).toEpochSecond();
+        return LocalDateTime.ofInstant(java.time.Instant.ofEpochSecond(Math.floorDiv(epoch, sec) * sec), zone);
+    }
+
+    static LocalDateTime ceil(LocalDateTime time, int sec) {
+        LocalDateTime floored = floor(time, sec);
+        return floored.isBefore(time) ? floor(time.plusSeconds(sec), sec) : floored;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
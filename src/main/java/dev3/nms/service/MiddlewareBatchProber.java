@@ -0,0 +1,226 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.vo.mgmt.MiddlewareVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * 재분배용 미들웨어 -> 장비 도달성 probe
+ * - 벌크 모드: 장비 목록을 chunkSize 단위로 묶어 벌크 엔드포인트 호출, 미들웨어당 동시 요청 maxInFlight 개로 제한
+ * - 미들웨어가 벌크 엔드포인트를 지원하지 않으면(404/405/501) 해당 URL 은 장비 단위 probe(ping → SNMP)로 전환
+ * - 모든 HTTP 호출은 비동기 (대기 스레드 없음), 결과는 청크 완료 시마다 콜백으로 전달
+ *
+ * 설정
+ * - middleware.probe.mode: auto(벌크 시도 후 장비 단위 fallback) | single(항상 장비 단위)
+ * - middleware.probe.chunk-size, middleware.probe.max-in-flight, middleware.probe.single-concurrency
+ */
+@Slf4j
+@Component
+public class MiddlewareBatchProber {
+
+    private static final Set<Integer> BULK_UNSUPPORTED_STATUS = Set.of(404, 405, 501);
+    private static final Duration PING_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration SNMP_TIMEOUT = Duration.ofSeconds(5);
+
+    private final MiddlewareGateway middlewareGateway;
+    private final BatchProbeCodec codec;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final boolean bulkEnabled;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final int singleConcurrency;
+    private final Duration chunkTimeout;
+
+    // 벌크 엔드포인트 미지원 미들웨어 URL (재시작 전까지 장비 단위 probe 사용)
+    private final Set<String> bulkUnsupported = ConcurrentHashMap.newKeySet();
+
+    public MiddlewareBatchProber(MiddlewareGateway middlewareGateway,
+                                 BatchProbeCodec codec,
+                                 @Value("${middleware.probe.mode:auto}") String mode,
+                                 @Value("${middleware.probe.chunk-size:200}") int chunkSize,
+                                 @Value("${middleware.probe.max-in-flight:4}") int maxInFlight,
+                                 @Value("${middleware.probe.single-concurrency:16}") int singleConcurrency,
+                                 @Value("${middleware.probe.chunk-timeout-sec:60}") int chunkTimeoutSec) {
+        this.middlewareGateway = middlewareGateway;
+        this.codec = codec;
+        this.bulkEnabled = !"single".equalsIgnoreCase(mode);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.singleConcurrency = Math.max(1, singleConcurrency);
+        this.chunkTimeout = Duration.ofSeconds(Math.max(1, chunkTimeoutSec));
+    }
+
+    /**
+     * 미들웨어 1개에서 장비 목록 probe
+     * @param onReachable 수집 가능(ping + SNMP 성공) 판정된 장비 ID 콜백 (청크 완료 시마다 호출)
+     * @return 전체 probe 완료 시 완료되는 future (개별 실패는 미도달로 처리, 예외로 끝나지 않음)
+     */
+    public CompletableFuture<Void> probeAsync(MiddlewareVO mw, List<Map<String, Object>> devices,
+                                              IntConsumer onReachable) {
+        String baseUrl = MiddlewareGateway.normalize(mw.getMIDDLEWARE_URL());
+        String apiKey = mw.getAPI_KEY() != null ? mw.getAPI_KEY() : "";
+
+        // IP/SNMP 크리덴셜 없는 장비는 수집 불가로 판정 (요청 대상에서 제외)
+        List<Map<String, Object>> targets = new ArrayList<>();
+        for (Map<String, Object> dev : devices) {
+            String ip = (String) dev.get("DEVICE_IP");
+            if (ip == null || ip.isBlank() || dev.get("SNMP_VERSION") == null) continue;
+            targets.add(dev);
+        }
+        if (targets.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        if (!bulkEnabled || bulkUnsupported.contains(baseUrl)) {
+            return probeSingles(baseUrl, apiKey, targets, onReachable);
+        }
+
+        Queue<List<Map<String, Object>>> chunks = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < targets.size(); i += chunkSize) {
+            chunks.add(targets.subList(i, Math.min(i + chunkSize, targets.size())));
+        }
+        log.debug("[probe] middlewareId={} 벌크 probe - 장비 {}개, 청크 {}개", mw.getMIDDLEWARE_ID(), targets.size(), chunks.size());
+
+        return runLanes(chunks, maxInFlight, chunk -> probeChunk(baseUrl, apiKey, chunk, onReachable));
+    }
+
+    /**
+     * 청크 1개 벌크 probe - 벌크 미지원 응답이면 해당 청크를 장비 단위로 재시도
+     */
+    private CompletableFuture<Void> probeChunk(String baseUrl, String apiKey, List<Map<String, Object>> chunk,
+                                               IntConsumer onReachable) {
+        if (bulkUnsupported.contains(baseUrl)) {
+            return probeSingles(baseUrl, apiKey, chunk, onReachable);
+        }
+
+        String body;
+        try {
+            body = codec.encode(chunk);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return middlewareGateway.postJsonAsync(baseUrl, apiKey, codec.path(), body, chunkTimeout)
+                .thenCompose(resp -> {
+                    if (BULK_UNSUPPORTED_STATUS.contains(resp.statusCode())) {
+                        if (bulkUnsupported.add(baseUrl)) {
+                            log.info("[probe] 벌크 probe 미지원 미들웨어, 장비 단위 probe 로 전환 - url: {}", baseUrl);
+                        }
+                        return probeSingles(baseUrl, apiKey, chunk, onReachable);
+                    }
+                    if (resp.statusCode() != 200) {
+                        log.warn("[probe] 벌크 probe 비정상 응답 - url: {}, status: {}", baseUrl, resp.statusCode());
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    try {
+                        codec.decode(resp.body()).forEach(onReachable::accept);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                    return CompletableFuture.<Void>completedFuture(null);
+                });
+    }
+
+    /**
+     * 장비 단위 probe (ping → SNMP system-info) - 동시 요청 singleConcurrency 개로 제한
+     */
+    private CompletableFuture<Void> probeSingles(String baseUrl, String apiKey, List<Map<String, Object>> devices,
+                                                 IntConsumer onReachable) {
+        Queue<Map<String, Object>> queue = new ConcurrentLinkedQueue<>(devices);
+        return runLanes(queue, singleConcurrency, dev -> probeSingle(baseUrl, apiKey, dev)
+                .thenAccept(ok -> {
+                    if (ok) onReachable.accept(((Number) dev.get("DEVICE_ID")).intValue());
+                }));
+    }
+
+    private CompletableFuture<Boolean> probeSingle(String baseUrl, String apiKey, Map<String, Object> dev) {
+        String pingBody;
+        String snmpBody;
+        try {
+            pingBody = objectMapper.writeValueAsString(Map.of("ipAddress", dev.get("DEVICE_IP")));
+            snmpBody = objectMapper.writeValueAsString(snmpRequestBody(dev));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return middlewareGateway.postJsonAsync(baseUrl, apiKey, "/api/check/ping", pingBody, PING_TIMEOUT)
+                .thenCompose(ping -> isSuccess(ping)
+                        ? middlewareGateway.postJsonAsync(baseUrl, apiKey, "/api/snmp/system-info", snmpBody, SNMP_TIMEOUT)
+                                .thenApply(this::isSuccess)
+                        : CompletableFuture.completedFuture(false))
+                .exceptionally(e -> false);
+    }
+
+    private boolean isSuccess(HttpResponse<String> resp) {
+        if (resp.statusCode() != 200) return false;
+        try {
+            Map<?, ?> result = objectMapper.readValue(resp.body(), Map.class);
+            return Boolean.TRUE.equals(result.get("success"));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 큐 항목을 lanes 개 흐름으로 나눠 처리 (동시 실행 개수 = lanes)
+     * 항목 처리 실패는 무시하고 다음 항목 진행
+     */
+    private <T> CompletableFuture<Void> runLanes(Queue<T> queue, int lanes,
+                                                 Function<T, CompletableFuture<Void>> task) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[lanes];
+        for (int i = 0; i < lanes; i++) {
+            futures[i] = runLane(queue, task);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private <T> CompletableFuture<Void> runLane(Queue<T> queue, Function<T, CompletableFuture<Void>> task) {
+        T item = queue.poll();
+        if (item == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> current;
+        try {
+            current = task.apply(item);
+        } catch (Exception e) {
+            current = CompletableFuture.failedFuture(e);
+        }
+        return current
+                .exceptionally(e -> {
+                    log.debug("[probe] 항목 처리 실패: {}", e.getMessage());
+                    return null;
+                })
+                .thenCompose(v -> runLane(queue, task));
+    }
+
+    /**
+     * 장비 행(DEVICE_IP, SNMP_*) -> 미들웨어 SNMP 요청 본문
+     */
+    static Map<String, Object> snmpRequestBody(Map<String, Object> dev) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("ipAddress", dev.get("DEVICE_IP"));
+        body.put("snmpVersion", ((Number) dev.get("SNMP_VERSION")).intValue());
+        Object portObj = dev.get("SNMP_PORT");
+        body.put("snmpPort", portObj != null ? ((Number) portObj).intValue() : 161);
+        body.put("community", dev.get("SNMP_COMMUNITY"));
+        body.put("user", dev.get("SNMP_USER"));
+        body.put("authProtocol", dev.get("SNMP_AUTH_PROTOCOL"));
+        body.put("authPassword", dev.get("SNMP_AUTH_PASSWORD"));
+        body.put("privProtocol", dev.get("SNMP_PRIV_PROTOCOL"));
+        body.put("privPassword", dev.get("SNMP_PRIV_PASSWORD"));
+        return body;
+    }
+}
@@ -1,7 +1,9 @@
 package dev3.nms.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.config.ExecutorRegistry;
 import dev3.nms.mapper.MiddlewareMapper;
 import dev3.nms.vo.mgmt.MiddlewareVO;
 import lombok.Data;
@@ -10,11 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +25,8 @@ import java.util.function.Supplier;
  * Go Middleware의 SNMP API를 호출
  * - DB에서 미들웨어 URL/API Key를 동적 조회 (장비별 또는 기본)
  * - application.properties의 middleware.url은 fallback으로 사용
+ * - SnmpRequest.collector=EMBEDDED 이면 미들웨어 없이 내장 SNMP(EmbeddedSnmpClient)로 직접 조회
+ * - snmp.embedded.fallback=true 이면 미들웨어에 연결할 수 없을 때(장비 SNMP 실패가 아닌 경우) 내장 SNMP로 재시도
  */
 @Slf4j
 @Component
@@ -38,17 +38,23 @@ public class MiddlewareClient {
     @Value("${middleware.api-key:}")
     private String defaultApiKey;
 
+    @Value("${snmp.embedded.fallback:false}")
+    private boolean embeddedFallback;
+
     @Autowired(required = false)
     private MiddlewareMapper middlewareMapper;
 
-    private final HttpClient httpClient;
+    private final MiddlewareGateway middlewareGateway;
+    private final ExecutorRegistry executorRegistry;
+    private final EmbeddedSnmpClient embeddedSnmpClient;
     private final ObjectMapper objectMapper;
     private final Map<String, CircuitState> circuits = new ConcurrentHashMap<>();
 
-    public MiddlewareClient() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+    public MiddlewareClient(MiddlewareGateway middlewareGateway, ExecutorRegistry executorRegistry,
+                            EmbeddedSnmpClient embeddedSnmpClient) {
+        this.middlewareGateway = middlewareGateway;
+        this.executorRegistry = executorRegistry;
+        this.embeddedSnmpClient = embeddedSnmpClient;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -151,7 +157,7 @@ public class MiddlewareClient {
 
         if (state.isOpen()) {
             log.warn("Circuit OPEN - 요청 차단: {} {}", middlewareUrl, path);
-            throw new RuntimeException("Middleware 연결 차단 중 (Circuit OPEN): " + middlewareUrl);
+            throw new MiddlewareUnreachableException("Middleware 연결 차단 중 (Circuit OPEN): " + middlewareUrl, null);
         }
 
         if (state.isHalfOpen()) {
@@ -169,6 +175,62 @@ public class MiddlewareClient {
         }
     }
 
+    /**
+     * 미들웨어에 도달하지 못한 호출 (연결 실패 / Circuit OPEN)
+     * - 미들웨어가 응답한 SNMP 실패(인증 오류, 장비 타임아웃 등)나 HTTP 오류 응답은 해당하지 않음
+     */
+    public static class MiddlewareUnreachableException extends RuntimeException {
+        public MiddlewareUnreachableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * 연결 단계 실패 여부 - 연결 거부/호스트 미해석/연결 타임아웃 등
+     * (응답 대기 타임아웃은 미들웨어가 장비 응답을 기다린 경우, 응답 해석 오류는 미들웨어가 응답한 경우이므로 제외)
+     */
+    static boolean isConnectionFailure(Throwable e) {
+        return e instanceof java.io.IOException
+                && !(e instanceof com.fasterxml.jackson.core.JacksonException)
+                && (!(e instanceof java.net.http.HttpTimeoutException) || e instanceof java.net.http.HttpConnectTimeoutException);
+    }
+
+    private static RuntimeException callFailure(String message, Exception e) {
+        return isConnectionFailure(e) ? new MiddlewareUnreachableException(message, e) : new RuntimeException(message, e);
+    }
+
+    // ========== Embedded SNMP ==========
+
+    private boolean isEmbedded(SnmpRequest request) {
+        return SnmpRequest.EMBEDDED.equalsIgnoreCase(request.getCollector());
+    }
+
+    private SystemInfoResponse embeddedSystemInfo(SnmpRequest request) {
+        SystemInfoResponse r = embeddedSnmpClient.getSystemInfo(request);
+        if (!r.isSuccess()) r.setMessage(toSnmpUserMessage(r.getMessage()));
+        return r;
+    }
+
+    private PortsResponse embeddedPorts(SnmpRequest request) {
+        PortsResponse r = embeddedSnmpClient.getPorts(request);
+        if (!r.isSuccess()) r.setMessage(toSnmpUserMessage(r.getMessage()));
+        return r;
+    }
+
+    /**
+     * 미들웨어 호출 자체가 실패(연결 실패/Circuit OPEN)했을 때 내장 SNMP fallback
+     * fallback 비활성이거나 미들웨어가 응답한 오류면 원래 예외 그대로
+     */
+    private <T> T orEmbedded(Supplier<T> viaMiddleware, SnmpRequest request, java.util.function.Function<SnmpRequest, T> embedded) {
+        try {
+            return viaMiddleware.get();
+        } catch (MiddlewareUnreachableException e) {
+            if (!embeddedFallback) throw e;
+            log.info("[내장 SNMP fallback] {} - 미들웨어 연결 불가: {}", request.getIpAddress(), e.getMessage());
+            return embedded.apply(request);
+        }
+    }
+
     // ========== API Methods ==========
 
     /**
@@ -191,15 +253,21 @@ public class MiddlewareClient {
      * 어느 미들웨어가 해당 장비에 도달 가능한지 확인 + 시스템 정보 반환
      */
     public RegistrationProbe probeForRegistration(SnmpRequest request) {
+        if (isEmbedded(request)) {
+            return new RegistrationProbe(embeddedSystemInfo(request), java.util.Collections.emptyList());
+        }
         List<MiddlewareVO> actives = (middlewareMapper != null)
                 ? middlewareMapper.findAll().stream().filter(m -> "ACTIVE".equals(m.getSTATUS())).toList()
                 : java.util.Collections.emptyList();
 
         if (actives.isEmpty()) {
-            SystemInfoResponse fallback = getSystemInfo(request, middlewareUrl, defaultApiKey);
+            SystemInfoResponse fallback = orEmbedded(() -> getSystemInfo(request, middlewareUrl, defaultApiKey),
+                    request, this::embeddedSystemInfo);
             return new RegistrationProbe(fallback, java.util.Collections.emptyList());
         }
 
+        AtomicInteger unreachable = new AtomicInteger();
+
         List<java.util.concurrent.CompletableFuture<java.util.Map.Entry<MiddlewareVO, SystemInfoResponse>>> futures =
                 actives.stream()
                         .map(mw -> java.util.concurrent.CompletableFuture.supplyAsync(() -> {
@@ -213,12 +281,13 @@ public class MiddlewareClient {
                             } catch (Exception e) {
                                 log.info("[등록 probe] middlewareId={} {} 예외: {}",
                                         mw.getMIDDLEWARE_ID(), request.getIpAddress(), e.getMessage());
+                                if (e instanceof MiddlewareUnreachableException) unreachable.incrementAndGet();
                                 SystemInfoResponse f = new SystemInfoResponse();
                                 f.setSuccess(false);
                                 f.setMessage(e.getMessage());
                                 return java.util.Map.entry(mw, f);
                             }
-                        }))
+                        }, executorRegistry.executor(ExecutorRegistry.MIDDLEWARE_PROBE)))
                         .toList();
 
         List<java.util.Map.Entry<MiddlewareVO, SystemInfoResponse>> results = futures.stream()
@@ -231,7 +300,10 @@ public class MiddlewareClient {
                 .toList();
 
         SystemInfoResponse combined;
-        if (!reachable.isEmpty()) {
+        if (reachable.isEmpty() && embeddedFallback && unreachable.get() == actives.size()) {
+            log.info("[내장 SNMP fallback] {} - 모든 미들웨어 연결 불가", request.getIpAddress());
+            combined = embeddedSystemInfo(request);
+        } else if (!reachable.isEmpty()) {
             combined = results.stream()
                     .filter(e -> e.getValue().isSuccess())
                     .findFirst()
@@ -251,11 +323,15 @@ public class MiddlewareClient {
      * 모든 ACTIVE 미들웨어에 병렬 시도 → 도달 가능한 미들웨어를 전부 파악한 뒤 성공 결과 반환
      */
     public SystemInfoResponse getSystemInfo(SnmpRequest request) {
+        if (isEmbedded(request)) {
+            return embeddedSystemInfo(request);
+        }
         if (middlewareMapper != null) {
             List<MiddlewareVO> actives = middlewareMapper.findAll().stream()
                     .filter(m -> "ACTIVE".equals(m.getSTATUS()))
                     .toList();
             if (!actives.isEmpty()) {
+                AtomicInteger unreachable = new AtomicInteger();
                 List<java.util.concurrent.CompletableFuture<SystemInfoResponse>> futures = actives.stream()
                         .map(mw -> java.util.concurrent.CompletableFuture.supplyAsync(() -> {
                             try {
@@ -268,12 +344,13 @@ public class MiddlewareClient {
                             } catch (Exception e) {
                                 log.info("[등록 probe] middlewareId={} {} 예외: {}",
                                         mw.getMIDDLEWARE_ID(), request.getIpAddress(), e.getMessage());
+                                if (e instanceof MiddlewareUnreachableException) unreachable.incrementAndGet();
                                 SystemInfoResponse f = new SystemInfoResponse();
                                 f.setSuccess(false);
                                 f.setMessage(e.getMessage());
                                 return f;
                             }
-                        }))
+                        }, executorRegistry.executor(ExecutorRegistry.MIDDLEWARE_PROBE)))
                         .toList();
 
                 List<SystemInfoResponse> results = futures.stream()
@@ -285,6 +362,10 @@ public class MiddlewareClient {
                         .findFirst()
                         .orElse(null);
                 if (success != null) return success;
+                if (embeddedFallback && unreachable.get() == actives.size()) {
+                    log.info("[내장 SNMP fallback] {} - 모든 미들웨어 연결 불가", request.getIpAddress());
+                    return embeddedSystemInfo(request);
+                }
 
                 SystemInfoResponse fail = new SystemInfoResponse();
                 fail.setSuccess(false);
@@ -294,7 +375,7 @@ public class MiddlewareClient {
             }
         }
         // 미들웨어 레코드 없음 → properties fallback URL로 직접 호출
-        return getSystemInfo(request, middlewareUrl, defaultApiKey);
+        return orEmbedded(() -> getSystemInfo(request, middlewareUrl, defaultApiKey), request, this::embeddedSystemInfo);
     }
 
     /**
@@ -303,18 +384,9 @@ public class MiddlewareClient {
     public SystemInfoResponse getSystemInfo(SnmpRequest request, String middlewareUrl, String apiKey) {
         return executeWithCircuitBreaker(middlewareUrl, "/api/snmp/system-info", () -> {
             try {
-                String url = middlewareUrl + "/api/snmp/system-info";
                 String requestBody = objectMapper.writeValueAsString(request);
-
-                HttpRequest httpRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .header("Content-Type", "application/json")
-                        .header("X-API-Key", apiKey != null ? apiKey : "")
-                        .timeout(Duration.ofSeconds(30))
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
-
-                HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = middlewareGateway.postJson(
+                        middlewareUrl, apiKey != null ? apiKey : "", "/api/snmp/system-info", requestBody);
 
                 if (response.statusCode() == 200) {
                     return objectMapper.readValue(response.body(), SystemInfoResponse.class);
@@ -326,7 +398,7 @@ public class MiddlewareClient {
                 throw e;
             } catch (Exception e) {
                 log.error("Middleware API 호출 실패: {}", e.getMessage());
-                throw new RuntimeException("SNMP 실패: 미들웨어 연결 실패 (에이전트가 실행 중인지 확인하세요)", e);
+                throw callFailure("SNMP 실패: 미들웨어 연결 실패 (에이전트가 실행 중인지 확인하세요)", e);
             }
         });
     }
@@ -336,11 +408,11 @@ public class MiddlewareClient {
      * deviceId가 null이면 등록 직전 상태로 간주 → 모든 ACTIVE 미들웨어 병렬 probe
      */
     public SystemInfoResponse getSystemInfo(SnmpRequest request, Integer deviceId) {
-        if (deviceId == null) {
+        if (deviceId == null || isEmbedded(request)) {
             return getSystemInfo(request);
         }
         MiddlewareVO mw = resolveMiddleware(deviceId);
-        return getSystemInfo(request, resolveUrl(mw), resolveApiKey(mw));
+        return orEmbedded(() -> getSystemInfo(request, resolveUrl(mw), resolveApiKey(mw)), request, this::embeddedSystemInfo);
     }
 
     /**
@@ -348,11 +420,15 @@ public class MiddlewareClient {
      * 모든 ACTIVE 미들웨어에 병렬 시도 → 성공 결과 반환
      */
     public PortsResponse getPorts(SnmpRequest request) {
+        if (isEmbedded(request)) {
+            return embeddedPorts(request);
+        }
         if (middlewareMapper != null) {
             List<MiddlewareVO> actives = middlewareMapper.findAll().stream()
                     .filter(m -> "ACTIVE".equals(m.getSTATUS()))
                     .toList();
             if (!actives.isEmpty()) {
+                AtomicInteger unreachable = new AtomicInteger();
                 List<java.util.concurrent.CompletableFuture<PortsResponse>> futures = actives.stream()
                         .map(mw -> java.util.concurrent.CompletableFuture.supplyAsync(() -> {
                             try {
@@ -365,12 +441,13 @@ public class MiddlewareClient {
                             } catch (Exception e) {
                                 log.info("[등록 probe] middlewareId={} {} 포트 예외: {}",
                                         mw.getMIDDLEWARE_ID(), request.getIpAddress(), e.getMessage());
+                                if (e instanceof MiddlewareUnreachableException) unreachable.incrementAndGet();
                                 PortsResponse f = new PortsResponse();
                                 f.setSuccess(false);
                                 f.setMessage(e.getMessage());
                                 return f;
                             }
-                        }))
+                        }, executorRegistry.executor(ExecutorRegistry.MIDDLEWARE_PROBE)))
                         .toList();
 
                 List<PortsResponse> results = futures.stream()
@@ -382,6 +459,10 @@ public class MiddlewareClient {
                         .findFirst()
                         .orElse(null);
                 if (success != null) return success;
+                if (embeddedFallback && unreachable.get() == actives.size()) {
+                    log.info("[내장 SNMP fallback] {} - 모든 미들웨어 연결 불가", request.getIpAddress());
+                    return embeddedPorts(request);
+                }
 
                 PortsResponse fail = new PortsResponse();
                 fail.setSuccess(false);
@@ -390,7 +471,7 @@ public class MiddlewareClient {
                 return fail;
             }
         }
-        return getPorts(request, middlewareUrl, defaultApiKey);
+        return orEmbedded(() -> getPorts(request, middlewareUrl, defaultApiKey), request, this::embeddedPorts);
     }
 
     /**
@@ -399,18 +480,9 @@ public class MiddlewareClient {
     public PortsResponse getPorts(SnmpRequest request, String middlewareUrl, String apiKey) {
         return executeWithCircuitBreaker(middlewareUrl, "/api/snmp/ports", () -> {
             try {
-                String url = middlewareUrl + "/api/snmp/ports";
                 String requestBody = objectMapper.writeValueAsString(request);
-
-                HttpRequest httpRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .header("Content-Type", "application/json")
-                        .header("X-API-Key", apiKey != null ? apiKey : "")
-                        .timeout(Duration.ofSeconds(60))  // 포트 수집은 시간이 더 걸릴 수 있음
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
-
-                HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = middlewareGateway.postJson(
+                        middlewareUrl, apiKey != null ? apiKey : "", "/api/snmp/ports", requestBody);
 
                 if (response.statusCode() == 200) {
                     return objectMapper.readValue(response.body(), PortsResponse.class);
@@ -422,7 +494,7 @@ public class MiddlewareClient {
                 throw e;
             } catch (Exception e) {
                 log.error("Middleware API 호출 실패: {}", e.getMessage());
-                throw new RuntimeException("SNMP 실패: 미들웨어 연결 실패 (에이전트가 실행 중인지 확인하세요)", e);
+                throw callFailure("SNMP 실패: 미들웨어 연결 실패 (에이전트가 실행 중인지 확인하세요)", e);
             }
         });
     }
@@ -432,11 +504,11 @@ public class MiddlewareClient {
      * deviceId가 null이면 등록 직전 상태로 간주 → 모든 ACTIVE 미들웨어 병렬 probe
      */
     public PortsResponse getPorts(SnmpRequest request, Integer deviceId) {
-        if (deviceId == null) {
+        if (deviceId == null || isEmbedded(request)) {
             return getPorts(request);
         }
         MiddlewareVO mw = resolveMiddleware(deviceId);
-        return getPorts(request, resolveUrl(mw), resolveApiKey(mw));
+        return orEmbedded(() -> getPorts(request, resolveUrl(mw), resolveApiKey(mw)), request, this::embeddedPorts);
     }
 
     /**
@@ -456,12 +528,18 @@ public class MiddlewareClient {
         request.setAuthPassword(authPassword);
         request.setPrivProtocol(privProtocol);
         request.setPrivPassword(privPassword);
+        return getDevicePortInfo(request, deviceId);
+    }
 
+    /**
+     * 편의 메서드 - PortVO 리스트 (요청의 collector 지정 반영)
+     */
+    public List<dev3.nms.vo.mgmt.PortVO> getDevicePortInfo(SnmpRequest request, Integer deviceId) {
         PortsResponse response = getPorts(request, deviceId);
         if (!response.isSuccess()) {
             throw new RuntimeException(toSnmpUserMessage(response.getMessage()));
         }
-        return response.getPorts().stream().map(this::toPortVO).toList();
+        return response.getPorts().stream().map(MiddlewareClient::toPortVO).toList();
     }
 
     /**
@@ -489,14 +567,14 @@ public class MiddlewareClient {
 
         // PortInfo -> PortVO 변환
         return response.getPorts().stream()
-                .map(this::toPortVO)
+                .map(MiddlewareClient::toPortVO)
                 .toList();
     }
 
     /**
      * PortInfo -> PortVO 변환
      */
-    private dev3.nms.vo.mgmt.PortVO toPortVO(PortInfo info) {
+    static dev3.nms.vo.mgmt.PortVO toPortVO(PortInfo info) {
         dev3.nms.vo.mgmt.PortVO vo = new dev3.nms.vo.mgmt.PortVO();
         vo.setIF_INDEX(info.getIfIndex());
         vo.setIF_DESCR(info.getIfDescr());
@@ -569,19 +647,10 @@ public class MiddlewareClient {
         try {
             return executeWithCircuitBreaker(targetUrl, "/api/check/ping", () -> {
                 try {
-                    String url = targetUrl + "/api/check/ping";
                     Map<String, String> body = Map.of("ipAddress", ipAddress);
                     String requestBody = objectMapper.writeValueAsString(body);
-
-                    HttpRequest httpRequest = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .header("Content-Type", "application/json")
-                            .header("X-API-Key", apiKey != null ? apiKey : "")
-                            .timeout(Duration.ofSeconds(3))
-                            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                            .build();
-
-                    HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                    HttpResponse<String> response = middlewareGateway.postJson(
+                            targetUrl, apiKey != null ? apiKey : "", "/api/check/ping", requestBody);
                     return objectMapper.readValue(response.body(), PingResponse.class);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
@@ -614,19 +683,10 @@ public class MiddlewareClient {
         try {
             return executeWithCircuitBreaker(targetUrl, "/api/check/ssh", () -> {
                 try {
-                    String url = targetUrl + "/api/check/ssh";
                     Map<String, Object> body = Map.of("ipAddress", ipAddress, "port", port);
                     String requestBody = objectMapper.writeValueAsString(body);
-
-                    HttpRequest httpRequest = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .header("Content-Type", "application/json")
-                            .header("X-API-Key", apiKey != null ? apiKey : "")
-                            .timeout(Duration.ofSeconds(10))
-                            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                            .build();
-
-                    HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                    HttpResponse<String> response = middlewareGateway.postJson(
+                            targetUrl, apiKey != null ? apiKey : "", "/api/check/ssh", requestBody);
                     return objectMapper.readValue(response.body(), SshCheckResponse.class);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
@@ -653,6 +713,9 @@ public class MiddlewareClient {
      * 특정 포트 상태 체크 (장비 ID 기반 미들웨어 자동 조회)
      */
     public PortStatusResponse getPortStatus(SnmpRequest snmpRequest, int ifIndex, Integer deviceId) {
+        if (isEmbedded(snmpRequest)) {
+            return embeddedPortStatus(snmpRequest, ifIndex);
+        }
         MiddlewareVO mw = resolveMiddleware(deviceId);
         String targetUrl = resolveUrl(mw);
         String apiKey = resolveApiKey(mw);
@@ -660,7 +723,6 @@ public class MiddlewareClient {
         try {
             return executeWithCircuitBreaker(targetUrl, "/api/snmp/port-status", () -> {
                 try {
-                    String url = targetUrl + "/api/snmp/port-status";
                     Map<String, Object> body = new HashMap<>();
                     body.put("ipAddress", snmpRequest.getIpAddress());
                     body.put("snmpVersion", snmpRequest.getSnmpVersion());
@@ -674,23 +736,19 @@ public class MiddlewareClient {
                     body.put("ifIndex", ifIndex);
 
                     String requestBody = objectMapper.writeValueAsString(body);
-
-                    HttpRequest httpRequest = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .header("Content-Type", "application/json")
-                            .header("X-API-Key", apiKey != null ? apiKey : "")
-                            .timeout(Duration.ofSeconds(10))
-                            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                            .build();
-
-                    HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                    HttpResponse<String> response = middlewareGateway.postJson(
+                            targetUrl, apiKey != null ? apiKey : "", "/api/snmp/port-status", requestBody);
                     return objectMapper.readValue(response.body(), PortStatusResponse.class);
                 } catch (Exception e) {
-                    throw new RuntimeException(e);
+                    throw isConnectionFailure(e) ? new MiddlewareUnreachableException(e.getMessage(), e) : new RuntimeException(e);
                 }
             });
         } catch (Exception e) {
             log.error("포트 상태 체크 실패 - ifIndex: {}, error: {}", ifIndex, e.getMessage());
+            if (embeddedFallback && e instanceof MiddlewareUnreachableException) {
+                log.info("[내장 SNMP fallback] {} - 미들웨어 연결 불가", snmpRequest.getIpAddress());
+                return embeddedPortStatus(snmpRequest, ifIndex);
+            }
             PortStatusResponse fail = new PortStatusResponse();
             fail.setSuccess(false);
             fail.setIfIndex(ifIndex);
@@ -699,6 +757,12 @@ public class MiddlewareClient {
         }
     }
 
+    private PortStatusResponse embeddedPortStatus(SnmpRequest request, int ifIndex) {
+        PortStatusResponse r = embeddedSnmpClient.getPortStatus(request, ifIndex);
+        if (!r.isSuccess()) r.setMessage(toSnmpUserMessage(r.getMessage()));
+        return r;
+    }
+
     /**
      * Middleware HTTP 호출 예외를 사용자 친화적 메시지로 변환
      * - 타임아웃 → 장비 미응답 (Middleware 문제가 아님)
@@ -777,6 +841,9 @@ public class MiddlewareClient {
 
     @Data
     public static class SnmpRequest {
+        /** collector 값 - 내장 SNMP 직접 조회 */
+        public static final String EMBEDDED = "EMBEDDED";
+
         private String ipAddress;
         private int snmpVersion;
         private int snmpPort = 161;
@@ -786,6 +853,9 @@ public class MiddlewareClient {
         private String authPassword;
         private String privProtocol;
         private String privPassword;
+        /** 수집 경로 (EMBEDDED: 내장 SNMP, 그 외/null: 미들웨어) - 미들웨어로 전달하지 않음 */
+        @JsonIgnore
+        private String collector;
     }
 
     @Data
@@ -872,19 +942,10 @@ public class MiddlewareClient {
         try {
             return executeWithCircuitBreaker(targetUrl, "/api/check/traceroute", () -> {
                 try {
-                    String url = targetUrl + "/api/check/traceroute";
                     Map<String, Object> body = Map.of("targetIp", targetIp, "maxHops", maxHops, "timeout", timeoutMs);
                     String requestBody = objectMapper.writeValueAsString(body);
-
-                    HttpRequest httpRequest = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .header("Content-Type", "application/json")
-                            .header("X-API-Key", apiKey != null ? apiKey : "")
-                            .timeout(Duration.ofSeconds(120))  // traceroute는 최대 2분 허용
-                            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                            .build();
-
-                    HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                    HttpResponse<String> response = middlewareGateway.postJson(
+                            targetUrl, apiKey != null ? apiKey : "", "/api/check/traceroute", requestBody);
                     return objectMapper.readValue(response.body(), TracerouteResponse.class);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
@@ -922,7 +983,6 @@ public class MiddlewareClient {
         try {
             return executeWithCircuitBreaker(targetUrl, "/api/check/traceroute", () -> {
                 try {
-                    String url = targetUrl + "/api/check/traceroute";
                     Map<String, Object> body = new HashMap<>();
                     body.put("targetIp", targetIp);
                     body.put("sourceIp", sourceIp);
@@ -933,15 +993,8 @@ public class MiddlewareClient {
                     body.put("timeout", timeoutMs);
 
                     String requestBody = objectMapper.writeValueAsString(body);
-                    HttpRequest httpRequest = HttpRequest.newBuilder()
-                            .uri(URI.create(url))
-                            .header("Content-Type", "application/json")
-                            .header("X-API-Key", apiKey != null ? apiKey : "")
-                            .timeout(Duration.ofSeconds(120))
-                            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                            .build();
-
-                    HttpResponse<String> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                    HttpResponse<String> response = middlewareGateway.postJson(
+                            targetUrl, apiKey != null ? apiKey : "", "/api/check/traceroute", requestBody);
                     return objectMapper.readValue(response.body(), TracerouteResponse.class);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
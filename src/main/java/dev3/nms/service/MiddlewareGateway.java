@@ -0,0 +1,169 @@
+package dev3.nms.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Go Middleware HTTP 게이트웨이
+ * - 미들웨어 URL 별로 HttpClient(커넥션 풀)를 1개씩 유지하여 모든 호출부가 공유
+ *   (매 호출마다 TCP/TLS 핸드셰이크가 발생하지 않도록 keep-alive 커넥션 재사용)
+ * - HTTP 응답 처리는 전용 executor 에서 수행 (공통 ForkJoinPool 사용 안 함)
+ * - 엔드포인트별 기본 타임아웃 관리
+ * - https 미들웨어는 ALPN 으로 HTTP/2 협상, http 는 middleware.gateway.h2c=true 일 때만 h2c 업그레이드 시도
+ */
+@Slf4j
+@Component
+public class MiddlewareGateway {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    // 엔드포인트별 기본 타임아웃 (호출부에서 별도 지정 가능)
+    private static final Map<String, Duration> ENDPOINT_TIMEOUTS = Map.of(
+            "/health", Duration.ofSeconds(5),
+            "/api/check/ping", Duration.ofSeconds(3),
+            "/api/check/ssh", Duration.ofSeconds(10),
+            "/api/check/traceroute", Duration.ofSeconds(120),
+            "/api/snmp/system-info", Duration.ofSeconds(30),
+            "/api/snmp/ports", Duration.ofSeconds(60),  // 포트 수집은 시간이 더 걸릴 수 있음
+            "/api/snmp/port-status", Duration.ofSeconds(10)
+    );
+
+    @Value("${middleware.gateway.connect-timeout-sec:5}")
+    private int connectTimeoutSec = 5;
+
+    @Value("${middleware.gateway.h2c:false}")
+    private boolean h2c;
+
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    public MiddlewareGateway(@Value("${middleware.gateway.threads:16}") int threads) {
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(2, threads), r -> {
+            Thread t = new Thread(r, "mw-gateway-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 미들웨어 URL 정규화 (끝 슬래시 제거)
+     */
+    public static String normalize(String baseUrl) {
+        return baseUrl == null ? "" : baseUrl.replaceAll("/+$", "");
+    }
+
+    /**
+     * 미들웨어 URL 별 공유 HttpClient
+     */
+    public HttpClient client(String baseUrl) {
+        return clients.computeIfAbsent(normalize(baseUrl), this::createClient);
+    }
+
+    private HttpClient createClient(String baseUrl) {
+        boolean secure = baseUrl.startsWith("https");
+        HttpClient.Version version = secure || h2c ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        log.info("[MiddlewareGateway] 커넥션 풀 생성 - url: {}, version: {}", baseUrl, version);
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSec))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * 엔드포인트 기본 타임아웃
+     */
+    public Duration timeoutFor(String path) {
+        Duration d = ENDPOINT_TIMEOUTS.get(path);
+        return d != null ? d : DEFAULT_TIMEOUT;
+    }
+
+    /**
+     * 요청 빌더 (URL + API Key + 엔드포인트 기본 타임아웃)
+     */
+    public HttpRequest.Builder request(String baseUrl, String apiKey, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(normalize(baseUrl) + path))
+                .timeout(timeoutFor(path));
+        if (apiKey != null) {
+            builder.header("X-API-Key", apiKey);
+        }
+        return builder;
+    }
+
+    /**
+     * JSON POST (엔드포인트 기본 타임아웃)
+     */
+    public HttpResponse<String> postJson(String baseUrl, String apiKey, String path, String body) throws Exception {
+        return postJson(baseUrl, apiKey, path, body, timeoutFor(path));
+    }
+
+    /**
+     * JSON POST (타임아웃 직접 지정)
+     */
+    public HttpResponse<String> postJson(String baseUrl, String apiKey, String path, String body,
+                                         Duration timeout) throws Exception {
+        HttpRequest req = request(baseUrl, apiKey, path)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client(baseUrl).send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * JSON POST 비동기 (블로킹 스레드 없이 다수 요청을 동시에 보낼 때)
+     */
+    public CompletableFuture<HttpResponse<String>> postJsonAsync(String baseUrl, String apiKey, String path,
+                                                                 String body, Duration timeout) {
+        HttpRequest req = request(baseUrl, apiKey, path)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client(baseUrl).sendAsync(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * GET (응답 본문 그대로 반환)
+     */
+    public <T> HttpResponse<T> get(String baseUrl, String apiKey, String path,
+                                   HttpResponse.BodyHandler<T> handler) throws Exception {
+        HttpRequest req = request(baseUrl, apiKey, path).GET().build();
+        return client(baseUrl).send(req, handler);
+    }
+
+    /**
+     * 스트리밍 GET (SSE 등) - 타임아웃 없이 비동기 구독
+     */
+    public <T> CompletableFuture<HttpResponse<T>> stream(String baseUrl, String path,
+                                                         HttpResponse.BodyHandler<T> handler) {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(normalize(baseUrl) + path))
+                .header("Accept", "text/event-stream")
+                .GET()
+                .build();
+        return client(baseUrl).sendAsync(req, handler);
+    }
+}
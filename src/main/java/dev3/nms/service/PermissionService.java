@@ -8,12 +8,13 @@ import dev3.nms.mapper.WatchMapper;
 import dev3.nms.vo.auth.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -25,10 +26,82 @@ public class PermissionService {
     private final UserMapper userMapper;
     private final DeviceMapper deviceMapper;
     private final WatchMapper watchMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Admin 기준: system_admin 페이지에 CAN_EDIT=true
     private static final String ADMIN_PAGE_CODE = "system_admin";
 
+    /**
+     * 사용자별 접근 범위 캐시
+     * - 권한/그룹 소속/관제 그룹 장비/사용자 플래그 변경 시 AccessScopeChangedEvent → 전역 버전 증가
+     * - 캐시된 범위의 버전이 전역 버전과 다르면 다음 조회 시 1회 재계산
+     */
+    private final Map<Long, AccessScope> scopeCache = new ConcurrentHashMap<>();
+    private final AtomicLong scopeVersion = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccessScopeChanged(AccessScopeChangedEvent event) {
+        scopeVersion.incrementAndGet();
+    }
+
+    /**
+     * 사용자 접근 범위 (캐시, 변경 시에만 재계산)
+     */
+    public AccessScope getAccessScope(Long userId) {
+        long version = scopeVersion.get();
+        AccessScope scope = userId != null ? scopeCache.get(userId) : null;
+        if (scope != null && scope.version() == version) {
+            return scope;
+        }
+
+        scope = loadAccessScope(userId, version);
+        if (userId != null) {
+            // 동시 재계산 시 더 최신 버전만 유지
+            scopeCache.merge(userId, scope, (old, loaded) -> old.version() >= loaded.version() ? old : loaded);
+        }
+        return scope;
+    }
+
+    private AccessScope loadAccessScope(Long userId, long version) {
+        Map<String, PageAccessVO> pages = new HashMap<>();
+        for (PageAccessVO pa : pageAccessMapper.findByUserId(userId)) {
+            pages.put(pa.getPAGE_CODE(), pa);
+        }
+        PageAccessVO adminPage = pages.get(ADMIN_PAGE_CODE);
+        boolean admin = adminPage != null && Boolean.TRUE.equals(adminPage.getCAN_EDIT());
+
+        UserVO user = admin ? null : userMapper.findById(userId).orElse(null);
+        boolean allGroupView = user != null && Boolean.TRUE.equals(user.getALL_GROUP_VIEW());
+
+        Map<String, List<Long>> viewGroups = new HashMap<>();
+        Map<String, List<Long>> editGroups = new HashMap<>();
+        for (GroupAccessVO ga : groupAccessMapper.findByUserId(userId)) {
+            if (Boolean.TRUE.equals(ga.getCAN_VIEW())) {
+                viewGroups.computeIfAbsent(ga.getGROUP_TYPE(), k -> new ArrayList<>()).add(ga.getGROUP_ID());
+            }
+            if (Boolean.TRUE.equals(ga.getCAN_EDIT())) {
+                editGroups.computeIfAbsent(ga.getGROUP_TYPE(), k -> new ArrayList<>()).add(ga.getGROUP_ID());
+            }
+        }
+
+        Set<Long> deviceIds = null;
+        if (!admin && !allGroupView) {
+            deviceIds = new HashSet<>();
+            // ASSET 그룹에 속한 장비
+            List<Long> assetGroupIds = viewGroups.get("ASSET");
+            if (assetGroupIds != null && !assetGroupIds.isEmpty()) {
+                deviceIds.addAll(deviceMapper.findDeviceIdsByGroupIds(assetGroupIds));
+            }
+            // WATCH 그룹에 배정된 장비
+            List<Long> watchGroupIds = viewGroups.get("WATCH");
+            if (watchGroupIds != null && !watchGroupIds.isEmpty()) {
+                deviceIds.addAll(watchMapper.findDeviceIdsByWatchGroupIds(watchGroupIds));
+            }
+        }
+
+        return new AccessScope(version, admin, allGroupView, pages, viewGroups, editGroups, deviceIds);
+    }
+
     /**
      * 사용자 권한 전체 조회 (프론트 전달용)
      */
@@ -52,23 +125,21 @@ public class PermissionService {
      * 특정 페이지 VIEW 권한 확인
      */
     public boolean canViewPage(Long userId, String pageCode) {
-        PageAccessVO access = pageAccessMapper.findByUserIdAndPageCode(userId, pageCode);
-        return access != null && Boolean.TRUE.equals(access.getCAN_VIEW());
+        return userId != null && getAccessScope(userId).canViewPage(pageCode);
     }
 
     /**
      * 특정 페이지 EDIT 권한 확인
      */
     public boolean canEditPage(Long userId, String pageCode) {
-        PageAccessVO access = pageAccessMapper.findByUserIdAndPageCode(userId, pageCode);
-        return access != null && Boolean.TRUE.equals(access.getCAN_EDIT());
+        return userId != null && getAccessScope(userId).canEditPage(pageCode);
     }
 
     /**
      * Admin 여부 확인
      */
     public boolean isAdmin(Long userId) {
-        return canEditPage(userId, ADMIN_PAGE_CODE);
+        return userId != null && getAccessScope(userId).isAdmin();
     }
 
     /**
@@ -89,6 +160,7 @@ public class PermissionService {
 
         if (!accessList.isEmpty()) {
             pageAccessMapper.insertPageAccessBatch(accessList);
+            eventPublisher.publishEvent(AccessScopeChangedEvent.user(userId));
         }
 
         log.info("[PermissionService] 기본 권한 초기화 완료 - {} 페이지", accessList.size());
@@ -101,17 +173,7 @@ public class PermissionService {
      * allGroupView=true면 전체 허용, 아니면 개별 확인
      */
     public boolean canViewGroup(Long userId, String groupType, Long groupId) {
-        if (isAdmin(userId)) return true;
-
-        // allGroupView 체크
-        UserVO user = userMapper.findById(userId).orElse(null);
-        if (user != null && Boolean.TRUE.equals(user.getALL_GROUP_VIEW())) {
-            return true;
-        }
-
-        List<GroupAccessVO> access = groupAccessMapper.findByUserIdAndGroupType(userId, groupType);
-        return access.stream().anyMatch(ga ->
-                ga.getGROUP_ID().equals(groupId) && Boolean.TRUE.equals(ga.getCAN_VIEW()));
+        return getAccessScope(userId).canViewGroup(groupType, groupId);
     }
 
     /**
@@ -119,41 +181,23 @@ public class PermissionService {
      * 그룹 EDIT 권한이 있어도, 해당 그룹 VIEW도 있어야 함
      */
     public boolean canEditGroup(Long userId, String groupType, Long groupId) {
-        if (isAdmin(userId)) return true;
+        return getAccessScope(userId).canEditGroup(groupType, groupId);
+    }
 
-        List<GroupAccessVO> access = groupAccessMapper.findByUserIdAndGroupType(userId, groupType);
-        return access.stream().anyMatch(ga ->
-                ga.getGROUP_ID().equals(groupId) && Boolean.TRUE.equals(ga.getCAN_EDIT()));
+    /**
+     * 특정 장비 접근 가능 여부 (O(1), DB 조회 없음)
+     */
+    public boolean canAccessDevice(Long userId, long deviceId) {
+        return getAccessScope(userId).canAccessDevice(deviceId);
     }
 
     /**
      * 사용자가 접근 가능한 장비 ID 목록 반환 (ASSET 그룹 OR WATCH 그룹)
      * @return null = 전체 허용 (admin 또는 ALL_GROUP_VIEW)
-     *         List = 접근 가능 장비 ID (빈 리스트 = 접근 불가)
+     *         List = 접근 가능 장비 ID (빈 리스트 = 접근 불가, 읽기 전용, contains O(1))
      */
     public List<Long> getAccessibleDeviceIds(Long userId) {
-        if (isAdmin(userId)) return null;
-
-        UserVO user = userMapper.findById(userId).orElse(null);
-        if (user != null && Boolean.TRUE.equals(user.getALL_GROUP_VIEW())) {
-            return null;
-        }
-
-        Set<Long> deviceIds = new HashSet<>();
-
-        // ASSET 그룹에 속한 장비
-        List<Long> assetGroupIds = getAccessibleGroupIds(userId, "ASSET");
-        if (assetGroupIds != null && !assetGroupIds.isEmpty()) {
-            deviceIds.addAll(deviceMapper.findDeviceIdsByGroupIds(assetGroupIds));
-        }
-
-        // WATCH 그룹에 배정된 장비
-        List<Long> watchGroupIds = getAccessibleGroupIds(userId, "WATCH");
-        if (watchGroupIds != null && !watchGroupIds.isEmpty()) {
-            deviceIds.addAll(watchMapper.findDeviceIdsByWatchGroupIds(watchGroupIds));
-        }
-
-        return new ArrayList<>(deviceIds);
+        return getAccessScope(userId).deviceIds();
     }
 
     /**
@@ -177,17 +221,6 @@ public class PermissionService {
      * allGroupView=true면 null 반환 (전체 허용 의미)
      */
     public List<Long> getAccessibleGroupIds(Long userId, String groupType) {
-        if (isAdmin(userId)) return null; // null = 전체 허용
-
-        UserVO user = userMapper.findById(userId).orElse(null);
-        if (user != null && Boolean.TRUE.equals(user.getALL_GROUP_VIEW())) {
-            return null; // 전체 허용
-        }
-
-        List<GroupAccessVO> access = groupAccessMapper.findByUserIdAndGroupType(userId, groupType);
-        return access.stream()
-                .filter(ga -> Boolean.TRUE.equals(ga.getCAN_VIEW()))
-                .map(GroupAccessVO::getGROUP_ID)
-                .toList();
+        return getAccessScope(userId).viewGroupIds(groupType); // null = 전체 허용
     }
 }
@@ -0,0 +1,350 @@
+package dev3.nms.service;
+
+import dev3.nms.config.ExecutorRegistry;
+import dev3.nms.mapper.DeviceMapper;
+import dev3.nms.mapper.PortMapper;
+import dev3.nms.vo.mgmt.DeviceVO;
+import dev3.nms.vo.mgmt.PortVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 포트 인벤토리 일괄 동기화 + 장비별 워크 캐시
+ * - 동기화는 port-inventory 풀에서 작업으로 실행 (한 번에 1개, 작업 ID 로 진행/결과 조회, 최근 MAX_JOBS 개 보관)
+ * - 여러 장비의 ifTable/ifXTable 을 동시에 워크 (동시 장비 수 max-concurrent 제한)
+ *   장비 할당 미들웨어 경유 (middleware-probe 풀에서 호출), 미들웨어 연결 불가 시에만 내장 SNMP fallback
+ *   워크 결과 반영(비교/UPSERT)도 같은 워크 스레드에서 실행 → 작업 스레드가 자기 뒤에 쌓인 작업을 기다리지 않음
+ * - 워크 결과를 저장된 PortVO 와 비교해 바뀐/새 포트만 UPSERT (변경 없는 포트는 쓰기 없음)
+ *   사라진 포트는 기존 saveOrUpdatePorts 와 같이 유지하고 건수만 보고
+ * - 워크 결과는 장비별 ifIndex → (행, 시각) 으로 cache-ttl-ms 동안 보관
+ *   → 포트 상태 체크(/devices/{id}/ports/{ifIndex}/check) 를 재조회 없이 응답, 실시간 체크 결과로 행 갱신
+ */
+@Slf4j
+@Service
+public class PortInventoryService {
+
+    /**
+     * 장비별 동기화 결과
+     * @param changed UPSERT 한 포트 수 (신규 + 변경)
+     * @param missing 저장돼 있지만 워크 결과에 없는 포트 수
+     */
+    public record SyncResult(Integer deviceId, boolean success, String message,
+                             int walked, int changed, int unchanged, int missing) {
+    }
+
+    /**
+     * 동기화 작업 (status: RUNNING / DONE / FAILED)
+     */
+    public record SyncJob(Long jobId, String status, long startedAt, Long finishedAt,
+                          List<SyncResult> results, String message) {
+    }
+
+    record PortDiff(List<PortVO> changed, int unchanged, List<Integer> missing) {
+    }
+
+    record CachedRow(MiddlewareClient.PortInfo info, long at) {
+    }
+
+    static final int MAX_JOBS = 20;
+
+    private final DeviceMapper deviceMapper;
+    private final PortMapper portMapper;
+    private final PortService portService;
+    private final MiddlewareClient middlewareClient;
+    private final Executor walkExecutor;
+    private final Executor executor;
+    private final LongSupplier clock;
+    private final long cacheTtlMs;
+    private final int maxConcurrent;
+    private final Map<Integer, Map<Integer, CachedRow>> cache = new ConcurrentHashMap<>();
+    private final AtomicLong jobSeq = new AtomicLong();
+    private final Map<Long, SyncJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SyncJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    };
+    private Long runningJobId;
+
+    // metrics
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong upsertedRows = new AtomicLong();
+    private final AtomicLong skippedRows = new AtomicLong();
+
+    @Autowired
+    public PortInventoryService(DeviceMapper deviceMapper, PortMapper portMapper, PortService portService,
+                                MiddlewareClient middlewareClient, ExecutorRegistry executorRegistry,
+                                @Value("${port-inventory.cache-ttl-ms:60000}") long cacheTtlMs,
+                                @Value("${port-inventory.max-concurrent:32}") int maxConcurrent) {
+        this(deviceMapper, portMapper, portService, middlewareClient,
+                executorRegistry.executor(ExecutorRegistry.MIDDLEWARE_PROBE),
+                executorRegistry.executor(ExecutorRegistry.PORT_INVENTORY), System::currentTimeMillis,
+                cacheTtlMs, maxConcurrent);
+    }
+
+    PortInventoryService(DeviceMapper deviceMapper, PortMapper portMapper, PortService portService,
+                         MiddlewareClient middlewareClient, Executor walkExecutor, Executor executor,
+                         LongSupplier clock, long cacheTtlMs, int maxConcurrent) {
+        this.deviceMapper = deviceMapper;
+        this.portMapper = portMapper;
+        this.portService = portService;
+        this.middlewareClient = middlewareClient;
+        this.walkExecutor = walkExecutor;
+        this.executor = executor;
+        this.clock = clock;
+        this.cacheTtlMs = Math.max(0, cacheTtlMs);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+    }
+
+    // ========== Job ==========
+
+    /**
+     * 동기화 작업 시작
+     * @param deviceIds 대상 장비 (null 이면 SNMP 설정이 있는 전체 장비)
+     * @return 작업 ID, 이미 진행 중인 작업이 있으면 null
+     */
+    public synchronized Long startSync(Collection<Integer> deviceIds) {
+        if (runningJobId != null) return null;
+        Long jobId = jobSeq.incrementAndGet();
+        runningJobId = jobId;
+        jobs.put(jobId, new SyncJob(jobId, "RUNNING", clock.getAsLong(), null, List.of(), null));
+        try {
+            executor.execute(() -> runJob(jobId, deviceIds));
+        } catch (RejectedExecutionException e) {
+            runningJobId = null;
+            jobs.remove(jobId);
+            throw e;
+        }
+        return jobId;
+    }
+
+    public synchronized SyncJob getJob(Long jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void runJob(Long jobId, Collection<Integer> deviceIds) {
+        SyncJob finished;
+        try {
+            finished = finish(jobId, "DONE", syncPorts(deviceIds), null);
+        } catch (RuntimeException e) {
+            log.error("포트 인벤토리 동기화 작업 실패 - jobId: {}", jobId, e);
+            finished = finish(jobId, "FAILED", List.of(), e.getMessage());
+        }
+        synchronized (this) {
+            jobs.put(jobId, finished);
+            runningJobId = null;
+        }
+    }
+
+    private SyncJob finish(Long jobId, String status, List<SyncResult> results, String message) {
+        SyncJob job = getJob(jobId);
+        return new SyncJob(jobId, status, job.startedAt(), clock.getAsLong(), results, message);
+    }
+
+    // ========== Sync ==========
+
+    /**
+     * 포트 인벤토리 동기화
+     * @param deviceIds 대상 장비 (null 이면 SNMP 설정이 있는 전체 장비)
+     */
+    public List<SyncResult> syncPorts(Collection<Integer> deviceIds) {
+        Set<Integer> targets = deviceIds != null ? new HashSet<>(deviceIds) : null;
+        List<DeviceVO> devices = deviceMapper.findAllDevices().stream()
+                .filter(d -> targets == null || targets.contains(d.getDEVICE_ID()))
+                .toList();
+        return syncDevices(devices);
+    }
+
+    /**
+     * 장비별 워크를 비동기로 동시에 진행 (진행 중 장비 수 ≤ max-concurrent), 결과는 입력 순서
+     */
+    List<SyncResult> syncDevices(List<DeviceVO> devices) {
+        evictExpired();
+        long startedAt = System.currentTimeMillis();
+        Semaphore permits = new Semaphore(maxConcurrent);
+        List<CompletableFuture<SyncResult>> futures = new ArrayList<>(devices.size());
+        for (DeviceVO device : devices) {
+            permits.acquireUninterruptibly();
+            CompletableFuture<SyncResult> future;
+            try {
+                future = syncAsync(device);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.completedFuture(failure(device.getDEVICE_ID(), e.getMessage()));
+            }
+            future.whenComplete((r, e) -> permits.release());
+            futures.add(future);
+        }
+        List<SyncResult> results = futures.stream().map(CompletableFuture::join).toList();
+
+        log.info("포트 인벤토리 동기화 - 장비: {}, 실패: {}, UPSERT: {}, 변경 없음: {}, {}ms",
+                results.size(),
+                results.stream().filter(r -> !r.success()).count(),
+                results.stream().mapToInt(SyncResult::changed).sum(),
+                results.stream().mapToInt(SyncResult::unchanged).sum(),
+                System.currentTimeMillis() - startedAt);
+        return results;
+    }
+
+    private CompletableFuture<SyncResult> syncAsync(DeviceVO device) {
+        Integer deviceId = device.getDEVICE_ID();
+        if (device.getSNMP_VERSION() == null) {
+            return CompletableFuture.completedFuture(failure(deviceId, "SNMP 설정 없음"));
+        }
+        MiddlewareClient.SnmpRequest request = toSnmpRequest(device);
+        return CompletableFuture.supplyAsync(() -> middlewareClient.getPorts(request, deviceId), walkExecutor)
+                .thenApply(response -> applyWalk(deviceId, response))
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("포트 인벤토리 동기화 실패 - deviceId: {}, error: {}", deviceId, cause.getMessage());
+                    return failure(deviceId, cause.getMessage());
+                });
+    }
+
+    /**
+     * 워크 결과 캐시 + 저장 포트와 비교해 변경분만 UPSERT
+     */
+    SyncResult applyWalk(Integer deviceId, MiddlewareClient.PortsResponse response) {
+        if (!response.isSuccess()) {
+            return failure(deviceId, response.getMessage());
+        }
+        List<MiddlewareClient.PortInfo> infos = response.getPorts() != null ? response.getPorts() : List.of();
+        long now = clock.getAsLong();
+        Map<Integer, CachedRow> rows = new ConcurrentHashMap<>();
+        for (MiddlewareClient.PortInfo info : infos) {
+            rows.put(info.getIfIndex(), new CachedRow(info, now));
+        }
+        cache.put(deviceId, rows);
+
+        List<PortVO> walked = infos.stream().map(MiddlewareClient::toPortVO).toList();
+        PortDiff diff = diff(portMapper.findAllByDeviceId(deviceId), walked);
+        if (!diff.changed().isEmpty()) {
+            portService.saveOrUpdatePorts(deviceId, diff.changed());
+        }
+        upsertedRows.addAndGet(diff.changed().size());
+        skippedRows.addAndGet(diff.unchanged());
+        return new SyncResult(deviceId, true, null, walked.size(), diff.changed().size(), diff.unchanged(),
+                diff.missing().size());
+    }
+
+    /**
+     * 저장 포트 vs 워크 결과
+     * - 인벤토리 컬럼이 모두 같으면 변경 없음 (Admin/Oper 상태는 감시 파이프라인 소유라 비교하지 않음)
+     * - IF_NAME 은 SNMP 수집 대상이 아니므로 기존 값 유지
+     */
+    static PortDiff diff(List<PortVO> stored, List<PortVO> walked) {
+        Map<Integer, PortVO> byIndex = new HashMap<>();
+        for (PortVO p : stored) {
+            byIndex.putIfAbsent(p.getIF_INDEX(), p);
+        }
+        List<PortVO> changed = new ArrayList<>();
+        int unchanged = 0;
+        for (PortVO p : walked) {
+            PortVO old = byIndex.remove(p.getIF_INDEX());
+            if (old != null && p.getIF_NAME() == null) {
+                p.setIF_NAME(old.getIF_NAME());
+            }
+            if (old != null && sameInventory(old, p)) {
+                unchanged++;
+            } else {
+                changed.add(p);
+            }
+        }
+        return new PortDiff(changed, unchanged, new ArrayList<>(byIndex.keySet()));
+    }
+
+    private static boolean sameInventory(PortVO a, PortVO b) {
+        return Objects.equals(a.getIF_DESCR(), b.getIF_DESCR())
+                && Objects.equals(a.getIF_DESCRIPTION(), b.getIF_DESCRIPTION())
+                && Objects.equals(a.getIF_TYPE(), b.getIF_TYPE())
+                && Objects.equals(a.getIF_MTU(), b.getIF_MTU())
+                && Objects.equals(a.getIF_SPEED(), b.getIF_SPEED())
+                && Objects.equals(a.getIF_HIGH_SPEED(), b.getIF_HIGH_SPEED())
+                && Objects.equals(a.getIF_MAC_ADDRESS(), b.getIF_MAC_ADDRESS())
+                && Objects.equals(a.getIF_IP_ADDRESS(), b.getIF_IP_ADDRESS())
+                && Objects.equals(a.getIF_IP_NETMASK(), b.getIF_IP_NETMASK());
+    }
+
+    // ========== Walk cache ==========
+
+    /**
+     * 캐시된 워크 행으로 포트 상태 응답 (없거나 만료면 null → 호출측에서 실시간 조회)
+     */
+    public MiddlewareClient.PortStatusResponse cachedPortStatus(Integer deviceId, int ifIndex) {
+        Map<Integer, CachedRow> rows = cache.get(deviceId);
+        CachedRow row = rows != null ? rows.get(ifIndex) : null;
+        if (row == null || clock.getAsLong() - row.at() > cacheTtlMs) {
+            cacheMisses.incrementAndGet();
+            return null;
+        }
+        cacheHits.incrementAndGet();
+        MiddlewareClient.PortStatusResponse r = new MiddlewareClient.PortStatusResponse();
+        r.setSuccess(true);
+        r.setIfIndex(ifIndex);
+        r.setAdminStatus(row.info().getIfAdminStatus());
+        r.setOperStatus(row.info().getIfOperStatus());
+        r.setAdminStatusText(EmbeddedSnmpClient.statusText(r.getAdminStatus()));
+        r.setOperStatusText(EmbeddedSnmpClient.statusText(r.getOperStatus()));
+        return r;
+    }
+
+    /**
+     * 실시간 포트 상태 체크 결과를 캐시 행에 반영 (워크된 장비/포트만)
+     */
+    public void cacheStatus(Integer deviceId, MiddlewareClient.PortStatusResponse status) {
+        if (status == null || !status.isSuccess()) return;
+        Map<Integer, CachedRow> rows = cache.get(deviceId);
+        if (rows == null) return;
+        long now = clock.getAsLong();
+        rows.computeIfPresent(status.getIfIndex(), (ifIndex, row) -> {
+            row.info().setIfAdminStatus(status.getAdminStatus());
+            row.info().setIfOperStatus(status.getOperStatus());
+            return new CachedRow(row.info(), now);
+        });
+    }
+
+    /**
+     * 만료 행만 남은 장비 캐시 제거
+     */
+    void evictExpired() {
+        long now = clock.getAsLong();
+        cache.entrySet().removeIf(e -> e.getValue().values().stream().allMatch(row -> now - row.at() > cacheTtlMs));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cachedDevices", cache.size());
+        stats.put("cacheHits", cacheHits.get());
+        stats.put("cacheMisses", cacheMisses.get());
+        stats.put("upsertedRows", upsertedRows.get());
+        stats.put("skippedRows", skippedRows.get());
+        return stats;
+    }
+
+    // ========== Helpers ==========
+
+    private static SyncResult failure(Integer deviceId, String message) {
+        return new SyncResult(deviceId, false, message, 0, 0, 0, 0);
+    }
+
+    private static MiddlewareClient.SnmpRequest toSnmpRequest(DeviceVO device) {
+        MiddlewareClient.SnmpRequest request = new MiddlewareClient.SnmpRequest();
+        request.setIpAddress(device.getDEVICE_IP());
+        request.setSnmpVersion(device.getSNMP_VERSION());
+        request.setSnmpPort(device.getSNMP_PORT() != null ? device.getSNMP_PORT() : 161);
+        request.setCommunity(device.getSNMP_COMMUNITY());
+        request.setUser(device.getSNMP_USER());
+        request.setAuthProtocol(device.getSNMP_AUTH_PROTOCOL());
+        request.setAuthPassword(device.getSNMP_AUTH_PASSWORD());
+        request.setPrivProtocol(device.getSNMP_PRIV_PROTOCOL());
+        request.setPrivPassword(device.getSNMP_PRIV_PASSWORD());
+        return request;
+    }
+}
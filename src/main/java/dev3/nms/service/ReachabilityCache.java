@@ -0,0 +1,97 @@
+package dev3.nms.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 장비 × 미들웨어 도달성 매트릭스 (재분배용)
+ * - 미들웨어별 마지막 probe 결과와 시각 보관, TTL 지나면 재 probe 대상
+ * - 장비 IP/SNMP 크리덴셜이 바뀌면(fingerprint 변경) 해당 장비의 모든 결과 무효화
+ * - 메모리 보관 (재시작 시 다음 재분배에서 다시 채워짐)
+ */
+@Component
+public class ReachabilityCache {
+
+    private final long ttlMillis;
+
+    // deviceId -> 장비 도달성
+    private final Map<Integer, DeviceReachability> matrix = new ConcurrentHashMap<>();
+
+    public ReachabilityCache(@Value("${middleware.rebalance.reachability-ttl-min:360}") long ttlMinutes) {
+        this.ttlMillis = Math.max(1, ttlMinutes) * 60_000L;
+    }
+
+    /**
+     * probe 에 영향을 주는 장비 속성 (IP + SNMP 크리덴셜) 해시
+     */
+    public static int fingerprint(Map<String, Object> dev) {
+        return Objects.hash(dev.get("DEVICE_IP"), dev.get("SNMP_VERSION"), dev.get("SNMP_PORT"),
+                dev.get("SNMP_COMMUNITY"), dev.get("SNMP_USER"), dev.get("SNMP_AUTH_PROTOCOL"),
+                dev.get("SNMP_AUTH_PASSWORD"), dev.get("SNMP_PRIV_PROTOCOL"), dev.get("SNMP_PRIV_PASSWORD"));
+    }
+
+    /**
+     * 유효한(TTL 이내, fingerprint 일치) probe 결과가 없으면 true
+     */
+    public boolean needsProbe(int deviceId, int fingerprint, int middlewareId, long now) {
+        DeviceReachability r = matrix.get(deviceId);
+        if (r == null || r.fingerprint != fingerprint) return true;
+        Probe p = r.probes.get(middlewareId);
+        return p == null || now - p.probedAt > ttlMillis;
+    }
+
+    /**
+     * probe 결과 기록 - fingerprint 가 바뀌었으면 기존 결과 전부 폐기
+     */
+    public void record(int deviceId, int fingerprint, int middlewareId, boolean reachable, long now) {
+        DeviceReachability r = matrix.compute(deviceId, (id, old) ->
+                old != null && old.fingerprint == fingerprint ? old : new DeviceReachability(fingerprint));
+        r.probes.put(middlewareId, new Probe(reachable, now));
+    }
+
+    /**
+     * 유효한 결과 기준 도달 가능 미들웨어 목록
+     * @return 대상 미들웨어 중 유효한 결과가 하나도 없으면 null (판단 불가)
+     */
+    public Set<Integer> reachableMiddlewares(int deviceId, int fingerprint, Collection<Integer> middlewareIds, long now) {
+        DeviceReachability r = matrix.get(deviceId);
+        if (r == null || r.fingerprint != fingerprint) return null;
+
+        Set<Integer> reachable = new HashSet<>();
+        boolean known = false;
+        for (Integer mwId : middlewareIds) {
+            Probe p = r.probes.get(mwId);
+            if (p == null || now - p.probedAt > ttlMillis) continue;
+            known = true;
+            if (p.reachable) reachable.add(mwId);
+        }
+        return known ? reachable : null;
+    }
+
+    /**
+     * 삭제된 장비 / 비활성 미들웨어 결과 정리
+     */
+    public void retain(Set<Integer> deviceIds, Set<Integer> middlewareIds) {
+        matrix.keySet().retainAll(deviceIds);
+        matrix.values().forEach(r -> r.probes.keySet().retainAll(middlewareIds));
+    }
+
+    public int size() {
+        return matrix.size();
+    }
+
+    private static class DeviceReachability {
+        final int fingerprint;
+        final Map<Integer, Probe> probes = new ConcurrentHashMap<>();
+
+        DeviceReachability(int fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private record Probe(boolean reachable, long probedAt) {
+    }
+}
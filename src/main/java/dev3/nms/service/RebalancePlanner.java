@@ -0,0 +1,150 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.mgmt.RebalancePlanVO;
+
+import java.util.*;
+
+/**
+ * 최소 이동 재분배 계획
+ * - 1단계(배치): 미할당/비활성 미들웨어 할당/현재 미들웨어에서 도달 불가 장비만 도달 가능 미들웨어 중 최소 부하로 배치
+ * - 2단계(균형): 최대 부하 미들웨어가 목표치(ceil(전체/미들웨어 수)) + 허용치를 넘을 때만 초과분을 이동
+ * - 그 외 장비는 현재 할당 유지 → UPDATE 는 MIDDLEWARE_ID 가 실제로 바뀌는 장비만
+ * - FIXED 장비는 이동하지 않고 부하로만 반영
+ */
+final class RebalancePlanner {
+
+    static final String REASON_ORPHAN = "ORPHAN";
+    static final String REASON_UNREACHABLE = "UNREACHABLE";
+    static final String REASON_BALANCE = "BALANCE";
+
+    /**
+     * 재분배 대상 장비
+     * @param reachable 도달 가능 미들웨어 (null = probe 결과 없음)
+     */
+    record Candidate(int deviceId, Integer currentMw, boolean fixed, Set<Integer> reachable) {
+    }
+
+    private RebalancePlanner() {
+    }
+
+    /**
+     * @param activeIds         활성 미들웨어 ID (우선순위 순 - 부하 동률이면 앞쪽 선택)
+     * @param maxImbalancePct   목표 부하 대비 허용 초과 비율 (%)
+     */
+    static RebalancePlanVO plan(List<Candidate> devices, List<Integer> activeIds, int maxImbalancePct) {
+        RebalancePlanVO plan = new RebalancePlanVO();
+        Map<Integer, Integer> order = new HashMap<>();
+        Map<Integer, Integer> load = new LinkedHashMap<>();
+        Map<Integer, List<Candidate>> members = new HashMap<>();
+        for (Integer mwId : activeIds) {
+            order.put(mwId, order.size());
+            load.put(mwId, 0);
+            members.put(mwId, new ArrayList<>());
+        }
+
+        for (Candidate d : devices) {
+            if (d.currentMw() != null && load.containsKey(d.currentMw())) {
+                load.merge(d.currentMw(), 1, Integer::sum);
+                if (!d.fixed()) members.get(d.currentMw()).add(d);
+            }
+        }
+        plan.getLoadBefore().putAll(load);
+
+        // deviceId -> 목표 미들웨어 / 사유
+        Map<Integer, Integer> target = new HashMap<>();
+        Map<Integer, String> reasons = new HashMap<>();
+
+        // 1단계: 배치가 필요한 장비
+        for (Candidate d : devices) {
+            if (d.fixed()) continue;
+
+            String reason = null;
+            if (d.currentMw() == null || !load.containsKey(d.currentMw())) {
+                reason = REASON_ORPHAN;
+            } else if (d.reachable() != null && !d.reachable().isEmpty() && !d.reachable().contains(d.currentMw())) {
+                reason = REASON_UNREACHABLE;
+                load.merge(d.currentMw(), -1, Integer::sum);
+                members.get(d.currentMw()).remove(d);
+            }
+            if (reason == null) continue;
+
+            Integer to = minLoad(candidatesOf(d, activeIds), load, order);
+            load.merge(to, 1, Integer::sum);
+            members.get(to).add(d);
+            target.put(d.deviceId(), to);
+            reasons.put(d.deviceId(), reason);
+        }
+
+        // 2단계: 허용치 초과 미들웨어에서 미달 미들웨어로 이동
+        int total = load.values().stream().mapToInt(Integer::intValue).sum();
+        int goal = (total + activeIds.size() - 1) / activeIds.size();
+        int threshold = goal + Math.max(1, goal * Math.max(0, maxImbalancePct) / 100);
+        Set<Integer> exhausted = new HashSet<>();
+
+        while (true) {
+            Integer src = load.entrySet().stream()
+                    .filter(e -> e.getValue() > threshold && !exhausted.contains(e.getKey()))
+                    .max(Map.Entry.<Integer, Integer>comparingByValue()
+                            .thenComparing(e -> -order.get(e.getKey())))
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            if (src == null) break;
+
+            Candidate moved = null;
+            Integer dst = null;
+            List<Candidate> list = members.get(src);
+            for (int i = list.size() - 1; i >= 0 && moved == null; i--) {
+                Candidate d = list.get(i);
+                List<Integer> under = new ArrayList<>();
+                for (Integer mwId : candidatesOf(d, activeIds)) {
+                    if (!mwId.equals(src) && load.get(mwId) < goal) under.add(mwId);
+                }
+                if (!under.isEmpty()) {
+                    moved = d;
+                    dst = minLoad(under, load, order);
+                }
+            }
+            if (moved == null) {
+                exhausted.add(src);
+                continue;
+            }
+
+            list.remove(moved);
+            members.get(dst).add(moved);
+            load.merge(src, -1, Integer::sum);
+            load.merge(dst, 1, Integer::sum);
+            target.put(moved.deviceId(), dst);
+            reasons.putIfAbsent(moved.deviceId(), REASON_BALANCE);
+        }
+
+        for (Candidate d : devices) {
+            Integer to = target.get(d.deviceId());
+            if (to == null || to.equals(d.currentMw())) continue;
+            plan.getMoves().add(new RebalancePlanVO.Move(d.deviceId(), d.currentMw(), to, reasons.get(d.deviceId())));
+        }
+        plan.getLoadAfter().putAll(load);
+        plan.setMiddlewareCount(activeIds.size());
+        plan.setDeviceCount(devices.size());
+        plan.setMoveCount(plan.getMoves().size());
+        plan.setUpdateStatements((int) plan.getMoves().stream().map(RebalancePlanVO.Move::getToMiddlewareId).distinct().count());
+        return plan;
+    }
+
+    /**
+     * 장비를 둘 수 있는 미들웨어 - 도달 가능 미들웨어가 있으면 그 중에서, 없으면(모름/전부 불가) 전체
+     */
+    private static List<Integer> candidatesOf(Candidate d, List<Integer> activeIds) {
+        if (d.reachable() == null || d.reachable().isEmpty()) return activeIds;
+        List<Integer> list = new ArrayList<>();
+        for (Integer mwId : activeIds) {
+            if (d.reachable().contains(mwId)) list.add(mwId);
+        }
+        return list.isEmpty() ? activeIds : list;
+    }
+
+    private static Integer minLoad(List<Integer> candidates, Map<Integer, Integer> load, Map<Integer, Integer> order) {
+        return candidates.stream()
+                .min(Comparator.<Integer>comparingInt(load::get).thenComparingInt(order::get))
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,8 @@
+package dev3.nms.service;
+
+/**
+ * 장비 재분배 요청 이벤트 - 발행한 트랜잭션이 커밋된 후 RebalanceScheduler 가 수신
+ * @param reason 트리거 사유 (이력 표시용)
+ */
+public record RebalanceRequestedEvent(String reason) {
+}
@@ -0,0 +1,154 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.mgmt.RebalancePlanVO;
+import dev3.nms.vo.mgmt.RebalanceRunVO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 장비 재분배 단일 실행 스케줄러
+ * - 요청은 이벤트로 발행, 트랜잭션 커밋 후에만 수신 (롤백 시 재분배 없음, 트랜잭션 밖 요청은 즉시 수신)
+ * - debounce: 마지막 요청 후 debounceMs 동안 추가 요청이 없으면 실행 (최초 요청 후 maxDelayMs 초과 시 즉시)
+ * - 동시에 1개만 실행, 실행 중 들어온 요청은 실행 종료 후 1회로 병합하여 재실행(trailing run)
+ * - 최근 실행 이력 보관 (관리자 조회용)
+ */
+@Slf4j
+@Component
+public class RebalanceScheduler {
+
+    private final DeviceRebalanceService deviceRebalanceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long debounceMs;
+    private final long maxDelayMs;
+    private final int historySize;
+
+    // 디바운스 타이머 + 재분배 실행 (단일 스레드 → 동시 실행 없음)
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "rebalance");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 아래 상태는 this 로 동기화
+    private final List<String> pendingReasons = new ArrayList<>();
+    private long firstPendingAt;
+    private ScheduledFuture<?> timer;
+    private boolean running;
+    private long runSeq;
+    private final Deque<RebalanceRunVO> history = new ArrayDeque<>();
+
+    public RebalanceScheduler(DeviceRebalanceService deviceRebalanceService,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${middleware.rebalance.debounce-ms:2000}") long debounceMs,
+                              @Value("${middleware.rebalance.max-delay-ms:10000}") long maxDelayMs,
+                              @Value("${middleware.rebalance.history-size:50}") int historySize) {
+        this.deviceRebalanceService = deviceRebalanceService;
+        this.eventPublisher = eventPublisher;
+        this.debounceMs = Math.max(0, debounceMs);
+        this.maxDelayMs = Math.max(this.debounceMs, maxDelayMs);
+        this.historySize = Math.max(1, historySize);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 재분배 요청 - 호출 트랜잭션 커밋 후 반영
+     */
+    public void request(String reason) {
+        eventPublisher.publishEvent(new RebalanceRequestedEvent(reason));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequested(RebalanceRequestedEvent event) {
+        trigger(event.reason());
+    }
+
+    /**
+     * 요청 병합 - 실행 중이면 종료 후 재실행, 아니면 디바운스 타이머 재설정
+     */
+    synchronized void trigger(String reason) {
+        long now = System.currentTimeMillis();
+        if (pendingReasons.isEmpty()) {
+            firstPendingAt = now;
+        }
+        pendingReasons.add(reason);
+        if (!running) {
+            schedule(now);
+        }
+    }
+
+    private void schedule(long now) {
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        long delay = Math.min(debounceMs, Math.max(0, firstPendingAt + maxDelayMs - now));
+        timer = executor.schedule(this::runPending, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void runPending() {
+        List<String> reasons;
+        RebalanceRunVO run = new RebalanceRunVO();
+        synchronized (this) {
+            timer = null;
+            if (running || pendingReasons.isEmpty()) return;
+            reasons = new ArrayList<>(pendingReasons);
+            pendingReasons.clear();
+            running = true;
+            run.setRunId(++runSeq);
+        }
+
+        run.setStartedAt(LocalDateTime.now());
+        run.setReasons(reasons.stream().distinct().toList());
+        run.setTriggerCount(reasons.size());
+        long started = System.currentTimeMillis();
+        try {
+            RebalancePlanVO plan = deviceRebalanceService.rebalance();
+            run.setDevicesProbed(plan.getProbedDevices());
+            run.setProbeRequests(plan.getProbeRequests());
+            run.setMoves(plan.getMoveCount());
+            run.setStatus("SUCCESS");
+        } catch (Exception e) {
+            log.error("장비 재분배 실패: {}", e.getMessage(), e);
+            run.setStatus("FAILED");
+            run.setError(e.getMessage());
+        }
+        run.setDurationMs(System.currentTimeMillis() - started);
+
+        synchronized (this) {
+            history.addFirst(run);
+            while (history.size() > historySize) {
+                history.removeLast();
+            }
+            running = false;
+            // 실행 중 들어온 요청 → trailing run
+            if (!pendingReasons.isEmpty()) {
+                schedule(System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * 스케줄러 상태 + 최근 실행 이력 (최신순)
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running);
+        status.put("pendingTriggers", pendingReasons.size());
+        status.put("runs", new ArrayList<>(history));
+        return status;
+    }
+}
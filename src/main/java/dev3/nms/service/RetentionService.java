@@ -0,0 +1,299 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.RetentionMapper;
+import dev3.nms.vo.mgmt.RetentionPolicyVO;
+import dev3.nms.vo.mgmt.TablePartitionVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * 성능 이력 보관 기간 관리
+ * - raw 테이블: 일 단위 RANGE 파티션, 만료 파티션 DROP + precreate-days 만큼 미래 파티션 사전 생성
+ * - 파티션 미적용 raw 테이블 / rollup 테이블: 배치 DELETE (delete-batch 건씩)
+ * - raw 는 rollup 되지 않은 구간을 삭제하지 않음 (5분 집계 WATERMARK 이전까지만)
+ *   WATERMARK 를 알 수 없으면 (재기동 후 첫 집계 전, 집계 미사용) raw 삭제/파티션 DROP 생략
+ */
+@Slf4j
+@Service
+public class RetentionService {
+
+    /**
+     * 관리 대상 테이블 - DDL/DELETE 의 테이블명은 이 목록에서만 사용
+     */
+    enum ManagedTable {
+        TRAFFIC("p_traffic_t", "COLLECTED_AT", false, MetricRollupService.Source.TRAFFIC),
+        CPU_MEM("p_cpu_mem_t", "COLLECTED_AT", false, MetricRollupService.Source.CPU_MEM),
+        ICMP("p_icmp_t", "COLLECT_TIME", false, MetricRollupService.Source.ICMP),
+        TRAFFIC_ROLLUP("p_traffic_rollup_t", "BUCKET_AT", true, MetricRollupService.Source.TRAFFIC),
+        CPU_MEM_ROLLUP("p_cpu_mem_rollup_t", "BUCKET_AT", true, MetricRollupService.Source.CPU_MEM),
+        ICMP_ROLLUP("p_icmp_rollup_t", "BUCKET_AT", true, MetricRollupService.Source.ICMP);
+
+        final String tableName;
+        final String timeColumn;
+        final boolean rollup;
+        final MetricRollupService.Source source;
+
+        ManagedTable(String tableName, String timeColumn, boolean rollup, MetricRollupService.Source source) {
+            this.tableName = tableName;
+            this.timeColumn = timeColumn;
+            this.rollup = rollup;
+            this.source = source;
+        }
+
+        static ManagedTable of(String tableName) {
+            for (ManagedTable t : values()) {
+                if (t.tableName.equalsIgnoreCase(tableName)) return t;
+            }
+            return null;
+        }
+    }
+
+    static final String MAXVALUE = "MAXVALUE";
+    private static final int MAX_RETENTION_DAYS = 3650;
+    private static final int MAX_DELETE_ROUNDS = 1000;
+    private static final Pattern PARTITION_NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final DateTimeFormatter BOUND_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter NAME_FMT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+
+    private final RetentionMapper retentionMapper;
+    private final MetricRollupService metricRollupService;
+    private final int precreateDays;
+    private final int deleteBatch;
+
+    public RetentionService(RetentionMapper retentionMapper,
+                            MetricRollupService metricRollupService,
+                            @Value("${retention.precreate-days:7}") int precreateDays,
+                            @Value("${retention.delete-batch:10000}") int deleteBatch) {
+        this.retentionMapper = retentionMapper;
+        this.metricRollupService = metricRollupService;
+        this.precreateDays = precreateDays;
+        this.deleteBatch = deleteBatch;
+    }
+
+    /**
+     * 기동 시 미래 파티션 확인 (장기 중지 후 재기동 대비)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        for (ManagedTable table : ManagedTable.values()) {
+            if (table.rollup) continue;
+            try {
+                ensureFuturePartitions(table, LocalDate.now());
+            } catch (Exception e) {
+                log.warn("[Retention] {} 파티션 생성 실패: {}", table.tableName, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 일 1회 (00:10) 파티션 사전 생성 + 만료 데이터 정리
+     */
+    @Scheduled(cron = "${retention.cron:0 10 0 * * *}")
+    public void scheduledMaintenance() {
+        runMaintenance();
+    }
+
+    /**
+     * @return 테이블(|집계 단위)별 처리 결과
+     */
+    public synchronized Map<String, Object> runMaintenance() {
+        LocalDate today = LocalDate.now();
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (RetentionPolicyVO policy : retentionMapper.findPolicies()) {
+            ManagedTable table = ManagedTable.of(policy.getTABLE_NAME());
+            if (table == null) continue;
+            String key = table.tableName + (table.rollup ? "|" + policy.getBUCKET_SEC() : "");
+            try {
+                result.put(key, table.rollup ? purgeRollup(table, policy, today) : maintainRaw(table, policy, today));
+            } catch (Exception e) {
+                log.warn("[Retention] {} 정리 실패: {}", key, e.getMessage());
+                result.put(key, "실패: " + e.getMessage());
+            }
+        }
+        log.info("[Retention] 정리 완료 {}", result);
+        return result;
+    }
+
+    private String maintainRaw(ManagedTable table, RetentionPolicyVO policy, LocalDate today) {
+        LocalDateTime retentionCutoff = today.minusDays(policy.getRETENTION_DAYS()).atStartOfDay();
+        // 아직 5분 집계되지 않은 구간은 유지
+        LocalDateTime rolledUpTo = metricRollupService.rolledUpTo(table.source);
+        List<TablePartitionVO> partitions = ensureFuturePartitions(table, today);
+        if (rolledUpTo == null) {
+            log.info("[Retention] {} 집계 WATERMARK 없음 - raw 정리 생략", table.tableName);
+            return "SKIP (집계 전)";
+        }
+        LocalDateTime cutoff = rolledUpTo.isBefore(retentionCutoff)
+                ? rolledUpTo.toLocalDate().atStartOfDay() : retentionCutoff;
+
+        if (!isPartitioned(partitions)) {
+            int deleted = deleteInBatches(limit -> retentionMapper.deleteRawBefore(table.tableName, table.timeColumn, cutoff, limit));
+            return "DELETE " + deleted + "건";
+        }
+        List<String> expired = expiredPartitions(partitions, cutoff);
+        if (!expired.isEmpty()) {
+            retentionMapper.dropPartitions(table.tableName, expired);
+        }
+        return "DROP " + expired;
+    }
+
+    private String purgeRollup(ManagedTable table, RetentionPolicyVO policy, LocalDate today) {
+        LocalDateTime cutoff = today.minusDays(policy.getRETENTION_DAYS()).atStartOfDay();
+        int deleted = deleteInBatches(limit -> retentionMapper.deleteRollupBefore(table.tableName, policy.getBUCKET_SEC(), cutoff, limit));
+        return "DELETE " + deleted + "건";
+    }
+
+    private int deleteInBatches(IntUnaryOperator deleteBatchFn) {
+        int total = 0;
+        for (int round = 0; round < MAX_DELETE_ROUNDS; round++) {
+            int deleted = deleteBatchFn.applyAsInt(deleteBatch);
+            total += deleted;
+            if (deleted < deleteBatch) break;
+        }
+        return total;
+    }
+
+    /**
+     * today + precreate-days 까지 일 파티션 생성, 갱신된 파티션 목록 반환
+     */
+    private List<TablePartitionVO> ensureFuturePartitions(ManagedTable table, LocalDate today) {
+        List<TablePartitionVO> partitions = retentionMapper.findPartitions(table.tableName);
+        if (!isPartitioned(partitions)) return partitions;
+
+        List<TablePartitionVO> missing = planFuturePartitions(partitions, today, today.plusDays(precreateDays));
+        if (missing.isEmpty()) return partitions;
+
+        TablePartitionVO last = partitions.get(partitions.size() - 1);
+        if (MAXVALUE.equalsIgnoreCase(last.getPARTITION_DESCRIPTION())) {
+            if (!PARTITION_NAME.matcher(last.getPARTITION_NAME()).matches()) {
+                throw new IllegalStateException("파티션명 확인 필요: " + last.getPARTITION_NAME());
+            }
+            retentionMapper.reorganizeMaxPartition(table.tableName, last.getPARTITION_NAME(), missing);
+        } else {
+            retentionMapper.addPartitions(table.tableName, missing);
+        }
+        log.info("[Retention] {} 파티션 {}개 추가 (~{})", table.tableName, missing.size(),
+                missing.get(missing.size() - 1).getPARTITION_NAME());
+        return retentionMapper.findPartitions(table.tableName);
+    }
+
+    static boolean isPartitioned(List<TablePartitionVO> partitions) {
+        return !partitions.isEmpty() && partitions.get(0).getPARTITION_NAME() != null;
+    }
+
+    /**
+     * 마지막 상한 이후 ~ until (포함) 까지 하루 단위 파티션 정의
+     * - pYYYYMMDD: 해당 일자 데이터 (상한 = 다음날 00:00)
+     * - 마지막 상한이 from 보다 과거면 from 부터 (그 사이 데이터는 첫 파티션에 포함)
+     */
+    static List<TablePartitionVO> planFuturePartitions(List<TablePartitionVO> partitions, LocalDate from, LocalDate until) {
+        LocalDateTime lastBound = null;
+        for (TablePartitionVO p : partitions) {
+            LocalDateTime bound = parseBound(p.getPARTITION_DESCRIPTION());
+            if (bound != null) lastBound = bound;
+        }
+        LocalDate day = from;
+        if (lastBound != null) {
+            // 상한이 자정이 아니면 다음 날부터 일 단위 정렬
+            LocalDate next = lastBound.toLocalTime().equals(LocalTime.MIDNIGHT) ? lastBound.toLocalDate() : lastBound.toLocalDate().plusDays(1);
+            if (next.isAfter(day)) day = next;
+        }
+        List<TablePartitionVO> result = new ArrayList<>();
+        for (; !day.isAfter(until); day = day.plusDays(1)) {
+            result.add(TablePartitionVO.builder()
+                    .PARTITION_NAME(day.format(NAME_FMT))
+                    .PARTITION_DESCRIPTION(day.plusDays(1).atStartOfDay().format(BOUND_FMT))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 상한이 cutoff 이하인 파티션 (모든 행 < cutoff), MAXVALUE 제외
+     */
+    static List<String> expiredPartitions(List<TablePartitionVO> partitions, LocalDateTime cutoff) {
+        List<String> expired = new ArrayList<>();
+        for (TablePartitionVO p : partitions) {
+            LocalDateTime bound = parseBound(p.getPARTITION_DESCRIPTION());
+            if (bound != null && !bound.isAfter(cutoff) && PARTITION_NAME.matcher(p.getPARTITION_NAME()).matches()) {
+                expired.add(p.getPARTITION_NAME());
+            }
+        }
+        // 전체 파티션 삭제는 불가 → 최소 1개 유지
+        if (expired.size() >= partitions.size()) {
+            expired.remove(expired.size() - 1);
+        }
+        return expired;
+    }
+
+    /**
+     * PARTITION_DESCRIPTION → 상한 시각 ('2026-10-20 00:00:00' / '2026-10-20', MAXVALUE 는 null)
+     */
+    static LocalDateTime parseBound(String description) {
+        if (description == null || MAXVALUE.equalsIgnoreCase(description)) return null;
+        String s = description.replace("'", "").trim();
+        try {
+            return s.length() <= 10 ? LocalDate.parse(s).atStartOfDay() : LocalDateTime.parse(s, BOUND_FMT);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ==================== 관리자 API ====================
+
+    /**
+     * 보관 정책 + 테이블별 파티션 현황
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("policies", retentionMapper.findPolicies());
+        Map<String, Object> partitions = new LinkedHashMap<>();
+        for (ManagedTable table : ManagedTable.values()) {
+            if (table.rollup) continue;
+            List<TablePartitionVO> list = retentionMapper.findPartitions(table.tableName);
+            partitions.put(table.tableName, isPartitioned(list) ? list : "파티션 미적용");
+        }
+        status.put("partitions", partitions);
+        return status;
+    }
+
+    /**
+     * 보관 정책 수정 (관리 대상 테이블/단위만, 1 ~ 3650일)
+     */
+    @Transactional
+    public void updatePolicies(List<RetentionPolicyVO> policies) {
+        if (policies == null || policies.isEmpty()) {
+            throw new IllegalArgumentException("변경할 보관 정책이 없습니다");
+        }
+        for (RetentionPolicyVO policy : policies) {
+            ManagedTable table = ManagedTable.of(policy.getTABLE_NAME());
+            if (table == null) {
+                throw new IllegalArgumentException("관리 대상이 아닌 테이블입니다: " + policy.getTABLE_NAME());
+            }
+            Integer days = policy.getRETENTION_DAYS();
+            if (days == null || days < 1 || days > MAX_RETENTION_DAYS) {
+                throw new IllegalArgumentException("보관 기간은 1 ~ " + MAX_RETENTION_DAYS + "일이어야 합니다: " + table.tableName);
+            }
+        }
+        for (RetentionPolicyVO policy : policies) {
+            ManagedTable table = ManagedTable.of(policy.getTABLE_NAME());
+            int bucketSec = table.rollup && policy.getBUCKET_SEC() != null ? policy.getBUCKET_SEC() : 0;
+            if (retentionMapper.updatePolicy(table.tableName, bucketSec, policy.getRETENTION_DAYS()) == 0) {
+                throw new IllegalArgumentException("보관 정책이 없습니다: " + table.tableName + " / " + bucketSec);
+            }
+        }
+    }
+}
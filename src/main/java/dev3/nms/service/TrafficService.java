@@ -1,6 +1,9 @@
 package dev3.nms.service;
 
 import dev3.nms.mapper.TrafficMapper;
+import dev3.nms.util.ColumnarSeriesBuilder;
+import dev3.nms.util.SeriesDownsampler;
+import dev3.nms.vo.common.ColumnarChartVO;
 import dev3.nms.vo.mgmt.TrafficVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +11,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -16,6 +21,14 @@ import java.util.stream.Collectors;
 public class TrafficService {
 
     private final TrafficMapper trafficMapper;
+    private final MetricRollupService metricRollupService;
+
+    private static final Comparator<TrafficVO> ORDER = Comparator.comparing(TrafficVO::getDEVICE_ID)
+            .thenComparing(TrafficVO::getIF_INDEX).thenComparing(TrafficVO::getCOLLECTED_AT);
+
+    // 다운샘플 시 스파이크를 보존할 필드
+    private static final List<Function<TrafficVO, ? extends Number>> DOWNSAMPLE_FIELDS =
+            List.of(TrafficVO::getIN_BPS, TrafficVO::getOUT_BPS);
 
     // 가상 인터페이스 패턴 (프론트엔드와 동일)
     private static final java.util.regex.Pattern VIRTUAL_INTERFACE_PATTERN =
@@ -68,29 +81,91 @@ public class TrafficService {
      * 응답: {deviceId(String) → List<TrafficVO>}
      */
     public Map<String, List<TrafficVO>> getRecentTrafficBatch(List<Integer> deviceIds, Integer minutes,
-                                                               String startDate, String endDate, String granularity) {
+                                                               String startDate, String endDate, String granularity,
+                                                               SeriesDownsampler.Spec downsample) {
         Map<String, List<TrafficVO>> result = new LinkedHashMap<>();
         if (deviceIds == null || deviceIds.isEmpty()) return result;
         for (Integer id : deviceIds) {
             result.put(String.valueOf(id), new ArrayList<>());
         }
 
+        streamRecentTrafficBatch(deviceIds, minutes, startDate, endDate, granularity, downsample,
+                vo -> result.computeIfAbsent(String.valueOf(vo.getDEVICE_ID()), k -> new ArrayList<>()).add(vo));
+        return result;
+    }
+
+    /**
+     * 다중 장비의 트래픽 시계열을 DEVICE_ID, IF_INDEX, 시각 순서로 sink 에 전달 (스트리밍 응답용)
+     * - raw: mapper ResultHandler 로 fetch 단위 전달 → 결과 크기와 무관한 메모리 사용
+     * - 집계: 행 수가 버킷 수로 제한되므로 조회 후 순서대로 전달
+     * @param downsample raw 조회 시 포트별 다운샘플 (null 이면 전체)
+     */
+    public void streamRecentTrafficBatch(List<Integer> deviceIds, Integer minutes, String startDate, String endDate,
+                                         String granularity, SeriesDownsampler.Spec downsample, Consumer<TrafficVO> sink) {
+        if (deviceIds == null || deviceIds.isEmpty()) return;
         IcmpService.TimeRange range = IcmpService.resolveTimeRange(minutes, startDate, endDate);
         Integer intervalSec = IcmpService.resolveIntervalSec(granularity, range.start, range.end);
 
-        List<TrafficVO> rows;
         if (intervalSec == null || intervalSec <= 0) {
-            rows = trafficMapper.findRecentBatchRaw(deviceIds, range.startStr, range.endStr);
-        } else {
-            rows = trafficMapper.findRecentBatchAggregated(deviceIds, range.startStr, range.endStr, intervalSec);
+            SeriesDownsampler<TrafficVO> downsampler = SeriesDownsampler.of(downsample, range.start, range.end,
+                    vo -> vo.getDEVICE_ID() + "_" + vo.getIF_INDEX(), TrafficVO::getCOLLECTED_AT, DOWNSAMPLE_FIELDS, sink);
+            Consumer<TrafficVO> target = downsampler != null ? downsampler : sink;
+            trafficMapper.streamRecentBatchRaw(deviceIds, range.startStr, range.endStr, ctx -> {
+                TrafficVO vo = ctx.getResultObject();
+                if (!isVirtualInterface(vo)) target.accept(vo);
+            });
+            if (downsampler != null) downsampler.finish();
+            return;
         }
-
+        List<TrafficVO> rows = metricRollupService.route(MetricRollupService.Source.TRAFFIC, intervalSec, range,
+                (from, to) -> trafficMapper.findRecentBatchRollup(deviceIds, from, to, intervalSec),
+                (from, to) -> trafficMapper.findRecentBatchAggregated(deviceIds, from, to, intervalSec),
+                ORDER);
         for (TrafficVO vo : rows) {
-            if (isVirtualInterface(vo)) continue;
-            String key = String.valueOf(vo.getDEVICE_ID());
-            result.computeIfAbsent(key, k -> new ArrayList<>()).add(vo);
+            if (!isVirtualInterface(vo)) sink.accept(vo);
         }
-        return result;
+    }
+
+    /**
+     * 컬럼 형식 응답 필드 (format=columnar)
+     */
+    static final Map<String, Function<TrafficVO, ? extends Number>> COLUMNAR_FIELDS = new LinkedHashMap<>();
+    static {
+        COLUMNAR_FIELDS.put("IN_BPS", TrafficVO::getIN_BPS);
+        COLUMNAR_FIELDS.put("OUT_BPS", TrafficVO::getOUT_BPS);
+        COLUMNAR_FIELDS.put("IN_HIGH_BPS", TrafficVO::getIN_HIGH_BPS);
+        COLUMNAR_FIELDS.put("OUT_HIGH_BPS", TrafficVO::getOUT_HIGH_BPS);
+        COLUMNAR_FIELDS.put("IN_USED_PERCENT", TrafficVO::getIN_USED_PERCENT);
+        COLUMNAR_FIELDS.put("OUT_USED_PERCENT", TrafficVO::getOUT_USED_PERCENT);
+        COLUMNAR_FIELDS.put("IN_HIGH_USED_PERCENT", TrafficVO::getIN_HIGH_USED_PERCENT);
+        COLUMNAR_FIELDS.put("OUT_HIGH_USED_PERCENT", TrafficVO::getOUT_HIGH_USED_PERCENT);
+        COLUMNAR_FIELDS.put("IN_ERROR_USED", TrafficVO::getIN_ERROR_USED);
+        COLUMNAR_FIELDS.put("OUT_ERROR_USED", TrafficVO::getOUT_ERROR_USED);
+        COLUMNAR_FIELDS.put("IN_DISCARD_USED", TrafficVO::getIN_DISCARD_USED);
+        COLUMNAR_FIELDS.put("OUT_DISCARD_USED", TrafficVO::getOUT_DISCARD_USED);
+    }
+
+    /**
+     * 다중 장비의 트래픽 시계열 조회 - 컬럼 형식 (포트별 시리즈)
+     * @param fields 응답 필드 (미지정 시 COLUMNAR_FIELDS 전체)
+     * @param delta 시간축 delta 인코딩 여부
+     */
+    public ColumnarChartVO getRecentTrafficBatchColumnar(List<Integer> deviceIds, Integer minutes, String startDate,
+                                                         String endDate, String granularity, SeriesDownsampler.Spec downsample,
+                                                         List<String> fields, boolean delta) {
+        ColumnarSeriesBuilder<TrafficVO> builder = new ColumnarSeriesBuilder<>(
+                vo -> vo.getDEVICE_ID() + "_" + vo.getIF_INDEX(),
+                vo -> {
+                    Map<String, Object> tags = new LinkedHashMap<>();
+                    tags.put("deviceId", vo.getDEVICE_ID());
+                    tags.put("ifIndex", vo.getIF_INDEX());
+                    tags.put("name", vo.getPortName());
+                    return tags;
+                },
+                TrafficVO::getCOLLECTED_AT,
+                ColumnarSeriesBuilder.selectFields(COLUMNAR_FIELDS, fields));
+        streamRecentTrafficBatch(deviceIds, minutes, startDate, endDate, granularity, downsample, builder);
+        return builder.build(delta);
     }
 
     /**
@@ -0,0 +1,199 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 관제 메트릭 프레임 병합기 (구독자 1명 단위)
+ * - 프레임 윈도우 동안 (deviceId, ifIndex/메트릭) 별 최신값만 유지
+ * - 프레임 생성 시 마지막으로 보낸 프레임 대비 변경된 필드만 담은 delta 프레임 생성
+ * - snapshotEvery 프레임마다 전체 snapshot 프레임 생성 (유실/신규 구독 보정)
+ *
+ * 프레임 형식
+ * - {"type":"snapshot","seq":n,"groupId":..,"collectedAt":..,"devices":[전체 장비 상태]}
+ * - {"type":"delta","seq":n,"groupId":..,"collectedAt":..,"devices":[{"deviceId":..,변경 필드만}]}
+ *
+ * 스레드 안전: 모든 public 메서드는 인스턴스 단위로 동기화
+ */
+public class WatchFrameConflator {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final int snapshotEvery;
+
+    // deviceId -> 최신 장비 상태 (interfaces 는 ifIndex 키 객체로 보관)
+    private final Map<String, ObjectNode> latest = new LinkedHashMap<>();
+    // deviceId -> 마지막으로 전송한 장비 상태
+    private final Map<String, ObjectNode> lastSent = new LinkedHashMap<>();
+
+    private JsonNode groupId;
+    private JsonNode collectedAt;
+    private boolean dirty = false;
+    private long seq = 0;
+
+    public WatchFrameConflator(int snapshotEvery) {
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+    }
+
+    /**
+     * 업스트림 이벤트 1건 병합 (기존 값은 최신값으로 덮어씀)
+     */
+    public synchronized void ingest(JsonNode event) {
+        if (event == null || !event.isObject()) return;
+        if (event.has("groupId")) groupId = event.get("groupId");
+        if (event.has("collectedAt")) collectedAt = event.get("collectedAt");
+
+        JsonNode devices = event.path("devices");
+        if (!devices.isArray()) return;
+
+        for (JsonNode device : devices) {
+            JsonNode idNode = device.get("deviceId");
+            if (idNode == null || idNode.isNull()) continue;
+
+            ObjectNode state = latest.computeIfAbsent(idNode.asText(), k -> NODES.objectNode());
+            Iterator<Map.Entry<String, JsonNode>> fields = device.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if ("interfaces".equals(field.getKey())) {
+                    mergeInterfaces(state, field.getValue());
+                } else {
+                    state.set(field.getKey(), field.getValue());
+                }
+            }
+            dirty = true;
+        }
+    }
+
+    private void mergeInterfaces(ObjectNode state, JsonNode interfaces) {
+        if (!interfaces.isArray()) return;
+        ObjectNode byIndex = state.has("interfaces") && state.get("interfaces").isObject()
+                ? (ObjectNode) state.get("interfaces")
+                : state.putObject("interfaces");
+        for (JsonNode iface : interfaces) {
+            JsonNode ifIndex = iface.get("ifIndex");
+            if (ifIndex == null || ifIndex.isNull()) continue;
+            byIndex.set(ifIndex.asText(), iface);
+        }
+    }
+
+    /**
+     * 다음 프레임 생성 - 변경 사항이 없으면 null
+     */
+    public synchronized ObjectNode nextFrame() {
+        if (latest.isEmpty()) return null;
+
+        long next = seq + 1;
+        boolean snapshot = next == 1 || (next - 1) % snapshotEvery == 0;
+        if (!snapshot && !dirty) return null;
+
+        ArrayNode devices = NODES.arrayNode();
+        for (Map.Entry<String, ObjectNode> entry : latest.entrySet()) {
+            ObjectNode current = entry.getValue();
+            ObjectNode out = snapshot
+                    ? toWire(current)
+                    : diffDevice(current, lastSent.get(entry.getKey()));
+            if (out != null) devices.add(out);
+            lastSent.put(entry.getKey(), current.deepCopy());
+        }
+        dirty = false;
+
+        if (!snapshot && devices.isEmpty()) return null;
+        seq = next;
+
+        ObjectNode frame = NODES.objectNode();
+        frame.put("type", snapshot ? "snapshot" : "delta");
+        frame.put("seq", seq);
+        if (groupId != null) frame.set("groupId", groupId);
+        if (collectedAt != null) frame.set("collectedAt", collectedAt);
+        frame.set("devices", devices);
+        return frame;
+    }
+
+    /**
+     * 장비 단위 diff - 변경 필드가 없으면 null
+     * cpu/mem/icmp 같은 객체 필드는 하위 필드 단위로 비교
+     */
+    private ObjectNode diffDevice(ObjectNode current, ObjectNode previous) {
+        if (previous == null) return toWire(current);
+
+        ObjectNode out = NODES.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = current.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            if ("deviceId".equals(name)) continue;
+
+            JsonNode cur = field.getValue();
+            JsonNode prev = previous.get(name);
+            if ("interfaces".equals(name)) {
+                ArrayNode changed = diffInterfaces(cur, prev);
+                if (!changed.isEmpty()) out.set(name, changed);
+            } else if (cur.isObject() && prev != null && prev.isObject()) {
+                ObjectNode sub = diffFields((ObjectNode) cur, (ObjectNode) prev, null);
+                if (!sub.isEmpty()) out.set(name, sub);
+            } else if (!cur.equals(prev)) {
+                out.set(name, cur);
+            }
+        }
+
+        if (out.isEmpty()) return null;
+        ObjectNode withId = NODES.objectNode();
+        withId.set("deviceId", current.get("deviceId"));
+        withId.setAll(out);
+        return withId;
+    }
+
+    private ArrayNode diffInterfaces(JsonNode current, JsonNode previous) {
+        ArrayNode changed = NODES.arrayNode();
+        Iterator<Map.Entry<String, JsonNode>> it = current.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            JsonNode cur = entry.getValue();
+            JsonNode prev = previous != null ? previous.get(entry.getKey()) : null;
+            if (prev == null || !prev.isObject() || !cur.isObject()) {
+                changed.add(cur);
+                continue;
+            }
+            ObjectNode sub = diffFields((ObjectNode) cur, (ObjectNode) prev, "ifIndex");
+            if (sub.size() > 1) changed.add(sub);
+        }
+        return changed;
+    }
+
+    /**
+     * 객체 필드 diff - keyField 가 있으면 항상 포함 (식별용)
+     */
+    private ObjectNode diffFields(ObjectNode current, ObjectNode previous, String keyField) {
+        ObjectNode out = NODES.objectNode();
+        if (keyField != null && current.has(keyField)) out.set(keyField, current.get(keyField));
+        Iterator<Map.Entry<String, JsonNode>> it = current.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> f = it.next();
+            if (f.getKey().equals(keyField)) continue;
+            if (!f.getValue().equals(previous.get(f.getKey()))) {
+                out.set(f.getKey(), f.getValue());
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 내부 상태 -> 원본 payload 형식 (interfaces 를 배열로 복원)
+     */
+    private ObjectNode toWire(ObjectNode state) {
+        ObjectNode out = state.deepCopy();
+        JsonNode interfaces = out.get("interfaces");
+        if (interfaces != null && interfaces.isObject()) {
+            ArrayNode arr = NODES.arrayNode();
+            interfaces.elements().forEachRemaining(arr::add);
+            out.set("interfaces", arr);
+        }
+        return out;
+    }
+}
@@ -14,15 +14,12 @@ import dev3.nms.vo.watch.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -44,14 +41,12 @@ public class WatchService {
     private final MiddlewareMapper middlewareMapper;
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final MiddlewareGateway middlewareGateway;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${middleware.url:http://localhost:18081}")
     private String middlewareUrl;
 
-    private final HttpClient httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(10))
-            .build();
-
     // ==================== 관제 그룹 CRUD ====================
 
     /**
@@ -109,6 +104,8 @@ public class WatchService {
                 }
             }
         }
+        // 관제 그룹 장비 변경 → 접근 범위 재계산
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all());
 
         return getGroupDetail(groupId);
     }
@@ -145,6 +142,7 @@ public class WatchService {
             }
         }
 
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all());
         return getGroupDetail(watchGroupId);
     }
 
@@ -167,6 +165,7 @@ public class WatchService {
 
         watchMapper.deleteGroupInterfaces(watchGroupId);
         watchMapper.deleteGroupDevices(watchGroupId);
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all());
         watchMapper.deleteGroup(watchGroupId);
     }
 
@@ -242,6 +241,7 @@ public class WatchService {
             }
         }
 
+        eventPublisher.publishEvent(AccessScopeChangedEvent.all());
         log.info("[WATCH] 일반 그룹 동기화 완료 - GroupID: {}, 장비: {}개", groupId, devices.size());
         return getGroupDetail(watchGroupId);
     }
@@ -404,6 +404,7 @@ public class WatchService {
             watchMapper.deleteGroupInterfaces(group.getWATCH_GROUP_ID());
             watchMapper.deleteGroupDevices(group.getWATCH_GROUP_ID());
             watchMapper.deleteGroup(group.getWATCH_GROUP_ID());
+            eventPublisher.publishEvent(AccessScopeChangedEvent.all());
         }
     }
 
@@ -517,23 +518,13 @@ public class WatchService {
      */
     private void callMiddleware(String mwUrl, String mwApiKey, String path, Object body) {
         try {
-            String url = mwUrl.replaceAll("/+$", "") + path;
             String requestBody = objectMapper.writeValueAsString(body);
 
-            HttpRequest.Builder builder = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("Content-Type", "application/json")
-                    .timeout(Duration.ofSeconds(30))
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody));
-
-            if (mwApiKey != null && !mwApiKey.isEmpty()) {
-                builder.header("X-API-Key", mwApiKey);
-            }
-
             log.info("[Middleware] URL: {}, API-Key: {}..., Path: {}", mwUrl,
                     mwApiKey != null && mwApiKey.length() > 8 ? mwApiKey.substring(0, 8) : mwApiKey, path);
 
-            HttpResponse<String> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = middlewareGateway.postJson(mwUrl,
+                    mwApiKey != null && !mwApiKey.isEmpty() ? mwApiKey : null, path, requestBody);
 
             if (response.statusCode() != 200) {
                 log.error("Middleware API 오류 - status: {}, body: {}", response.statusCode(), response.body());
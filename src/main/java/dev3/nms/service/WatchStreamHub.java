@@ -0,0 +1,467 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.config.ExecutorRegistry;
+import dev3.nms.mapper.MiddlewareMapper;
+import dev3.nms.vo.mgmt.MiddlewareVO;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 관제 SSE 공유 스트림 허브
+ * - 관제 그룹별로 (미들웨어, groupId) 업스트림 구독을 1개만 유지
+ * - 업스트림은 MiddlewareGateway 공유 커넥션 + 비동기 라인 구독자로 수신 (스레드 블로킹 없음)
+ * - 수신 이벤트를 한 번 디코딩하여 그룹에 붙은 모든 구독자 큐로 멀티캐스트
+ * - 구독자별 bounded 송신 큐: 같은 장비 이벤트는 최신값으로 병합, 가득 차면 가장 오래된 이벤트 폐기
+ * - 송신은 sse-send 풀에서 구독자별로 SEND_BATCH 건씩 나눠 실행 (풀 포화 시 큐에 남겨두고 DRAIN_RETRY_MS 후 재시도)
+ * - frameMs 지정 구독자는 프레임 윈도우 단위로 최신값 병합 후 delta/snapshot 프레임 수신 (WatchFrameConflator)
+ * - 구독자 참조 카운트가 0이 되면 업스트림 자동 해제
+ * - 미들웨어 스트림이 끊기면 지수 백오프로 재연결
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WatchStreamHub {
+
+    private static final long RECONNECT_INITIAL_MS = 1_000;
+    private static final long RECONNECT_MAX_MS = 30_000;
+    private static final int CLIENT_QUEUE_CAPACITY = 256;
+    private static final int SEND_BATCH = 64;
+    private static final long DRAIN_RETRY_MS = 200;
+    private static final int MIN_FRAME_MS = 200;
+    private static final int MAX_FRAME_MS = 10_000;
+    private static final String FRAME_KEY = "frame";
+
+    private final MiddlewareMapper middlewareMapper;
+    private final ObjectMapper objectMapper;
+    private final MiddlewareGateway middlewareGateway;
+    private final ExecutorRegistry executorRegistry;
+
+    // delta 모드에서 전체 snapshot 을 보내는 주기 (프레임 수)
+    @Value("${watch.stream.snapshot-frames:30}")
+    private int snapshotFrames;
+
+    private final Map<Integer, GroupStream> streams = new ConcurrentHashMap<>();
+    private final AtomicLong clientSeq = new AtomicLong();
+
+    // 업스트림 재연결 + 프레임 윈도우 tick
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            daemonFactory("sse-scheduler"));
+
+    private static ThreadFactory daemonFactory(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @PreDestroy
+    public void destroy() {
+        streams.values().forEach(GroupStream::stop);
+        streams.clear();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 관제 그룹 스트림 구독 (원본 payload 그대로 전달)
+     */
+    public SseEmitter subscribe(Integer groupId) {
+        return subscribe(groupId, null);
+    }
+
+    /**
+     * 관제 그룹 스트림 구독
+     * - 그룹의 첫 구독자일 때만 활성 미들웨어 업스트림을 연결
+     * - frameMs 가 있으면 해당 윈도우마다 병합된 delta/snapshot 프레임만 전송
+     */
+    public SseEmitter subscribe(Integer groupId, Integer frameMs) {
+        SseEmitter emitter = new SseEmitter(0L); // no timeout
+
+        List<MiddlewareVO> actives = middlewareMapper.findActiveMiddlewares();
+        if (actives == null || actives.isEmpty()) {
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data("{\"message\":\"활성 미들웨어가 없습니다\"}"));
+            } catch (Exception ignore) {}
+            emitter.complete();
+            return emitter;
+        }
+
+        ClientSession client = new ClientSession(clientSeq.incrementAndGet(), groupId, emitter);
+        if (frameMs != null && frameMs > 0) {
+            client.enableConflation(Math.max(MIN_FRAME_MS, Math.min(frameMs, MAX_FRAME_MS)));
+        }
+        Runnable unsubscribe = () -> unsubscribe(client);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        GroupStream stream = streams.compute(groupId, (k, existing) -> {
+            GroupStream gs = existing != null ? existing : new GroupStream(groupId);
+            gs.clients.add(client);
+            if (existing == null) {
+                gs.start(actives);
+            }
+            return gs;
+        });
+
+        log.info("[SSE] 구독 추가 - GroupID: {}, 구독자 {}명, 업스트림 {}개",
+                groupId, stream.clients.size(), stream.upstreams.size());
+        return emitter;
+    }
+
+    /**
+     * 구독 해제 - 마지막 구독자가 떠나면 업스트림 연결 종료
+     */
+    private void unsubscribe(ClientSession client) {
+        client.close();
+        streams.computeIfPresent(client.groupId, (k, gs) -> {
+            if (!gs.clients.remove(client)) return gs;
+            if (gs.clients.isEmpty()) {
+                gs.stop();
+                log.info("[SSE] 마지막 구독자 해제, 업스트림 종료 - GroupID: {}", client.groupId);
+                return null;
+            }
+            return gs;
+        });
+    }
+
+    /**
+     * 현재 그룹별 구독자 수 (모니터링용)
+     */
+    public Map<Integer, Integer> getSubscriberCounts() {
+        Map<Integer, Integer> counts = new TreeMap<>();
+        streams.forEach((groupId, gs) -> counts.put(groupId, gs.clients.size()));
+        return counts;
+    }
+
+    /**
+     * 구독자별 송신 큐 상태 (큐 깊이, 병합/폐기/전송 건수)
+     */
+    public List<Map<String, Object>> getClientStats() {
+        List<Map<String, Object>> stats = new ArrayList<>();
+        for (GroupStream gs : streams.values()) {
+            for (ClientSession c : gs.clients) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("clientId", c.id);
+                row.put("groupId", c.groupId);
+                row.put("mode", c.conflator != null ? "delta" : "raw");
+                row.put("queueDepth", c.queueDepth());
+                row.put("queueCapacity", CLIENT_QUEUE_CAPACITY);
+                row.put("sent", c.sent.get());
+                row.put("coalesced", c.coalesced.get());
+                row.put("dropped", c.dropped.get());
+                row.put("frames", c.frames.get());
+                stats.add(row);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 업스트림 payload 디코딩 (그룹당 1회) - JSON 이 아니면 null
+     */
+    private JsonNode decode(String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 병합 키 추출 - payload 에 포함된 장비 ID 목록 기준
+     * 같은 장비 집합에 대한 이벤트는 최신값만 유지해도 되므로 동일 키로 병합
+     */
+    private String coalesceKey(JsonNode event) {
+        if (event == null) return null;
+        JsonNode devices = event.path("devices");
+        if (!devices.isArray() || devices.isEmpty()) return null;
+
+        StringBuilder key = new StringBuilder("d");
+        for (JsonNode device : devices) {
+            key.append(':').append(device.path("deviceId").asText());
+        }
+        return key.toString();
+    }
+
+    /**
+     * 관제 그룹 하나에 대한 공유 스트림 (업스트림 N개 → 구독자 M명)
+     */
+    private class GroupStream {
+        private final Integer groupId;
+        private final List<ClientSession> clients = new CopyOnWriteArrayList<>();
+        private final List<Upstream> upstreams = new ArrayList<>();
+        private volatile boolean alive = true;
+
+        GroupStream(Integer groupId) {
+            this.groupId = groupId;
+        }
+
+        void start(List<MiddlewareVO> middlewares) {
+            for (MiddlewareVO mw : middlewares) {
+                if (mw.getMIDDLEWARE_URL() == null || mw.getMIDDLEWARE_URL().isEmpty()) continue;
+                Upstream upstream = new Upstream(this, mw);
+                upstreams.add(upstream);
+                upstream.connect();
+            }
+        }
+
+        void stop() {
+            alive = false;
+            upstreams.forEach(Upstream::cancel);
+        }
+
+        /**
+         * 구독자 전체 큐에 적재 - 적재만 하고 즉시 반환 (송신은 구독자별 드레인)
+         */
+        void broadcast(String payload, JsonNode event) {
+            String key = coalesceKey(event);
+            for (ClientSession client : clients) {
+                if (client.conflator != null) {
+                    client.ingest(event);
+                } else {
+                    client.offer(key, payload);
+                }
+            }
+        }
+    }
+
+    /**
+     * 미들웨어 1개에 대한 업스트림 SSE 연결 (라인 구독자 기반 비동기 수신)
+     */
+    private class Upstream implements Flow.Subscriber<String> {
+        private final GroupStream stream;
+        private final MiddlewareVO mw;
+        private final String path;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean received;
+        private long backoff = RECONNECT_INITIAL_MS;
+
+        Upstream(GroupStream stream, MiddlewareVO mw) {
+            this.stream = stream;
+            this.mw = mw;
+            this.path = "/api/watch/stream/" + stream.groupId;
+        }
+
+        void connect() {
+            if (!stream.alive) return;
+            received = false;
+
+            middlewareGateway.<Void>stream(mw.getMIDDLEWARE_URL(), path, info -> info.statusCode() == 200
+                            ? HttpResponse.BodySubscribers.fromLineSubscriber(this)
+                            : HttpResponse.BodySubscribers.replacing((Void) null))
+                    .whenComplete((resp, err) -> {
+                        if (err != null) {
+                            if (stream.alive) {
+                                log.warn("[SSE Hub] 미들웨어 SSE 실패 - mwId: {}, url: {}, err: {}",
+                                        mw.getMIDDLEWARE_ID(), mw.getMIDDLEWARE_URL() + path, err.getMessage());
+                            }
+                        } else if (resp.statusCode() != 200) {
+                            log.warn("[SSE Hub] 비정상 응답 - mwId: {}, status: {}", mw.getMIDDLEWARE_ID(), resp.statusCode());
+                        }
+                        scheduleReconnect();
+                    });
+        }
+
+        void cancel() {
+            Flow.Subscription s = subscription;
+            if (s != null) s.cancel();
+        }
+
+        private void scheduleReconnect() {
+            if (!stream.alive) return;
+            if (received) backoff = RECONNECT_INITIAL_MS;
+
+            log.info("[SSE Hub] 업스트림 재연결 대기 - mwId: {}, GroupID: {}, {}ms",
+                    mw.getMIDDLEWARE_ID(), stream.groupId, backoff);
+            try {
+                scheduler.schedule(this::connect, backoff, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignore) {
+                return; // 종료 중
+            }
+            backoff = Math.min(backoff * 2, RECONNECT_MAX_MS);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (!stream.alive) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!stream.alive) {
+                cancel();
+                return;
+            }
+            if (!line.startsWith("data: ")) return;
+            String payload = line.substring(6).trim();
+            if (payload.isEmpty()) return;
+            received = true;
+            stream.broadcast(payload, decode(payload));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // 재연결은 sendAsync 완료 콜백에서 처리
+        }
+
+        @Override
+        public void onComplete() {
+            // 재연결은 sendAsync 완료 콜백에서 처리
+        }
+    }
+
+    /**
+     * 브라우저 구독자 1명 - bounded 송신 큐 + 전용 드레인
+     * - 같은 병합 키 이벤트가 큐에 있으면 최신값으로 교체 (coalesce-latest)
+     * - 큐가 가득 차면 가장 오래된 이벤트 폐기 (drop-oldest)
+     * - delta 모드: 이벤트는 conflator 에만 병합, 프레임 tick 마다 이전 프레임 전송이 끝났을 때만 새 프레임 적재
+     */
+    private class ClientSession {
+        private final long id;
+        private final Integer groupId;
+        private final SseEmitter emitter;
+        private final LinkedHashMap<String, String> pending = new LinkedHashMap<>();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong frames = new AtomicLong();
+        private long keylessSeq = 0;
+        private boolean draining = false;
+        private volatile boolean closed = false;
+        private volatile WatchFrameConflator conflator;
+        private ScheduledFuture<?> frameTask;
+
+        ClientSession(long id, Integer groupId, SseEmitter emitter) {
+            this.id = id;
+            this.groupId = groupId;
+            this.emitter = emitter;
+        }
+
+        synchronized int queueDepth() {
+            return pending.size();
+        }
+
+        void enableConflation(int frameMs) {
+            conflator = new WatchFrameConflator(snapshotFrames);
+            frameTask = scheduler.scheduleAtFixedRate(this::onFrameTick, frameMs, frameMs, TimeUnit.MILLISECONDS);
+        }
+
+        void ingest(JsonNode event) {
+            if (closed || event == null) return;
+            conflator.ingest(event);
+        }
+
+        void close() {
+            closed = true;
+            if (frameTask != null) frameTask.cancel(false);
+        }
+
+        /**
+         * 프레임 윈도우 종료 - 이전 프레임이 아직 큐에 있으면 건너뛰고 다음 윈도우에 합쳐서 전송
+         */
+        private void onFrameTick() {
+            if (closed) return;
+            synchronized (this) {
+                if (pending.containsKey(FRAME_KEY)) return;
+            }
+            try {
+                JsonNode frame = conflator.nextFrame();
+                if (frame == null) return;
+                frames.incrementAndGet();
+                offer(FRAME_KEY, objectMapper.writeValueAsString(frame));
+            } catch (Exception e) {
+                log.warn("[SSE Hub] 프레임 생성 실패 - clientId: {}, err: {}", id, e.getMessage());
+            }
+        }
+
+        void offer(String key, String payload) {
+            if (closed) return;
+            boolean startDrain;
+            synchronized (this) {
+                String k = key != null ? key : "#" + (keylessSeq++);
+                if (pending.remove(k) != null) {
+                    coalesced.incrementAndGet();
+                } else if (pending.size() >= CLIENT_QUEUE_CAPACITY) {
+                    Iterator<String> eldest = pending.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    dropped.incrementAndGet();
+                }
+                pending.put(k, payload);
+
+                startDrain = !draining;
+                draining = true;
+            }
+            if (startDrain) {
+                submitDrain();
+            }
+        }
+
+        /**
+         * 송신 풀에 드레인 요청 (느린 브라우저가 업스트림 수신을 막지 않도록 분리)
+         * 풀이 포화면 큐와 draining 상태는 그대로 두고 DRAIN_RETRY_MS 후 다시 요청
+         * (delta 구독자는 offer 가 프레임 tick 에서만 일어나므로 다음 offer 를 기다리면 멈춤)
+         */
+        private void submitDrain() {
+            if (closed) return;
+            try {
+                executorRegistry.executor(ExecutorRegistry.SSE_SEND).execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                try {
+                    scheduler.schedule(this::submitDrain, DRAIN_RETRY_MS, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException shutdown) {
+                    synchronized (this) {
+                        draining = false;
+                    }
+                }
+            }
+        }
+
+        /**
+         * SEND_BATCH 건 전송 후 남은 이벤트는 다시 풀에 넣어 다른 구독자와 스레드 공유
+         */
+        private void drain() {
+            for (int n = 0; !closed; n++) {
+                if (n == SEND_BATCH) {
+                    submitDrain();
+                    return;
+                }
+                String payload;
+                synchronized (this) {
+                    Iterator<Map.Entry<String, String>> it = pending.entrySet().iterator();
+                    if (!it.hasNext()) {
+                        draining = false;
+                        return;
+                    }
+                    payload = it.next().getValue();
+                    it.remove();
+                }
+                try {
+                    emitter.send(SseEmitter.event().data(payload));
+                    sent.incrementAndGet();
+                } catch (Exception e) {
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+    }
+}
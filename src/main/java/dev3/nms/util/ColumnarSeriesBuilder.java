@@ -0,0 +1,158 @@
+package dev3.nms.util;
+
+import dev3.nms.vo.common.ColumnarChartVO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 행 단위 시계열 → 컬럼 형식 (ColumnarChartVO) 변환
+ * - Consumer 로 행을 받아 시리즈별 primitive 배열에 누적 (VO 목록을 보관하지 않음)
+ * - 시각 합집합이 가장 긴 시리즈의 1.5배 이하면 공통 시간축, 아니면 시리즈별 시간축 (수집 시각이 장비마다 다른 raw)
+ * - 시각은 epoch 초 (서버 시간대 기준)
+ */
+public class ColumnarSeriesBuilder<T> implements Consumer<T> {
+
+    public static final String FORMAT = "columnar";
+    private static final double SHARED_AXIS_RATIO = 1.5;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Function<T, String> keyFn;
+    private final Function<T, Map<String, Object>> tagFn;
+    private final Function<T, LocalDateTime> timeFn;
+    private final List<String> fieldNames;
+    private final List<Function<T, ? extends Number>> fieldFns;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    /**
+     * @param keyFn  시리즈 키 (예: deviceId, deviceId_ifIndex)
+     * @param tagFn  시리즈 속성 (시리즈 첫 행에서 1회만 호출)
+     * @param timeFn 행 시각 (null 인 행은 제외)
+     * @param fields 필드명 → 값 추출 (순서 유지)
+     */
+    public ColumnarSeriesBuilder(Function<T, String> keyFn,
+                                 Function<T, Map<String, Object>> tagFn,
+                                 Function<T, LocalDateTime> timeFn,
+                                 Map<String, Function<T, ? extends Number>> fields) {
+        this.keyFn = keyFn;
+        this.tagFn = tagFn;
+        this.timeFn = timeFn;
+        this.fieldNames = new ArrayList<>(fields.keySet());
+        this.fieldFns = new ArrayList<>(fields.values());
+    }
+
+    public static boolean isColumnar(String format) {
+        return FORMAT.equalsIgnoreCase(format);
+    }
+
+    /**
+     * 요청 필드만 선택 (알 수 없는 필드는 무시, 미지정이거나 유효한 필드가 없으면 전체)
+     */
+    public static <T> Map<String, Function<T, ? extends Number>> selectFields(
+            Map<String, Function<T, ? extends Number>> all, Collection<String> requested) {
+        if (requested == null || requested.isEmpty()) return all;
+        Map<String, Function<T, ? extends Number>> selected = new LinkedHashMap<>();
+        for (String name : requested) {
+            if (name == null) continue;
+            String upper = name.trim().toUpperCase();
+            if (all.containsKey(upper)) selected.put(upper, all.get(upper));
+        }
+        return selected.isEmpty() ? all : selected;
+    }
+
+    @Override
+    public void accept(T row) {
+        LocalDateTime time = timeFn.apply(row);
+        if (time == null) return;
+        Column column = columns.computeIfAbsent(keyFn.apply(row), k -> new Column(tagFn.apply(row), fieldFns.size()));
+        column.ensureCapacity();
+        int i = column.size++;
+        column.time[i] = time.atZone(zone).toEpochSecond();
+        for (int f = 0; f < fieldFns.size(); f++) {
+            Number value = fieldFns.get(f).apply(row);
+            column.values[f][i] = value != null ? value.doubleValue() : Double.NaN;
+        }
+    }
+
+    /**
+     * @param delta true 면 시간축을 delta 인코딩
+     */
+    public ColumnarChartVO build(boolean delta) {
+        long[] axis = unionTimes();
+        int longest = 0;
+        for (Column column : columns.values()) longest = Math.max(longest, column.size);
+        boolean shared = axis.length <= longest * SHARED_AXIS_RATIO;
+
+        List<ColumnarChartVO.Series> series = new ArrayList<>(columns.size());
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column column = entry.getValue();
+            Map<String, Double[]> values = new LinkedHashMap<>();
+            for (int f = 0; f < fieldNames.size(); f++) {
+                Double[] out = new Double[shared ? axis.length : column.size];
+                for (int i = 0; i < column.size; i++) {
+                    int idx = shared ? Arrays.binarySearch(axis, column.time[i]) : i;
+                    double v = column.values[f][i];
+                    out[idx] = Double.isNaN(v) ? null : v;
+                }
+                values.put(fieldNames.get(f), out);
+            }
+            long[] seriesTime = shared ? null : encode(Arrays.copyOf(column.time, column.size), delta);
+            series.add(new ColumnarChartVO.Series(entry.getKey(), column.tags, seriesTime, values));
+        }
+        return new ColumnarChartVO(FORMAT, delta ? "delta" : "epoch", shared ? encode(axis, delta) : null, series);
+    }
+
+    /**
+     * 전체 시리즈 시각 합집합 (정렬, 중복 제거)
+     */
+    private long[] unionTimes() {
+        int total = 0;
+        for (Column column : columns.values()) total += column.size;
+        long[] all = new long[total];
+        int n = 0;
+        for (Column column : columns.values()) {
+            System.arraycopy(column.time, 0, all, n, column.size);
+            n += column.size;
+        }
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[distinct - 1]) all[distinct++] = all[i];
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    static long[] encode(long[] times, boolean delta) {
+        if (!delta) return times;
+        long[] out = new long[times.length];
+        for (int i = 0; i < times.length; i++) {
+            out[i] = i == 0 ? times[0] : times[i] - times[i - 1];
+        }
+        return out;
+    }
+
+    private static final class Column {
+        final Map<String, Object> tags;
+        long[] time = new long[INITIAL_CAPACITY];
+        double[][] values;
+        int size;
+
+        Column(Map<String, Object> tags, int fieldCount) {
+            this.tags = tags;
+            this.values = new double[fieldCount][INITIAL_CAPACITY];
+        }
+
+        void ensureCapacity() {
+            if (size < time.length) return;
+            int capacity = time.length * 2;
+            time = Arrays.copyOf(time, capacity);
+            for (int f = 0; f < values.length; f++) {
+                values[f] = Arrays.copyOf(values[f], capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev3.nms.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 그룹 정렬된 행을 ResVO 형태 JSON 으로 바로 쓰는 스트리밍 writer
+ * - 출력: {"code":..,"message":..,"data":{"key":[row, ...], ...}} (기존 batch 응답과 동일 구조)
+ * - 행은 key 순서로 연속되어야 함 (mapper 의 ORDER BY 기준) → 현재 그룹 외에는 버퍼링하지 않음
+ * - finish() 전에 close 되면 닫는 괄호를 쓰지 않음 → 중간 오류 시 클라이언트가 불완전 응답으로 인식
+ */
+public class GroupedJsonStreamWriter<T> implements Consumer<T>, Closeable {
+
+    private final JsonGenerator gen;
+    private final Function<T, String> keyFn;
+    private final Set<String> writtenKeys = new HashSet<>();
+    private String currentKey;
+
+    public GroupedJsonStreamWriter(ObjectMapper objectMapper, OutputStream out, Function<T, String> keyFn) throws IOException {
+        this.gen = objectMapper.createGenerator(out);
+        this.gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        this.gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.keyFn = keyFn;
+    }
+
+    public void begin(int code, String message) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("code", code);
+        gen.writeStringField("message", message);
+        gen.writeObjectFieldStart("data");
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            String key = keyFn.apply(row);
+            if (!key.equals(currentKey)) {
+                if (currentKey != null) gen.writeEndArray();
+                if (!writtenKeys.add(key)) {
+                    throw new IllegalStateException("정렬되지 않은 그룹 키: " + key);
+                }
+                gen.writeArrayFieldStart(key);
+                currentKey = key;
+            }
+            gen.writeObject(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 마지막 그룹을 닫고, 행이 없던 expectedKeys 는 빈 배열로 채워 응답 완료
+     */
+    public void finish(Collection<String> expectedKeys) throws IOException {
+        if (currentKey != null) gen.writeEndArray();
+        for (String key : expectedKeys) {
+            if (writtenKeys.add(key)) {
+                gen.writeArrayFieldStart(key);
+                gen.writeEndArray();
+            }
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+        gen.flush();
+    }
+
+    /**
+     * 출력 스트림은 닫지 않음 (servlet 컨테이너가 관리)
+     */
+    @Override
+    public void close() throws IOException {
+        gen.close();
+    }
+}
@@ -0,0 +1,248 @@
+package dev3.nms.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 시계열 다운샘플링 sink (raw 차트 조회용)
+ * - 행은 시리즈 키 단위로 연속, 시리즈 내 시각 오름차순으로 들어와야 함 (mapper ORDER BY 기준)
+ * - 조회 구간을 시간 버킷으로 나눠 한 번의 순회로 선택 → 버퍼는 최대 2개 버킷 분량
+ * - MINMAX: 버킷마다 필드별 최소/최대 행 유지 (스파이크 보존), 시리즈당 최대 maxPoints 행
+ * - LTTB: largest-triangle-three-buckets (필드 합계 기준), 시리즈 첫/마지막 행 포함 최대 maxPoints 행
+ * - 입력이 끝나면 finish() 호출 필수 (마지막 시리즈 출력)
+ */
+public class SeriesDownsampler<T> implements Consumer<T> {
+
+    public enum Mode { MINMAX, LTTB }
+
+    /**
+     * 다운샘플 요청 (maxPoints 미지정/0 이하면 of() 가 null → 다운샘플 안 함)
+     */
+    public record Spec(int maxPoints, Mode mode) {
+        public static final int MIN_POINTS = 10;
+
+        public static Spec of(Integer maxPoints, String mode) {
+            if (maxPoints == null || maxPoints <= 0) return null;
+            Mode m = "lttb".equalsIgnoreCase(mode) ? Mode.LTTB : Mode.MINMAX;
+            return new Spec(Math.max(maxPoints, MIN_POINTS), m);
+        }
+    }
+
+    private final Consumer<T> sink;
+    private final Mode mode;
+    private final Function<T, String> keyFn;
+    private final Function<T, LocalDateTime> timeFn;
+    private final List<Function<T, ? extends Number>> fields;
+    private final long startSec;
+    private final double bucketWidth;
+    private final int bucketCount;
+
+    private String currentKey;
+    private long currentBucket = -1;
+
+    // MINMAX 상태
+    private final List<T> minRows = new ArrayList<>();
+    private final List<T> maxRows = new ArrayList<>();
+    private final double[] minVals;
+    private final double[] maxVals;
+    private T firstInBucket;
+
+    // LTTB 상태
+    private Point<T> selected;
+    private List<Point<T>> pending = new ArrayList<>();
+    private List<Point<T>> current = new ArrayList<>();
+
+    private record Point<T>(T row, double x, double y) { }
+
+    private SeriesDownsampler(Spec spec, LocalDateTime start, LocalDateTime end,
+                              Function<T, String> keyFn, Function<T, LocalDateTime> timeFn,
+                              List<Function<T, ? extends Number>> fields, Consumer<T> sink) {
+        this.sink = sink;
+        this.mode = spec.mode();
+        this.keyFn = keyFn;
+        this.timeFn = timeFn;
+        this.fields = fields;
+        this.bucketCount = mode == Mode.LTTB
+                ? Math.max(1, spec.maxPoints() - 2)
+                : Math.max(1, spec.maxPoints() / (2 * Math.max(1, fields.size())));
+        this.startSec = start.toEpochSecond(ZoneOffset.UTC);
+        long span = Math.max(1, end.toEpochSecond(ZoneOffset.UTC) - startSec);
+        this.bucketWidth = (double) span / bucketCount;
+        this.minVals = new double[fields.size()];
+        this.maxVals = new double[fields.size()];
+        for (int f = 0; f < fields.size(); f++) {
+            minRows.add(null);
+            maxRows.add(null);
+        }
+    }
+
+    /**
+     * @return spec 이 null 이면 null (호출측은 sink 를 그대로 사용)
+     */
+    public static <T> SeriesDownsampler<T> of(Spec spec, LocalDateTime start, LocalDateTime end,
+                                              Function<T, String> keyFn, Function<T, LocalDateTime> timeFn,
+                                              List<Function<T, ? extends Number>> fields, Consumer<T> sink) {
+        if (spec == null || start == null || end == null) return null;
+        return new SeriesDownsampler<>(spec, start, end, keyFn, timeFn, fields, sink);
+    }
+
+    @Override
+    public void accept(T row) {
+        LocalDateTime time = timeFn.apply(row);
+        if (time == null) return;
+        String key = keyFn.apply(row);
+        if (!key.equals(currentKey)) {
+            finishSeries();
+            currentKey = key;
+        }
+        long sec = time.toEpochSecond(ZoneOffset.UTC);
+        long bucket = Math.min(bucketCount - 1, Math.max(0, (long) ((sec - startSec) / bucketWidth)));
+        if (mode == Mode.LTTB) {
+            acceptLttb(row, sec, bucket);
+        } else {
+            acceptMinMax(row, bucket);
+        }
+    }
+
+    public void finish() {
+        finishSeries();
+        currentKey = null;
+    }
+
+    private void finishSeries() {
+        if (mode == Mode.LTTB) {
+            finishLttb();
+        } else {
+            flushMinMax();
+        }
+        currentBucket = -1;
+    }
+
+    // ==================== MINMAX ====================
+
+    private void acceptMinMax(T row, long bucket) {
+        if (bucket != currentBucket) {
+            flushMinMax();
+            currentBucket = bucket;
+            firstInBucket = row;
+        }
+        for (int f = 0; f < fields.size(); f++) {
+            Number n = fields.get(f).apply(row);
+            if (n == null) continue;
+            double v = n.doubleValue();
+            if (minRows.get(f) == null || v < minVals[f]) {
+                minRows.set(f, row);
+                minVals[f] = v;
+            }
+            if (maxRows.get(f) == null || v > maxVals[f]) {
+                maxRows.set(f, row);
+                maxVals[f] = v;
+            }
+        }
+    }
+
+    private void flushMinMax() {
+        if (firstInBucket != null) {
+            // 선택된 행을 시각 순서대로 중복 없이 출력
+            List<T> picked = new ArrayList<>();
+            for (int f = 0; f < fields.size(); f++) {
+                addDistinct(picked, minRows.get(f));
+                addDistinct(picked, maxRows.get(f));
+            }
+            if (picked.isEmpty()) picked.add(firstInBucket);
+            picked.sort(Comparator.comparing(timeFn));
+            picked.forEach(sink);
+        }
+        Collections.fill(minRows, null);
+        Collections.fill(maxRows, null);
+        firstInBucket = null;
+    }
+
+    private static <T> void addDistinct(List<T> picked, T row) {
+        if (row == null) return;
+        for (T p : picked) {
+            if (p == row) return;
+        }
+        picked.add(row);
+    }
+
+    // ==================== LTTB ====================
+
+    private void acceptLttb(T row, long sec, long bucket) {
+        Point<T> point = new Point<>(row, sec, value(row));
+        if (selected == null && pending.isEmpty() && current.isEmpty()) {
+            // 시리즈 첫 행은 항상 유지
+            selected = point;
+            sink.accept(row);
+            return;
+        }
+        if (bucket != currentBucket) {
+            if (!pending.isEmpty()) {
+                emitLttb(pending, average(current));
+            }
+            pending = current;
+            current = new ArrayList<>();
+            currentBucket = bucket;
+        }
+        current.add(point);
+    }
+
+    private void finishLttb() {
+        if (!pending.isEmpty()) {
+            emitLttb(pending, current.isEmpty() ? null : average(current));
+        }
+        if (!current.isEmpty()) {
+            // 마지막 버킷: 시리즈 마지막 행은 항상 유지
+            Point<T> last = current.get(current.size() - 1);
+            if (current.size() > 1) {
+                emitLttb(current.subList(0, current.size() - 1), last);
+            }
+            sink.accept(last.row());
+        }
+        selected = null;
+        pending = new ArrayList<>();
+        current = new ArrayList<>();
+    }
+
+    /**
+     * 직전 선택점 - 후보 - 다음 버킷 평균점이 이루는 삼각형 면적이 최대인 후보 선택
+     */
+    private void emitLttb(List<Point<T>> bucket, Point<T> next) {
+        Point<T> best = bucket.get(0);
+        if (next != null && bucket.size() > 1) {
+            double bestArea = -1;
+            for (Point<T> p : bucket) {
+                double area = Math.abs((selected.x() - next.x()) * (p.y() - selected.y())
+                        - (selected.x() - p.x()) * (next.y() - selected.y()));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = p;
+                }
+            }
+        }
+        selected = best;
+        sink.accept(best.row());
+    }
+
+    private static <T> Point<T> average(List<Point<T>> bucket) {
+        if (bucket.isEmpty()) return null;
+        double x = 0, y = 0;
+        for (Point<T> p : bucket) {
+            x += p.x();
+            y += p.y();
+        }
+        return new Point<>(null, x / bucket.size(), y / bucket.size());
+    }
+
+    private double value(T row) {
+        double sum = 0;
+        for (Function<T, ? extends Number> field : fields) {
+            Number n = field.apply(row);
+            if (n != null) sum += n.doubleValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,18 @@
+package dev3.nms.vo.auth;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 쿼리용 장비 접근 범위 (DeviceScopeMapper.deviceScopeFilter 파라미터)
+ * - scopeId != null: R_ACCESS_SCOPE_ITEM_T 에 저장된 범위와 조인
+ * - scopeId == null: deviceIds 를 IN 목록으로 사용 (소량 목록, 빈 목록 = 접근 불가)
+ * - 파라미터 자체가 null 이면 전체 허용
+ */
+@Getter
+@AllArgsConstructor
+public class AccessScopeFilterVO {
+    private Long scopeId;
+    private List<Long> deviceIds;
+}
@@ -0,0 +1,34 @@
+package dev3.nms.vo.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 차트 시계열 컬럼 형식 응답 (format=columnar)
+ * - time: 공통 시간축 (epoch 초), 시리즈별 시각이 어긋나 공통 축이 비효율적이면 null → series[].time 사용
+ * - timeEncoding=delta: time[0] 은 절대값, 이후는 직전 값과의 차이
+ * - values: 필드명 → 시간축과 같은 길이의 배열 (값 없음은 null)
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ColumnarChartVO {
+    private String format;
+    private String timeEncoding;
+    private long[] time;
+    private List<Series> series;
+
+    @Getter
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Series {
+        private String key;
+        private Map<String, Object> tags;
+        private long[] time;
+        private Map<String, Double[]> values;
+    }
+}
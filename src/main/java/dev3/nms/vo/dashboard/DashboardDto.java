@@ -160,8 +160,8 @@ public class DashboardDto {
     @Getter
     @NoArgsConstructor
     @AllArgsConstructor
-    public static class DevCodeData {
+    public static class DevCodeCountData {
         private Long devCodeId;
-        private String codeNm;
+        private Integer cnt;
     }
 }
@@ -0,0 +1,26 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * R_DEVICE_PURGE_ITEM_T 테이블 VO
+ * 작업 내 장비별 정리 진행 상태
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DevicePurgeItemVO {
+    private Long JOB_ID;
+    private Integer DEVICE_ID;
+    private Integer STEP;               // 다음 처리 단계 (DevicePurgeService.STEPS 인덱스)
+    private Long DELETED_ROWS;
+    private LocalDateTime DONE_AT;
+}
@@ -0,0 +1,31 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * R_DEVICE_PURGE_JOB_T 테이블 VO
+ * 삭제 장비 이력 정리 작업 (DONE_DEVICE_CNT / DELETED_ROWS 는 항목 집계)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DevicePurgeJobVO {
+    private Long JOB_ID;
+    private String STATUS;              // PENDING / RUNNING / DONE / FAILED
+    private Integer DEVICE_CNT;
+    private Integer DONE_DEVICE_CNT;
+    private Long DELETED_ROWS;
+    private Integer ATTEMPTS;
+    private String LAST_ERROR;
+    private LocalDateTime CREATE_AT;
+    private LocalDateTime START_AT;
+    private LocalDateTime END_AT;
+}
@@ -0,0 +1,35 @@
+package dev3.nms.vo.mgmt;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * R_DEVICE_REGISTER_ITEM_T 테이블 VO
+ * 장비 일괄 등록 작업의 장비별 상태
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceRegisterItemVO {
+    private Long JOB_ID;
+    private Integer ITEM_NO;
+    private String STATE;               // PENDING / PROBING / REGISTERED / FAILED
+    private String DEVICE_NAME;
+    private String DEVICE_IP;
+    private Integer TEMP_DEVICE_ID;
+    @JsonIgnore
+    private String INPUT_JSON;          // 직접 등록 입력 (SNMP 인증 정보 포함 → 응답 제외)
+    private Integer DEVICE_ID;
+    private String COLLECT_TYPE;
+    private String ERROR_MESSAGE;
+    private Integer ATTEMPTS;
+    private LocalDateTime UPDATE_AT;
+}
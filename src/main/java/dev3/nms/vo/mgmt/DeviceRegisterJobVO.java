@@ -0,0 +1,32 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * R_DEVICE_REGISTER_JOB_T 테이블 VO
+ * 장비 일괄 등록 작업 (*_CNT 는 항목 상태별 집계)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceRegisterJobVO {
+    private Long JOB_ID;
+    private String MODE;                // DIRECT / TEMP
+    private String STATUS;              // PENDING / RUNNING / DONE
+    private Integer TOTAL_CNT;
+    private Integer PENDING_CNT;        // PENDING + PROBING
+    private Integer REGISTERED_CNT;
+    private Integer FAILED_CNT;
+    private Integer CREATE_USER_ID;
+    private LocalDateTime CREATE_AT;
+    private LocalDateTime START_AT;
+    private LocalDateTime END_AT;
+}
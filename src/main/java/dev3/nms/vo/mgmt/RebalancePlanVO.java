@@ -0,0 +1,41 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 장비 재분배 계획 (dry-run 응답 / 실행 결과)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class RebalancePlanVO {
+    private boolean dryRun;
+    private int middlewareCount;
+    private int deviceCount;
+    private int probedDevices;      // 이번 계획을 위해 probe 한 장비 수
+    private int probeRequests;      // probe 한 (장비, 미들웨어) 쌍 수
+    private int moveCount;          // MIDDLEWARE_ID 가 바뀌는 장비 수 (= UPDATE 대상 행 수)
+    private int updateStatements;   // 실행 시 UPDATE 문 수 (대상 미들웨어별 1회)
+    private Map<Integer, Integer> loadBefore = new LinkedHashMap<>();
+    private Map<Integer, Integer> loadAfter = new LinkedHashMap<>();
+    private List<Move> moves = new ArrayList<>();
+    private long elapsedMs;
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Move {
+        private Integer deviceId;
+        private Integer fromMiddlewareId;   // null = 미할당
+        private Integer toMiddlewareId;
+        private String reason;              // ORPHAN, UNREACHABLE, BALANCE
+    }
+}
@@ -0,0 +1,25 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 장비 재분배 실행 이력
+ */
+@Getter
+@Setter
+public class RebalanceRunVO {
+    private long runId;
+    private LocalDateTime startedAt;
+    private long durationMs;
+    private List<String> reasons;   // 병합된 트리거 사유 (DEVICE_REGISTER, MIDDLEWARE_DELETE ...)
+    private int triggerCount;       // 이번 실행으로 병합된 트리거 수
+    private int devicesProbed;
+    private int probeRequests;
+    private int moves;
+    private String status;          // SUCCESS, FAILED
+    private String error;
+}
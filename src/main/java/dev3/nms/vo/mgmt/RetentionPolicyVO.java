@@ -0,0 +1,25 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * R_RETENTION_POLICY_T 테이블 VO
+ * 성능 이력 테이블별 보관 기간
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RetentionPolicyVO {
+    private String TABLE_NAME;
+    private Integer BUCKET_SEC;         // 0 = raw, 그 외 rollup 집계 단위
+    private Integer RETENTION_DAYS;
+    private LocalDateTime UPDATE_AT;
+}
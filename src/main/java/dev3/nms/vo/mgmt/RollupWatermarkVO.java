@@ -0,0 +1,26 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * R_ROLLUP_WATERMARK_T 테이블 VO
+ * 소스/집계 단위별 집계 완료 구간 [COVERED_FROM, WATERMARK)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupWatermarkVO {
+    private String SOURCE_NAME;         // TRAFFIC / CPU_MEM / ICMP
+    private Integer BUCKET_SEC;         // 300 / 1800 / 3600 / 86400
+    private LocalDateTime COVERED_FROM; // 집계 시작 (포함)
+    private LocalDateTime WATERMARK;    // 집계 완료 시점 (미포함)
+    private LocalDateTime UPDATE_AT;
+}
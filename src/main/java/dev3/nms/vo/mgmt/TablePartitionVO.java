@@ -0,0 +1,21 @@
+package dev3.nms.vo.mgmt;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * information_schema.PARTITIONS 조회 / 파티션 생성 정의
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TablePartitionVO {
+    private String PARTITION_NAME;          // 파티션 미적용 테이블이면 null
+    private String PARTITION_DESCRIPTION;   // RANGE 상한 ('yyyy-MM-dd HH:mm:ss' 또는 MAXVALUE)
+    private Long TABLE_ROWS;                // 추정 행 수
+}
@@ -20,6 +20,7 @@ public class TempDeviceVO {
     private String SNMP_AUTH_PASSWORD;
     private String SNMP_PRIV_PROTOCOL;
     private String SNMP_PRIV_PASSWORD;
+    private String SNMP_COLLECTOR;  // 등록 시 SNMP 경로 (EMBEDDED: 내장 SNMP, null: 미들웨어) - DB 미저장
 
     // 수집 설정
     private Boolean COLLECT_PING;
@@ -0,0 +1,21 @@
+package dev3.nms.vo.notification;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 다이제스트 대기 항목 - 사용자 × 장비 × 알림유형 단위 집계
+ */
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EmailDigestEntryVO {
+    private Long USER_ID;
+    private Integer DEVICE_ID;
+    private String ALERT_TYPE;
+    private String SEVERITY;
+    private String DEVICE_NAME;
+    private String DEVICE_IP;
+    private String MESSAGE;
+    private Integer ALERT_COUNT;
+    private LocalDateTime FIRST_SEEN;
+    private LocalDateTime LAST_SEEN;
+}
@@ -0,0 +1,14 @@
+package dev3.nms.vo.notification;
+
+import lombok.*;
+
+/**
+ * 다이제스트 발송 대상 - 수신 설정 + 이메일 주소
+ */
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EmailDigestTargetVO {
+    private Long USER_ID;
+    private Boolean EMAIL_ENABLED;
+    private Integer DIGEST_MINUTES;
+    private String EMAIL;
+}
@@ -0,0 +1,19 @@
+-- ============================================================
+-- 이메일 다이제스트 대기열 (재시작 시 유실 방지)
+-- - 사용자 × 장비 × 알림유형 당 1행, 반복 알림은 ALERT_COUNT / LAST_SEEN 갱신
+-- ============================================================
+
+CREATE TABLE R_USER_EMAIL_DIGEST_T (
+  USER_ID BIGINT NOT NULL,
+  DEVICE_ID INT NOT NULL,
+  ALERT_TYPE VARCHAR(30) NOT NULL,
+  SEVERITY VARCHAR(20) NOT NULL,
+  DEVICE_NAME VARCHAR(100) NULL,
+  DEVICE_IP VARCHAR(50) NULL,
+  MESSAGE VARCHAR(500) NULL,
+  ALERT_COUNT INT NOT NULL DEFAULT 1,
+  FIRST_SEEN DATETIME NOT NULL,
+  LAST_SEEN DATETIME NOT NULL,
+  PRIMARY KEY (USER_ID, DEVICE_ID, ALERT_TYPE),
+  FOREIGN KEY (USER_ID) REFERENCES R_USER_T(USER_ID) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
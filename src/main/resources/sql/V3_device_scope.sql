@@ -0,0 +1,20 @@
+-- ============================================================
+-- 장비 접근 범위 저장 테이블 (대량 IN 목록 대체)
+-- - SCOPE_ID 는 정렬된 장비 ID 목록의 해시 (내용이 같으면 사용자 간 공유, 생성 후 불변)
+-- - 헤더(R_ACCESS_SCOPE_T)는 항목 저장 완료 후 기록
+-- ============================================================
+
+CREATE TABLE R_ACCESS_SCOPE_T (
+  SCOPE_ID BIGINT NOT NULL PRIMARY KEY,
+  DEVICE_CNT INT NOT NULL,
+  CHECKSUM BIGINT NOT NULL,
+  CREATE_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  LAST_USED_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  INDEX IDX_ACCESS_SCOPE_LAST_USED (LAST_USED_AT)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE R_ACCESS_SCOPE_ITEM_T (
+  SCOPE_ID BIGINT NOT NULL,
+  DEVICE_ID BIGINT NOT NULL,
+  PRIMARY KEY (SCOPE_ID, DEVICE_ID)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,70 @@
+-- ============================================================
+-- 성능 이력 시간 단위 집계(rollup) 테이블
+-- - BUCKET_SEC: 300(5분) / 1800(30분) / 3600(1시간) / 86400(1일)
+-- - 5분 단위는 raw 테이블에서, 상위 단위는 바로 아래 단위에서 집계
+-- - 지표별 AVG/MIN/MAX/LAST, SAMPLE_CNT 는 상위 단위 가중 평균용
+-- - BUCKET_AT 은 FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(ts)/BUCKET_SEC)*BUCKET_SEC) (기존 집계 쿼리와 동일 정렬)
+-- ============================================================
+
+CREATE TABLE P_TRAFFIC_ROLLUP_T (
+  BUCKET_SEC INT NOT NULL,
+  DEVICE_ID INT NOT NULL,
+  IF_INDEX INT NOT NULL,
+  BUCKET_AT DATETIME NOT NULL,
+  SAMPLE_CNT INT NOT NULL,
+  IN_BPS_AVG DOUBLE NULL, IN_BPS_MIN DOUBLE NULL, IN_BPS_MAX DOUBLE NULL, IN_BPS_LAST DOUBLE NULL,
+  IN_HIGH_BPS_AVG DOUBLE NULL, IN_HIGH_BPS_MIN DOUBLE NULL, IN_HIGH_BPS_MAX DOUBLE NULL, IN_HIGH_BPS_LAST DOUBLE NULL,
+  OUT_BPS_AVG DOUBLE NULL, OUT_BPS_MIN DOUBLE NULL, OUT_BPS_MAX DOUBLE NULL, OUT_BPS_LAST DOUBLE NULL,
+  OUT_HIGH_BPS_AVG DOUBLE NULL, OUT_HIGH_BPS_MIN DOUBLE NULL, OUT_HIGH_BPS_MAX DOUBLE NULL, OUT_HIGH_BPS_LAST DOUBLE NULL,
+  IN_USED_PERCENT_AVG DOUBLE NULL, IN_USED_PERCENT_MIN DOUBLE NULL, IN_USED_PERCENT_MAX DOUBLE NULL, IN_USED_PERCENT_LAST DOUBLE NULL,
+  IN_HIGH_USED_PERCENT_AVG DOUBLE NULL, IN_HIGH_USED_PERCENT_MIN DOUBLE NULL, IN_HIGH_USED_PERCENT_MAX DOUBLE NULL, IN_HIGH_USED_PERCENT_LAST DOUBLE NULL,
+  OUT_USED_PERCENT_AVG DOUBLE NULL, OUT_USED_PERCENT_MIN DOUBLE NULL, OUT_USED_PERCENT_MAX DOUBLE NULL, OUT_USED_PERCENT_LAST DOUBLE NULL,
+  OUT_HIGH_USED_PERCENT_AVG DOUBLE NULL, OUT_HIGH_USED_PERCENT_MIN DOUBLE NULL, OUT_HIGH_USED_PERCENT_MAX DOUBLE NULL, OUT_HIGH_USED_PERCENT_LAST DOUBLE NULL,
+  PRIMARY KEY (BUCKET_SEC, DEVICE_ID, IF_INDEX, BUCKET_AT)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE P_CPU_MEM_ROLLUP_T (
+  BUCKET_SEC INT NOT NULL,
+  DEVICE_ID INT NOT NULL,
+  BUCKET_AT DATETIME NOT NULL,
+  SAMPLE_CNT INT NOT NULL,
+  CPU_USAGE_AVG DOUBLE NULL, CPU_USAGE_MIN DOUBLE NULL, CPU_USAGE_MAX DOUBLE NULL, CPU_USAGE_LAST DOUBLE NULL,
+  CPU_IDLE_AVG DOUBLE NULL, CPU_IDLE_MIN DOUBLE NULL, CPU_IDLE_MAX DOUBLE NULL, CPU_IDLE_LAST DOUBLE NULL,
+  CPU_USER_AVG DOUBLE NULL, CPU_USER_MIN DOUBLE NULL, CPU_USER_MAX DOUBLE NULL, CPU_USER_LAST DOUBLE NULL,
+  CPU_SYSTEM_AVG DOUBLE NULL, CPU_SYSTEM_MIN DOUBLE NULL, CPU_SYSTEM_MAX DOUBLE NULL, CPU_SYSTEM_LAST DOUBLE NULL,
+  MEM_TOTAL_AVG DOUBLE NULL, MEM_TOTAL_MIN DOUBLE NULL, MEM_TOTAL_MAX DOUBLE NULL, MEM_TOTAL_LAST DOUBLE NULL,
+  MEM_FREE_AVG DOUBLE NULL, MEM_FREE_MIN DOUBLE NULL, MEM_FREE_MAX DOUBLE NULL, MEM_FREE_LAST DOUBLE NULL,
+  MEM_AVAIL_AVG DOUBLE NULL, MEM_AVAIL_MIN DOUBLE NULL, MEM_AVAIL_MAX DOUBLE NULL, MEM_AVAIL_LAST DOUBLE NULL,
+  MEM_BUFFER_AVG DOUBLE NULL, MEM_BUFFER_MIN DOUBLE NULL, MEM_BUFFER_MAX DOUBLE NULL, MEM_BUFFER_LAST DOUBLE NULL,
+  MEM_CACHE_AVG DOUBLE NULL, MEM_CACHE_MIN DOUBLE NULL, MEM_CACHE_MAX DOUBLE NULL, MEM_CACHE_LAST DOUBLE NULL,
+  MEM_USED_AVG DOUBLE NULL, MEM_USED_MIN DOUBLE NULL, MEM_USED_MAX DOUBLE NULL, MEM_USED_LAST DOUBLE NULL,
+  MEM_USAGE_AVG DOUBLE NULL, MEM_USAGE_MIN DOUBLE NULL, MEM_USAGE_MAX DOUBLE NULL, MEM_USAGE_LAST DOUBLE NULL,
+  PRIMARY KEY (BUCKET_SEC, DEVICE_ID, BUCKET_AT)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE P_ICMP_ROLLUP_T (
+  BUCKET_SEC INT NOT NULL,
+  DEVICE_ID INT NOT NULL,
+  BUCKET_AT DATETIME NOT NULL,
+  SAMPLE_CNT INT NOT NULL,
+  RESPONSE_TIME_AVG DOUBLE NULL, RESPONSE_TIME_MIN DOUBLE NULL, RESPONSE_TIME_MAX DOUBLE NULL, RESPONSE_TIME_LAST DOUBLE NULL,
+  RESPONSE_MIN_TIME_AVG DOUBLE NULL, RESPONSE_MIN_TIME_MIN DOUBLE NULL, RESPONSE_MIN_TIME_MAX DOUBLE NULL, RESPONSE_MIN_TIME_LAST DOUBLE NULL,
+  RESPONSE_MAX_TIME_AVG DOUBLE NULL, RESPONSE_MAX_TIME_MIN DOUBLE NULL, RESPONSE_MAX_TIME_MAX DOUBLE NULL, RESPONSE_MAX_TIME_LAST DOUBLE NULL,
+  PACKET_LOSS_AVG DOUBLE NULL, PACKET_LOSS_MIN DOUBLE NULL, PACKET_LOSS_MAX DOUBLE NULL, PACKET_LOSS_LAST DOUBLE NULL,
+  PRIMARY KEY (BUCKET_SEC, DEVICE_ID, BUCKET_AT)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 소스/단위별 집계 완료 구간 [COVERED_FROM, WATERMARK)
+CREATE TABLE R_ROLLUP_WATERMARK_T (
+  SOURCE_NAME VARCHAR(20) NOT NULL,
+  BUCKET_SEC INT NOT NULL,
+  COVERED_FROM DATETIME NOT NULL,
+  WATERMARK DATETIME NOT NULL,
+  UPDATE_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (SOURCE_NAME, BUCKET_SEC)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- raw 테이블 시간 범위 스캔용 (이미 있으면 생략)
+CREATE INDEX IDX_TRAFFIC_COLLECTED_AT ON P_TRAFFIC_T (COLLECTED_AT);
+CREATE INDEX IDX_CPU_MEM_COLLECTED_AT ON P_CPU_MEM_T (COLLECTED_AT);
+CREATE INDEX IDX_ICMP_COLLECT_TIME ON p_icmp_t (COLLECT_TIME);
@@ -0,0 +1,58 @@
+-- ============================================================
+-- 성능 이력 보관 정책 + raw 테이블 일 단위 파티션
+-- - BUCKET_SEC = 0 은 raw 테이블, 그 외는 rollup 테이블의 집계 단위
+-- - 만료 파티션은 DROP PARTITION, 파티션이 없는 테이블/rollup 은 배치 DELETE
+-- ============================================================
+
+CREATE TABLE R_RETENTION_POLICY_T (
+  TABLE_NAME VARCHAR(64) NOT NULL,
+  BUCKET_SEC INT NOT NULL DEFAULT 0,
+  RETENTION_DAYS INT NOT NULL,
+  UPDATE_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (TABLE_NAME, BUCKET_SEC)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO R_RETENTION_POLICY_T (TABLE_NAME, BUCKET_SEC, RETENTION_DAYS) VALUES
+  ('p_traffic_t', 0, 30),
+  ('p_cpu_mem_t', 0, 30),
+  ('p_icmp_t', 0, 30),
+  ('p_traffic_rollup_t', 300, 90),
+  ('p_traffic_rollup_t', 1800, 180),
+  ('p_traffic_rollup_t', 3600, 400),
+  ('p_traffic_rollup_t', 86400, 1825),
+  ('p_cpu_mem_rollup_t', 300, 90),
+  ('p_cpu_mem_rollup_t', 1800, 180),
+  ('p_cpu_mem_rollup_t', 3600, 400),
+  ('p_cpu_mem_rollup_t', 86400, 1825),
+  ('p_icmp_rollup_t', 300, 90),
+  ('p_icmp_rollup_t', 1800, 180),
+  ('p_icmp_rollup_t', 3600, 400),
+  ('p_icmp_rollup_t', 86400, 1825);
+
+-- rollup 단위별 보관 기간 삭제 / 상위 단위 집계 시 범위 스캔용
+CREATE INDEX IDX_TRAFFIC_ROLLUP_BUCKET ON P_TRAFFIC_ROLLUP_T (BUCKET_SEC, BUCKET_AT);
+CREATE INDEX IDX_CPU_MEM_ROLLUP_BUCKET ON P_CPU_MEM_ROLLUP_T (BUCKET_SEC, BUCKET_AT);
+CREATE INDEX IDX_ICMP_ROLLUP_BUCKET ON P_ICMP_ROLLUP_T (BUCKET_SEC, BUCKET_AT);
+
+-- ------------------------------------------------------------
+-- raw 테이블 파티션 전환 (1회, 테이블 재작성이므로 점검 시간에 수행)
+-- - 파티션 키는 모든 PK/UNIQUE 에 포함되어야 함 → ID PK 는 (ID, 시간) 으로 변경
+-- - 기존 데이터는 p_history 에 두고, 이후 일 파티션은 RetentionService 가 미리 생성
+-- - p_history 는 상한 날짜가 보관 기간을 지나면 통째로 삭제됨
+-- ------------------------------------------------------------
+
+ALTER TABLE p_cpu_mem_t DROP PRIMARY KEY, ADD PRIMARY KEY (ID, COLLECTED_AT);
+ALTER TABLE p_icmp_t DROP PRIMARY KEY, ADD PRIMARY KEY (ICMP_ID, COLLECT_TIME);
+
+ALTER TABLE p_traffic_t PARTITION BY RANGE COLUMNS (COLLECTED_AT) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-20 00:00:00'),
+  PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
+ALTER TABLE p_cpu_mem_t PARTITION BY RANGE COLUMNS (COLLECTED_AT) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-20 00:00:00'),
+  PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
+ALTER TABLE p_icmp_t PARTITION BY RANGE COLUMNS (COLLECT_TIME) (
+  PARTITION p_history VALUES LESS THAN ('2026-10-20 00:00:00'),
+  PARTITION p_max VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,34 @@
+-- ============================================================
+-- 장비 삭제 후 성능/장애 이력 백그라운드 정리 작업
+-- - 장비 삭제 API 는 논리 삭제만 수행하고 작업을 등록, 이력은 DevicePurgeService 가 청크 단위로 삭제
+-- - STEP: 장비별 다음 처리 단계 (재시작 시 해당 단계부터 재개)
+-- ============================================================
+
+CREATE TABLE R_DEVICE_PURGE_JOB_T (
+  JOB_ID BIGINT NOT NULL AUTO_INCREMENT,
+  STATUS VARCHAR(20) NOT NULL DEFAULT 'PENDING',  -- PENDING / RUNNING / DONE / FAILED
+  DEVICE_CNT INT NOT NULL,
+  ATTEMPTS INT NOT NULL DEFAULT 0,
+  LAST_ERROR VARCHAR(500) NULL,
+  CREATE_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  START_AT DATETIME NULL,
+  END_AT DATETIME NULL,
+  PRIMARY KEY (JOB_ID),
+  KEY IDX_DEVICE_PURGE_JOB_STATUS (STATUS)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE R_DEVICE_PURGE_ITEM_T (
+  JOB_ID BIGINT NOT NULL,
+  DEVICE_ID INT NOT NULL,
+  STEP INT NOT NULL DEFAULT 0,
+  DELETED_ROWS BIGINT NOT NULL DEFAULT 0,
+  DONE_AT DATETIME NULL,
+  PRIMARY KEY (JOB_ID, DEVICE_ID),
+  FOREIGN KEY (JOB_ID) REFERENCES R_DEVICE_PURGE_JOB_T(JOB_ID) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 장비 단위 청크 삭제용 (이미 있으면 생략)
+CREATE INDEX IF NOT EXISTS IDX_TRAFFIC_DEVICE_ID ON P_TRAFFIC_T (DEVICE_ID);
+CREATE INDEX IF NOT EXISTS IDX_CPU_MEM_DEVICE_ID ON P_CPU_MEM_T (DEVICE_ID);
+CREATE INDEX IF NOT EXISTS IDX_ICMP_DEVICE_ID ON p_icmp_t (DEVICE_ID);
+CREATE INDEX IF NOT EXISTS IDX_ERROR_HISTORY_DEVICE_ID ON f_error_history_t (DEVICE_ID);
@@ -0,0 +1,37 @@
+-- ============================================================
+-- 장비 일괄 등록 비동기 작업
+-- - 등록 API 는 작업만 등록하고 작업 ID 반환, DeviceRegisterJobService 가 백그라운드에서 처리
+-- - 항목별 상태를 기록 → 재시작 시 미완료 항목부터 재개, 실패 항목만 재시도 가능
+-- - INPUT_JSON: 직접 등록 입력 (SNMP 인증 정보 포함, 등록 성공 시 삭제)
+-- ============================================================
+
+CREATE TABLE R_DEVICE_REGISTER_JOB_T (
+  JOB_ID BIGINT NOT NULL AUTO_INCREMENT,
+  MODE VARCHAR(10) NOT NULL,                      -- DIRECT (입력 직접 등록) / TEMP (미등록 장비 등록)
+  STATUS VARCHAR(20) NOT NULL DEFAULT 'PENDING',  -- PENDING / RUNNING / DONE
+  TOTAL_CNT INT NOT NULL,
+  CREATE_USER_ID INT NULL,
+  CREATE_AT DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  START_AT DATETIME NULL,
+  END_AT DATETIME NULL,
+  PRIMARY KEY (JOB_ID),
+  KEY IDX_DEVICE_REGISTER_JOB_STATUS (STATUS)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE R_DEVICE_REGISTER_ITEM_T (
+  JOB_ID BIGINT NOT NULL,
+  ITEM_NO INT NOT NULL,                           -- 입력 순서 (0부터)
+  STATE VARCHAR(20) NOT NULL DEFAULT 'PENDING',   -- PENDING / PROBING / REGISTERED / FAILED
+  DEVICE_NAME VARCHAR(100) NULL,
+  DEVICE_IP VARCHAR(50) NULL,
+  TEMP_DEVICE_ID INT NULL,                        -- TEMP: 대상 미등록 장비, DIRECT: 실패 시 저장된 미등록 장비
+  INPUT_JSON TEXT NULL,
+  DEVICE_ID INT NULL,
+  COLLECT_TYPE VARCHAR(10) NULL,
+  ERROR_MESSAGE VARCHAR(500) NULL,
+  ATTEMPTS INT NOT NULL DEFAULT 0,
+  UPDATE_AT DATETIME NULL,
+  PRIMARY KEY (JOB_ID, ITEM_NO),
+  KEY IDX_DEVICE_REGISTER_ITEM_STATE (JOB_ID, STATE),
+  FOREIGN KEY (JOB_ID) REFERENCES R_DEVICE_REGISTER_JOB_T(JOB_ID) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,84 @@
+package dev3.nms.config;
+
+import dev3.nms.mapper.DeviceRegisterJobMapper;
+import dev3.nms.service.PermissionService;
+import dev3.nms.vo.mgmt.DeviceRegisterJobVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceRegisterSubscriptionInterceptorTest {
+
+    @Mock
+    private DeviceRegisterJobMapper jobMapper;
+    @Mock
+    private PermissionService permissionService;
+
+    private DeviceRegisterSubscriptionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new DeviceRegisterSubscriptionInterceptor(jobMapper, permissionService);
+    }
+
+    private static Message<byte[]> subscribe(String destination, Long userId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        Map<String, Object> attributes = new HashMap<>();
+        if (userId != null) attributes.put("USER_ID", userId);
+        accessor.setSessionAttributes(attributes);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    @Test
+    @DisplayName("등록자는 본인 작업 토픽 구독 가능")
+    void owner_Allowed() {
+        when(jobMapper.findJob(5L)).thenReturn(DeviceRegisterJobVO.builder().JOB_ID(5L).CREATE_USER_ID(7).build());
+
+        Message<byte[]> message = subscribe("/topic/device-register/5", 7L);
+
+        assertSame(message, interceptor.preSend(message, null));
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 작업 / 와일드카드 / 미로그인 구독 거부")
+    void otherUser_Rejected() {
+        when(jobMapper.findJob(5L)).thenReturn(DeviceRegisterJobVO.builder().JOB_ID(5L).CREATE_USER_ID(7).build());
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe("/topic/device-register/5", 8L), null));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe("/topic/device-register/**", 8L), null));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe("/topic/device-register/5", null), null));
+    }
+
+    @Test
+    @DisplayName("관리자는 모든 작업 구독 가능, 다른 토픽은 검사 안 함")
+    void admin_AndOtherTopics_Allowed() {
+        when(permissionService.isAdmin(1L)).thenReturn(true);
+
+        Message<byte[]> admin = subscribe("/topic/device-register/5", 1L);
+        Message<byte[]> alerts = subscribe("/topic/alerts", 8L);
+
+        assertSame(admin, interceptor.preSend(admin, null));
+        assertSame(alerts, interceptor.preSend(alerts, null));
+        verifyNoInteractions(jobMapper);
+    }
+}
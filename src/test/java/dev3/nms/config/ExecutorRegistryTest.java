@@ -0,0 +1,83 @@
+package dev3.nms.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorRegistryTest {
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> poolStats(ExecutorRegistry registry, String name) {
+        return (Map<String, Object>) ((Map<String, Object>) registry.getStats().get("pools")).get(name);
+    }
+
+    @Test
+    @DisplayName("threads + queue 초과 시 정책대로 거부 - ABORT 는 예외, CALLER_RUNS 는 호출 스레드 실행")
+    void boundedRejection() throws Exception {
+        Map<String, String> props = Map.of(
+                "executor.pools.middleware-probe.threads", "1",
+                "executor.pools.middleware-probe.queue", "1",
+                "executor.pools.widget-refresh.threads", "1",
+                "executor.pools.widget-refresh.queue", "0");
+        ExecutorRegistry registry = new ExecutorRegistry(false, props::get);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        Runnable blocker = () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            Executor refresh = registry.executor(ExecutorRegistry.WIDGET_REFRESH);
+            refresh.execute(blocker);
+            Executor probe = registry.executor(ExecutorRegistry.MIDDLEWARE_PROBE);
+            probe.execute(blocker);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertThrows(RejectedExecutionException.class, () -> refresh.execute(() -> { }));
+
+            probe.execute(() -> { });   // 큐 대기
+            AtomicReference<Thread> ranOn = new AtomicReference<>();
+            probe.execute(() -> ranOn.set(Thread.currentThread()));
+            assertSame(Thread.currentThread(), ranOn.get());
+
+            Map<String, Object> stats = poolStats(registry, ExecutorRegistry.MIDDLEWARE_PROBE);
+            assertEquals("platform", stats.get("type"));
+            assertEquals(1, stats.get("active"));
+            assertEquals(1, stats.get("queued"));
+            assertEquals(1L, stats.get("rejected"));
+            assertEquals(1.0, stats.get("saturation"));
+            assertEquals(1L, poolStats(registry, ExecutorRegistry.WIDGET_REFRESH).get("rejected"));
+        } finally {
+            release.countDown();
+            registry.destroy();
+        }
+        assertThrows(IllegalArgumentException.class, () -> registry.executor("unknown"));
+    }
+
+    @Test
+    @DisplayName("가상 스레드 요청 - 미지원 JDK 면 일반 스레드 풀로 대체, CPU 풀은 항상 일반 스레드")
+    void virtualThreadOption() throws Exception {
+        ExecutorRegistry registry = new ExecutorRegistry(true, key -> null);
+        try {
+            CompletableFuture<String> name = CompletableFuture.supplyAsync(
+                    () -> Thread.currentThread().getName(), registry.executor(ExecutorRegistry.DASHBOARD_WIDGET));
+            assertTrue(name.get(5, TimeUnit.SECONDS).startsWith(ExecutorRegistry.DASHBOARD_WIDGET + "-"));
+            registry.executor(ExecutorRegistry.AUDIT_LOG).execute(() -> { });
+
+            String expected = Runtime.version().feature() >= 21 ? "virtual" : "platform";
+            assertEquals(expected, poolStats(registry, ExecutorRegistry.DASHBOARD_WIDGET).get("type"));
+            assertEquals("platform", poolStats(registry, ExecutorRegistry.AUDIT_LOG).get("type"));
+            assertEquals(1L, poolStats(registry, ExecutorRegistry.DASHBOARD_WIDGET).get("submitted"));
+        } finally {
+            registry.destroy();
+        }
+    }
+}
@@ -4,8 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev3.nms.config.LoginCheckInterceptor;
 import dev3.nms.mapper.*;
 import dev3.nms.service.AuthService;
+import dev3.nms.service.DeviceBulkRegistrationService;
+import dev3.nms.service.DevicePurgeService;
+import dev3.nms.service.DeviceRegisterJobService;
 import dev3.nms.service.DeviceService;
 import dev3.nms.service.GroupService;
+import dev3.nms.service.PortInventoryService;
 import dev3.nms.service.PortService;
 import dev3.nms.service.TempDeviceService;
 import dev3.nms.vo.auth.UserVO;
@@ -45,12 +49,24 @@ class MgmtControllerDeviceTest {
     @MockitoBean
     private DeviceService deviceService;
 
+    @MockitoBean
+    private DeviceBulkRegistrationService bulkRegistrationService;
+
+    @MockitoBean
+    private DeviceRegisterJobService deviceRegisterJobService;
+
+    @MockitoBean
+    private DevicePurgeService devicePurgeService;
+
     @MockitoBean
     private GroupService groupService;
 
     @MockitoBean
     private PortService portService;
 
+    @MockitoBean
+    private PortInventoryService portInventoryService;
+
     @MockitoBean
     private TempDeviceService tempDeviceService;
 
@@ -320,13 +336,14 @@ class MgmtControllerDeviceTest {
     @Test
     @DisplayName("장비 삭제 - 성공")
     void deleteDevice_Success() throws Exception {
-        doNothing().when(deviceService).deleteDevice(1);
+        when(deviceService.deleteDevice(1)).thenReturn(10L);
 
         mockMvc.perform(delete("/api/mgmt/devices/1")
                         .session(createAuthenticatedSession()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
-                .andExpect(jsonPath("$.message").value("장비 삭제 성공"));
+                .andExpect(jsonPath("$.message").value("장비 삭제 성공"))
+                .andExpect(jsonPath("$.data.purgeJobId").value(10));
 
         verify(deviceService, times(1)).deleteDevice(1);
     }
@@ -337,14 +354,15 @@ class MgmtControllerDeviceTest {
         Map<String, List<Integer>> requestBody = new HashMap<>();
         requestBody.put("deviceIds", Arrays.asList(1, 2, 3));
 
-        doNothing().when(deviceService).deleteDevices(anyList());
+        when(deviceService.deleteDevices(anyList())).thenReturn(11L);
 
         mockMvc.perform(delete("/api/mgmt/devices")
                         .session(createAuthenticatedSession())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(requestBody)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.code").value(200));
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.purgeJobId").value(11));
 
         verify(deviceService, times(1)).deleteDevices(anyList());
     }
@@ -4,8 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev3.nms.config.LoginCheckInterceptor;
 import dev3.nms.mapper.*;
 import dev3.nms.service.AuthService;
+import dev3.nms.service.DeviceBulkRegistrationService;
+import dev3.nms.service.DevicePurgeService;
+import dev3.nms.service.DeviceRegisterJobService;
 import dev3.nms.service.DeviceService;
 import dev3.nms.service.GroupService;
+import dev3.nms.service.PortInventoryService;
 import dev3.nms.service.PortService;
 import dev3.nms.service.TempDeviceService;
 import dev3.nms.vo.mgmt.GroupVO;
@@ -39,12 +43,24 @@ class MgmtControllerGroupTest {
     @MockitoBean
     private DeviceService deviceService;
 
+    @MockitoBean
+    private DeviceBulkRegistrationService bulkRegistrationService;
+
+    @MockitoBean
+    private DeviceRegisterJobService deviceRegisterJobService;
+
+    @MockitoBean
+    private DevicePurgeService devicePurgeService;
+
     @MockitoBean
     private GroupService groupService;
 
     @MockitoBean
     private PortService portService;
 
+    @MockitoBean
+    private PortInventoryService portInventoryService;
+
     @MockitoBean
     private TempDeviceService tempDeviceService;
 
@@ -0,0 +1,55 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.auth.PageAccessVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessScopeTest {
+
+    private static AccessScope scoped(Collection<Long> deviceIds) {
+        return new AccessScope(1, false, false,
+                Map.of("mgmt", PageAccessVO.builder().PAGE_CODE("mgmt").CAN_VIEW(true).CAN_EDIT(false).build()),
+                Map.of("ASSET", List.of(1L, 2L), "WATCH", List.of(7L)),
+                Map.of("ASSET", List.of(2L)),
+                deviceIds);
+    }
+
+    @Test
+    @DisplayName("그룹 제한 사용자 - 장비/그룹/페이지 판정")
+    void scopedUser() {
+        AccessScope scope = scoped(List.of(30L, 10L, 20L, 10L));
+
+        assertTrue(scope.canAccessDevice(10));
+        assertFalse(scope.canAccessDevice(11));
+        assertEquals(List.of(10L, 20L, 30L), scope.deviceIds());
+        assertTrue(scope.deviceIds().contains(20L));
+        assertFalse(scope.deviceIds().contains(20));   // List<Long> 의미 유지: Integer 는 불일치
+
+        assertEquals(List.of(1L, 2L), scope.viewGroupIds("ASSET"));
+        assertTrue(scope.canViewGroup("WATCH", 7L));
+        assertFalse(scope.canViewGroup("WATCH", 1L));
+        assertTrue(scope.canEditGroup("ASSET", 2L));
+        assertFalse(scope.canEditGroup("ASSET", 1L));
+
+        assertTrue(scope.canViewPage("mgmt"));
+        assertFalse(scope.canEditPage("mgmt"));
+        assertFalse(scope.isAdmin());
+    }
+
+    @Test
+    @DisplayName("admin / ALL_GROUP_VIEW 는 전체 허용 (null)")
+    void unrestrictedUser() {
+        AccessScope admin = new AccessScope(1, true, false, Map.of(), Map.of(), Map.of(), null);
+        AccessScope allView = new AccessScope(1, false, true, Map.of(), Map.of(), Map.of(), null);
+
+        assertNull(admin.deviceIds());
+        assertNull(allView.viewGroupIds("WATCH"));
+        assertTrue(allView.canAccessDevice(12345));
+        assertTrue(admin.canEditGroup("ASSET", 99L));
+        assertFalse(allView.canEditGroup("ASSET", 99L));
+    }
+}
@@ -0,0 +1,95 @@
+package dev3.nms.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlertIngestPipelineTest {
+
+    private static Map<String, Object> alert(int deviceId) {
+        Map<String, Object> alert = new HashMap<>();
+        alert.put("deviceId", deviceId);
+        alert.put("alertType", "PORT_DOWN");
+        return alert;
+    }
+
+    private static void await(java.util.function.BooleanSupplier cond) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!cond.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("batchSize 단위로 WebSocket 프레임 병합, 이메일은 건별 처리")
+    void batchesBroadcastFrames() throws Exception {
+        List<Integer> frameSizes = new CopyOnWriteArrayList<>();
+        AtomicInteger emails = new AtomicInteger();
+        CountDownLatch gate = new CountDownLatch(1);
+        AlertIngestPipeline pipeline = new AlertIngestPipeline(batch -> {
+            awaitQuietly(gate);
+            frameSizes.add(batch.size());
+        }, a -> emails.incrementAndGet(), 1000, AlertIngestPipeline.Overflow.DROP_OLDEST, 10, 50, 2, 1000);
+        try {
+            pipeline.submit(alert(0));          // 첫 프레임이 gate 에서 대기하는 동안 나머지 적재
+            for (int i = 1; i < 25; i++) pipeline.submit(alert(i));
+            gate.countDown();
+
+            await(() -> emails.get() == 25);
+            assertEquals(25, emails.get());
+            assertEquals(25, frameSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(frameSizes.size() <= 4, "frames: " + frameSizes);
+            assertEquals(0L, pipeline.getStats().get("dropped"));
+        } finally {
+            pipeline.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("큐 포화 시 정책별 처리 - DROP_OLDEST / REJECT")
+    void overflowPolicies() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Object> broadcast = new CopyOnWriteArrayList<>();
+        AlertIngestPipeline dropOldest = new AlertIngestPipeline(batch -> {
+            awaitQuietly(gate);
+            batch.forEach(a -> broadcast.add(a.get("deviceId")));
+        }, a -> { }, 3, AlertIngestPipeline.Overflow.DROP_OLDEST, 1, 10, 1, 10);
+        AlertIngestPipeline reject = new AlertIngestPipeline(batch -> awaitQuietly(gate),
+                a -> { }, 3, AlertIngestPipeline.Overflow.REJECT, 1, 10, 1, 10);
+        try {
+            // dispatcher 가 첫 건을 꺼내 gate 에서 대기 → 이후 큐 용량 3
+            dropOldest.submit(alert(0));
+            reject.submit(alert(0));
+            await(() -> (int) dropOldest.getStats().get("queueDepth") == 0
+                    && (int) reject.getStats().get("queueDepth") == 0);
+
+            for (int i = 1; i <= 5; i++) dropOldest.submit(alert(i));
+            assertEquals(2L, dropOldest.getStats().get("dropped"));
+
+            assertEquals(List.of(3, 4), reject.submitAll(List.of(alert(1), alert(2), alert(3), alert(4), alert(5))));
+            assertEquals(2L, reject.getStats().get("rejected"));
+
+            gate.countDown();
+            await(() -> broadcast.size() == 4);
+            assertEquals(List.of(0, 3, 4, 5), broadcast);
+        } finally {
+            dropOldest.destroy();
+            reject.destroy();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.auth.AccessScopeFilterVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardWidgetCacheTest {
+
+    private static final String CONFIG = "{\"group\":\"ICMP\",\"chartType\":\"line\",\"elements\":[\"ICMP_AVG\"]}";
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000_000L);
+    private final DashboardWidgetCache cache = new DashboardWidgetCache(300, 30, 0, 100, Runnable::run, now::get);
+
+    @Test
+    @DisplayName("같은 위젯/범위 동시 로드는 1회만 계산, 범위가 다르면 별도 항목")
+    void singleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DashboardWidgetCache.Loader slow = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return new DashboardWidgetCache.WidgetData(List.of("row"), null);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<DashboardWidgetCache.WidgetData> first = pool.submit(() -> cache.get("LINE", CONFIG, null, false, slow));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<DashboardWidgetCache.WidgetData> second = pool.submit(() -> cache.get("LINE", CONFIG, null, false, slow));
+            while (!Long.valueOf(1).equals(cache.getStats().get("coalesced"))) Thread.sleep(5);
+            release.countDown();
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 같은 ID 집합은 순서와 관계없이 같은 범위
+        AccessScopeFilterVO scope = new AccessScopeFilterVO(null, List.of(3L, 1L, 2L));
+        cache.get("LINE", CONFIG, scope, false, slow);
+        cache.get("LINE", CONFIG, new AccessScopeFilterVO(null, List.of(1L, 2L, 3L)), false, slow);
+        cache.get("LINE", CONFIG, null, false, slow);
+
+        assertEquals(2, loads.get());
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(2, stats.get("entries"));
+    }
+
+    @Test
+    @DisplayName("버킷 경계 - 직전 버킷에서 조회된 항목만 미리 갱신, 실패 결과는 캐시하지 않음")
+    void refreshAtBucketBoundary() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        DashboardWidgetCache.Loader loader = () -> new DashboardWidgetCache.WidgetData(null, loads.incrementAndGet());
+
+        assertEquals(1, cache.get("ALERT_SUMMARY", CONFIG, null, true, loader).cntData());
+        assertEquals(1, cache.get("ALERT_SUMMARY", CONFIG, null, true, loader).cntData());
+
+        now.addAndGet(30_000);
+        cache.refresh();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (loads.get() < 2 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertEquals(2, cache.get("ALERT_SUMMARY", CONFIG, null, true, loader).cntData());
+        assertEquals(1L, cache.getStats().get("refreshes"));
+
+        // 이후 조회가 없으면 한 번 더 갱신 후 만료
+        now.addAndGet(30_000);
+        cache.refresh();
+        now.addAndGet(60_000);
+        cache.refresh();
+        assertEquals(0, cache.getStats().get("entries"));
+
+        AtomicInteger failures = new AtomicInteger();
+        DashboardWidgetCache.Loader failing = () -> {
+            failures.incrementAndGet();
+            throw new IllegalStateException("db down");
+        };
+        assertThrows(IllegalStateException.class, () -> cache.get("DEVICE_SUMMARY", CONFIG, null, true, failing));
+        assertThrows(IllegalStateException.class, () -> cache.get("DEVICE_SUMMARY", CONFIG, null, true, failing));
+        assertEquals(2, failures.get());
+        assertEquals(2L, cache.getStats().get("errors"));
+    }
+}
@@ -0,0 +1,69 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DevCodeMapper;
+import dev3.nms.vo.mgmt.DevCodeVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DevCodeTreeIndexTest {
+
+    @Mock
+    private DevCodeMapper devCodeMapper;
+
+    private static DevCodeVO code(long id, Long parentId, String name) {
+        return DevCodeVO.builder().DEV_CODE_ID(id).PARENT_DEV_CODE_ID(parentId).CODE_NM(name).build();
+    }
+
+    private static List<DevCodeVO> codes() {
+        return new ArrayList<>(List.of(
+                code(1, null, "네트워크"),
+                code(2, null, "서버"),
+                code(11, 1L, "L2"),
+                code(12, 1L, "L3"),
+                code(121, 12L, "백본"),
+                code(21, 2L, "리눅스"),
+                code(99, 404L, "고아")));
+    }
+
+    @Test
+    @DisplayName("하위 코드 집합 / 최상위 합산 - 고아 코드는 최상위 합산에서 제외")
+    void descendantsAndRootSums() {
+        when(devCodeMapper.findAllDevCodes()).thenReturn(codes());
+        DevCodeTreeIndex index = new DevCodeTreeIndex(devCodeMapper);
+
+        assertEquals(List.of("네트워크", "서버"), index.roots().stream().map(DevCodeTreeIndex.Node::codeNm).toList());
+        assertEquals(List.of(1L, 11L, 12L, 121L), index.descendantIds(1L));
+        assertEquals(List.of(12L, 121L), index.descendantIds(12L));
+        assertEquals(List.of(99L), index.descendantIds(99L));
+        assertEquals(List.of(), index.descendantIds(404L));
+
+        Map<Long, Integer> counts = Map.of(1L, 2, 11L, 5, 121L, 3, 21L, 4, 99L, 7);
+        assertEquals(Map.of(1L, 10, 2L, 4), index.sumByRoot(counts));
+        verify(devCodeMapper, times(1)).findAllDevCodes();
+    }
+
+    @Test
+    @DisplayName("장비군 변경 이벤트 후 다음 조회에서 재구성")
+    void rebuildsAfterChange() {
+        List<DevCodeVO> changed = codes();
+        changed.add(code(22, 2L, "윈도우"));
+        when(devCodeMapper.findAllDevCodes()).thenReturn(codes(), changed);
+        DevCodeTreeIndex index = new DevCodeTreeIndex(devCodeMapper);
+        assertEquals(List.of(2L, 21L), index.descendantIds(2L));
+
+        assertEquals(List.of(2L, 21L), index.descendantIds(2L));
+
+        index.onDevCodeChanged(new DevCodeChangedEvent(22L));
+        assertEquals(List.of(2L, 21L, 22L), index.descendantIds(2L));
+        verify(devCodeMapper, times(2)).findAllDevCodes();
+    }
+}
@@ -0,0 +1,206 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.TempDeviceMapper;
+import dev3.nms.mapper.VendorMapper;
+import dev3.nms.vo.mgmt.DeviceRegistrationResultVO;
+import dev3.nms.vo.mgmt.DeviceVO;
+import dev3.nms.vo.mgmt.TempDeviceVO;
+import dev3.nms.vo.mgmt.VendorVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceBulkRegistrationServiceTest {
+
+    private static final String SYS_OBJECT_ID = "1.3.6.1.4.1.9.1.1";
+    private static final Integer USER_ID = 7;
+
+    @Mock
+    private DeviceService deviceService;
+    @Mock
+    private TempDeviceMapper tempDeviceMapper;
+    @Mock
+    private VendorMapper vendorMapper;
+    @Mock
+    private RebalanceScheduler rebalanceScheduler;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final DeviceBulkRegistrationService service =
+            new DeviceBulkRegistrationService(null, null, null, null, null, pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private static DeviceRegistrationResultVO outcome(int i) {
+        DeviceRegistrationResultVO single = new DeviceRegistrationResultVO();
+        if (i % 3 == 0) {
+            single.getFailureList().add(new DeviceRegistrationResultVO.DeviceRegistrationFailure(
+                    i, "dev" + i, "10.0.0." + i, "SNMP 실패", "SNMP"));
+        } else {
+            single.getSuccessList().add(new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
+                    null, i, "dev" + i, "10.0.0." + i, null, "-", "-", true, "SNMP"));
+        }
+        return single;
+    }
+
+    @Test
+    @DisplayName("장비별 작업 병렬 실행, 결과는 입력 순서 유지")
+    void runsInParallelAndKeepsInputOrder() {
+        List<Integer> inputs = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+
+        DeviceRegistrationResultVO result = service.runAll(inputs, i -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                // 앞 장비일수록 늦게 끝나도록
+                started.await(1, TimeUnit.SECONDS);
+                Thread.sleep((9 - i) * 5L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return outcome(i);
+        }, null);
+
+        assertEquals(4, maxRunning.get());
+        assertEquals(List.of(1, 2, 4, 5, 7, 8),
+                result.getSuccessList().stream().map(DeviceRegistrationResultVO.DeviceRegistrationSuccess::getDeviceId).toList());
+        assertEquals(List.of(3, 6),
+                result.getFailureList().stream().map(DeviceRegistrationResultVO.DeviceRegistrationFailure::getTempDeviceId).toList());
+    }
+
+    @Test
+    @DisplayName("장비마다 진행 콜백 1회, 콜백 오류는 등록에 영향 없음")
+    void reportsProgressPerDevice() {
+        List<DeviceBulkRegistrationService.Progress> events = Collections.synchronizedList(new ArrayList<>());
+
+        DeviceRegistrationResultVO result = service.runAll(List.of(1, 2, 3, 4, 5), DeviceBulkRegistrationServiceTest::outcome,
+                progress -> {
+                    events.add(progress);
+                    if (progress.index() == 0) throw new IllegalStateException("client gone");
+                });
+
+        assertEquals(5, result.getSuccessList().size() + result.getFailureList().size());
+        assertEquals(5, events.size());
+        assertEquals(Set.of(1, 2, 3, 4, 5), new HashSet<>(events.stream().map(DeviceBulkRegistrationService.Progress::done).toList()));
+        assertEquals(Set.of(0, 1, 2, 3, 4), new HashSet<>(events.stream().map(DeviceBulkRegistrationService.Progress::index).toList()));
+        assertTrue(events.stream().allMatch(p -> p.total() == 5 && (p.success() == null) != (p.failure() == null)));
+        DeviceBulkRegistrationService.Progress third = events.stream().filter(p -> p.index() == 2).findFirst().orElseThrow();
+        assertEquals("SNMP 실패", third.failure().getErrorMessage());
+    }
+
+    // ========== registerDirect / registerFromTemp ==========
+
+    private DeviceBulkRegistrationService mockedService() {
+        when(transactionManager.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+        VendorVO vendor = new VendorVO();
+        vendor.setVENDOR_ID(9);
+        when(vendorMapper.findVendorByOid(SYS_OBJECT_ID)).thenReturn(vendor);
+        when(deviceService.getOrCreateModel(SYS_OBJECT_ID, vendor, USER_ID)).thenReturn(42);
+        when(deviceService.probeSnmp(any())).thenReturn(
+                new DeviceService.SnmpProbeResult("Test Switch", SYS_OBJECT_ID, "sw", List.of()));
+        when(deviceService.snmpSuccess(any(), any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+            DeviceVO device = inv.getArgument(1);
+            return new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
+                    inv.getArgument(0), device.getDEVICE_ID(), device.getDEVICE_NAME(), null, null, "-", "-", true, "SNMP");
+        });
+        return new DeviceBulkRegistrationService(deviceService, tempDeviceMapper, vendorMapper, rebalanceScheduler,
+                new TransactionTemplate(transactionManager), pool);
+    }
+
+    private static TempDeviceVO input(int i) {
+        TempDeviceVO input = new TempDeviceVO();
+        input.setTEMP_DEVICE_ID(i);
+        input.setDEVICE_NAME("dev" + i);
+        input.setDEVICE_IP("10.0.0." + i);
+        return input;
+    }
+
+    /**
+     * 2번 장비만 INSERT 실패
+     */
+    private void failInsertOfSecond() {
+        when(deviceService.insertProbedDevice(any(), any(), any(), anyBoolean(), any())).thenAnswer(inv -> {
+            TempDeviceVO input = inv.getArgument(0);
+            if (input.getTEMP_DEVICE_ID() == 2) throw new IllegalStateException("Duplicate entry");
+            return DeviceVO.builder().DEVICE_ID(100 + input.getTEMP_DEVICE_ID()).DEVICE_NAME(input.getDEVICE_NAME()).build();
+        });
+    }
+
+    @Test
+    @DisplayName("직접 등록 - 장비별 트랜잭션, 실패 장비는 롤백 후 미등록 장비로 저장, 같은 sysObjectId 모델은 1회 생성")
+    void registerDirect_IsolatesFailuresAndCachesModel() {
+        DeviceBulkRegistrationService bulk = mockedService();
+        failInsertOfSecond();
+        when(deviceService.saveFailedInput(any(), eq(USER_ID), anyString(), eq("SNMP"))).thenAnswer(inv -> {
+            TempDeviceVO input = inv.getArgument(0);
+            return new DeviceRegistrationResultVO.DeviceRegistrationFailure(
+                    500, input.getDEVICE_NAME(), input.getDEVICE_IP(), inv.getArgument(2), "SNMP");
+        });
+        List<TempDeviceVO> inputs = List.of(input(1), input(2), input(3));
+
+        DeviceRegistrationResultVO result = bulk.registerDirect(inputs, USER_ID, null);
+
+        assertEquals(List.of(101, 103),
+                result.getSuccessList().stream().map(DeviceRegistrationResultVO.DeviceRegistrationSuccess::getDeviceId).toList());
+        assertEquals(1, result.getFailureList().size());
+        assertEquals(500, result.getFailureList().get(0).getTempDeviceId());
+        assertEquals("Duplicate entry", result.getFailureList().get(0).getErrorMessage());
+        // 실패 장비만 롤백 - 나머지 등록 2건 + 모델 생성 1건 + 미등록 저장 1건은 커밋
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(4)).commit(any());
+        verify(deviceService).archiveRegisteredInput(inputs.get(0), USER_ID);
+        verify(deviceService).archiveRegisteredInput(inputs.get(2), USER_ID);
+        verify(deviceService, never()).archiveRegisteredInput(inputs.get(1), USER_ID);
+        verify(deviceService).saveFailedInput(inputs.get(1), USER_ID, "Duplicate entry", "SNMP");
+        verify(deviceService, times(3)).insertProbedDevice(any(), any(), eq(42), eq(true), eq(USER_ID));
+        verify(vendorMapper, times(1)).findVendorByOid(SYS_OBJECT_ID);
+        verify(deviceService, times(1)).getOrCreateModel(any(), any(), any());
+        verify(rebalanceScheduler).request("DEVICE_REGISTER");
+    }
+
+    @Test
+    @DisplayName("임시 장비 등록 - 실패 장비는 롤백되어 임시 장비로 남고 나머지는 삭제, 모델은 1회 생성")
+    void registerFromTemp_IsolatesFailuresAndCachesModel() {
+        DeviceBulkRegistrationService bulk = mockedService();
+        failInsertOfSecond();
+        when(tempDeviceMapper.findById(anyInt())).thenAnswer(inv -> input(inv.getArgument(0)));
+
+        DeviceRegistrationResultVO result = bulk.registerFromTemp(List.of(1, 2, 3), USER_ID, null);
+
+        assertEquals(List.of(1, 3),
+                result.getSuccessList().stream().map(DeviceRegistrationResultVO.DeviceRegistrationSuccess::getTempDeviceId).toList());
+        assertEquals(List.of(2),
+                result.getFailureList().stream().map(DeviceRegistrationResultVO.DeviceRegistrationFailure::getTempDeviceId).toList());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(tempDeviceMapper).deleteTempDevice(1);
+        verify(tempDeviceMapper).deleteTempDevice(3);
+        verify(tempDeviceMapper, never()).deleteTempDevice(2);
+        verify(deviceService, times(3)).insertProbedDevice(any(), any(), eq(42), eq(false), eq(USER_ID));
+        verify(deviceService, times(1)).getOrCreateModel(any(), any(), any());
+        verify(deviceService, never()).saveFailedInput(any(), any(), any(), any());
+    }
+}
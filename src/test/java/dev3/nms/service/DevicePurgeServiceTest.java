@@ -0,0 +1,130 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DevicePurgeMapper;
+import dev3.nms.vo.mgmt.DevicePurgeItemVO;
+import dev3.nms.vo.mgmt.DevicePurgeJobVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DevicePurgeServiceTest {
+
+    private static final Long JOB_ID = 1L;
+    private static final int LAST_STEP = DevicePurgeService.STEPS.size() - 1;
+
+    @Mock
+    private DevicePurgeMapper devicePurgeMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DevicePurgeService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DevicePurgeService(devicePurgeMapper, eventPublisher, 100, 0, 2);
+    }
+
+    private static DevicePurgeJobVO job(int attempts) {
+        return DevicePurgeJobVO.builder().JOB_ID(JOB_ID).STATUS("RUNNING").DEVICE_CNT(1).ATTEMPTS(attempts).build();
+    }
+
+    private static DevicePurgeItemVO item(int deviceId, int step, long deletedRows) {
+        return DevicePurgeItemVO.builder().JOB_ID(JOB_ID).DEVICE_ID(deviceId).STEP(step).DELETED_ROWS(deletedRows).build();
+    }
+
+    /**
+     * 테이블|집계단위|장비 별 남은 행 수에서 limit 만큼 삭제
+     */
+    private void remainingRows(Map<String, Integer> rows) {
+        when(devicePurgeMapper.deleteDeviceRows(anyString(), any(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0) + "|" + invocation.getArgument(1) + "|" + invocation.getArgument(2);
+            int n = Math.min(invocation.<Integer>getArgument(3), rows.getOrDefault(key, 0));
+            rows.merge(key, -n, Integer::sum);
+            return n;
+        });
+    }
+
+    @Test
+    @DisplayName("작업 등록 시 중복 제거한 장비 항목 저장 후 처리 요청 이벤트 발행")
+    void enqueuesDistinctDevices() {
+        doAnswer(invocation -> {
+            invocation.<DevicePurgeJobVO>getArgument(0).setJOB_ID(JOB_ID);
+            return null;
+        }).when(devicePurgeMapper).insertJob(argThat(j -> j.getDEVICE_CNT() == 2));
+
+        service.enqueue(Arrays.asList(7, 8, 7, null));
+
+        verify(devicePurgeMapper).insertItems(JOB_ID, List.of(7, 8));
+        verify(eventPublisher).publishEvent(new DevicePurgeRequestedEvent(JOB_ID));
+    }
+
+    @Test
+    @DisplayName("장비별 batch-size 청크 삭제, 진행 단계 기록 후 완료")
+    void purgesInChunks() {
+        when(devicePurgeMapper.findUnfinishedJobs()).thenReturn(List.of(job(0)));
+        when(devicePurgeMapper.findPendingItems(JOB_ID)).thenReturn(List.of(item(7, 0, 0)));
+        remainingRows(new HashMap<>(Map.of("p_traffic_t|null|7", 250, "p_icmp_rollup_t|3600|7", 30)));
+
+        service.runPending();
+
+        // 트래픽 250건 → 100 + 100 + 50 (청크 크기 이하)
+        verify(devicePurgeMapper, times(3)).deleteDeviceRows("p_traffic_t", null, 7, 100);
+        verify(devicePurgeMapper).updateItemProgress(JOB_ID, 7, 0, 100L, false);
+        verify(devicePurgeMapper).updateItemProgress(JOB_ID, 7, 0, 200L, false);
+        verify(devicePurgeMapper).updateItemProgress(JOB_ID, 7, 1, 250L, false);
+        verify(devicePurgeMapper).updateItemProgress(JOB_ID, 7, DevicePurgeService.STEPS.size(), 280L, true);
+        verify(devicePurgeMapper).markJobFinished(JOB_ID, "DONE", null);
+    }
+
+    @Test
+    @DisplayName("오류 시 기록된 단계부터 재개")
+    void resumesFromRecordedStep() {
+        when(devicePurgeMapper.findUnfinishedJobs()).thenReturn(List.of(job(0)));
+        when(devicePurgeMapper.findPendingItems(JOB_ID)).thenReturn(List.of(item(1, 0, 0)));
+        remainingRows(new HashMap<>(Map.of("p_traffic_t|null|1", 20)));
+        when(devicePurgeMapper.deleteDeviceRows(eq("f_error_history_t"), isNull(), eq(1), anyInt()))
+                .thenThrow(new IllegalStateException("lock wait timeout"));
+
+        service.runPending();
+
+        verify(devicePurgeMapper).updateItemProgress(JOB_ID, 1, LAST_STEP, 20L, false);
+        verify(devicePurgeMapper).recordJobError(JOB_ID, "lock wait timeout");
+        verify(devicePurgeMapper, never()).markJobFinished(anyLong(), anyString(), any());
+
+        // 재개: 기록된 마지막 단계만 실행
+        reset(devicePurgeMapper);
+        when(devicePurgeMapper.findUnfinishedJobs()).thenReturn(List.of(job(1)));
+        when(devicePurgeMapper.findPendingItems(JOB_ID)).thenReturn(List.of(item(1, LAST_STEP, 20)));
+        when(devicePurgeMapper.deleteDeviceRows("f_error_history_t", null, 1, 100)).thenReturn(3);
+
+        service.runPending();
+
+        verify(devicePurgeMapper, times(1)).deleteDeviceRows(anyString(), any(), anyInt(), anyInt());
+        verify(devicePurgeMapper).updateItemProgress(JOB_ID, 1, DevicePurgeService.STEPS.size(), 23L, true);
+        verify(devicePurgeMapper).markJobFinished(JOB_ID, "DONE", null);
+    }
+
+    @Test
+    @DisplayName("재시도 횟수 초과 시 실행 없이 FAILED")
+    void failsAfterMaxAttempts() {
+        DevicePurgeJobVO exhausted = job(2);
+        exhausted.setLAST_ERROR("lock wait timeout");
+        when(devicePurgeMapper.findUnfinishedJobs()).thenReturn(List.of(exhausted));
+
+        service.runPending();
+
+        verify(devicePurgeMapper).markJobFinished(JOB_ID, "FAILED", "lock wait timeout");
+        verify(devicePurgeMapper, never()).markJobRunning(anyLong());
+        verify(devicePurgeMapper, never()).deleteDeviceRows(anyString(), any(), anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,218 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.mapper.DeviceRegisterJobMapper;
+import dev3.nms.mapper.TempDeviceMapper;
+import dev3.nms.vo.mgmt.DeviceRegisterItemVO;
+import dev3.nms.vo.mgmt.DeviceRegisterJobVO;
+import dev3.nms.vo.mgmt.DeviceRegistrationResultVO;
+import dev3.nms.vo.mgmt.TempDeviceVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceRegisterJobServiceTest {
+
+    private static final Long JOB_ID = 1L;
+
+    @Mock
+    private DeviceRegisterJobMapper jobMapper;
+    @Mock
+    private TempDeviceMapper tempDeviceMapper;
+    @Mock
+    private DeviceBulkRegistrationService bulkRegistrationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> pushed = new ArrayList<>();
+    private DeviceRegisterJobService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new DeviceRegisterJobService(jobMapper, tempDeviceMapper, bulkRegistrationService, eventPublisher,
+                (destination, payload) -> pushed.add(destination), objectMapper);
+    }
+
+    private static TempDeviceVO input(String name, String ip) {
+        TempDeviceVO d = new TempDeviceVO();
+        d.setDEVICE_NAME(name);
+        d.setDEVICE_IP(ip);
+        d.setSNMP_VERSION(2);
+        d.setSNMP_COMMUNITY("public");
+        return d;
+    }
+
+    private DeviceRegisterItemVO item(int itemNo, String state, String ip) throws Exception {
+        return DeviceRegisterItemVO.builder().JOB_ID(JOB_ID).ITEM_NO(itemNo).STATE(state).DEVICE_NAME("sw" + itemNo)
+                .DEVICE_IP(ip).INPUT_JSON(objectMapper.writeValueAsString(input("sw" + itemNo, ip))).build();
+    }
+
+    private static DeviceRegisterJobVO job(String status) {
+        return DeviceRegisterJobVO.builder().JOB_ID(JOB_ID).MODE("DIRECT").STATUS(status).CREATE_USER_ID(7).build();
+    }
+
+    /**
+     * reachable IP 는 성공 (장비 ID = 100 + 순번), 나머지는 실패 (미등록 장비 ID = 900 + 순번)
+     */
+    @SuppressWarnings("unchecked")
+    private void registerReachable(String... reachable) {
+        when(bulkRegistrationService.registerDirect(anyList(), eq(7), any())).thenAnswer(invocation -> {
+            List<TempDeviceVO> devices = invocation.getArgument(0);
+            DeviceBulkRegistrationService.Listener listener = invocation.getArgument(2);
+            for (int i = 0; i < devices.size(); i++) {
+                TempDeviceVO d = devices.get(i);
+                listener.started(i);
+                boolean ok = List.of(reachable).contains(d.getDEVICE_IP());
+                listener.completed(new DeviceBulkRegistrationService.Progress(i, i + 1, devices.size(),
+                        ok ? new DeviceRegistrationResultVO.DeviceRegistrationSuccess(
+                                500 + i, 100 + i, d.getDEVICE_NAME(), d.getDEVICE_IP(), null, "-", "-", true, "SNMP") : null,
+                        ok ? null : new DeviceRegistrationResultVO.DeviceRegistrationFailure(
+                                900 + i, d.getDEVICE_NAME(), d.getDEVICE_IP(), "SNMP Timeout", "SNMP")));
+            }
+            return new DeviceRegistrationResultVO(new ArrayList<>(), new ArrayList<>());
+        });
+    }
+
+    private List<String> registeredIps() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TempDeviceVO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkRegistrationService).registerDirect(captor.capture(), eq(7), any());
+        return captor.getValue().stream().map(TempDeviceVO::getDEVICE_IP).toList();
+    }
+
+    @Test
+    @DisplayName("작업 등록 시 항목 저장 후 처리 요청 이벤트 발행")
+    void submitsJob() {
+        doAnswer(invocation -> {
+            invocation.<DeviceRegisterJobVO>getArgument(0).setJOB_ID(JOB_ID);
+            return null;
+        }).when(jobMapper).insertJob(any());
+
+        Long jobId = service.submitDirect(List.of(input("sw1", "10.0.0.1"), input("sw2", "10.0.0.2")), 7);
+
+        assertEquals(JOB_ID, jobId);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DeviceRegisterItemVO>> items = ArgumentCaptor.forClass(List.class);
+        verify(jobMapper).insertItems(eq(JOB_ID), items.capture());
+        assertEquals(List.of("10.0.0.1", "10.0.0.2"), items.getValue().stream().map(DeviceRegisterItemVO::getDEVICE_IP).toList());
+        assertTrue(items.getValue().stream().allMatch(i -> i.getINPUT_JSON() != null));
+        verify(eventPublisher).publishEvent(new DeviceRegisterRequestedEvent(JOB_ID));
+    }
+
+    @Test
+    @DisplayName("항목별 상태 기록, 진행 전송 후 작업 완료")
+    void runsPendingJob() throws Exception {
+        when(jobMapper.findUnfinishedJobs()).thenReturn(List.of(job("PENDING")));
+        when(jobMapper.findItemsByState(JOB_ID, "PROBING")).thenReturn(List.of());
+        when(jobMapper.findItemsByState(JOB_ID, "PENDING")).thenReturn(List.of(
+                item(0, "PENDING", "10.0.0.1"), item(1, "PENDING", "10.0.0.2")));
+        when(jobMapper.markJobDone(JOB_ID)).thenReturn(1);
+        when(jobMapper.findJob(JOB_ID)).thenReturn(job("DONE"));
+        registerReachable("10.0.0.1");
+
+        service.runPending();
+
+        verify(jobMapper).markItemProbing(JOB_ID, 0);
+        verify(jobMapper).markItemProbing(JOB_ID, 1);
+        ArgumentCaptor<DeviceRegisterItemVO> results = ArgumentCaptor.forClass(DeviceRegisterItemVO.class);
+        verify(jobMapper, times(2)).updateItemResult(results.capture());
+        DeviceRegisterItemVO registered = results.getAllValues().get(0);
+        assertEquals("REGISTERED", registered.getSTATE());
+        assertEquals(100, registered.getDEVICE_ID());
+        DeviceRegisterItemVO failed = results.getAllValues().get(1);
+        assertEquals("FAILED", failed.getSTATE());
+        assertEquals("SNMP Timeout", failed.getERROR_MESSAGE());
+        assertEquals(901, failed.getTEMP_DEVICE_ID());
+        // 항목마다 PROBING + 결과, 마지막에 작업 요약
+        assertEquals(5, pushed.size());
+        assertTrue(pushed.stream().allMatch(d -> d.equals("/topic/device-register/" + JOB_ID)));
+    }
+
+    @Test
+    @DisplayName("상태 기록 실패로 PROBING 항목이 남으면 작업 완료 요약 없이 RUNNING 유지")
+    void keepsJobRunningWhenItemStateNotRecorded() throws Exception {
+        when(jobMapper.findUnfinishedJobs()).thenReturn(List.of(job("PENDING")));
+        when(jobMapper.findItemsByState(JOB_ID, "PROBING")).thenReturn(List.of());
+        when(jobMapper.findItemsByState(JOB_ID, "PENDING")).thenReturn(List.of(item(0, "PENDING", "10.0.0.1")));
+        doThrow(new IllegalStateException("db down")).when(jobMapper).updateItemResult(any());
+        when(jobMapper.markJobDone(JOB_ID)).thenReturn(0);
+        registerReachable("10.0.0.1");
+
+        service.runPending();
+
+        verify(jobMapper).markJobDone(JOB_ID);
+        verify(jobMapper, never()).findJob(any());
+        assertEquals(2, pushed.size());
+    }
+
+    @Test
+    @DisplayName("완료된 작업의 실패 항목만 재시도, 진행 중/없는 작업은 거부")
+    void retriesOnlyFailedItems() {
+        when(jobMapper.findJob(JOB_ID)).thenReturn(job("DONE"));
+        when(jobMapper.resetFailedItems(JOB_ID)).thenReturn(1);
+
+        assertEquals(1, service.retryFailed(JOB_ID));
+        verify(jobMapper).markJobPending(JOB_ID);
+        verify(eventPublisher).publishEvent(new DeviceRegisterRequestedEvent(JOB_ID));
+
+        when(jobMapper.findJob(2L)).thenReturn(DeviceRegisterJobVO.builder().JOB_ID(2L).STATUS("RUNNING").build());
+        assertThrows(IllegalStateException.class, () -> service.retryFailed(2L));
+        assertThrows(IllegalArgumentException.class, () -> service.retryFailed(99L));
+        verify(jobMapper, times(1)).resetFailedItems(anyLong());
+    }
+
+    @Test
+    @DisplayName("직접 등록 재시도 성공 시 이전 실패 때 저장된 미등록 장비 정리")
+    void retrySuccessDeletesTempDevice() throws Exception {
+        DeviceRegisterItemVO retried = item(0, "PENDING", "10.0.0.2");
+        retried.setTEMP_DEVICE_ID(901);
+        when(jobMapper.findUnfinishedJobs()).thenReturn(List.of(job("PENDING")));
+        when(jobMapper.findItemsByState(JOB_ID, "PROBING")).thenReturn(List.of());
+        when(jobMapper.findItemsByState(JOB_ID, "PENDING")).thenReturn(List.of(retried));
+        when(jobMapper.markJobDone(JOB_ID)).thenReturn(1);
+        registerReachable("10.0.0.2");
+
+        service.runPending();
+
+        verify(tempDeviceMapper).deleteTempDevice(901);
+        assertEquals("REGISTERED", retried.getSTATE());
+    }
+
+    @Test
+    @DisplayName("중단된 작업 재개 - PROBING 항목은 같은 IP 장비가 있으면 등록 완료 처리")
+    void resumesInterruptedJob() throws Exception {
+        when(jobMapper.findUnfinishedJobs()).thenReturn(List.of(job("RUNNING")));
+        // 항목 0 은 장비 저장 후 상태 기록 전에 중단, 항목 1 은 probe 중 중단
+        when(jobMapper.findItemsByState(JOB_ID, "PROBING")).thenReturn(List.of(
+                item(0, "PROBING", "10.0.0.1"), item(1, "PROBING", "10.0.0.2")));
+        when(jobMapper.findActiveDeviceIdByIp("10.0.0.1")).thenReturn(42);
+        when(jobMapper.findActiveDeviceIdByIp("10.0.0.2")).thenReturn(null);
+        when(jobMapper.findItemsByState(JOB_ID, "PENDING")).thenReturn(List.of(
+                item(1, "PENDING", "10.0.0.2"), item(2, "PENDING", "10.0.0.3")));
+        when(jobMapper.markJobDone(JOB_ID)).thenReturn(1);
+        registerReachable("10.0.0.2", "10.0.0.3");
+
+        service.runPending();
+
+        ArgumentCaptor<DeviceRegisterItemVO> results = ArgumentCaptor.forClass(DeviceRegisterItemVO.class);
+        verify(jobMapper, times(4)).updateItemResult(results.capture());
+        DeviceRegisterItemVO recovered = results.getAllValues().get(0);
+        assertEquals("REGISTERED", recovered.getSTATE());
+        assertEquals(42, recovered.getDEVICE_ID());
+        assertEquals("PENDING", results.getAllValues().get(1).getSTATE());
+        assertEquals(List.of("10.0.0.2", "10.0.0.3"), registeredIps());
+    }
+}
@@ -0,0 +1,89 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DeviceScopeMapper;
+import dev3.nms.vo.auth.AccessScopeFilterVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeviceScopeRegistryTest {
+
+    @Mock
+    private DeviceScopeMapper deviceScopeMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private static List<Long> range(long from, long to) {
+        return LongStream.range(from, to).boxed().toList();
+    }
+
+    @Test
+    @DisplayName("소량 목록은 IN 목록, null 은 전체 허용")
+    void smallList_Inline() {
+        DeviceScopeRegistry registry = new DeviceScopeRegistry(deviceScopeMapper, transactionManager, 100, 7);
+
+        assertNull(registry.resolve(null));
+        AccessScopeFilterVO scope = registry.resolve(List.of(1L, 2L));
+        assertNull(scope.getScopeId());
+        assertEquals(List.of(1L, 2L), scope.getDeviceIds());
+        assertNull(registry.resolve(List.of()).getScopeId());
+        verifyNoInteractions(deviceScopeMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("대량 목록은 내용 기준 scopeId 로 1회만 저장, 순서/중복 무관하게 공유")
+    void largeList_MaterializedOnceAndShared() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(deviceScopeMapper.findScope(anyLong())).thenReturn(null);
+        DeviceScopeRegistry registry = new DeviceScopeRegistry(deviceScopeMapper, transactionManager, 100, 7);
+
+        List<Long> ids = range(1, 2501);
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled, new Random(7));
+        shuffled.add(5L);
+
+        AccessScopeFilterVO first = registry.resolve(ids);
+        AccessScopeFilterVO second = registry.resolve(shuffled);
+
+        assertNotNull(first.getScopeId());
+        assertEquals(first.getScopeId(), second.getScopeId());
+        // 1000건 단위 3회, 두 번째 요청은 저장 없음
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(deviceScopeMapper, times(3)).insertScopeItems(eq(first.getScopeId()), chunks.capture());
+        assertEquals(2500, chunks.getAllValues().stream().flatMap(List::stream).distinct().count());
+        verify(deviceScopeMapper).insertScope(eq(first.getScopeId()), eq(2500), anyLong());
+
+        assertNotEquals(first.getScopeId(), registry.resolve(range(1, 2500)).getScopeId());
+    }
+
+    @Test
+    @DisplayName("미사용 범위 정리 - 삭제 시점에 미사용 조건 재확인, 삭제 후 캐시 제거")
+    void purgeStale_RechecksAndEvictsAfterDelete() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(deviceScopeMapper.findScope(anyLong())).thenReturn(null);
+        DeviceScopeRegistry registry = new DeviceScopeRegistry(deviceScopeMapper, transactionManager, 100, 7);
+        Long scopeId = registry.resolve(range(1, 201)).getScopeId();
+        when(deviceScopeMapper.findStaleScopeIds(7)).thenReturn(List.of(scopeId));
+
+        registry.purgeStale();
+
+        verify(deviceScopeMapper).deleteScopes(List.of(scopeId), 7);
+        // 캐시에서 제거됐으므로 다음 resolve 는 DB 재확인
+        registry.resolve(range(1, 201));
+        verify(deviceScopeMapper, times(2)).findScope(scopeId);
+    }
+}
@@ -0,0 +1,123 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.EmailDigestMapper;
+import dev3.nms.vo.notification.EmailDigestEntryVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDigestQueueTest {
+
+    @Mock
+    private EmailDigestMapper emailDigestMapper;
+
+    private static Map<String, Object> alert(String message) {
+        return Map.of("deviceName", "SW-01", "deviceIp", "10.0.0.1", "message", message);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EmailDigestEntryVO> upserted() {
+        ArgumentCaptor<List<EmailDigestEntryVO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(emailDigestMapper, atLeast(0)).upsertEntries(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    @DisplayName("반복 알림은 사용자/장비/유형 당 1건으로 집계")
+    void repeatedAlerts_Aggregated() {
+        EmailDigestQueue queue = new EmailDigestQueue(emailDigestMapper, 1000, 50);
+
+        for (int i = 0; i < 500; i++) {
+            queue.add(1L, 10, "PORT", "MAJOR", alert("flap " + i));
+        }
+        queue.add(1L, 10, "ICMP", "CRITICAL", alert("down"));
+        queue.add(2L, 10, "PORT", "MAJOR", alert("flap"));
+        queue.persist();
+
+        List<EmailDigestEntryVO> upserted = upserted();
+        assertEquals(3, upserted.size());
+        EmailDigestEntryVO port = upserted.stream()
+                .filter(e -> e.getUSER_ID() == 1L && "PORT".equals(e.getALERT_TYPE()))
+                .findFirst().orElseThrow();
+        assertEquals(500, port.getALERT_COUNT());
+        assertEquals("flap 499", port.getMESSAGE());
+        assertFalse(port.getFIRST_SEEN().isAfter(port.getLAST_SEEN()));
+
+        queue.persist();
+        verify(emailDigestMapper, times(1)).upsertEntries(anyList());
+    }
+
+    @Test
+    @DisplayName("저장 실패 시 버퍼로 되돌려 다음 주기에 누적 저장 (최신 메시지 유지)")
+    void persistFailure_RetriedWithLaterAlerts() {
+        doThrow(new IllegalStateException("db down")).doNothing().when(emailDigestMapper).upsertEntries(anyList());
+        EmailDigestQueue queue = new EmailDigestQueue(emailDigestMapper, 1000, 50);
+
+        queue.add(1L, 10, "PORT", "MINOR", alert("flap"));
+        queue.add(1L, 10, "PORT", "MINOR", alert("flap"));
+        queue.persist();
+
+        queue.add(1L, 10, "PORT", "MAJOR", alert("down"));
+        queue.persist();
+
+        List<EmailDigestEntryVO> upserted = upserted();
+        assertEquals(2, upserted.size());
+        EmailDigestEntryVO retried = upserted.get(1);
+        assertEquals(3, retried.getALERT_COUNT());
+        assertEquals("MAJOR", retried.getSEVERITY());
+        assertEquals("down", retried.getMESSAGE());
+    }
+
+    @Test
+    @DisplayName("등급별 건수는 표시 행이 아닌 전체 대기 항목 기준")
+    void take_SeverityCountsFromAllEntries() {
+        when(emailDigestMapper.findEntries(1L, 2)).thenReturn(List.of(
+                EmailDigestEntryVO.builder().SEVERITY("CRITICAL").ALERT_COUNT(3).build(),
+                EmailDigestEntryVO.builder().SEVERITY("MAJOR").ALERT_COUNT(1).build()));
+        when(emailDigestMapper.countEntries(1L)).thenReturn(Map.of(
+                "ENTRY_COUNT", 5L, "ALERT_COUNT", 20L,
+                "CRITICAL_COUNT", 3L, "MAJOR_COUNT", 6L, "MINOR_COUNT", 4L));
+        EmailDigestQueue queue = new EmailDigestQueue(emailDigestMapper, 1000, 2);
+
+        EmailDigestQueue.Batch batch = queue.take(1L);
+
+        assertEquals(2, batch.entries().size());
+        assertEquals(5, batch.entryCount());
+        assertEquals(20L, batch.alertCount());
+        assertEquals(Map.of("CRITICAL", 3L, "MAJOR", 6L, "MINOR", 4L, "WARNING", 7L), batch.severityCounts());
+    }
+
+    @Test
+    @DisplayName("발송 실패 시 대기 항목 유지, 발송 중 들어온 항목은 완료 후 저장")
+    void complete_DeletesOnlyAfterConfirmedSend() {
+        when(emailDigestMapper.findEntries(eq(1L), anyInt())).thenReturn(List.of(
+                EmailDigestEntryVO.builder().SEVERITY("MAJOR").ALERT_COUNT(1).build()));
+        when(emailDigestMapper.countEntries(1L)).thenReturn(Map.of("ENTRY_COUNT", 1L, "ALERT_COUNT", 1L));
+        EmailDigestQueue queue = new EmailDigestQueue(emailDigestMapper, 1000, 50);
+
+        queue.take(1L);
+        queue.complete(1L, false);
+        verify(emailDigestMapper, never()).deleteByUserId(anyLong());
+
+        queue.take(1L);
+        queue.add(1L, 10, "PORT", "MAJOR", alert("flap"));
+        queue.add(2L, 10, "PORT", "MAJOR", alert("flap"));
+        queue.persist();
+        assertEquals(List.of(2L), upserted().stream().map(EmailDigestEntryVO::getUSER_ID).toList());
+
+        queue.complete(1L, true);
+        verify(emailDigestMapper).deleteByUserId(1L);
+        queue.persist();
+        assertEquals(List.of(2L, 1L), upserted().stream().map(EmailDigestEntryVO::getUSER_ID).toList());
+    }
+}
@@ -0,0 +1,52 @@
+package dev3.nms.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailRoutingIndexTest {
+
+    private static final String PORT_MAJOR = EmailRoutingIndex.key("PORT", "MAJOR");
+
+    private static EmailRoutingIndex.UserRoute user(long userId, Set<Integer> devices,
+                                                    Map<String, String> typeModes,
+                                                    Map<Integer, Map<String, String>> deviceModes) {
+        return new EmailRoutingIndex.UserRoute(userId, "u" + userId + "@nms.local", devices, typeModes, deviceModes);
+    }
+
+    private static Map<Long, String> modes(List<EmailRoutingIndex.Route> routes) {
+        Map<Long, String> result = new TreeMap<>();
+        routes.forEach(r -> result.put(r.userId(), r.mode()));
+        return result;
+    }
+
+    @Test
+    @DisplayName("유형×등급 설정으로 수신자 판정, 접근 불가 장비/OFF 제외")
+    void typeRoutes_FilteredByAccessAndOff() {
+        EmailRoutingIndex.Snapshot snapshot = EmailRoutingIndex.Snapshot.of(List.of(
+                user(1, null, Map.of(PORT_MAJOR, "IMMEDIATE"), Map.of()),
+                user(2, Set.of(10, 11), Map.of(PORT_MAJOR, "DIGEST"), Map.of()),
+                user(3, null, Map.of(PORT_MAJOR, "OFF"), Map.of()),
+                user(4, null, Map.of(EmailRoutingIndex.key("ICMP", "CRITICAL"), "IMMEDIATE"), Map.of())));
+
+        assertEquals(Map.of(1L, "IMMEDIATE", 2L, "DIGEST"), modes(snapshot.resolve(10, PORT_MAJOR)));
+        assertEquals(Map.of(1L, "IMMEDIATE"), modes(snapshot.resolve(99, PORT_MAJOR)));
+        assertEquals("u1@nms.local", snapshot.resolve(99, PORT_MAJOR).get(0).email());
+        assertTrue(snapshot.resolve(10, EmailRoutingIndex.key("SNMP", "MAJOR")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("장비 오버라이드가 유형 설정보다 우선 (OFF 오버라이드는 수신 제외)")
+    void deviceOverride_TakesPrecedence() {
+        EmailRoutingIndex.Snapshot snapshot = EmailRoutingIndex.Snapshot.of(List.of(
+                user(1, null, Map.of(PORT_MAJOR, "IMMEDIATE"), Map.of(10, Map.of(PORT_MAJOR, "OFF"))),
+                user(2, null, Map.of(), Map.of(10, Map.of(PORT_MAJOR, "DIGEST"))),
+                user(3, Set.of(11), Map.of(), Map.of(10, Map.of(PORT_MAJOR, "IMMEDIATE")))));
+
+        assertEquals(Map.of(2L, "DIGEST"), modes(snapshot.resolve(10, PORT_MAJOR)));
+        assertEquals(Map.of(1L, "IMMEDIATE"), modes(snapshot.resolve(11, PORT_MAJOR)));
+    }
+}
@@ -0,0 +1,206 @@
+package dev3.nms.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.snmp4j.*;
+import org.snmp4j.mp.StatusInformation;
+import org.snmp4j.security.AuthHMAC192SHA256;
+import org.snmp4j.security.AuthSHA;
+import org.snmp4j.security.PrivAES128;
+import org.snmp4j.smi.*;
+import org.snmp4j.transport.DefaultUdpTransportMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static dev3.nms.service.EmbeddedSnmpClient.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 snmp4j 응답기(v2c, community=public)를 상대로 내장 SNMP 클라이언트 검증
+ */
+class EmbeddedSnmpClientTest {
+
+    private static final int PORT_COUNT = 30;
+
+    private final TreeMap<OID, Variable> mib = new TreeMap<>();
+    private final EmbeddedSnmpClient client = new EmbeddedSnmpClient(500, 0, 4);
+    private Snmp agent;
+    private int agentPort;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mib.put(SYS_DESCR, new OctetString("Test Switch"));
+        mib.put(SYS_OBJECT_ID, new OID("1.3.6.1.4.1.9.1.1"));
+        mib.put(SYS_NAME, new OctetString("sw-01"));
+        for (int i = 1; i <= PORT_COUNT; i++) {
+            mib.put(new OID(IF_DESCR).append(i), new OctetString("Gi0/" + i));
+            mib.put(new OID(IF_TYPE).append(i), new Integer32(6));
+            mib.put(new OID(IF_MTU).append(i), new Integer32(1500));
+            mib.put(new OID(IF_SPEED).append(i), new Gauge32(1_000_000_000L));
+            mib.put(new OID(IF_PHYS_ADDRESS).append(i), new OctetString(new byte[]{0, 0x1a, 0x2b, 0x3c, 0x4d, (byte) i}));
+            mib.put(new OID(IF_ADMIN_STATUS).append(i), new Integer32(1));
+            mib.put(new OID(IF_OPER_STATUS).append(i), new Integer32(i % 2 == 0 ? 2 : 1));
+            mib.put(new OID(IF_HIGH_SPEED).append(i), new Gauge32(1000));
+            mib.put(new OID(IF_ALIAS).append(i), new OctetString("uplink-" + i));
+        }
+        mib.put(new OID(IP_AD_ENT_IF_INDEX).append("10.0.0.1"), new Integer32(3));
+        mib.put(new OID(IP_AD_ENT_NET_MASK).append("10.0.0.1"), new IpAddress("255.255.255.0"));
+
+        DefaultUdpTransportMapping transport = new DefaultUdpTransportMapping(new UdpAddress("127.0.0.1/0"));
+        agent = new Snmp(transport);
+        agent.addCommandResponder(new CommandResponder() {
+            @Override
+            public <A extends Address> void processPdu(CommandResponderEvent<A> event) {
+                respond(event);
+            }
+        });
+        agent.listen();
+        agentPort = transport.getListenAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        agent.close();
+    }
+
+    /**
+     * GET / GETBULK 만 처리하는 최소 응답기 - community 가 다르면 응답하지 않음 (타임아웃)
+     */
+    private <A extends Address> void respond(CommandResponderEvent<A> event) {
+        if (!"public".equals(new String(event.getSecurityName()))) return;
+        PDU request = event.getPDU();
+        PDU response = new PDU();
+        response.setType(PDU.RESPONSE);
+        response.setRequestID(request.getRequestID());
+        if (request.getType() == PDU.GET) {
+            for (VariableBinding vb : request.getVariableBindings()) {
+                response.add(new VariableBinding(vb.getOid(), mib.getOrDefault(vb.getOid(), Null.noSuchObject)));
+            }
+        } else if (request.getType() == PDU.GETBULK) {
+            OID[] cursors = request.getVariableBindings().stream().map(VariableBinding::getOid).toArray(OID[]::new);
+            for (int r = 0; r < request.getMaxRepetitions(); r++) {
+                for (int c = 0; c < cursors.length; c++) {
+                    Map.Entry<OID, Variable> next = mib.higherEntry(cursors[c]);
+                    if (next == null) {
+                        response.add(new VariableBinding(cursors[c], Null.endOfMibView));
+                    } else {
+                        response.add(new VariableBinding(next.getKey(), next.getValue()));
+                        cursors[c] = next.getKey();
+                    }
+                }
+            }
+        }
+        try {
+            event.getMessageDispatcher().returnResponsePdu(event.getMessageProcessingModel(), event.getSecurityModel(),
+                    event.getSecurityName(), event.getSecurityLevel(), response, event.getMaxSizeResponsePDU(),
+                    event.getStateReference(), new StatusInformation());
+        } catch (MessageException e) {
+            throw new IllegalStateException(e);
+        }
+        event.setProcessed(true);
+    }
+
+    private MiddlewareClient.SnmpRequest request(String community) {
+        MiddlewareClient.SnmpRequest request = new MiddlewareClient.SnmpRequest();
+        request.setIpAddress("127.0.0.1");
+        request.setSnmpVersion(2);
+        request.setSnmpPort(agentPort);
+        request.setCommunity(community);
+        return request;
+    }
+
+    @Test
+    @DisplayName("시스템 정보 GET")
+    void getsSystemInfo() {
+        MiddlewareClient.SystemInfoResponse r = client.getSystemInfo(request("public"));
+
+        assertTrue(r.isSuccess(), r.getMessage());
+        assertEquals("Test Switch", r.getSysDescr());
+        assertEquals("1.3.6.1.4.1.9.1.1", r.getSysObjectId());
+        assertEquals("sw-01", r.getSysName());
+    }
+
+    @Test
+    @DisplayName("ifTable/ifXTable/ipAddrTable 컬럼 GETBULK 워크 - 반복 수보다 많은 행도 끝까지")
+    void walksPortTables() {
+        MiddlewareClient.PortsResponse r = client.getPorts(request("public"));
+
+        assertTrue(r.isSuccess(), r.getMessage());
+        List<MiddlewareClient.PortInfo> ports = r.getPorts();
+        assertEquals(PORT_COUNT, ports.size());
+        assertEquals(1, ports.get(0).getIfIndex());
+        assertEquals(PORT_COUNT, ports.get(PORT_COUNT - 1).getIfIndex());
+
+        MiddlewareClient.PortInfo third = ports.get(2);
+        assertEquals("Gi0/3", third.getIfDescr());
+        assertEquals(6, third.getIfType());
+        assertEquals(1500, third.getIfMtu());
+        assertEquals(1_000_000_000L, third.getIfSpeed());
+        assertEquals(1000, third.getIfHighSpeed());
+        assertEquals("00:1a:2b:3c:4d:03", third.getIfMacAddress());
+        assertEquals(1, third.getIfAdminStatus());
+        assertEquals(1, third.getIfOperStatus());
+        assertEquals("uplink-3", third.getIfAlias());
+        assertEquals("10.0.0.1", third.getIfIpAddress());
+        assertEquals("255.255.255.0", third.getIfIpNetmask());
+        assertNull(ports.get(3).getIfIpAddress());
+        assertEquals(2, ports.get(3).getIfOperStatus());
+    }
+
+    @Test
+    @DisplayName("포트 상태 GET, 없는 ifIndex 는 실패 응답")
+    void getsPortStatus() {
+        MiddlewareClient.PortStatusResponse down = client.getPortStatus(request("public"), 4);
+        assertTrue(down.isSuccess(), down.getMessage());
+        assertEquals(4, down.getIfIndex());
+        assertEquals(1, down.getAdminStatus());
+        assertEquals(2, down.getOperStatus());
+        assertEquals("up", down.getAdminStatusText());
+        assertEquals("down", down.getOperStatusText());
+
+        MiddlewareClient.PortStatusResponse missing = client.getPortStatus(request("public"), 999);
+        assertFalse(missing.isSuccess());
+        assertEquals(999, missing.getIfIndex());
+        assertTrue(missing.getMessage().toLowerCase().contains("no such object"), missing.getMessage());
+    }
+
+    @Test
+    @DisplayName("응답 없음은 예외 대신 타임아웃 실패 응답")
+    void timesOutAsFailureResponse() {
+        MiddlewareClient.SystemInfoResponse r = client.getSystemInfo(request("wrong"));
+
+        assertFalse(r.isSuccess());
+        assertTrue(r.getMessage().toLowerCase().contains("timeout"), r.getMessage());
+    }
+
+    @Test
+    @DisplayName("v3 요청 실패 (REPORT / 타임아웃) 시 캐시된 engineID 제거")
+    void forgetsEngineIdOnV3Failure() {
+        MiddlewareClient.SnmpRequest request = request(null);
+        request.setSnmpVersion(3);
+        request.setUser("admin");
+        String address = "127.0.0.1/" + agentPort;
+        client.engineIds.put(address, new byte[]{(byte) 0x80, 0, 0, 0, 1, 2, 3});
+
+        MiddlewareClient.SystemInfoResponse r = client.getSystemInfo(request);
+
+        assertFalse(r.isSuccess());
+        assertFalse(client.engineIds.containsKey(address));
+    }
+
+    @Test
+    @DisplayName("v3 프로토콜명 매핑 (대소문자/하이픈 무시)")
+    void mapsV3ProtocolNames() {
+        assertEquals(AuthSHA.ID, authProtocol("SHA"));
+        assertEquals(AuthHMAC192SHA256.ID, authProtocol("sha-256"));
+        assertEquals(PrivAES128.ID, privProtocol("AES"));
+        assertNull(authProtocol("NONE"));
+        assertNull(privProtocol(null));
+    }
+}
@@ -0,0 +1,85 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.MetricRollupMapper;
+import dev3.nms.vo.mgmt.RollupWatermarkVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricRollupServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 10, 18, 0, 0);
+
+    @Mock
+    private MetricRollupMapper metricRollupMapper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("증분 집계 - 최초 실행은 시작점만 기록, 이후 WATERMARK 이후만 청크 단위 집계")
+    void incremental_FromWatermark() {
+        MetricRollupService service = new MetricRollupService(metricRollupMapper, transactionManager, 120, 60);
+
+        service.runIncremental(DAY.withHour(10).withMinute(2).withSecond(30));
+        verify(metricRollupMapper).upsertWatermark("TRAFFIC", 300, DAY.withHour(10), DAY.withHour(10));
+        verify(metricRollupMapper, never()).rollupTrafficFromRaw(anyInt(), any(), any());
+        verify(metricRollupMapper, never()).upsertWatermark(eq("TRAFFIC"), eq(1800), any(), any());   // 완성된 30분 버킷 없음
+
+        service.runIncremental(DAY.withHour(11).withMinute(7));
+        InOrder traffic = inOrder(metricRollupMapper);
+        traffic.verify(metricRollupMapper).rollupTrafficFromRaw(300, DAY.withHour(10), DAY.withHour(11));
+        traffic.verify(metricRollupMapper).rollupTrafficFromRaw(300, DAY.withHour(11), DAY.withHour(11).withMinute(5));
+        traffic.verify(metricRollupMapper).rollupTrafficFromTier(1800, 300, DAY.withHour(10), DAY.withHour(11));
+        verify(metricRollupMapper).upsertWatermark("TRAFFIC", 300, DAY.withHour(10), DAY.withHour(11).withMinute(5));
+        verify(metricRollupMapper).upsertWatermark("ICMP", 1800, DAY.withHour(10), DAY.withHour(11));
+        verify(metricRollupMapper, never()).upsertWatermark(eq("ICMP"), eq(86400), any(), any());   // 완성된 1일 버킷 없음
+
+        clearInvocations(metricRollupMapper);
+        service.runIncremental(DAY.withHour(11).withMinute(8));
+        verifyNoInteractions(metricRollupMapper);
+    }
+
+    @Test
+    @DisplayName("조회 라우팅 - 집계 구간은 rollup, WATERMARK 이후는 raw 꼬리, 집계 이전 구간 포함 시 raw")
+    void route_RollupWithRawTail() {
+        when(metricRollupMapper.findWatermarks()).thenReturn(List.of(RollupWatermarkVO.builder()
+                .SOURCE_NAME("ICMP").BUCKET_SEC(300).COVERED_FROM(DAY).WATERMARK(DAY.withHour(10)).build()));
+        MetricRollupService service = new MetricRollupService(metricRollupMapper, transactionManager, 120, 60);
+        service.reloadCoverage();
+
+        List<String> queries = new ArrayList<>();
+        IcmpService.TimeRange range = new IcmpService.TimeRange(DAY.withHour(8).withMinute(2), DAY.withHour(10).withMinute(30),
+                "2026-10-18 08:02:00", "2026-10-18 10:30:00");
+        List<String> rows = service.route(MetricRollupService.Source.ICMP, 300, range,
+                (from, to) -> { queries.add("rollup " + from + "~" + to); return List.of("1 08:00", "2 08:00"); },
+                (from, to) -> { queries.add("raw " + from + "~" + to); return List.of("1 10:00", "2 10:00"); },
+                Comparator.naturalOrder());
+
+        assertEquals(List.of(
+                "rollup 2026-10-18 08:00:00~2026-10-18 09:59:59",
+                "raw 2026-10-18 10:00:00~2026-10-18 10:30:00"), queries);
+        assertEquals(List.of("1 08:00", "1 10:00", "2 08:00", "2 10:00"), rows);
+
+        // 집계 시작 이전 구간 포함 / rollup 없는 단위 → raw 만
+        assertNull(service.window(MetricRollupService.Source.ICMP, 300, DAY.minusHours(1), DAY.withHour(1)));
+        assertNull(service.window(MetricRollupService.Source.ICMP, 1800, DAY.withHour(1), DAY.withHour(2)));
+        assertNull(service.window(MetricRollupService.Source.TRAFFIC, 300, DAY.withHour(1), DAY.withHour(2)));
+
+        // 전부 집계 구간 안 → 꼬리 없음
+        MetricRollupService.Window inside = service.window(MetricRollupService.Source.ICMP, 300, DAY.withHour(1), DAY.withHour(2));
+        assertEquals(DAY.withHour(2), inside.to());
+        assertNull(inside.tailFrom());
+    }
+}
@@ -0,0 +1,121 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev3.nms.vo.mgmt.MiddlewareVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MiddlewareBatchProberTest {
+
+    private static final String URL = "http://127.0.0.1:8081";
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    @Mock
+    private MiddlewareGateway middlewareGateway;
+
+    private static List<Map<String, Object>> devices(int count) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> dev = new HashMap<>();
+            dev.put("DEVICE_ID", i);
+            dev.put("DEVICE_IP", "10.0.0." + i);
+            dev.put("SNMP_VERSION", 2);
+            dev.put("SNMP_COMMUNITY", "public");
+            list.add(dev);
+        }
+        return list;
+    }
+
+    private static MiddlewareVO middleware() {
+        MiddlewareVO mw = new MiddlewareVO();
+        mw.setMIDDLEWARE_ID(1);
+        mw.setMIDDLEWARE_URL(URL);
+        mw.setAPI_KEY("key");
+        return mw;
+    }
+
+    private MiddlewareBatchProber prober() {
+        return new MiddlewareBatchProber(middlewareGateway, new JsonBatchProbeCodec(), "auto", 4, 2, 4, 10);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<HttpResponse<String>> respond(int status, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        if (status == 200) when(response.body()).thenReturn(body);
+        return CompletableFuture.completedFuture(response);
+    }
+
+    /**
+     * reachable 에 포함된 IP 만 ping/SNMP 성공, 벌크 엔드포인트는 batchSupported 면 응답 아니면 404
+     */
+    private void middlewareResponds(Set<String> reachable, boolean batchSupported) {
+        when(middlewareGateway.postJsonAsync(eq(URL), eq("key"), anyString(), anyString(), any())).thenAnswer(invocation -> {
+            String path = invocation.getArgument(2);
+            JsonNode req = om.readTree(invocation.<String>getArgument(3));
+            if (!path.equals("/api/probe/batch")) {
+                return respond(200, "{\"success\":" + reachable.contains(req.path("ipAddress").asText()) + "}");
+            }
+            if (!batchSupported) return respond(404, null);
+            StringBuilder sb = new StringBuilder("{\"success\":true,\"results\":[");
+            boolean first = true;
+            for (JsonNode dev : req.path("devices")) {
+                boolean ok = reachable.contains(dev.path("ipAddress").asText());
+                if (!first) sb.append(',');
+                sb.append("{\"deviceId\":").append(dev.path("deviceId").asInt())
+                        .append(",\"ping\":").append(ok).append(",\"snmp\":").append(ok).append('}');
+                first = false;
+            }
+            return respond(200, sb.append("]}").toString());
+        });
+    }
+
+    private void verifyCalls(String path, int times) {
+        verify(middlewareGateway, times(times)).postJsonAsync(eq(URL), eq("key"), eq(path), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("벌크 모드 - 청크 단위 호출, 도달 가능 장비만 콜백")
+    void bulk_ChunkedAndReachableOnly() throws Exception {
+        middlewareResponds(Set.of("10.0.0.1", "10.0.0.5", "10.0.0.10"), true);
+        Set<Integer> reachable = ConcurrentHashMap.newKeySet();
+
+        prober().probeAsync(middleware(), devices(10), reachable::add).get(10, TimeUnit.SECONDS);
+
+        assertEquals(Set.of(1, 5, 10), reachable);
+        verifyCalls("/api/probe/batch", 3);
+        verifyCalls("/api/check/ping", 0);
+    }
+
+    @Test
+    @DisplayName("벌크 미지원(404) - 장비 단위 ping/SNMP 로 전환")
+    void bulkUnsupported_FallsBackToSingle() throws Exception {
+        middlewareResponds(Set.of("10.0.0.2", "10.0.0.3"), false);
+        Set<Integer> reachable = ConcurrentHashMap.newKeySet();
+
+        List<Map<String, Object>> devices = devices(6);
+        devices.get(5).remove("SNMP_VERSION"); // 크리덴셜 없는 장비는 요청 제외
+
+        prober().probeAsync(middleware(), devices, reachable::add).get(10, TimeUnit.SECONDS);
+
+        assertEquals(Set.of(2, 3), reachable);
+        verifyCalls("/api/check/ping", 5);
+        verifyCalls("/api/snmp/system-info", 2);
+    }
+}
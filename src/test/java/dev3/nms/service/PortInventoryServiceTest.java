@@ -0,0 +1,231 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.DeviceMapper;
+import dev3.nms.mapper.PortMapper;
+import dev3.nms.vo.mgmt.DeviceVO;
+import dev3.nms.vo.mgmt.PortVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PortInventoryServiceTest {
+
+    @Mock
+    private DeviceMapper deviceMapper;
+    @Mock
+    private PortMapper portMapper;
+    @Mock
+    private PortService portService;
+    @Mock
+    private MiddlewareClient middlewareClient;
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private final ExecutorService walkPool = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        walkPool.shutdownNow();
+    }
+
+    private PortInventoryService service(int maxConcurrent, Executor executor) {
+        return new PortInventoryService(deviceMapper, portMapper, portService, middlewareClient,
+                walkPool, executor, now::get, 30_000, maxConcurrent);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PortVO> upserted(int deviceId) {
+        ArgumentCaptor<List<PortVO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(portService).saveOrUpdatePorts(eq(deviceId), captor.capture());
+        return captor.getValue();
+    }
+
+    private static MiddlewareClient.PortInfo info(int ifIndex, long speed, int operStatus) {
+        MiddlewareClient.PortInfo p = new MiddlewareClient.PortInfo();
+        p.setIfIndex(ifIndex);
+        p.setIfDescr("Gi0/" + ifIndex);
+        p.setIfType(6);
+        p.setIfMtu(1500);
+        p.setIfSpeed(speed);
+        p.setIfMacAddress("00:1a:2b:3c:4d:0" + ifIndex);
+        p.setIfAdminStatus(1);
+        p.setIfOperStatus(operStatus);
+        return p;
+    }
+
+    private static MiddlewareClient.PortsResponse ports(MiddlewareClient.PortInfo... infos) {
+        MiddlewareClient.PortsResponse r = new MiddlewareClient.PortsResponse();
+        r.setSuccess(true);
+        r.setPorts(new ArrayList<>(List.of(infos)));
+        return r;
+    }
+
+    private static PortVO storedPort(MiddlewareClient.PortInfo info, String ifName) {
+        PortVO p = MiddlewareClient.toPortVO(info);
+        p.setIF_NAME(ifName);
+        return p;
+    }
+
+    private static DeviceVO device(int id, Integer snmpVersion) {
+        return DeviceVO.builder().DEVICE_ID(id).DEVICE_IP("10.0.0." + id).SNMP_VERSION(snmpVersion).SNMP_COMMUNITY("public").build();
+    }
+
+    @Test
+    @DisplayName("변경/신규 포트만 UPSERT, 사라진 포트는 건수만, IF_NAME 은 기존 값 유지")
+    void upsertsOnlyChangedRows() {
+        when(portMapper.findAllByDeviceId(1)).thenReturn(List.of(
+                storedPort(info(1, 1_000_000_000L, 1), "ge-0/0/1"),
+                storedPort(info(2, 100_000_000L, 1), "ge-0/0/2"),
+                storedPort(info(3, 1_000_000_000L, 1), "ge-0/0/3")));
+        PortInventoryService service = service(4, Runnable::run);
+
+        // 1: 상태만 다름 (비교 대상 아님), 2: 속도 변경, 3: 사라짐, 4: 신규
+        PortInventoryService.SyncResult result = service.applyWalk(1, ports(
+                info(1, 1_000_000_000L, 2), info(2, 1_000_000_000L, 1), info(4, 1_000_000_000L, 1)));
+
+        assertTrue(result.success());
+        assertEquals(3, result.walked());
+        assertEquals(2, result.changed());
+        assertEquals(1, result.unchanged());
+        assertEquals(1, result.missing());
+        List<PortVO> written = upserted(1);
+        assertEquals(List.of(2, 4), written.stream().map(PortVO::getIF_INDEX).toList());
+        assertEquals("ge-0/0/2", written.get(0).getIF_NAME());
+        assertNull(written.get(1).getIF_NAME());
+
+        // 같은 결과 재동기화 → 쓰기 없음
+        when(portMapper.findAllByDeviceId(2)).thenReturn(List.of(storedPort(info(1, 1_000_000_000L, 1), "ge-0/0/1")));
+        PortInventoryService.SyncResult again = service.applyWalk(2, ports(info(1, 1_000_000_000L, 1)));
+        assertEquals(0, again.changed());
+        verify(portService, never()).saveOrUpdatePorts(eq(2), anyList());
+    }
+
+    @Test
+    @DisplayName("장비 동시 워크 수 제한, 장비별 실패 격리, 결과는 입력 순서")
+    void walksDevicesConcurrentlyWithBound() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(middlewareClient.getPorts(any(), anyInt())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                if (invocation.<Integer>getArgument(1) == 3) throw new RuntimeException("Request timeout");
+                return ports(info(1, 1_000_000_000L, 1));
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        PortInventoryService service = service(2, Runnable::run);
+
+        List<PortInventoryService.SyncResult> results = service.syncDevices(List.of(
+                device(1, 2), device(2, 2), device(3, 2), device(4, 2), device(5, null), device(6, 2)));
+
+        assertTrue(maxInFlight.get() <= 2, "maxInFlight=" + maxInFlight.get());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), results.stream().map(PortInventoryService.SyncResult::deviceId).toList());
+        assertEquals(List.of(true, true, false, true, false, true),
+                results.stream().map(PortInventoryService.SyncResult::success).toList());
+        assertEquals("Request timeout", results.get(2).message());
+        for (int deviceId : List.of(1, 2, 4, 6)) {
+            assertEquals(1, upserted(deviceId).size());
+        }
+        verify(portService, never()).saveOrUpdatePorts(eq(3), anyList());
+        verify(middlewareClient, never()).getPorts(any(), eq(5));
+    }
+
+    @Test
+    @DisplayName("워크 캐시로 포트 상태 응답, 실시간 체크 결과 반영, TTL 지나면 미적중")
+    void servesPortStatusFromWalkCache() {
+        PortInventoryService service = service(4, Runnable::run);
+        assertNull(service.cachedPortStatus(1, 2));
+
+        service.applyWalk(1, ports(info(1, 1_000_000_000L, 1), info(2, 1_000_000_000L, 2)));
+        MiddlewareClient.PortStatusResponse cached = service.cachedPortStatus(1, 2);
+        assertTrue(cached.isSuccess());
+        assertEquals(2, cached.getIfIndex());
+        assertEquals(2, cached.getOperStatus());
+        assertEquals("down", cached.getOperStatusText());
+        assertNull(service.cachedPortStatus(1, 99));
+
+        now.addAndGet(20_000);
+        MiddlewareClient.PortStatusResponse live = new MiddlewareClient.PortStatusResponse();
+        live.setSuccess(true);
+        live.setIfIndex(2);
+        live.setAdminStatus(1);
+        live.setOperStatus(1);
+        service.cacheStatus(1, live);
+
+        // 행 1 은 워크 시각 기준 만료, 행 2 는 실시간 체크 시각 기준 유효
+        now.addAndGet(15_000);
+        assertNull(service.cachedPortStatus(1, 1));
+        assertEquals("up", service.cachedPortStatus(1, 2).getOperStatusText());
+
+        now.addAndGet(30_000);
+        assertNull(service.cachedPortStatus(1, 2));
+        service.evictExpired();
+        assertEquals(0, service.getStats().get("cachedDevices"));
+        assertEquals(2L, service.getStats().get("cacheHits"));
+    }
+
+    @Test
+    @DisplayName("동기화 작업은 한 번에 1개, 완료 후 결과 조회")
+    void runsSyncAsJob() {
+        // 작업 실행만 보류, 이후 워크 결과 반영은 즉시 실행
+        AtomicReference<Runnable> job = new AtomicReference<>();
+        when(deviceMapper.findAllDevices()).thenReturn(List.of(device(1, 2), device(2, 2)));
+        when(middlewareClient.getPorts(any(), anyInt())).thenReturn(ports(info(1, 1_000_000_000L, 1)));
+        PortInventoryService service = service(4, task -> {
+            if (!job.compareAndSet(null, task)) task.run();
+        });
+
+        Long jobId = service.startSync(List.of(1));
+        assertNotNull(jobId);
+        assertNull(service.startSync(null));
+        assertEquals("RUNNING", service.getJob(jobId).status());
+        verifyNoInteractions(middlewareClient);
+
+        job.get().run();
+
+        PortInventoryService.SyncJob done = service.getJob(jobId);
+        assertEquals("DONE", done.status());
+        assertNotNull(done.finishedAt());
+        assertEquals(List.of(1), done.results().stream().map(PortInventoryService.SyncResult::deviceId).toList());
+        assertNotNull(service.startSync(null));
+        assertNull(service.getJob(99L));
+    }
+
+    @Test
+    @DisplayName("port-inventory 스레드 1개여도 작업이 max-concurrent 초과 장비를 끝까지 처리")
+    void singleJobThreadDoesNotDeadlock() throws Exception {
+        when(deviceMapper.findAllDevices()).thenReturn(List.of(device(1, 2), device(2, 2), device(3, 2), device(4, 2)));
+        when(middlewareClient.getPorts(any(), anyInt())).thenReturn(ports(info(1, 1_000_000_000L, 1)));
+        ExecutorService jobPool = Executors.newSingleThreadExecutor();
+        try {
+            PortInventoryService service = service(1, jobPool);
+
+            Long jobId = service.startSync(null);
+            long deadline = System.currentTimeMillis() + 5000;
+            while ("RUNNING".equals(service.getJob(jobId).status()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals("DONE", service.getJob(jobId).status());
+            assertEquals(4, service.getJob(jobId).results().size());
+        } finally {
+            jobPool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.mgmt.RebalancePlanVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RebalancePlannerTest {
+
+    private static RebalancePlanner.Candidate dev(int id, Integer mw, Set<Integer> reachable) {
+        return new RebalancePlanner.Candidate(id, mw, false, reachable);
+    }
+
+    @Test
+    @DisplayName("균형 상태면 이동 없음")
+    void balanced_NoMoves() {
+        List<RebalancePlanner.Candidate> devices = List.of(
+                dev(1, 1, Set.of(1, 2)), dev(2, 1, Set.of(1, 2)),
+                dev(3, 2, Set.of(1, 2)), dev(4, 2, null));
+
+        RebalancePlanVO plan = RebalancePlanner.plan(devices, List.of(1, 2), 10);
+
+        assertEquals(0, plan.getMoveCount());
+        assertEquals(Map.of(1, 2, 2, 2), plan.getLoadAfter());
+    }
+
+    @Test
+    @DisplayName("고아 장비는 도달 가능한 최소 부하 미들웨어로")
+    void orphan_PlacedOnReachableMinLoad() {
+        List<RebalancePlanner.Candidate> devices = List.of(
+                dev(1, 1, null), dev(2, 2, null), dev(3, 2, null),
+                dev(4, null, Set.of(2)),   // 2번에서만 도달 가능
+                dev(5, 9, null));          // 비활성 미들웨어 할당
+
+        RebalancePlanVO plan = RebalancePlanner.plan(devices, List.of(1, 2), 50);
+
+        Map<Integer, RebalancePlanVO.Move> moves = new HashMap<>();
+        plan.getMoves().forEach(m -> moves.put(m.getDeviceId(), m));
+        assertEquals(2, moves.size());
+        assertEquals(2, moves.get(4).getToMiddlewareId());
+        assertEquals(RebalancePlanner.REASON_ORPHAN, moves.get(4).getReason());
+        assertEquals(1, moves.get(5).getToMiddlewareId());
+    }
+
+    @Test
+    @DisplayName("현재 미들웨어에서 도달 불가면 이동")
+    void unreachable_Moved() {
+        List<RebalancePlanner.Candidate> devices = List.of(
+                dev(1, 1, Set.of(2)), dev(2, 2, Set.of(1, 2)));
+
+        RebalancePlanVO plan = RebalancePlanner.plan(devices, List.of(1, 2), 100);
+
+        assertEquals(1, plan.getMoveCount());
+        RebalancePlanVO.Move move = plan.getMoves().get(0);
+        assertEquals(1, move.getDeviceId());
+        assertEquals(2, move.getToMiddlewareId());
+        assertEquals(RebalancePlanner.REASON_UNREACHABLE, move.getReason());
+    }
+
+    @Test
+    @DisplayName("허용치 초과분만 이동, FIXED 장비는 이동 안 함")
+    void overloaded_MovesOnlyExcess() {
+        List<RebalancePlanner.Candidate> devices = new ArrayList<>();
+        devices.add(new RebalancePlanner.Candidate(100, 1, true, null));
+        for (int i = 1; i <= 9; i++) devices.add(dev(i, 1, null));
+        devices.add(dev(10, 2, null));
+
+        RebalancePlanVO plan = RebalancePlanner.plan(devices, List.of(1, 2), 0);
+
+        // 전체 11, 목표 6, 허용 +1 → 1번 미들웨어 10 → 7
+        assertEquals(3, plan.getMoveCount());
+        assertEquals(7, plan.getLoadAfter().get(1));
+        assertEquals(4, plan.getLoadAfter().get(2));
+        assertTrue(plan.getMoves().stream().noneMatch(m -> m.getDeviceId() == 100));
+        assertEquals(1, plan.getUpdateStatements());
+    }
+}
@@ -0,0 +1,101 @@
+package dev3.nms.service;
+
+import dev3.nms.vo.mgmt.RebalancePlanVO;
+import dev3.nms.vo.mgmt.RebalanceRunVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RebalanceSchedulerTest {
+
+    @Mock
+    private DeviceRebalanceService deviceRebalanceService;
+
+    // 동시 실행 수 기록, release 전까지 재분배 실행 유지
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    @BeforeEach
+    void setUp() {
+        when(deviceRebalanceService.rebalance()).thenAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            active.decrementAndGet();
+            return new RebalancePlanVO();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RebalanceRunVO> runs(RebalanceScheduler scheduler) {
+        return (List<RebalanceRunVO>) scheduler.getStatus().get("runs");
+    }
+
+    private static void awaitRuns(RebalanceScheduler scheduler, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (runs(scheduler).size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("디바운스 윈도우 내 요청은 1회 실행으로 병합")
+    void triggersWithinWindow_Coalesced() throws Exception {
+        RebalanceScheduler scheduler = new RebalanceScheduler(deviceRebalanceService, null, 100, 2000, 10);
+        try {
+            for (int i = 0; i < 5; i++) {
+                scheduler.trigger(i % 2 == 0 ? "DEVICE_REGISTER" : "ORPHAN_HEAL");
+            }
+            awaitRuns(scheduler, 1);
+            Thread.sleep(200);
+
+            verify(deviceRebalanceService, times(1)).rebalance();
+            RebalanceRunVO run = runs(scheduler).get(0);
+            assertEquals(5, run.getTriggerCount());
+            assertEquals(List.of("DEVICE_REGISTER", "ORPHAN_HEAL"), run.getReasons());
+            assertEquals("SUCCESS", run.getStatus());
+        } finally {
+            scheduler.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("실행 중 요청은 종료 후 1회 trailing run, 동시 실행 없음")
+    void triggersDuringRun_SingleTrailingRun() throws Exception {
+        release = new CountDownLatch(1);
+        RebalanceScheduler scheduler = new RebalanceScheduler(deviceRebalanceService, null, 20, 1000, 10);
+        try {
+            scheduler.trigger("MIDDLEWARE_REGISTER");
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 3; i++) {
+                scheduler.trigger("DEVICE_REGISTER");
+            }
+            assertEquals(3, scheduler.getStatus().get("pendingTriggers"));
+            release.countDown();
+
+            awaitRuns(scheduler, 2);
+            Thread.sleep(100);
+
+            verify(deviceRebalanceService, times(2)).rebalance();
+            assertEquals(1, maxActive.get());
+            assertEquals(3, runs(scheduler).get(0).getTriggerCount());
+        } finally {
+            scheduler.destroy();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev3.nms.service;
+
+import dev3.nms.mapper.RetentionMapper;
+import dev3.nms.vo.mgmt.RetentionPolicyVO;
+import dev3.nms.vo.mgmt.TablePartitionVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionServiceTest {
+
+    @Mock
+    private RetentionMapper retentionMapper;
+    @Mock
+    private MetricRollupService metricRollupService;
+
+    private static TablePartitionVO partition(String name, String description) {
+        return TablePartitionVO.builder().PARTITION_NAME(name).PARTITION_DESCRIPTION(description).build();
+    }
+
+    @Test
+    @DisplayName("일 파티션 계획 - 마지막 상한 이후 ~ until, 만료 판정은 상한 기준")
+    void partitionPlanning() {
+        List<TablePartitionVO> partitions = List.of(
+                partition("p_history", "'2026-10-20 00:00:00'"),
+                partition("p_max", "MAXVALUE"));
+
+        List<TablePartitionVO> plan = RetentionService.planFuturePartitions(partitions,
+                LocalDate.of(2026, 10, 18), LocalDate.of(2026, 10, 22));
+        assertEquals(List.of("p20261020", "p20261021", "p20261022"),
+                plan.stream().map(TablePartitionVO::getPARTITION_NAME).toList());
+        assertEquals("2026-10-21 00:00:00", plan.get(0).getPARTITION_DESCRIPTION());
+
+        // 장기 중지 후: 오늘부터 생성 (지난 기간은 첫 파티션에 포함)
+        List<TablePartitionVO> stale = RetentionService.planFuturePartitions(
+                List.of(partition("p20261001", "'2026-10-02 00:00:00'"), partition("p_max", "MAXVALUE")),
+                LocalDate.of(2026, 10, 18), LocalDate.of(2026, 10, 19));
+        assertEquals(List.of("p20261018", "p20261019"), stale.stream().map(TablePartitionVO::getPARTITION_NAME).toList());
+
+        List<TablePartitionVO> daily = List.of(
+                partition("p20261001", "'2026-10-02 00:00:00'"),
+                partition("p20261002", "'2026-10-03 00:00:00'"),
+                partition("p20261003", "'2026-10-04 00:00:00'"),
+                partition("p_max", "MAXVALUE"));
+        assertEquals(List.of("p20261001", "p20261002"),
+                RetentionService.expiredPartitions(daily, LocalDateTime.of(2026, 10, 3, 0, 0)));
+        assertEquals(List.of("p20261001"), RetentionService.expiredPartitions(daily, LocalDateTime.of(2026, 10, 2, 12, 0)));
+    }
+
+    @Test
+    @DisplayName("정리 실행 - 파티션 테이블은 DROP, 미적용 테이블/rollup 은 배치 DELETE, 정책은 관리 대상만 수정")
+    void maintenanceAndPolicies() {
+        LocalDate today = LocalDate.now();
+        when(retentionMapper.findPolicies()).thenReturn(List.of(
+                RetentionPolicyVO.builder().TABLE_NAME("p_traffic_t").BUCKET_SEC(0).RETENTION_DAYS(30).build(),
+                RetentionPolicyVO.builder().TABLE_NAME("p_cpu_mem_t").BUCKET_SEC(0).RETENTION_DAYS(30).build(),
+                RetentionPolicyVO.builder().TABLE_NAME("p_icmp_rollup_t").BUCKET_SEC(300).RETENTION_DAYS(90).build()));
+        when(retentionMapper.findPartitions("p_traffic_t")).thenReturn(List.of(
+                partition("p_old", "'" + today.minusDays(40) + " 00:00:00'"),
+                partition("p_recent", "'" + today.plusDays(30) + " 00:00:00'"),
+                partition("p_max", "MAXVALUE")));
+        when(retentionMapper.findPartitions("p_cpu_mem_t")).thenReturn(List.of(partition(null, null)));
+        when(retentionMapper.deleteRawBefore(eq("p_cpu_mem_t"), anyString(), any(), eq(10000)))
+                .thenReturn(10000, 10000, 5000);
+        when(metricRollupService.rolledUpTo(any())).thenReturn(today.atStartOfDay());
+        RetentionService service = new RetentionService(retentionMapper, metricRollupService, 7, 10000);
+
+        service.runMaintenance();
+        InOrder order = inOrder(retentionMapper);
+        order.verify(retentionMapper).dropPartitions("p_traffic_t", List.of("p_old"));
+        order.verify(retentionMapper, times(3)).deleteRawBefore(eq("p_cpu_mem_t"), anyString(), any(), eq(10000));
+        order.verify(retentionMapper).deleteRollupBefore("p_icmp_rollup_t", 300, today.minusDays(90).atStartOfDay(), 10000);
+        verify(retentionMapper, never()).reorganizeMaxPartition(any(), any(), any());
+        verify(retentionMapper, never()).addPartitions(any(), any());
+
+        assertThrows(IllegalArgumentException.class, () -> service.updatePolicies(List.of(
+                RetentionPolicyVO.builder().TABLE_NAME("r_user_t").RETENTION_DAYS(1).build())));
+        assertThrows(IllegalArgumentException.class, () -> service.updatePolicies(List.of(
+                RetentionPolicyVO.builder().TABLE_NAME("p_traffic_t").RETENTION_DAYS(0).build())));
+        verify(retentionMapper, never()).updatePolicy(any(), anyInt(), anyInt());
+
+        when(retentionMapper.updatePolicy("p_traffic_t", 0, 14)).thenReturn(1);
+        service.updatePolicies(List.of(RetentionPolicyVO.builder().TABLE_NAME("P_TRAFFIC_T").BUCKET_SEC(300).RETENTION_DAYS(14).build()));
+        verify(retentionMapper).updatePolicy("p_traffic_t", 0, 14);
+    }
+
+    @Test
+    @DisplayName("집계 WATERMARK 를 모르면 raw 정리 생략 (파티션 사전 생성, rollup 정리는 진행)")
+    void rawKeptUntilRollupKnown() {
+        LocalDate today = LocalDate.now();
+        when(retentionMapper.findPolicies()).thenReturn(List.of(
+                RetentionPolicyVO.builder().TABLE_NAME("p_traffic_t").BUCKET_SEC(0).RETENTION_DAYS(30).build(),
+                RetentionPolicyVO.builder().TABLE_NAME("p_cpu_mem_t").BUCKET_SEC(0).RETENTION_DAYS(30).build(),
+                RetentionPolicyVO.builder().TABLE_NAME("p_icmp_rollup_t").BUCKET_SEC(300).RETENTION_DAYS(90).build()));
+        when(retentionMapper.findPartitions("p_traffic_t")).thenReturn(List.of(
+                partition("p_old", "'" + today.minusDays(40) + " 00:00:00'"),
+                partition("p_recent", "'" + today.plusDays(30) + " 00:00:00'"),
+                partition("p_max", "MAXVALUE")));
+        when(retentionMapper.findPartitions("p_cpu_mem_t")).thenReturn(List.of(partition(null, null)));
+        RetentionService service = new RetentionService(retentionMapper, metricRollupService, 7, 10000);
+
+        Map<String, Object> result = service.runMaintenance();
+
+        assertEquals("SKIP (집계 전)", result.get("p_traffic_t"));
+        assertEquals("SKIP (집계 전)", result.get("p_cpu_mem_t"));
+        verify(retentionMapper, never()).dropPartitions(any(), any());
+        verify(retentionMapper, never()).deleteRawBefore(any(), any(), any(), anyInt());
+        verify(retentionMapper).deleteRollupBefore("p_icmp_rollup_t", 300, today.minusDays(90).atStartOfDay(), 10000);
+    }
+}
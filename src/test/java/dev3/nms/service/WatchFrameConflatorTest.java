@@ -0,0 +1,82 @@
+package dev3.nms.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchFrameConflatorTest {
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    private JsonNode event(String json) throws Exception {
+        return om.readTree(json);
+    }
+
+    @Test
+    @DisplayName("첫 프레임은 snapshot")
+    void firstFrame_IsSnapshot() throws Exception {
+        WatchFrameConflator c = new WatchFrameConflator(10);
+        c.ingest(event("{\"groupId\":1,\"devices\":[{\"deviceId\":7,\"deviceName\":\"sw1\",\"cpu\":{\"usage\":10.0},"
+                + "\"interfaces\":[{\"ifIndex\":1,\"inBps\":100,\"outBps\":200}]}]}"));
+
+        JsonNode frame = c.nextFrame();
+        assertEquals("snapshot", frame.get("type").asText());
+        assertEquals("sw1", frame.get("devices").get(0).get("deviceName").asText());
+        assertTrue(frame.get("devices").get(0).get("interfaces").isArray());
+    }
+
+    @Test
+    @DisplayName("윈도우 내 여러 샘플은 최신값만 유지")
+    void conflatesToLatest() throws Exception {
+        WatchFrameConflator c = new WatchFrameConflator(10);
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"cpu\":{\"usage\":10.0}}]}"));
+        c.nextFrame();
+
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"cpu\":{\"usage\":20.0}}]}"));
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"cpu\":{\"usage\":30.0}}]}"));
+
+        JsonNode frame = c.nextFrame();
+        assertEquals("delta", frame.get("type").asText());
+        assertEquals(30.0, frame.get("devices").get(0).get("cpu").get("usage").asDouble());
+    }
+
+    @Test
+    @DisplayName("delta 는 변경된 필드만 포함")
+    void delta_OnlyChangedFields() throws Exception {
+        WatchFrameConflator c = new WatchFrameConflator(10);
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"deviceName\":\"sw1\",\"cpu\":{\"usage\":10.0},"
+                + "\"interfaces\":[{\"ifIndex\":1,\"inBps\":100,\"outBps\":200},{\"ifIndex\":2,\"inBps\":5,\"outBps\":5}]}]}"));
+        c.nextFrame();
+
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"deviceName\":\"sw1\",\"cpu\":{\"usage\":10.0},"
+                + "\"interfaces\":[{\"ifIndex\":1,\"inBps\":150,\"outBps\":200},{\"ifIndex\":2,\"inBps\":5,\"outBps\":5}]}]}"));
+
+        JsonNode device = c.nextFrame().get("devices").get(0);
+        assertEquals(7, device.get("deviceId").asInt());
+        assertFalse(device.has("deviceName"));
+        assertFalse(device.has("cpu"));
+        assertEquals(1, device.get("interfaces").size());
+        JsonNode iface = device.get("interfaces").get(0);
+        assertEquals(1, iface.get("ifIndex").asInt());
+        assertEquals(150, iface.get("inBps").asLong());
+        assertFalse(iface.has("outBps"));
+    }
+
+    @Test
+    @DisplayName("변경 없으면 프레임 없음, 주기마다 snapshot")
+    void noChange_NoFrame_PeriodicSnapshot() throws Exception {
+        WatchFrameConflator c = new WatchFrameConflator(2);
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"cpu\":{\"usage\":10.0}}]}"));
+        assertEquals("snapshot", c.nextFrame().get("type").asText());
+
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"cpu\":{\"usage\":10.0}}]}"));
+        assertNull(c.nextFrame());
+
+        c.ingest(event("{\"devices\":[{\"deviceId\":7,\"cpu\":{\"usage\":11.0}}]}"));
+        assertEquals("delta", c.nextFrame().get("type").asText());
+        assertEquals("snapshot", c.nextFrame().get("type").asText());
+    }
+}
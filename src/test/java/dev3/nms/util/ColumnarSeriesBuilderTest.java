@@ -0,0 +1,74 @@
+package dev3.nms.util;
+
+import dev3.nms.vo.common.ColumnarChartVO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSeriesBuilderTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 18, 10, 0);
+
+    record Row(int deviceId, LocalDateTime time, Double in, Double out) { }
+
+    private static ColumnarSeriesBuilder<Row> builder(Collection<String> fields) {
+        Map<String, Function<Row, ? extends Number>> all = new LinkedHashMap<>();
+        all.put("IN_BPS", Row::in);
+        all.put("OUT_BPS", Row::out);
+        return new ColumnarSeriesBuilder<>(r -> String.valueOf(r.deviceId()), r -> Map.of("deviceId", r.deviceId()),
+                Row::time, ColumnarSeriesBuilder.selectFields(all, fields));
+    }
+
+    private static long epoch(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    @Test
+    @DisplayName("정렬된 버킷 - 공통 시간축, 빠진 시각/값은 null, delta 인코딩")
+    void sharedAxis() {
+        ColumnarSeriesBuilder<Row> builder = builder(null);
+        builder.accept(new Row(1, T0, 1.0, 10.0));
+        builder.accept(new Row(1, T0.plusMinutes(5), 2.0, null));
+        builder.accept(new Row(1, T0.plusMinutes(10), 3.0, 30.0));
+        builder.accept(new Row(2, T0.plusMinutes(5), 5.0, 50.0));
+        builder.accept(new Row(2, null, 9.0, 9.0));
+
+        ColumnarChartVO epoch = builder.build(false);
+        assertEquals("columnar", epoch.getFormat());
+        assertArrayEquals(new long[]{epoch(T0), epoch(T0) + 300, epoch(T0) + 600}, epoch.getTime());
+        assertEquals(2, epoch.getSeries().size());
+
+        ColumnarChartVO.Series first = epoch.getSeries().get(0);
+        assertNull(first.getTime());
+        assertEquals(List.of("IN_BPS", "OUT_BPS"), new ArrayList<>(first.getValues().keySet()));
+        assertEquals(Arrays.asList(10.0, null, 30.0), Arrays.asList(first.getValues().get("OUT_BPS")));
+        assertEquals(Arrays.asList(null, 5.0, null), Arrays.asList(epoch.getSeries().get(1).getValues().get("IN_BPS")));
+
+        ColumnarChartVO delta = builder.build(true);
+        assertEquals("delta", delta.getTimeEncoding());
+        assertArrayEquals(new long[]{epoch(T0), 300, 300}, delta.getTime());
+    }
+
+    @Test
+    @DisplayName("장비마다 수집 시각이 다른 raw - 시리즈별 시간축, 필드 선택")
+    void perSeriesAxis() {
+        ColumnarSeriesBuilder<Row> builder = builder(List.of("out_bps", "UNKNOWN"));
+        for (int i = 0; i < 4; i++) {
+            builder.accept(new Row(1, T0.plusSeconds(60L * i), 1.0, (double) i));
+            builder.accept(new Row(2, T0.plusSeconds(60L * i + 17), 2.0, 100.0 + i));
+        }
+
+        ColumnarChartVO chart = builder.build(true);
+        assertNull(chart.getTime());
+        ColumnarChartVO.Series second = chart.getSeries().get(1);
+        assertArrayEquals(new long[]{epoch(T0) + 17, 60, 60, 60}, second.getTime());
+        assertEquals(Set.of("OUT_BPS"), second.getValues().keySet());
+        assertEquals(Arrays.asList(100.0, 101.0, 102.0, 103.0), Arrays.asList(second.getValues().get("OUT_BPS")));
+    }
+}
@@ -0,0 +1,64 @@
+package dev3.nms.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupedJsonStreamWriterTest {
+
+    private final ObjectMapper om = new ObjectMapper();
+
+    private static Map<String, Object> row(int deviceId, int value) {
+        return Map.of("DEVICE_ID", deviceId, "VALUE", value);
+    }
+
+    @Test
+    @DisplayName("정렬된 행 → ResVO 구조 그룹 JSON, 데이터 없는 장비는 빈 배열")
+    void groupedOutput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GroupedJsonStreamWriter<Map<String, Object>> writer =
+                     new GroupedJsonStreamWriter<>(om, out, r -> String.valueOf(r.get("DEVICE_ID")))) {
+            writer.begin(200, "조회 성공");
+            writer.accept(row(1, 10));
+            writer.accept(row(1, 11));
+            writer.accept(row(3, 30));
+            writer.finish(List.of("3", "2", "1"));
+        }
+
+        JsonNode root = om.readTree(out.toByteArray());
+        assertEquals(200, root.get("code").asInt());
+        assertEquals("조회 성공", root.get("message").asText());
+        JsonNode data = root.get("data");
+        assertEquals(3, data.size());
+        assertEquals(2, data.get("1").size());
+        assertEquals(11, data.get("1").get(1).get("VALUE").asInt());
+        assertEquals(1, data.get("3").size());
+        assertEquals(0, data.get("2").size());
+    }
+
+    @Test
+    @DisplayName("정렬되지 않은 그룹 / 중간 실패 - 닫는 괄호 없이 종료되어 완전한 JSON 이 아님")
+    void unsortedOrAbortedIsIncomplete() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GroupedJsonStreamWriter<Map<String, Object>> writer =
+                new GroupedJsonStreamWriter<>(om, out, r -> String.valueOf(r.get("DEVICE_ID")));
+        writer.begin(200, "조회 성공");
+        writer.accept(row(1, 10));
+        writer.accept(row(2, 20));
+        assertThrows(IllegalStateException.class, () -> writer.accept(row(1, 11)));
+        writer.close();
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"code\":200"));
+        assertFalse(json.endsWith("}"));
+        assertThrows(Exception.class, () -> om.readTree(json));
+    }
+}
@@ -0,0 +1,75 @@
+package dev3.nms.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeriesDownsamplerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 18, 10, 0);
+
+    record Row(int deviceId, LocalDateTime time, Double in, Double out) { }
+
+    private static final List<Function<Row, ? extends Number>> FIELDS = List.of(Row::in, Row::out);
+
+    private static SeriesDownsampler<Row> downsampler(String mode, int maxPoints, List<Row> out) {
+        return SeriesDownsampler.of(SeriesDownsampler.Spec.of(maxPoints, mode), T0, T0.plusHours(1),
+                r -> String.valueOf(r.deviceId()), Row::time, FIELDS, out::add);
+    }
+
+    private static long count(List<Row> rows, int deviceId) {
+        return rows.stream().filter(r -> r.deviceId() == deviceId).count();
+    }
+
+    @Test
+    @DisplayName("MINMAX - 시리즈당 maxPoints 이하, 단일 스파이크 보존, 시각 순서 유지")
+    void minMaxKeepsSpike() {
+        List<Row> out = new ArrayList<>();
+        SeriesDownsampler<Row> downsampler = downsampler(null, 40, out);
+        for (int device = 1; device <= 2; device++) {
+            for (int s = 0; s < 3600; s += 5) {
+                double in = s == 1805 && device == 2 ? 9999.0 : 10.0 + (s % 60);
+                downsampler.accept(new Row(device, T0.plusSeconds(s), in, 5.0));
+            }
+        }
+        downsampler.finish();
+
+        assertTrue(count(out, 1) <= 40);
+        assertTrue(count(out, 2) <= 40);
+        assertTrue(out.stream().anyMatch(r -> r.in() == 9999.0));
+        for (int i = 1; i < out.size(); i++) {
+            if (out.get(i).deviceId() == out.get(i - 1).deviceId()) {
+                assertFalse(out.get(i).time().isBefore(out.get(i - 1).time()));
+            }
+        }
+        assertNull(SeriesDownsampler.of(SeriesDownsampler.Spec.of(null, "minmax"), T0, T0,
+                Row::toString, Row::time, FIELDS, out::add));
+    }
+
+    @Test
+    @DisplayName("LTTB - 첫/마지막 행 포함 maxPoints 이하, 포인트 수가 적으면 전체 유지")
+    void lttbKeepsEndpoints() {
+        List<Row> out = new ArrayList<>();
+        SeriesDownsampler<Row> downsampler = downsampler("lttb", 50, out);
+        List<Row> input = new ArrayList<>();
+        for (int s = 0; s < 3600; s += 3) {
+            input.add(new Row(1, T0.plusSeconds(s), Math.sin(s / 100.0) * 100, 0.0));
+        }
+        for (int s = 0; s < 3600; s += 600) {
+            input.add(new Row(2, T0.plusSeconds(s), (double) s, 0.0));
+        }
+        input.forEach(downsampler);
+        downsampler.finish();
+
+        List<Row> first = out.stream().filter(r -> r.deviceId() == 1).toList();
+        assertTrue(first.size() <= 50 && first.size() >= 40);
+        assertSame(input.get(0), first.get(0));
+        assertEquals(T0.plusSeconds(3597), first.get(first.size() - 1).time());
+        assertEquals(6, count(out, 2));
+    }
+}